@@ -334,6 +334,46 @@ INSERT INTO `employee_profile` VALUES (352592667408441344, 349446284006400000, 3
 INSERT INTO `employee_profile` VALUES (353025842320252928, 349446284006400000, 344592263740768256, '2025-09-01', '2025-12-27', NULL, 99.00, 0, NULL, '运维', 8.00, '2025-12-01 16:59:39', '2025-12-01 16:59:39', 0, 350550633466048512, 2);
 INSERT INTO `employee_profile` VALUES (353025842320252929, 349446284006400000, 344582708126408704, '2024-02-28', '2025-02-27', NULL, NULL, 0, '职位调动', '财务', 8.00, '2025-12-01 17:02:03', '2025-12-01 17:02:03', 0, 350528138855968768, 2);
 
+-- ----------------------------
+-- Table structure for employee_profile_summary
+-- ----------------------------
+DROP TABLE IF EXISTS `employee_profile_summary`;
+CREATE TABLE `employee_profile_summary`  (
+  `employee_id` bigint NOT NULL COMMENT '员工ID',
+  `profile_count` int NOT NULL DEFAULT 0 COMMENT '有效档案数',
+  `any_major_incident` tinyint(1) NOT NULL DEFAULT 0 COMMENT '任一档案有重大违纪',
+  `max_attendance_rate` decimal(5, 2) NULL DEFAULT NULL COMMENT '最高出勤率',
+  `avg_attendance_rate` decimal(5, 2) NULL DEFAULT NULL COMMENT '平均出勤率',
+  `latest_occupation` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '最近职位',
+  `total_work_months` int NOT NULL DEFAULT 0 COMMENT '累计工作月数',
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`employee_id`) USING BTREE,
+  INDEX `idx_max_attendance_rate`(`max_attendance_rate` ASC, `employee_id` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '员工档案汇总表（由档案写入时增量维护）' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Records of employee_profile_summary（依赖 employee_profile 数据，在文件末尾回填）
+-- ----------------------------
+
+-- ----------------------------
+-- Table structure for employee_score_summary
+-- ----------------------------
+DROP TABLE IF EXISTS `employee_score_summary`;
+CREATE TABLE `employee_score_summary`  (
+  `employee_id` bigint NOT NULL COMMENT '员工ID',
+  `score_sum` bigint NOT NULL DEFAULT 0 COMMENT '维度评分总和',
+  `score_count` int NOT NULL DEFAULT 0 COMMENT '维度评分条数',
+  `average_score` decimal(5, 2) NOT NULL DEFAULT 0.00 COMMENT '平均评分',
+  `evaluation_count` int NOT NULL DEFAULT 0 COMMENT '有效评价数',
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`employee_id`) USING BTREE,
+  INDEX `idx_average_score`(`average_score` ASC, `employee_id` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '员工评分汇总表（由评价写入时增量维护）' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Records of employee_score_summary（依赖 evaluation 数据，在文件末尾回填）
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for evaluation
 -- ----------------------------
@@ -360,6 +400,7 @@ CREATE TABLE `evaluation`  (
   INDEX `idx_employee_date`(`employee_id` ASC, `evaluation_date` ASC) USING BTREE,
   INDEX `idx_evaluator`(`evaluator_id` ASC) USING BTREE,
   INDEX `idx_evaluation_company`(`company_id` ASC) USING BTREE,
+  FULLTEXT INDEX `ft_evaluation_comment`(`comment`) WITH PARSER `ngram`,
   CONSTRAINT `fk_evaluation_evaluator` FOREIGN KEY (`evaluator_id`) REFERENCES `user` (`id`) ON DELETE CASCADE ON UPDATE RESTRICT
 ) ENGINE = InnoDB AUTO_INCREMENT = 353711604833570817 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '员工评价记录' ROW_FORMAT = Dynamic;
 
@@ -666,6 +707,7 @@ CREATE TABLE `notification`  (
   `is_delete` tinyint(1) NULL DEFAULT 0,
   PRIMARY KEY (`id`) USING BTREE,
   INDEX `idx_notification_user`(`user_id` ASC) USING BTREE,
+  INDEX `idx_user_create_time`(`user_id` ASC, `create_time` ASC) USING BTREE COMMENT '通知游标分页',
   INDEX `idx_status`(`status` ASC) USING BTREE,
   INDEX `idx_type`(`type` ASC) USING BTREE,
   INDEX `idx_create_time`(`create_time` ASC) USING BTREE
@@ -966,4 +1008,25 @@ INSERT INTO `user` VALUES (354398132526157824, '421502199104059615', '30c2a4ec1a
 INSERT INTO `user` VALUES (354408883601141760, '362202199901235612', '30c2a4ec1a3c03290751c8d877a6df18', 'employee', NULL, '2025-12-05 12:35:22', '2025-12-05 12:35:22', 0, '赵东');
 INSERT INTO `user` VALUES (359619316391104512, '2774680379@qq.com', '3ad51830d90e39ef9212bff7582ef6c8', 'company_admin', 359619316558876672, '2025-12-19 21:39:46', '2025-12-19 21:39:46', 0, '马化腾');
 
+-- ----------------------------
+-- Backfill of employee_score_summary
+-- ----------------------------
+INSERT INTO `employee_score_summary` (`employee_id`, `score_sum`, `score_count`, `average_score`, `evaluation_count`)
+SELECT ev.`employee_id`, COALESCE(SUM(s.`score`), 0), COUNT(s.`id`), COALESCE(ROUND(AVG(s.`score`), 2), 0), COUNT(DISTINCT ev.`id`)
+FROM `evaluation` ev
+LEFT JOIN `evaluation_dimension_score` s ON s.`evaluation_id` = ev.`id`
+WHERE ev.`is_delete` = 0
+GROUP BY ev.`employee_id`;
+
+-- ----------------------------
+-- Backfill of employee_profile_summary
+-- ----------------------------
+INSERT INTO `employee_profile_summary` (`employee_id`, `profile_count`, `any_major_incident`, `max_attendance_rate`, `avg_attendance_rate`, `latest_occupation`, `total_work_months`)
+SELECT p.`employee_id`, COUNT(p.`id`), COALESCE(MAX(p.`has_major_incident`), 0), MAX(p.`attendance_rate`), ROUND(AVG(p.`attendance_rate`), 2),
+       (SELECT lp.`occupation` FROM `employee_profile` lp WHERE lp.`employee_id` = p.`employee_id` AND lp.`is_delete` = 0 ORDER BY lp.`start_date` DESC, lp.`id` DESC LIMIT 1),
+       COALESCE(SUM(TIMESTAMPDIFF(MONTH, p.`start_date`, COALESCE(p.`end_date`, CURDATE()))), 0)
+FROM `employee_profile` p
+WHERE p.`is_delete` = 0
+GROUP BY p.`employee_id`;
+
 SET FOREIGN_KEY_CHECKS = 1;
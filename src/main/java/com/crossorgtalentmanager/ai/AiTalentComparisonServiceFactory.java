@@ -1,11 +1,14 @@
 package com.crossorgtalentmanager.ai;
 
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.service.AiServices;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
@@ -56,4 +59,37 @@ public class AiTalentComparisonServiceFactory {
             throw new IllegalStateException("创建AI人才对比服务失败: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * 创建AI人才对比流式服务Bean
+     * 需要配置 langchain4j.open-ai.streaming-chat-model；未配置时退化为在弹性线程池上调用同步服务，一次性返回完整结果
+     *
+     * @param streamingChatModels       所有 StreamingChatModel 实例（自动注入）
+     * @param aiTalentComparisonService 同步AI人才对比服务
+     * @return AI人才对比流式服务实例
+     */
+    @Bean
+    public AiTalentComparisonStreamingService createAiTalentComparisonStreamingService(
+            @Autowired(required = false) List<StreamingChatModel> streamingChatModels,
+            AiTalentComparisonService aiTalentComparisonService) {
+        if (streamingChatModels == null || streamingChatModels.isEmpty()) {
+            log.warn("未找到 StreamingChatModel Bean，AI人才对比流式服务将一次性返回完整结果");
+            return inputData -> Flux.defer(() -> Flux.just(aiTalentComparisonService.compareTalents(inputData)))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+
+        StreamingChatModel streamingChatModel = streamingChatModels.get(0);
+        log.info("使用 StreamingChatModel: {}", streamingChatModel.getClass().getSimpleName());
+        try {
+            AiTalentComparisonStreamingService service = AiServices
+                    .builder(AiTalentComparisonStreamingService.class)
+                    .streamingChatModel(streamingChatModel)
+                    .build();
+            log.info("AI人才对比流式服务创建成功");
+            return service;
+        } catch (Exception e) {
+            log.error("创建AI人才对比流式服务失败", e);
+            throw new IllegalStateException("创建AI人才对比流式服务失败: " + e.getMessage(), e);
+        }
+    }
 }
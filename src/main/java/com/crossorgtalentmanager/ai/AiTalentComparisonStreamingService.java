@@ -0,0 +1,23 @@
+package com.crossorgtalentmanager.ai;
+
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import reactor.core.publisher.Flux;
+
+/**
+ * AI 人才对比流式服务
+ * 与 {@link AiTalentComparisonService} 使用相同的提示词，按生成顺序逐段返回分析结果
+ *
+ * @author y
+ */
+public interface AiTalentComparisonStreamingService {
+
+    /**
+     * 流式对比多个候选人，并给出推荐意见
+     *
+     * @param inputData 完整的输入数据（包含公司偏好和候选人信息）
+     * @return AI分析结果片段流，所有片段拼接后为完整的JSON格式字符串
+     */
+    @SystemMessage(fromResource = "prompt/talent-comparison-system-prompt.txt")
+    Flux<String> compareTalentsStream(@UserMessage String inputData);
+}
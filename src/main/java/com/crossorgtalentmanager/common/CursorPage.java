@@ -0,0 +1,64 @@
+package com.crossorgtalentmanager.common;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标（keyset）分页结果
+ * <p>
+ * 按“排序键 + ID”定位下一页，任意深度的翻页代价与第一页相同；总数只在请求时统计。
+ *
+ * @param <T> 记录类型
+ */
+@Data
+@NoArgsConstructor
+public class CursorPage<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页记录
+     */
+    private List<T> records = Collections.emptyList();
+
+    /**
+     * 页面大小
+     */
+    private long pageSize;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    /**
+     * 总记录数，仅在请求 withTotal 时返回
+     */
+    private Long totalRow;
+
+    public CursorPage(List<T> records, long pageSize, String nextCursor, Long totalRow) {
+        this.records = records;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.totalRow = totalRow;
+    }
+
+    /**
+     * 空结果
+     */
+    public static <T> CursorPage<T> empty(long pageSize, Long totalRow) {
+        return new CursorPage<>(Collections.emptyList(), pageSize, null, totalRow);
+    }
+}
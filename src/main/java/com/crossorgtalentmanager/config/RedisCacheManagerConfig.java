@@ -1,5 +1,12 @@
 package com.crossorgtalentmanager.config;
 
+import com.crossorgtalentmanager.manager.cache.NearCacheManager;
+import com.crossorgtalentmanager.manager.cache.TwoLevelCacheManager;
+import com.crossorgtalentmanager.model.vo.CompanyPreferenceVO;
+import com.crossorgtalentmanager.model.vo.EvaluationTagVO;
+import com.crossorgtalentmanager.model.vo.UnlockPriceConfigVO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.cache.CacheManager;
@@ -9,16 +16,20 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class RedisCacheManagerConfig {
 
         @Bean
-        public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+        public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                        NearCacheManager nearCacheManager) {
                 // 配置 ObjectMapper 支持 Java8 时间类型
                 ObjectMapper objectMapper = new ObjectMapper();
                 objectMapper.registerModule(new JavaTimeModule());
@@ -40,17 +51,57 @@ public class RedisCacheManagerConfig {
                                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                                                 .fromSerializer(jsonSerializer));
 
-                return RedisCacheManager.builder(redisConnectionFactory)
+                // 有明确值类型的缓存使用按类型序列化，反序列化结果不再需要调用方做类型判断
+                ObjectMapper typedMapper = objectMapper.copy()
+                                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+                JavaType tagListType = typedMapper.getTypeFactory()
+                                .constructCollectionType(List.class, EvaluationTagVO.class);
+                JavaType priceConfigListType = typedMapper.getTypeFactory()
+                                .constructCollectionType(List.class, UnlockPriceConfigVO.class);
+                JavaType preferenceType = typedMapper.getTypeFactory().constructType(CompanyPreferenceVO.class);
+
+                RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                                 .cacheDefaults(defaultConfig)
                                 // 评价标签列表缓存 - 静态配置数据，很少变化，设置1小时过期
                                 .withCacheConfiguration("evaluationTags",
-                                                defaultConfig.entryTtl(Duration.ofHours(1)))
+                                                typed(defaultConfig, typedMapper, tagListType)
+                                                                .entryTtl(Duration.ofHours(1)))
                                 // 解锁价格配置缓存 - 静态配置数据，很少变化，设置1小时过期
                                 .withCacheConfiguration("unlockPriceConfigs",
-                                                defaultConfig.entryTtl(Duration.ofHours(1)))
+                                                typed(defaultConfig, typedMapper, priceConfigListType)
+                                                                .entryTtl(Duration.ofHours(1)))
                                 // 企业招聘偏好缓存 - 按公司ID，相对稳定，设置30分钟过期
                                 .withCacheConfiguration("companyPreference",
-                                                defaultConfig.entryTtl(Duration.ofMinutes(30)))
+                                                typed(defaultConfig, typedMapper, preferenceType)
+                                                                .entryTtl(Duration.ofMinutes(30)))
+                                // 参考数据缓存（标签、维度、解锁价格实体列表）- 很少变化，设置1小时过期
+                                .withCacheConfiguration("referenceData",
+                                                defaultConfig.entryTtl(Duration.ofHours(1)))
+                                // 公司名称缓存 - 按公司ID，设置1小时过期
+                                .withCacheConfiguration("companyNames",
+                                                defaultConfig.entryTtl(Duration.ofHours(1)))
                                 .build();
+                // 非 Spring Bean，需要手动加载上面的按缓存配置
+                redisCacheManager.initializeCaches();
+
+                // 近端缓存（L1）规格，未列出的缓存只使用 Redis
+                Map<String, TwoLevelCacheManager.LocalCacheSpec> localCacheSpecs = Map.of(
+                                "evaluationTags",
+                                new TwoLevelCacheManager.LocalCacheSpec(16, Duration.ofMinutes(10)),
+                                "unlockPriceConfigs",
+                                new TwoLevelCacheManager.LocalCacheSpec(16, Duration.ofMinutes(10)),
+                                "companyPreference",
+                                new TwoLevelCacheManager.LocalCacheSpec(2000, Duration.ofMinutes(5)),
+                                "referenceData",
+                                new TwoLevelCacheManager.LocalCacheSpec(16, Duration.ofMinutes(10)),
+                                "companyNames",
+                                new TwoLevelCacheManager.LocalCacheSpec(10000, Duration.ofMinutes(30)));
+
+                return new TwoLevelCacheManager(redisCacheManager, nearCacheManager, localCacheSpecs);
+        }
+
+        private RedisCacheConfiguration typed(RedisCacheConfiguration base, ObjectMapper mapper, JavaType type) {
+                return base.serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new Jackson2JsonRedisSerializer<>(mapper, type)));
         }
 }
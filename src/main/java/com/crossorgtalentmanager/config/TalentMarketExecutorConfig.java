@@ -0,0 +1,44 @@
+package com.crossorgtalentmanager.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 人才市场线程池配置
+ */
+@Configuration
+public class TalentMarketExecutorConfig {
+
+    /**
+     * 人才详情并行加载线程池
+     * 有界队列，饱和时由调用线程执行（退化为串行加载），不会丢弃任务
+     */
+    @Bean(name = "talentDetailExecutor", destroyMethod = "shutdown")
+    public ExecutorService talentDetailExecutor() {
+        int cpu = Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                cpu * 2, // 核心线程数（以数据库 IO 为主）
+                cpu * 4, // 最大线程数
+                60L, TimeUnit.SECONDS, // 空闲线程存活时间
+                new LinkedBlockingQueue<>(200), // 任务队列
+                new ThreadFactory() {
+                    private final AtomicInteger counter = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "talent-detail-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy() // 拒绝策略：调用者运行
+        );
+    }
+}
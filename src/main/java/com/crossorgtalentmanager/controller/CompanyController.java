@@ -2,6 +2,7 @@ package com.crossorgtalentmanager.controller;
 
 import cn.hutool.json.JSONUtil;
 import com.crossorgtalentmanager.annotation.AuthCheck;
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.common.DeleteRequest;
 import com.crossorgtalentmanager.constant.UserConstant;
 import com.crossorgtalentmanager.exception.BusinessException;
@@ -12,6 +13,7 @@ import com.crossorgtalentmanager.common.BaseResponse;
 import com.crossorgtalentmanager.common.ResultUtils;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.manager.cache.ReferenceDataCache;
 import com.crossorgtalentmanager.model.dto.company.CompanyAddRequest;
 import com.mybatisflex.core.paginate.Page;
 import jakarta.annotation.Resource;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import com.crossorgtalentmanager.model.entity.Company;
 import com.crossorgtalentmanager.model.entity.CompanyPoints;
@@ -54,6 +57,9 @@ public class CompanyController {
     @Resource
     private UserService userService;
 
+    @Resource
+    private ReferenceDataCache referenceDataCache;
+
     @PostMapping("/add")
     @AuthCheck(mustRole = UserConstant.COMPANY_ADMIN_ROLE)
     public BaseResponse<Long> addCompany(@RequestBody CompanyAddRequest companyAddRequest) {
@@ -101,6 +107,7 @@ public class CompanyController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
         boolean b = companyService.removeById(deleteRequest.getId());
+        referenceDataCache.evictCompanyName(deleteRequest.getId());
         return ResultUtils.success(b);
     }
 
@@ -161,6 +168,9 @@ public class CompanyController {
 
         boolean result = companyService.updateById(company);
         ThrowUtils.throwIf(!result, ErrorCode.OPERATION_ERROR, "更新失败");
+        if (companyUpdateRequest.getName() != null) {
+            referenceDataCache.evictCompanyName(company.getId());
+        }
         return ResultUtils.success(true);
     }
 
@@ -207,60 +217,93 @@ public class CompanyController {
         ThrowUtils.throwIf(pageNum <= 0 || pageSize <= 0, ErrorCode.PARAMS_ERROR, "分页参数错误");
         User loginUser = userService.getLoginUser(request);
         ThrowUtils.throwIf(loginUser == null, ErrorCode.NO_AUTH_ERROR, "用户未登录");
+        Long targetCompanyId = resolvePointsCompanyId(loginUser, companyId);
 
-        // 确定要查询的公司ID
-        Long targetCompanyId = null;
-        boolean isAdmin = UserConstant.ADMIN_ROLE.equals(loginUser.getUserRole());
+        Page<CompanyPoints> pointsPage = companyPointsService.getPointsHistory(
+                targetCompanyId, pageNum, pageSize);
 
-        if (isAdmin) {
+        // 转换为VO
+        Page<CompanyPointsVO> voPage = new Page<>(pageNum, pageSize, pointsPage.getTotalRow());
+        java.util.List<CompanyPointsVO> voList = pointsPage.getRecords().stream()
+                .map(this::toCompanyPointsVO)
+                .collect(java.util.stream.Collectors.toList());
+
+        voPage.setRecords(voList);
+        return ResultUtils.success(voPage);
+    }
+
+    /**
+     * 游标分页查询公司的积分变动记录（适用于无限滚动，深翻页代价与第一页相同）
+     *
+     * @param cursor    上一页返回的游标，第一页不传
+     * @param pageSize  每页大小
+     * @param withTotal 是否返回总数
+     * @param companyId 公司ID（仅管理员需要指定）
+     */
+    @GetMapping("/points/history/cursor")
+    @AuthCheck(mustRole = UserConstant.HR_ROLE)
+    public BaseResponse<CursorPage<CompanyPointsVO>> getCompanyPointsHistoryByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") long pageSize,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            Long companyId, HttpServletRequest request) {
+        User loginUser = userService.getLoginUser(request);
+        ThrowUtils.throwIf(loginUser == null, ErrorCode.NO_AUTH_ERROR, "用户未登录");
+        Long targetCompanyId = resolvePointsCompanyId(loginUser, companyId);
+
+        CursorPage<CompanyPoints> pointsPage = companyPointsService.getPointsHistoryByCursor(
+                targetCompanyId, cursor, pageSize, withTotal);
+        java.util.List<CompanyPointsVO> voList = pointsPage.getRecords().stream()
+                .map(this::toCompanyPointsVO)
+                .collect(java.util.stream.Collectors.toList());
+        return ResultUtils.success(new CursorPage<>(voList, pointsPage.getPageSize(),
+                pointsPage.getNextCursor(), pointsPage.getTotalRow()));
+    }
+
+    /**
+     * 确定要查询积分记录的公司ID：管理员可以查看任意公司，HR或公司管理员只能查看自己的公司
+     */
+    private Long resolvePointsCompanyId(User loginUser, Long companyId) {
+        if (UserConstant.ADMIN_ROLE.equals(loginUser.getUserRole())) {
             // 管理员可以查看任意公司，使用传入的companyId参数
             ThrowUtils.throwIf(companyId == null || companyId <= 0,
                     ErrorCode.PARAMS_ERROR, "管理员查询时需要指定公司ID");
-            targetCompanyId = companyId;
-        } else {
-            // HR或公司管理员只能查看自己公司的积分
-            String userRole = loginUser.getUserRole();
-            ThrowUtils.throwIf(!UserConstant.HR_ROLE.equals(userRole)
-                    && !UserConstant.COMPANY_ADMIN_ROLE.equals(userRole),
-                    ErrorCode.NO_AUTH_ERROR, "无权限访问");
-            ThrowUtils.throwIf(loginUser.getCompanyId() == null,
-                    ErrorCode.NO_AUTH_ERROR, "用户无公司信息");
-            targetCompanyId = loginUser.getCompanyId();
+            return companyId;
         }
+        // HR或公司管理员只能查看自己公司的积分
+        String userRole = loginUser.getUserRole();
+        ThrowUtils.throwIf(!UserConstant.HR_ROLE.equals(userRole)
+                && !UserConstant.COMPANY_ADMIN_ROLE.equals(userRole),
+                ErrorCode.NO_AUTH_ERROR, "无权限访问");
+        ThrowUtils.throwIf(loginUser.getCompanyId() == null,
+                ErrorCode.NO_AUTH_ERROR, "用户无公司信息");
+        return loginUser.getCompanyId();
+    }
 
-        Page<CompanyPoints> pointsPage = companyPointsService.getPointsHistory(
-                targetCompanyId, pageNum, pageSize);
+    private CompanyPointsVO toCompanyPointsVO(CompanyPoints point) {
+        CompanyPointsVO vo = new CompanyPointsVO();
+        cn.hutool.core.bean.BeanUtil.copyProperties(point, vo);
 
-        // 转换为VO
-        Page<CompanyPointsVO> voPage = new Page<>(pageNum, pageSize, pointsPage.getTotalRow());
-        java.util.List<CompanyPointsVO> voList = pointsPage.getRecords().stream().map(point -> {
-            CompanyPointsVO vo = new CompanyPointsVO();
-            cn.hutool.core.bean.BeanUtil.copyProperties(point, vo);
-
-            // 设置变动原因文本
-            PointsChangeReasonEnum reasonEnum = PointsChangeReasonEnum.getEnumByValue(point.getChangeReason());
-            if (reasonEnum != null) {
-                vo.setChangeReasonText(reasonEnum.getText());
-            }
+        // 设置变动原因文本
+        PointsChangeReasonEnum reasonEnum = PointsChangeReasonEnum.getEnumByValue(point.getChangeReason());
+        if (reasonEnum != null) {
+            vo.setChangeReasonText(reasonEnum.getText());
+        }
 
-            // 设置员工姓名
-            if (point.getWithEmployeeId() != null) {
-                try {
-                    com.crossorgtalentmanager.model.entity.Employee employee = employeeService
-                            .getById(point.getWithEmployeeId());
-                    if (employee != null) {
-                        vo.setWithEmployeeName(employee.getName());
-                    }
-                } catch (Exception e) {
-                    // 忽略错误，员工可能已删除
+        // 设置员工姓名
+        if (point.getWithEmployeeId() != null) {
+            try {
+                com.crossorgtalentmanager.model.entity.Employee employee = employeeService
+                        .getById(point.getWithEmployeeId());
+                if (employee != null) {
+                    vo.setWithEmployeeName(employee.getName());
                 }
+            } catch (Exception e) {
+                // 忽略错误，员工可能已删除
             }
+        }
 
-            return vo;
-        }).collect(java.util.stream.Collectors.toList());
-
-        voPage.setRecords(voList);
-        return ResultUtils.success(voPage);
+        return vo;
     }
 
 }
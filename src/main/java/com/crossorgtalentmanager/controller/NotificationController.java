@@ -1,6 +1,7 @@
 package com.crossorgtalentmanager.controller;
 
 import com.crossorgtalentmanager.common.BaseResponse;
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.common.ResultUtils;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
@@ -46,6 +47,21 @@ public class NotificationController {
         return ResultUtils.success(page);
     }
 
+    /**
+     * 游标分页查询当前登录用户的通知（适用于无限滚动，深翻页代价与第一页相同）
+     */
+    @PostMapping("/list/cursor/vo")
+    public BaseResponse<CursorPage<NotificationListItemVO>> listNotificationsByCursor(
+            @RequestBody NotificationQueryRequest queryRequest, HttpServletRequest request) {
+        ThrowUtils.throwIf(queryRequest == null, ErrorCode.PARAMS_ERROR, "查询参数不能为空");
+        User loginUser = userService.getLoginUser(request);
+        ThrowUtils.throwIf(loginUser == null, ErrorCode.NO_AUTH_ERROR);
+
+        CursorPage<NotificationListItemVO> page = notificationService.cursorNotifications(queryRequest,
+                loginUser.getId());
+        return ResultUtils.success(page);
+    }
+
     /**
      * 根据ID获取通知详情（接受字符串类型ID，避免精度丢失）
      */
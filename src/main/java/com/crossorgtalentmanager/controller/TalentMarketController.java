@@ -1,9 +1,13 @@
 package com.crossorgtalentmanager.controller;
 
+import cn.hutool.json.JSONUtil;
+import com.crossorgtalentmanager.ai.model.message.AiResponseMessage;
 import com.crossorgtalentmanager.annotation.AuthCheck;
 import com.crossorgtalentmanager.common.BaseResponse;
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.common.ResultUtils;
 import com.crossorgtalentmanager.constant.UserConstant;
+import com.crossorgtalentmanager.exception.BusinessException;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
 import com.crossorgtalentmanager.model.dto.talentmarket.*;
@@ -16,7 +20,10 @@ import com.crossorgtalentmanager.service.UserService;
 import com.mybatisflex.core.paginate.Page;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -56,6 +63,42 @@ public class TalentMarketController {
         return ResultUtils.success(page);
     }
 
+    /**
+     * 搜索人才（游标分页）
+     * 第一页不传 cursor，之后传上一页返回的 nextCursor；withTotal 为 true 时才统计总数
+     *
+     * @param request     搜索请求
+     * @param httpRequest HTTP请求
+     * @return 人才列表游标分页结果
+     */
+    @PostMapping("/search/cursor")
+    @AuthCheck(mustRole = UserConstant.HR_ROLE)
+    public BaseResponse<CursorPage<TalentVO>> searchTalentsByCursor(@RequestBody TalentSearchRequest request,
+            HttpServletRequest httpRequest) {
+        ThrowUtils.throwIf(request == null, ErrorCode.PARAMS_ERROR);
+        User loginUser = userService.getLoginUser(httpRequest);
+        CursorPage<TalentVO> page = talentMarketService.searchTalentsByCursor(request, loginUser);
+        return ResultUtils.success(page);
+    }
+
+    /**
+     * 获取搜索结果的标签分面统计
+     * 统计当前筛选条件下各评价标签覆盖的人才数，用于展示可继续筛选的标签，不扣除积分
+     *
+     * @param request     搜索请求
+     * @param httpRequest HTTP请求
+     * @return 标签分面统计
+     */
+    @PostMapping("/search/tag-facets")
+    @AuthCheck(mustRole = UserConstant.HR_ROLE)
+    public BaseResponse<TalentTagFacetsVO> getSearchTagFacets(@RequestBody TalentSearchRequest request,
+            HttpServletRequest httpRequest) {
+        ThrowUtils.throwIf(request == null, ErrorCode.PARAMS_ERROR);
+        User loginUser = userService.getLoginUser(httpRequest);
+        TalentTagFacetsVO facets = talentMarketService.getSearchTagFacets(request, loginUser);
+        return ResultUtils.success(facets);
+    }
+
     /**
      * 预估高级搜索消耗的积分
      * 用于在搜索前提示用户将消耗多少积分
@@ -71,6 +114,25 @@ public class TalentMarketController {
         return ResultUtils.success(cost);
     }
 
+    /**
+     * 职位联想
+     * 根据输入的关键词返回已有的职位名称，用于搜索框输入提示
+     *
+     * @param keyword     关键词
+     * @param limit       最多返回条数
+     * @param httpRequest HTTP请求
+     * @return 职位列表
+     */
+    @GetMapping("/occupation/suggest")
+    @AuthCheck(mustRole = UserConstant.HR_ROLE)
+    public BaseResponse<List<String>> suggestOccupations(@RequestParam String keyword,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest httpRequest) {
+        User loginUser = userService.getLoginUser(httpRequest);
+        List<String> occupations = talentMarketService.suggestOccupations(keyword, limit, loginUser);
+        return ResultUtils.success(occupations);
+    }
+
     /**
      * 获取人才详情
      * 包含工作经历、评价（带解锁状态）、标签统计等
@@ -269,6 +331,28 @@ public class TalentMarketController {
         return ResultUtils.success(page);
     }
 
+    /**
+     * 获取浏览历史（游标分页）
+     *
+     * @param cursor      上一页返回的游标，第一页不传
+     * @param pageSize    每页大小
+     * @param withTotal   是否统计总数
+     * @param httpRequest HTTP请求
+     * @return 浏览历史游标分页结果
+     */
+    @GetMapping("/view/history/cursor")
+    @AuthCheck(mustRole = UserConstant.HR_ROLE)
+    public BaseResponse<CursorPage<TalentViewLogVO>> getViewHistoryByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") long pageSize,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            HttpServletRequest httpRequest) {
+        User loginUser = userService.getLoginUser(httpRequest);
+        CursorPage<TalentViewLogVO> page = talentMarketService.getViewHistoryByCursor(cursor, pageSize, withTotal,
+                loginUser);
+        return ResultUtils.success(page);
+    }
+
     /**
      * 获取浏览统计数据
      *
@@ -426,6 +510,33 @@ public class TalentMarketController {
         return ResultUtils.success(result);
     }
 
+    /**
+     * 流式获取AI分析结果（SSE）
+     * 对比时传入 streamAi=true 后建立连接，每个 message 事件携带一段 AiResponseMessage，
+     * 结束时发送 done 事件，失败时发送 error 事件（data 为错误信息）
+     *
+     * @param taskId      任务ID
+     * @param httpRequest HTTP请求
+     * @return AI分析结果事件流
+     */
+    @GetMapping(value = "/compare/ai-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @AuthCheck(mustRole = UserConstant.HR_ROLE)
+    public Flux<ServerSentEvent<String>> streamAiAnalysisResult(@RequestParam String taskId,
+            HttpServletRequest httpRequest) {
+        ThrowUtils.throwIf(taskId == null || taskId.trim().isEmpty(), ErrorCode.PARAMS_ERROR, "任务ID不能为空");
+        User loginUser = userService.getLoginUser(httpRequest);
+        return Flux.defer(() -> talentMarketService.streamAiAnalysisResult(taskId, loginUser))
+                .map(chunk -> ServerSentEvent.<String>builder()
+                        .event("message")
+                        .data(JSONUtil.toJsonStr(new AiResponseMessage(chunk)))
+                        .build())
+                .concatWith(Flux.just(ServerSentEvent.<String>builder().event("done").data("").build()))
+                .onErrorResume(e -> Flux.just(ServerSentEvent.<String>builder()
+                        .event("error")
+                        .data(e instanceof BusinessException ? e.getMessage() : "AI分析失败，请稍后重试")
+                        .build()));
+    }
+
     /**
      * 查询历史对比记录
      *
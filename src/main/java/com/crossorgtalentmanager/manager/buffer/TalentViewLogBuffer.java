@@ -0,0 +1,454 @@
+package com.crossorgtalentmanager.manager.buffer;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.crossorgtalentmanager.manager.cache.NearCacheManager;
+import com.crossorgtalentmanager.mapper.TalentViewLogMapper;
+import com.crossorgtalentmanager.model.entity.TalentViewLog;
+import com.mybatisflex.core.keygen.IKeyGenerator;
+import com.mybatisflex.core.keygen.KeyGeneratorFactory;
+import com.mybatisflex.core.keygen.KeyGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * 人才浏览记录写缓冲（write-behind）
+ * <p>
+ * 浏览和浏览时长上报只写入内存中按（企业，员工）合并的待写记录：浏览次数累加，浏览时间、来源、关键词、时长取最新值。
+ * 后台线程每 {@link #FLUSH_INTERVAL_MILLIS} 毫秒（或待写记录数达到 {@link #FLUSH_THRESHOLD} 时立即）
+ * 把待写记录用一条批量 INSERT ... ON DUPLICATE KEY UPDATE 写入数据库（只上报了浏览时长的记录只更新已有记录），
+ * 应用关闭时写完剩余记录。
+ * 进程异常退出时最多丢失一个刷新周期内的浏览记录。
+ * <p>
+ * 清空浏览历史时在 Redis 中记录企业（或企业下某个员工）的清空时间，所有节点刷新时丢弃浏览时间不晚于清空时间的待写记录，
+ * 避免其他节点缓冲中的旧浏览恢复已删除的记录。各节点的刷新持有共享读锁，记录清空时间时持有写锁，
+ * 保证正在写入的刷新在清空之前完成（随后被删除），之后开始的刷新一定能读到清空时间。
+ * <p>
+ * 每次浏览发放一个浏览凭证用于之后上报浏览时长，凭证对应（企业，员工，浏览用户），保存在 Redis 中，
+ * 任意节点都能解析；本节点发放和解析过的凭证同时放在有容量上限的近端缓存中。
+ */
+@Slf4j
+@Component
+public class TalentViewLogBuffer {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 1000L;
+
+    /**
+     * 待写记录数达到该值时立即刷新，不等下一个周期
+     */
+    private static final int FLUSH_THRESHOLD = 1000;
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 浏览凭证的有效期，超过后不能再上报浏览时长
+     */
+    private static final Duration TOKEN_TTL = Duration.ofHours(2);
+
+    private static final String TOKEN_KEY_PREFIX = "talent:view:token:";
+
+    private static final String TOKEN_CACHE_NAME = "viewTokens";
+
+    private static final int TOKEN_LOCAL_CAPACITY = 10000;
+
+    /**
+     * 企业的清空时间（Hash：员工ID或 {@link #ALL_EMPLOYEES} -> 清空时的毫秒时间戳）
+     */
+    private static final String CLEARED_KEY_PREFIX = "talent:view:cleared:";
+
+    static final String ALL_EMPLOYEES = "*";
+
+    /**
+     * 清空时间的保留时长，远大于待写记录在缓冲中停留的时间
+     */
+    private static final Duration CLEARED_TTL = Duration.ofHours(1);
+
+    private static final String FLUSH_LOCK_KEY = "talent:view:flush-lock";
+
+    @Resource
+    private TalentViewLogMapper viewLogMapper;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    /**
+     * 同一企业同一员工的浏览记录
+     */
+    public record ViewKey(Long companyId, Long employeeId) {
+    }
+
+    /**
+     * 浏览凭证对应的浏览记录和浏览用户
+     */
+    public record ViewToken(ViewKey key, Long userId) {
+    }
+
+    /**
+     * 合并后的待写记录（不可变，合并时生成新对象）
+     *
+     * @param viewCount  累加的浏览次数，只上报时长时为 0
+     */
+    record PendingView(Long userId, int viewCount, LocalDateTime viewTime, int viewDuration,
+            String viewSource, String searchKeyword) {
+
+        static PendingView merge(PendingView older, PendingView newer) {
+            // 只上报时长的记录不是一次浏览，不改变最近一次浏览的时间和浏览用户
+            LocalDateTime viewTime = older.viewCount == 0
+                    || (newer.viewCount > 0 && newer.viewTime.isAfter(older.viewTime))
+                    ? newer.viewTime : older.viewTime;
+            Long userId = newer.viewCount > 0 ? newer.userId : older.userId;
+            return new PendingView(userId, older.viewCount + newer.viewCount, viewTime, newer.viewDuration,
+                    newer.viewSource != null ? newer.viewSource : older.viewSource,
+                    newer.searchKeyword != null ? newer.searchKeyword : older.searchKeyword);
+        }
+
+        TalentViewLog toEntity(ViewKey key, Long id) {
+            return TalentViewLog.builder()
+                    .id(id)
+                    .companyId(key.companyId())
+                    .userId(userId)
+                    .employeeId(key.employeeId())
+                    .viewTime(viewTime)
+                    .viewDuration(viewDuration)
+                    .viewCount(viewCount)
+                    .viewSource(viewSource)
+                    .searchKeyword(searchKeyword)
+                    .build();
+        }
+    }
+
+    private final Map<ViewKey, PendingView> pending = new ConcurrentHashMap<>();
+
+    private final IKeyGenerator idGenerator = KeyGeneratorFactory.getKeyGenerator(KeyGenerators.snowFlakeId);
+
+    /**
+     * 同一时间只有一个线程在刷新
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void start() {
+        nearCacheManager.register(TOKEN_CACHE_NAME, TOKEN_LOCAL_CAPACITY, TOKEN_TTL.toMillis());
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "view-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushQuietly, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("浏览记录刷新线程关闭超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 写完剩余的浏览记录再关闭
+        flush();
+        log.info("浏览记录写缓冲已关闭");
+    }
+
+    /**
+     * 记录一次浏览
+     *
+     * @return 浏览凭证，用于后续上报浏览时长
+     */
+    public Long recordView(Long companyId, Long userId, Long employeeId, Integer viewDuration, String viewSource,
+            String searchKeyword) {
+        ViewKey key = new ViewKey(companyId, employeeId);
+        PendingView view = new PendingView(userId, 1, LocalDateTime.now(),
+                viewDuration != null ? viewDuration : 0, StrUtil.emptyToNull(StrUtil.trim(viewSource)),
+                StrUtil.emptyToNull(StrUtil.trim(searchKeyword)));
+        pending.merge(key, view, PendingView::merge);
+        requestFlushIfFull();
+        return issueToken(new ViewToken(key, userId));
+    }
+
+    /**
+     * 上报浏览时长
+     */
+    public void recordDuration(ViewKey key, Long userId, int viewDuration) {
+        PendingView view = new PendingView(userId, 0, LocalDateTime.now(), viewDuration, null, null);
+        pending.merge(key, view, PendingView::merge);
+        requestFlushIfFull();
+    }
+
+    /**
+     * 解析浏览凭证，不存在或已过期时返回 null
+     */
+    public ViewToken getToken(Long token) {
+        if (token == null) {
+            return null;
+        }
+        ViewToken viewToken = nearCacheManager.get(TOKEN_CACHE_NAME, token);
+        if (viewToken != null) {
+            return viewToken;
+        }
+        try {
+            String value = getTokenBucket(token).get();
+            List<String> parts = value != null ? StrUtil.split(value, ':') : null;
+            if (parts == null || parts.size() != 3) {
+                return null;
+            }
+            viewToken = new ViewToken(new ViewKey(Long.valueOf(parts.get(0)), Long.valueOf(parts.get(1))),
+                    Long.valueOf(parts.get(2)));
+        } catch (Exception e) {
+            log.warn("读取浏览凭证失败，token={}, error={}", token, e.getMessage());
+            return null;
+        }
+        nearCacheManager.put(TOKEN_CACHE_NAME, token, viewToken);
+        return viewToken;
+    }
+
+    private Long issueToken(ViewToken viewToken) {
+        Long token = nextId();
+        nearCacheManager.put(TOKEN_CACHE_NAME, token, viewToken);
+        try {
+            getTokenBucket(token).set(viewToken.key().companyId() + ":" + viewToken.key().employeeId() + ":"
+                    + viewToken.userId(), TOKEN_TTL);
+        } catch (Exception e) {
+            // 写入失败时只有本节点能解析该凭证
+            log.warn("保存浏览凭证失败，token={}, error={}", token, e.getMessage());
+        }
+        return token;
+    }
+
+    private RBucket<String> getTokenBucket(Long token) {
+        return redissonClient.getBucket(TOKEN_KEY_PREFIX + token, StringCodec.INSTANCE);
+    }
+
+    /**
+     * 把当前所有待写记录写入数据库
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            Map<ViewKey, PendingView> drained = new HashMap<>();
+            for (ViewKey key : pending.keySet()) {
+                // 逐个原子移除，移除之后到达的浏览会生成新的待写记录，留到下一次刷新
+                PendingView view = pending.remove(key);
+                if (view != null) {
+                    drained.put(key, view);
+                }
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+            RLock readLock = lockQuietly(getFlushLock().readLock());
+            try {
+                Map<Long, Map<String, String>> clearedTimes = readClearedTimes(drained.keySet());
+                List<TalentViewLog> views = new ArrayList<>();
+                List<TalentViewLog> durations = new ArrayList<>();
+                drained.forEach((key, view) -> {
+                    if (isCleared(key, view, clearedTimes.get(key.companyId()))) {
+                        return;
+                    }
+                    if (view.viewCount() > 0) {
+                        views.add(view.toEntity(key, nextId()));
+                    } else {
+                        durations.add(view.toEntity(key, null));
+                    }
+                });
+                for (List<TalentViewLog> batch : CollUtil.split(views, BATCH_SIZE)) {
+                    writeBatch(batch, viewLogMapper::upsertBatch);
+                }
+                for (List<TalentViewLog> batch : CollUtil.split(durations, BATCH_SIZE)) {
+                    writeBatch(batch, viewLogMapper::updateDurationBatch);
+                }
+            } finally {
+                unlockQuietly(readLock);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 丢弃企业（指定员工时只丢弃该员工）在所有节点上尚未写入的浏览记录，清空浏览历史前调用，避免之后写入时恢复已删除的记录。
+     * 记录清空时间前等所有节点正在进行的刷新完成，保证已取出的记录在删除之前写入
+     */
+    public void discard(Long companyId, Long employeeId) {
+        pauseFlushes(() -> {
+            try {
+                RMap<String, String> cleared = getClearedMap(companyId);
+                cleared.fastPut(employeeId != null ? employeeId.toString() : ALL_EMPLOYEES,
+                        String.valueOf(System.currentTimeMillis()));
+                cleared.expire(CLEARED_TTL);
+            } catch (Exception e) {
+                log.warn("记录浏览历史清空时间失败，其他节点缓冲中的浏览可能恢复已删除的记录：companyId={}, employeeId={}",
+                        companyId, employeeId, e);
+            }
+            pending.keySet().removeIf(key -> key.companyId().equals(companyId)
+                    && (employeeId == null || key.employeeId().equals(employeeId)));
+        });
+    }
+
+    /**
+     * 等所有节点正在进行的刷新完成后执行操作，执行期间任何节点都不会把浏览记录写入数据库
+     */
+    public void pauseFlushes(Runnable action) {
+        flushLock.lock();
+        try {
+            RLock writeLock = lockQuietly(getFlushLock().writeLock());
+            try {
+                action.run();
+            } finally {
+                unlockQuietly(writeLock);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 待写记录的浏览时间不晚于企业或该员工最近一次的清空时间时，属于已清空的浏览历史
+     */
+    static boolean isCleared(ViewKey key, PendingView view, Map<String, String> clearedTimes) {
+        if (clearedTimes == null || clearedTimes.isEmpty()) {
+            return false;
+        }
+        long viewMillis = view.viewTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (String field : new String[] { ALL_EMPLOYEES, key.employeeId().toString() }) {
+            String clearedMillis = clearedTimes.get(field);
+            if (clearedMillis != null && viewMillis <= Long.parseLong(clearedMillis)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 一次批量读取本次涉及的企业的清空时间，读取失败时按没有清空处理
+     */
+    private Map<Long, Map<String, String>> readClearedTimes(Set<ViewKey> keys) {
+        Map<Long, Map<String, String>> result = new HashMap<>();
+        try {
+            List<Long> companyIds = keys.stream()
+                    .map(ViewKey::companyId)
+                    .distinct()
+                    .toList();
+            RBatch batch = redissonClient.createBatch();
+            for (Long companyId : companyIds) {
+                batch.<String, String>getMap(CLEARED_KEY_PREFIX + companyId, StringCodec.INSTANCE).readAllMapAsync();
+            }
+            List<?> responses = batch.execute().getResponses();
+            for (int i = 0; i < companyIds.size(); i++) {
+                @SuppressWarnings("unchecked")
+                Map<String, String> clearedTimes = (Map<String, String>) responses.get(i);
+                if (clearedTimes != null && !clearedTimes.isEmpty()) {
+                    result.put(companyIds.get(i), clearedTimes);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("读取浏览历史清空时间失败，error={}", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Redis 不可用时不阻塞浏览记录的写入，返回 null 表示未加锁
+     */
+    private RLock lockQuietly(RLock lock) {
+        try {
+            lock.lock();
+            return lock;
+        } catch (Exception e) {
+            log.warn("获取浏览记录刷新锁失败，error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void unlockQuietly(RLock lock) {
+        if (lock == null) {
+            return;
+        }
+        try {
+            lock.unlock();
+        } catch (Exception e) {
+            log.warn("释放浏览记录刷新锁失败，error={}", e.getMessage());
+        }
+    }
+
+    private RReadWriteLock getFlushLock() {
+        return redissonClient.getReadWriteLock(FLUSH_LOCK_KEY);
+    }
+
+    private RMap<String, String> getClearedMap(Long companyId) {
+        return redissonClient.getMap(CLEARED_KEY_PREFIX + companyId, StringCodec.INSTANCE);
+    }
+
+    private void writeBatch(List<TalentViewLog> batch, ToIntFunction<List<TalentViewLog>> writer) {
+        try {
+            writer.applyAsInt(batch);
+        } catch (Exception e) {
+            // 整批失败时逐条重试，个别记录（如员工已被删除）失败不影响其他记录
+            log.warn("批量写入浏览记录失败，改为逐条写入, size={}, error={}", batch.size(), e.getMessage());
+            for (TalentViewLog viewLog : batch) {
+                try {
+                    writer.applyAsInt(List.of(viewLog));
+                } catch (Exception ex) {
+                    log.error("写入浏览记录失败，已丢弃：companyId={}, employeeId={}",
+                            viewLog.getCompanyId(), viewLog.getEmployeeId(), ex);
+                }
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("刷新浏览记录失败", e);
+        }
+    }
+
+    private void requestFlushIfFull() {
+        if (pending.size() >= FLUSH_THRESHOLD && !flushExecutor.isShutdown()
+                && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flushQuietly);
+        }
+    }
+
+    private Long nextId() {
+        return (Long) idGenerator.generate(null, "id");
+    }
+}
@@ -0,0 +1,126 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * AI人才对比结果缓存（按输入内容寻址）
+ * <p>
+ * key 为公司偏好与候选人信息（formatCompanyPreferenceInfo / formatTalentInfoForAI 的输出）的 SHA-256，
+ * 内容相同即可直接复用结果、不再调用模型。另外为每个候选人维护一个索引集合，
+ * 候选人的评价或档案变更时按索引主动删除相关结果。
+ */
+@Slf4j
+@Component
+public class AiCompareResultCache {
+
+    /**
+     * 提示词或输出格式调整时修改版本号，使旧结果全部失效
+     */
+    private static final String CONTENT_VERSION = "v1";
+
+    private static final String RESULT_KEY_PREFIX = "ai:compare:result:";
+
+    private static final String EMPLOYEE_INDEX_KEY_PREFIX = "ai:compare:employee:";
+
+    private static final Duration RESULT_TTL = Duration.ofDays(7);
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 计算内容哈希
+     *
+     * @param companyId             公司ID（不同公司可见的评价不同，结果不跨公司复用）
+     * @param companyPreferenceInfo 公司偏好信息
+     * @param talentInfos           候选人信息
+     * @return 内容哈希
+     */
+    public String computeContentHash(Long companyId, String companyPreferenceInfo, String talentInfos) {
+        return DigestUtil.sha256Hex(CONTENT_VERSION + "\n" + companyId + "\n" + companyPreferenceInfo
+                + "\n" + talentInfos);
+    }
+
+    /**
+     * 获取缓存的分析结果
+     *
+     * @param contentHash 内容哈希
+     * @return 分析结果，未命中时返回 null
+     */
+    public String get(String contentHash) {
+        if (StrUtil.isBlank(contentHash)) {
+            return null;
+        }
+        try {
+            RBucket<String> bucket = redissonClient.getBucket(RESULT_KEY_PREFIX + contentHash, StringCodec.INSTANCE);
+            return bucket.get();
+        } catch (Exception e) {
+            log.warn("读取AI对比结果缓存失败，hash={}", contentHash, e);
+            return null;
+        }
+    }
+
+    /**
+     * 保存分析结果，并登记到每个候选人的索引中
+     *
+     * @param contentHash 内容哈希
+     * @param employeeIds 参与对比的员工ID
+     * @param result      分析结果
+     */
+    public void put(String contentHash, Collection<Long> employeeIds, String result) {
+        if (StrUtil.isBlank(contentHash) || StrUtil.isBlank(result)) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            batch.<String>getBucket(RESULT_KEY_PREFIX + contentHash, StringCodec.INSTANCE)
+                    .setAsync(result, RESULT_TTL);
+            if (CollUtil.isNotEmpty(employeeIds)) {
+                for (Long employeeId : employeeIds) {
+                    String indexKey = EMPLOYEE_INDEX_KEY_PREFIX + employeeId;
+                    batch.<String>getSet(indexKey, StringCodec.INSTANCE).addAsync(contentHash);
+                    batch.getSet(indexKey, StringCodec.INSTANCE).expireAsync(RESULT_TTL);
+                }
+            }
+            batch.execute();
+        } catch (Exception e) {
+            log.warn("写入AI对比结果缓存失败，hash={}", contentHash, e);
+        }
+    }
+
+    /**
+     * 员工的评价或档案发生变化时，删除包含该员工的所有对比结果
+     *
+     * @param employeeId 员工ID
+     */
+    public void evictByEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        try {
+            RSet<String> index = redissonClient.getSet(EMPLOYEE_INDEX_KEY_PREFIX + employeeId, StringCodec.INSTANCE);
+            Set<String> hashes = index.readAll();
+            if (CollUtil.isNotEmpty(hashes)) {
+                String[] keys = hashes.stream().map(hash -> RESULT_KEY_PREFIX + hash).toArray(String[]::new);
+                redissonClient.getKeys().delete(keys);
+            }
+            index.delete();
+            log.debug("已清除员工{}相关的AI对比结果缓存，数量={}", employeeId, hashes.size());
+        } catch (Exception e) {
+            log.warn("清除AI对比结果缓存失败，employeeId={}", employeeId, e);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import com.crossorgtalentmanager.mapper.EmployeeMapper;
+import com.crossorgtalentmanager.mapper.TalentBookmarkMapper;
+import com.crossorgtalentmanager.model.entity.Employee;
+import com.crossorgtalentmanager.model.entity.TalentBookmark;
+import com.mybatisflex.core.query.QueryWrapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 企业与员工关系缓存
+ * <p>
+ * 每个企业一份关系数据：已收藏的员工、当前在职员工，各自是排好序的 long 数组，按二分查找判断。
+ * 读取顺序为进程内近端缓存（L1）-> Redis（L2，整份序列化为一个字节数组）-> 数据库。
+ * 收藏、取消收藏、入职和解雇在事务提交后递增企业的版本号、删除 Redis 中的数据并通知所有节点失效近端缓存，
+ * 下次读取时重新加载。加载前先读取版本号，写回后版本号已变化时删除刚写入的数据、不放入近端缓存，
+ * 避免在提交前开始的加载把旧数据写回缓存。
+ */
+@Slf4j
+@Component
+public class CompanyRelationCache {
+
+    public static final String CACHE_NAME = "companyRelations";
+
+    /**
+     * 序列化格式变化时更换前缀，旧格式的数据等待过期
+     */
+    private static final String REDIS_KEY_PREFIX = "talent:relation:v2:";
+
+    private static final String VERSION_KEY_PREFIX = "talent:relation:version:";
+
+    private static final int LOCAL_CAPACITY = 2000;
+    private static final long LOCAL_TTL_MILLIS = 10 * 60 * 1000L;
+    private static final Duration REDIS_TTL = Duration.ofDays(1);
+
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private TalentBookmarkMapper bookmarkMapper;
+
+    @Resource
+    private EmployeeMapper employeeMapper;
+
+    /**
+     * 企业与员工的关系（数组均已升序排列，只读）
+     *
+     * @param bookmarkedIds 已收藏的员工ID
+     * @param currentIds    当前在职的员工ID
+     */
+    private record Relations(long[] bookmarkedIds, long[] currentIds) {
+
+        byte[] toBytes() {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2
+                    + Long.BYTES * (bookmarkedIds.length + currentIds.length));
+            buffer.putInt(bookmarkedIds.length).putInt(currentIds.length);
+            for (long[] ids : new long[][] { bookmarkedIds, currentIds }) {
+                for (long id : ids) {
+                    buffer.putLong(id);
+                }
+            }
+            return buffer.array();
+        }
+
+        static Relations fromBytes(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long[] bookmarkedIds = new long[buffer.getInt()];
+            long[] currentIds = new long[buffer.getInt()];
+            for (long[] ids : new long[][] { bookmarkedIds, currentIds }) {
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = buffer.getLong();
+                }
+            }
+            return new Relations(bookmarkedIds, currentIds);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        nearCacheManager.register(CACHE_NAME, LOCAL_CAPACITY, LOCAL_TTL_MILLIS);
+    }
+
+    /**
+     * 判断企业是否收藏了指定员工
+     */
+    public boolean isBookmarked(Long companyId, Long employeeId) {
+        return companyId != null && employeeId != null
+                && Arrays.binarySearch(getRelations(companyId).bookmarkedIds(), employeeId) >= 0;
+    }
+
+    /**
+     * 筛选出企业已收藏的员工
+     */
+    public Set<Long> filterBookmarked(Long companyId, Collection<Long> employeeIds) {
+        Set<Long> result = new HashSet<>();
+        if (companyId == null || employeeIds == null || employeeIds.isEmpty()) {
+            return result;
+        }
+        long[] bookmarkedIds = getRelations(companyId).bookmarkedIds();
+        for (Long employeeId : employeeIds) {
+            if (employeeId != null && Arrays.binarySearch(bookmarkedIds, employeeId) >= 0) {
+                result.add(employeeId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断员工当前是否在该企业在职
+     */
+    public boolean isCurrentEmployee(Long companyId, Long employeeId) {
+        return companyId != null && employeeId != null
+                && Arrays.binarySearch(getRelations(companyId).currentIds(), employeeId) >= 0;
+    }
+
+    /**
+     * 企业与员工的关系已变化（收藏、入职、解雇）。在事务中调用时等事务提交后再失效，避免回滚后缓存与数据库不一致
+     */
+    public void invalidate(Long companyId) {
+        if (companyId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(companyId);
+                }
+            });
+        } else {
+            evict(companyId);
+        }
+    }
+
+    private Relations getRelations(Long companyId) {
+        Relations relations = nearCacheManager.get(CACHE_NAME, companyId);
+        if (relations != null) {
+            return relations;
+        }
+        long version = readVersion(companyId);
+        relations = readL2(companyId);
+        boolean current;
+        if (relations == null) {
+            relations = loadFromDb(companyId);
+            current = writeL2(companyId, relations, version);
+        } else {
+            // 读取期间数据可能刚被失效，版本号未变时才放入近端缓存
+            current = version >= 0 && readVersion(companyId) == version;
+        }
+        if (current) {
+            nearCacheManager.put(CACHE_NAME, companyId, relations);
+        }
+        return relations;
+    }
+
+    /**
+     * 先递增版本号再删除数据：删除之后才写回的旧数据一定能发现版本号已变化
+     */
+    private void evict(Long companyId) {
+        try {
+            RAtomicLong version = getVersion(companyId);
+            version.incrementAndGet();
+            version.expire(REDIS_TTL);
+            getBucket(companyId).delete();
+        } catch (Exception e) {
+            log.warn("删除企业关系缓存失败，companyId={}", companyId, e);
+        } finally {
+            nearCacheManager.invalidate(CACHE_NAME, companyId);
+        }
+    }
+
+    private long readVersion(Long companyId) {
+        try {
+            return getVersion(companyId).get();
+        } catch (Exception e) {
+            log.warn("读取企业关系缓存版本失败，companyId={}", companyId, e);
+            return -1L;
+        }
+    }
+
+    private Relations readL2(Long companyId) {
+        try {
+            byte[] bytes = getBucket(companyId).get();
+            return bytes != null ? Relations.fromBytes(bytes) : null;
+        } catch (Exception e) {
+            log.warn("读取企业关系缓存失败，companyId={}", companyId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写回从数据库加载的数据
+     *
+     * @param version 加载前读取的版本号
+     * @return 加载结果是否仍是最新的（加载期间关系没有变化）
+     */
+    private boolean writeL2(Long companyId, Relations relations, long version) {
+        if (version < 0) {
+            return false;
+        }
+        RBucket<byte[]> bucket = getBucket(companyId);
+        try {
+            bucket.set(relations.toBytes(), REDIS_TTL);
+            if (getVersion(companyId).get() != version) {
+                // 加载期间关系有变化，刚写入的可能是旧数据，删除后由下次读取重新加载
+                bucket.delete();
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("写入企业关系缓存失败，companyId={}", companyId, e);
+            try {
+                bucket.delete();
+            } catch (Exception ex) {
+                log.warn("删除企业关系缓存失败，companyId={}, error={}", companyId, ex.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private Relations loadFromDb(Long companyId) {
+        long[] bookmarkedIds = bookmarkMapper.selectListByQuery(QueryWrapper.create()
+                        .select("employee_id")
+                        .eq("company_id", companyId))
+                .stream()
+                .map(TalentBookmark::getEmployeeId)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+        long[] currentIds = employeeMapper.selectListByQuery(QueryWrapper.create()
+                        .select("id")
+                        .eq("company_id", companyId))
+                .stream()
+                .map(Employee::getId)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return new Relations(bookmarkedIds, currentIds);
+    }
+
+    private RBucket<byte[]> getBucket(Long companyId) {
+        return redissonClient.getBucket(REDIS_KEY_PREFIX + companyId, ByteArrayCodec.INSTANCE);
+    }
+
+    private RAtomicLong getVersion(Long companyId) {
+        return redissonClient.getAtomicLong(VERSION_KEY_PREFIX + companyId);
+    }
+}
@@ -0,0 +1,247 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import com.crossorgtalentmanager.mapper.ContactAccessRequestMapper;
+import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessGrants;
+import com.crossorgtalentmanager.model.entity.ContactAccessRequest;
+import com.crossorgtalentmanager.model.enums.ContactAccessRequestStatusEnum;
+import com.mybatisflex.core.query.QueryWrapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 联系方式查看授权缓存
+ * <p>
+ * 按（企业，员工）缓存一次查询得到的全部有效授权类型（位掩码）和最早的过期时间：进程内近端缓存（L1）-> Redis（L2）-> 数据库。
+ * 缓存在最早的授权到期时失效，到期后重新查询得到剩余的授权；没有授权时缓存 {@link #NO_GRANT_TTL}。
+ * 新的授权只能通过审批产生，审批事务提交后递增版本号、删除 Redis 中的数据并通知所有节点失效近端缓存。
+ * 加载前先读取版本号，写回后版本号已变化时删除刚写入的数据、不放入近端缓存，避免在提交前开始的加载把旧授权写回缓存。
+ */
+@Slf4j
+@Component
+public class ContactAccessGrantCache {
+
+    public static final String CACHE_NAME = "contactAccessGrants";
+
+    private static final String REDIS_KEY_PREFIX = "contact:grants:";
+
+    private static final String VERSION_KEY_PREFIX = "contact:grants:version:";
+
+    private static final Duration VERSION_TTL = Duration.ofDays(1);
+
+    private static final int LOCAL_CAPACITY = 5000;
+    private static final long LOCAL_TTL_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * 没有任何授权时的缓存时长，最早到期时间晚于该时长时也按该时长缓存
+     */
+    private static final Duration NO_GRANT_TTL = Duration.ofHours(1);
+
+    /**
+     * 没有授权时 Redis 中保存的过期时间
+     */
+    private static final long NO_EXPIRE = -1L;
+
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private ContactAccessRequestMapper contactAccessRequestMapper;
+
+    /**
+     * 授权及其在本节点的缓存截止时间
+     */
+    private record CachedGrants(ContactAccessGrants grants, long validUntil) {
+    }
+
+    @PostConstruct
+    public void init() {
+        nearCacheManager.register(CACHE_NAME, LOCAL_CAPACITY, LOCAL_TTL_MILLIS);
+    }
+
+    /**
+     * 获取企业对员工当前有效的全部授权
+     */
+    public ContactAccessGrants getGrants(Long companyId, Long employeeId) {
+        if (companyId == null || employeeId == null) {
+            return new ContactAccessGrants(0, null);
+        }
+        String key = cacheKey(companyId, employeeId);
+        long now = System.currentTimeMillis();
+        CachedGrants cached = nearCacheManager.get(CACHE_NAME, key);
+        if (cached != null && cached.validUntil() > now) {
+            return cached.grants();
+        }
+        long version = readVersion(key);
+        ContactAccessGrants grants = readL2(key);
+        boolean current;
+        if (grants == null || isExpired(grants, now)) {
+            grants = loadFromDb(companyId, employeeId);
+            current = writeL2(key, grants, now, version);
+        } else {
+            // 读取期间数据可能刚被失效，版本号未变时才放入近端缓存
+            current = version >= 0 && readVersion(key) == version;
+        }
+        if (current) {
+            nearCacheManager.put(CACHE_NAME, key, new CachedGrants(grants, validUntil(grants, now)));
+        }
+        return grants;
+    }
+
+    /**
+     * 授权已变化。在事务中调用时等事务提交后再失效，避免其他请求在提交前重新加载到旧数据
+     */
+    public void invalidate(Long companyId, Long employeeId) {
+        if (companyId == null || employeeId == null) {
+            return;
+        }
+        String key = cacheKey(companyId, employeeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        } else {
+            evict(key);
+        }
+    }
+
+    /**
+     * 先递增版本号再删除数据：删除之后才写回的旧数据一定能发现版本号已变化
+     */
+    private void evict(String key) {
+        try {
+            RAtomicLong version = getVersion(key);
+            version.incrementAndGet();
+            version.expire(VERSION_TTL);
+            getBucket(key).delete();
+        } catch (Exception e) {
+            log.warn("删除联系方式授权缓存失败，key={}", key, e);
+        } finally {
+            nearCacheManager.invalidate(CACHE_NAME, key);
+        }
+    }
+
+    private long readVersion(String key) {
+        try {
+            return getVersion(key).get();
+        } catch (Exception e) {
+            log.warn("读取联系方式授权缓存版本失败，key={}", key, e);
+            return -1L;
+        }
+    }
+
+    private ContactAccessGrants readL2(String key) {
+        try {
+            byte[] bytes = getBucket(key).get();
+            if (bytes == null || bytes.length < Integer.BYTES + Long.BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int typeMask = buffer.getInt();
+            long expireMillis = buffer.getLong();
+            return new ContactAccessGrants(typeMask, expireMillis == NO_EXPIRE ? null : expireMillis);
+        } catch (Exception e) {
+            log.warn("读取联系方式授权缓存失败，key={}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写回从数据库加载的授权
+     *
+     * @param version 加载前读取的版本号
+     * @return 加载结果是否仍是最新的（加载期间没有新的审批提交）
+     */
+    private boolean writeL2(String key, ContactAccessGrants grants, long now, long version) {
+        if (version < 0) {
+            return false;
+        }
+        RBucket<byte[]> bucket = getBucket(key);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+            buffer.putInt(grants.getTypeMask());
+            buffer.putLong(grants.getEarliestExpireMillis() != null ? grants.getEarliestExpireMillis() : NO_EXPIRE);
+            bucket.set(buffer.array(), Duration.ofMillis(validUntil(grants, now) - now));
+            if (getVersion(key).get() != version) {
+                // 加载期间有新的审批提交，刚写入的可能是旧数据，删除后由下次读取重新加载
+                bucket.delete();
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("写入联系方式授权缓存失败，key={}", key, e);
+            try {
+                bucket.delete();
+            } catch (Exception ex) {
+                log.warn("删除联系方式授权缓存失败，key={}, error={}", key, ex.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private ContactAccessGrants loadFromDb(Long companyId, Long employeeId) {
+        QueryWrapper query = QueryWrapper.create()
+                .select("request_type", "expire_time")
+                .eq("request_company_id", companyId)
+                .eq("employee_id", employeeId)
+                .eq("status", ContactAccessRequestStatusEnum.APPROVED.getValue())
+                .ge("expire_time", LocalDateTime.now());
+        int typeMask = 0;
+        Long earliestExpireMillis = null;
+        for (ContactAccessRequest request : contactAccessRequestMapper.selectListByQuery(query)) {
+            Integer requestType = request.getRequestType();
+            if (requestType == null || requestType <= 0 || requestType >= Integer.SIZE) {
+                continue;
+            }
+            typeMask |= 1 << requestType;
+            long expireMillis = request.getExpireTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (earliestExpireMillis == null || expireMillis < earliestExpireMillis) {
+                earliestExpireMillis = expireMillis;
+            }
+        }
+        return new ContactAccessGrants(typeMask, earliestExpireMillis);
+    }
+
+    static boolean isExpired(ContactAccessGrants grants, long now) {
+        // 授权在过期时间当时仍然有效（expire_time >= now），过了之后才需要重新查询
+        return grants.getEarliestExpireMillis() != null && grants.getEarliestExpireMillis() < now;
+    }
+
+    static long validUntil(ContactAccessGrants grants, long now) {
+        long noGrantUntil = now + NO_GRANT_TTL.toMillis();
+        if (grants.getEarliestExpireMillis() == null) {
+            return noGrantUntil;
+        }
+        return Math.max(now + 1, Math.min(grants.getEarliestExpireMillis() + 1, noGrantUntil));
+    }
+
+    private static String cacheKey(Long companyId, Long employeeId) {
+        return companyId + ":" + employeeId;
+    }
+
+    private RBucket<byte[]> getBucket(String key) {
+        return redissonClient.getBucket(REDIS_KEY_PREFIX + key, ByteArrayCodec.INSTANCE);
+    }
+
+    private RAtomicLong getVersion(String key) {
+        return redissonClient.getAtomicLong(VERSION_KEY_PREFIX + key);
+    }
+}
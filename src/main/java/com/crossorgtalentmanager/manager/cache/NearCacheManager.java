@@ -0,0 +1,146 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内近端缓存（L1）
+ * <p>
+ * 每个缓存是一个容量有界、带过期时间的 LRU，位于 Redis 缓存（L2）之前。
+ * 本地失效后通过 Redis 发布订阅通知其他节点清除各自的 L1。
+ */
+@Slf4j
+@Component
+public class NearCacheManager {
+
+    /**
+     * 失效通知频道，消息格式：节点ID|缓存名 或 节点ID|缓存名::键
+     */
+    public static final String INVALIDATION_TOPIC = "near-cache:invalidate";
+
+    private static final String NODE_SEPARATOR = "|";
+
+    private static final String KEY_SEPARATOR = "::";
+
+    /**
+     * 本节点ID，用于忽略自己发出的失效通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    private final Map<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    private RTopic invalidationTopic;
+
+    @PostConstruct
+    public void init() {
+        try {
+            invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC, StringCodec.INSTANCE);
+            invalidationTopic.addListener(String.class, (channel, message) -> onInvalidation(message));
+        } catch (Exception e) {
+            // Redis 不可用时仍可使用本地缓存，只依赖过期时间收敛
+            log.warn("订阅近端缓存失效频道失败，跨节点失效将依赖过期时间, error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 注册一个近端缓存
+     *
+     * @param name       缓存名
+     * @param capacity   最大条目数
+     * @param ttlMillis  条目过期时间（毫秒）
+     */
+    public void register(String name, int capacity, long ttlMillis) {
+        caches.computeIfAbsent(name, k -> CacheUtil.newLRUCache(capacity, ttlMillis));
+    }
+
+    /**
+     * 读取本地缓存，未命中返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String name, Object key) {
+        Cache<String, Object> cache = caches.get(name);
+        if (cache == null) {
+            return null;
+        }
+        return (V) cache.get(String.valueOf(key), false);
+    }
+
+    /**
+     * 写入本地缓存（仅本节点）
+     */
+    public void put(String name, Object key, Object value) {
+        Cache<String, Object> cache = caches.get(name);
+        if (cache != null && value != null) {
+            cache.put(String.valueOf(key), value);
+        }
+    }
+
+    /**
+     * 清除所有节点上的整个缓存
+     */
+    public void invalidate(String name) {
+        clearLocal(name, null);
+        publish(name);
+    }
+
+    /**
+     * 清除所有节点上缓存中的单个键
+     */
+    public void invalidate(String name, Object key) {
+        clearLocal(name, String.valueOf(key));
+        publish(name + KEY_SEPARATOR + key);
+    }
+
+    private void publish(String message) {
+        if (invalidationTopic == null) {
+            return;
+        }
+        try {
+            invalidationTopic.publish(nodeId + NODE_SEPARATOR + message);
+        } catch (Exception e) {
+            log.warn("发布近端缓存失效通知失败: {}, error={}", message, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(String message) {
+        int nodeIndex = message.indexOf(NODE_SEPARATOR);
+        if (nodeIndex >= 0) {
+            if (nodeId.equals(message.substring(0, nodeIndex))) {
+                return;
+            }
+            message = message.substring(nodeIndex + NODE_SEPARATOR.length());
+        }
+        int index = message.indexOf(KEY_SEPARATOR);
+        if (index < 0) {
+            clearLocal(message, null);
+        } else {
+            clearLocal(message.substring(0, index), message.substring(index + KEY_SEPARATOR.length()));
+        }
+    }
+
+    private void clearLocal(String name, String key) {
+        Cache<String, Object> cache = caches.get(name);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.remove(key);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.mapper.CompanyMapper;
+import com.crossorgtalentmanager.mapper.EvaluationDimensionMapper;
+import com.crossorgtalentmanager.mapper.EvaluationTagMapper;
+import com.crossorgtalentmanager.mapper.UnlockPriceConfigMapper;
+import com.crossorgtalentmanager.model.entity.Company;
+import com.crossorgtalentmanager.model.entity.EvaluationDimension;
+import com.crossorgtalentmanager.model.entity.EvaluationTag;
+import com.crossorgtalentmanager.model.entity.UnlockPriceConfig;
+import com.mybatisflex.core.query.QueryWrapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * 参考数据缓存：评价标签、评价维度、解锁价格、公司名称
+ * <p>
+ * 通过 {@link TwoLevelCacheManager} 中的 referenceData / companyNames 两级缓存读取（L1 近端缓存 -> L2 Redis -> 数据库），
+ * 缓存中保存实体列表和公司名称，按ID索引的视图由本类在列表变化时重新生成。启动完成后预热。
+ * <p>
+ * 标签、维度、解锁价格在系统中没有维护接口，只通过数据库脚本修改，缓存只按过期时间刷新：
+ * Redis 中 1 小时、近端缓存 10 分钟，修改后最长约 1 小时生效。公司名称在公司修改、删除时主动失效。
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    /**
+     * 标签、维度、解锁价格共用的缓存名
+     */
+    public static final String REFERENCE_DATA_CACHE = "referenceData";
+
+    /**
+     * 公司名称缓存名
+     */
+    public static final String COMPANY_NAME_CACHE = "companyNames";
+
+    private static final String TAGS_KEY = "tags";
+    private static final String DIMENSIONS_KEY = "dimensions";
+    private static final String UNLOCK_PRICES_KEY = "unlockPrices";
+
+    /**
+     * 预热时最多加载的公司名称数
+     */
+    private static final int COMPANY_NAME_PRELOAD_LIMIT = 10000;
+
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    @Resource
+    private CacheManager cacheManager;
+
+    @Resource
+    private EvaluationTagMapper tagMapper;
+
+    @Resource
+    private EvaluationDimensionMapper dimensionMapper;
+
+    @Resource
+    private UnlockPriceConfigMapper priceConfigMapper;
+
+    @Resource
+    private CompanyMapper companyMapper;
+
+    /**
+     * 由列表生成的视图，缓存中的列表对象不变时直接复用（近端缓存命中时返回的是同一个对象）
+     */
+    private record DerivedView<S, V>(S source, V view) {
+    }
+
+    private volatile DerivedView<List<EvaluationTag>, Map<Long, EvaluationTag>> tagView;
+
+    private volatile DerivedView<List<UnlockPriceConfig>, Map<Integer, BigDecimal>> priceView;
+
+    /**
+     * 启动完成后预热，失败不影响启动（首次访问时再加载）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            getTagMap();
+            getDimensions();
+            getUnlockPriceMap();
+            // 公司名称只预热本节点的近端缓存，不逐条写 Redis，也不广播失效通知
+            getCache(COMPANY_NAME_CACHE);
+            List<Company> companies = companyMapper.selectListByQuery(QueryWrapper.create()
+                    .select("id", "name")
+                    .limit(COMPANY_NAME_PRELOAD_LIMIT));
+            for (Company company : companies) {
+                nearCacheManager.put(COMPANY_NAME_CACHE, company.getId(), company.getName());
+            }
+            log.info("参考数据缓存预热完成，公司名称 {} 条", companies.size());
+        } catch (Exception e) {
+            log.warn("参考数据缓存预热失败，将在首次访问时加载, error={}", e.getMessage());
+        }
+    }
+
+    // ==================== 评价标签 ====================
+
+    /**
+     * 获取所有未删除的标签（含停用），标签ID -> 标签
+     */
+    public Map<Long, EvaluationTag> getTagMap() {
+        List<EvaluationTag> tags = getReferenceData(TAGS_KEY,
+                () -> tagMapper.selectListByQuery(QueryWrapper.create()));
+        DerivedView<List<EvaluationTag>, Map<Long, EvaluationTag>> view = tagView;
+        if (view == null || view.source() != tags) {
+            view = new DerivedView<>(tags, Collections.unmodifiableMap(tags.stream()
+                    .collect(Collectors.toMap(EvaluationTag::getId, t -> t, (a, b) -> a, LinkedHashMap::new))));
+            tagView = view;
+        }
+        return view.view();
+    }
+
+    public EvaluationTag getTag(Long tagId) {
+        return tagId == null ? null : getTagMap().get(tagId);
+    }
+
+    // ==================== 评价维度 ====================
+
+    /**
+     * 获取所有未删除的维度（含停用，按排序号升序）
+     */
+    public List<EvaluationDimension> getDimensions() {
+        return Collections.unmodifiableList(getReferenceData(DIMENSIONS_KEY,
+                () -> dimensionMapper.selectListByQuery(QueryWrapper.create().orderBy("sort_order", true))));
+    }
+
+    public EvaluationDimension getDimension(Long dimensionId) {
+        if (dimensionId == null) {
+            return null;
+        }
+        for (EvaluationDimension dimension : getDimensions()) {
+            if (dimensionId.equals(dimension.getId())) {
+                return dimension;
+            }
+        }
+        return null;
+    }
+
+    // ==================== 解锁价格 ====================
+
+    /**
+     * 获取所有启用的解锁价格，评价类型 -> 所需积分
+     */
+    public Map<Integer, BigDecimal> getUnlockPriceMap() {
+        List<UnlockPriceConfig> configs = getReferenceData(UNLOCK_PRICES_KEY,
+                () -> priceConfigMapper.selectListByQuery(QueryWrapper.create()
+                        .eq("is_active", true)
+                        .orderBy("evaluation_type", true)));
+        DerivedView<List<UnlockPriceConfig>, Map<Integer, BigDecimal>> view = priceView;
+        if (view == null || view.source() != configs) {
+            Map<Integer, BigDecimal> result = new HashMap<>();
+            for (UnlockPriceConfig config : configs) {
+                result.putIfAbsent(config.getEvaluationType(), config.getPointsCost());
+            }
+            view = new DerivedView<>(configs, Collections.unmodifiableMap(result));
+            priceView = view;
+        }
+        return view.view();
+    }
+
+    public BigDecimal getUnlockPrice(Integer evaluationType) {
+        return evaluationType == null ? null : getUnlockPriceMap().get(evaluationType);
+    }
+
+    // ==================== 公司名称 ====================
+
+    /**
+     * 批量获取公司名称，已删除或不存在的公司不在结果中。未命中的公司一次查询数据库
+     */
+    public Map<Long, String> getCompanyNames(Collection<Long> companyIds) {
+        Map<Long, String> result = new HashMap<>();
+        if (CollUtil.isEmpty(companyIds)) {
+            return result;
+        }
+        Cache cache = getCache(COMPANY_NAME_CACHE);
+        Set<Long> missing = new HashSet<>();
+        for (Long companyId : companyIds) {
+            if (companyId == null || result.containsKey(companyId)) {
+                continue;
+            }
+            String name = cache.get(companyId, String.class);
+            if (name != null) {
+                result.put(companyId, name);
+            } else {
+                missing.add(companyId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        for (Company company : companyMapper.selectListByIds(missing)) {
+            if (company.getName() != null) {
+                result.put(company.getId(), company.getName());
+                cache.put(company.getId(), company.getName());
+            }
+        }
+        return result;
+    }
+
+    public String getCompanyName(Long companyId) {
+        return companyId == null ? null : getCompanyNames(Collections.singletonList(companyId)).get(companyId);
+    }
+
+    /**
+     * 公司名称修改或公司删除/恢复后调用
+     */
+    public void evictCompanyName(Long companyId) {
+        if (companyId != null) {
+            getCache(COMPANY_NAME_CACHE).evict(companyId);
+        }
+    }
+
+    // ==================== 内部方法 ====================
+
+    /**
+     * 读取参考数据列表，未命中时由 loader 查询数据库（同一节点并发未命中只加载一次）
+     */
+    private <T> List<T> getReferenceData(String key, Callable<List<T>> loader) {
+        return getCache(REFERENCE_DATA_CACHE).get(key, () -> new ArrayList<>(loader.call()));
+    }
+
+    private Cache getCache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName), "缓存未配置: " + cacheName);
+    }
+}
@@ -0,0 +1,313 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 企业人才推荐结果缓存（离线预计算）
+ * <p>
+ * 每个企业一个 Redis 有序集合，成员为员工ID、分值为推荐评分，只保留前 {@link #TOP_K} 名，
+ * 推荐接口直接按名次范围读取。企业偏好变化或浏览到新的职位时把企业记为待刷新，员工评价或档案变化时把员工记为待刷新，
+ * 由定时任务批量重新计算：前者整体重算该企业，后者只对各企业重新打分这些员工。
+ * 最近访问过推荐的企业记录在活跃集合中，长期未访问的企业不再维护。
+ */
+@Slf4j
+@Component
+public class TalentRecommendationCache {
+
+    /**
+     * 每个企业保留的推荐人数
+     */
+    public static final int TOP_K = 200;
+
+    /**
+     * 有序集合不能为空，计算结果为空时写入评分为负的 0 号成员，标记“已计算但没有结果”
+     */
+    private static final long EMPTY_MARKER = 0L;
+
+    private static final String RANK_KEY_PREFIX = "talent:recommend:rank:";
+
+    private static final String ACTIVE_COMPANY_KEY = "talent:recommend:active";
+
+    private static final String DIRTY_COMPANY_KEY = "talent:recommend:dirty:company";
+
+    private static final String DIRTY_EMPLOYEE_KEY = "talent:recommend:dirty:employee";
+
+    /**
+     * 计算推荐列表时使用的浏览职位集合
+     */
+    private static final String VIEWED_OCCUPATIONS_KEY_PREFIX = "talent:recommend:occupations:";
+
+    private static final String COMPUTE_LOCK_KEY_PREFIX = "talent:recommend:lock:";
+
+    private static final Duration RANK_TTL = Duration.ofDays(2);
+
+    /**
+     * 超过该时长未访问推荐的企业移出活跃集合
+     */
+    private static final Duration ACTIVE_RETENTION = Duration.ofDays(7);
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 读取企业推荐结果的一段（按推荐评分从高到低）
+     *
+     * @param companyId 企业ID
+     * @param offset    起始名次（从0开始）
+     * @param count     条数
+     * @return 员工ID与推荐评分，尚未计算时返回 null
+     */
+    public List<ScoredEntry<Long>> range(Long companyId, long offset, long count) {
+        try {
+            touch(companyId);
+            RScoredSortedSet<Long> rank = getRank(companyId);
+            if (!rank.isExists()) {
+                return null;
+            }
+            if (offset >= TOP_K || count <= 0) {
+                return Collections.emptyList();
+            }
+            int end = (int) Math.min(offset + count, TOP_K) - 1;
+            List<ScoredEntry<Long>> entries = new ArrayList<>(rank.entryRangeReversed((int) offset, end));
+            entries.removeIf(entry -> entry.getScore() < 0);
+            return entries;
+        } catch (Exception e) {
+            log.warn("读取推荐结果缓存失败，companyId={}", companyId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 企业推荐结果总数
+     */
+    public int size(Long companyId) {
+        try {
+            return getRank(companyId).count(0, true, Double.POSITIVE_INFINITY, true);
+        } catch (Exception e) {
+            log.warn("读取推荐结果数量失败，companyId={}", companyId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 用完整计算结果替换企业的推荐列表。先写入临时 key 再改名，读取方不会看到写了一半的结果
+     *
+     * @param companyId 企业ID
+     * @param scores    员工ID -> 推荐评分
+     */
+    public void replace(Long companyId, Map<Long, Double> scores) {
+        String key = RANK_KEY_PREFIX + companyId;
+        try {
+            RScoredSortedSet<Long> temp = redissonClient.getScoredSortedSet(key + ":building", LongCodec.INSTANCE);
+            temp.delete();
+            if (CollUtil.isNotEmpty(scores)) {
+                temp.addAll(scores);
+                trim(temp);
+            } else {
+                temp.add(-1, EMPTY_MARKER);
+            }
+            temp.rename(key);
+            getRank(companyId).expire(RANK_TTL);
+        } catch (Exception e) {
+            log.warn("写入推荐结果缓存失败，companyId={}", companyId, e);
+        }
+    }
+
+    /**
+     * 增量更新企业推荐列表：更新部分员工的评分、移除不再符合条件的员工，并截断到前 {@link #TOP_K} 名。
+     * 企业推荐尚未计算时不做处理，下次访问时会完整计算
+     *
+     * @param companyId 企业ID
+     * @param scores    重新打分的员工
+     * @param removed   不再符合推荐条件的员工
+     */
+    public void update(Long companyId, Map<Long, Double> scores, Collection<Long> removed) {
+        try {
+            RScoredSortedSet<Long> rank = getRank(companyId);
+            if (!rank.isExists()) {
+                return;
+            }
+            if (CollUtil.isNotEmpty(removed)) {
+                rank.removeAll(removed);
+            }
+            if (CollUtil.isNotEmpty(scores)) {
+                rank.remove(EMPTY_MARKER);
+                rank.addAll(scores);
+                trim(rank);
+            }
+        } catch (Exception e) {
+            log.warn("增量更新推荐结果缓存失败，companyId={}", companyId, e);
+            getRank(companyId).delete();
+        }
+    }
+
+    /**
+     * 记录本次计算推荐列表时使用的浏览职位，之后只有浏览到其中没有的职位才需要重算
+     */
+    public void saveViewedOccupations(Long companyId, Collection<String> occupations) {
+        try {
+            RSet<String> set = getViewedOccupations(companyId);
+            set.delete();
+            if (CollUtil.isNotEmpty(occupations)) {
+                set.addAll(occupations);
+                set.expire(RANK_TTL);
+            }
+        } catch (Exception e) {
+            log.warn("写入推荐浏览职位失败，companyId={}", companyId, e);
+        }
+    }
+
+    /**
+     * 企业浏览了一名人才：只有人才的职位不在上次计算使用的浏览职位中时才记为待刷新。
+     * 推荐列表尚未计算时不登记，访问时会完整计算；浏览窗口滑出的旧职位由每日整体重算处理
+     *
+     * @param companyId   企业ID
+     * @param occupations 被浏览人才的职位
+     */
+    public void markCompanyViewed(Long companyId, Collection<String> occupations) {
+        if (companyId == null || CollUtil.isEmpty(occupations)) {
+            return;
+        }
+        try {
+            if (!getRank(companyId).isExists() || getViewedOccupations(companyId).containsAll(occupations)) {
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("读取推荐浏览职位失败，companyId={}, error={}", companyId, e.getMessage());
+        }
+        markCompanyDirty(companyId);
+    }
+
+    /**
+     * 企业推荐列表的计算锁，推荐列表未计算时同一企业的并发请求只计算一次
+     */
+    public RLock getComputeLock(Long companyId) {
+        return redissonClient.getLock(COMPUTE_LOCK_KEY_PREFIX + companyId);
+    }
+
+    /**
+     * 企业偏好或浏览职位已变化，等待定时任务整体重算。在事务中调用时等事务提交后再登记
+     */
+    public void markCompanyDirty(Long companyId) {
+        if (companyId != null) {
+            afterCommit(() -> redissonClient.<Long>getSet(DIRTY_COMPANY_KEY, LongCodec.INSTANCE).add(companyId));
+        }
+    }
+
+    /**
+     * 员工评价或档案已变化，等待定时任务在各企业中重新打分。在事务中调用时等事务提交后再登记
+     */
+    public void markEmployeeDirty(Long employeeId) {
+        if (employeeId != null) {
+            afterCommit(() -> redissonClient.<Long>getSet(DIRTY_EMPLOYEE_KEY, LongCodec.INSTANCE).add(employeeId));
+        }
+    }
+
+    /**
+     * 取出一批待整体重算的企业（多节点同时执行时各自取到不同的企业）
+     */
+    public Set<Long> pollDirtyCompanies(int limit) {
+        return pollDirty(DIRTY_COMPANY_KEY, limit);
+    }
+
+    /**
+     * 取出一批待重新打分的员工
+     */
+    public Set<Long> pollDirtyEmployees(int limit) {
+        return pollDirty(DIRTY_EMPLOYEE_KEY, limit);
+    }
+
+    /**
+     * 最近访问过推荐的企业，同时清理长期未访问的企业及其推荐列表
+     */
+    public Collection<Long> getActiveCompanyIds() {
+        try {
+            RScoredSortedSet<Long> active = getActiveCompanies();
+            long expireBefore = System.currentTimeMillis() - ACTIVE_RETENTION.toMillis();
+            Collection<Long> inactive = active.valueRange(Double.NEGATIVE_INFINITY, true, expireBefore, false);
+            if (CollUtil.isNotEmpty(inactive)) {
+                active.removeAll(inactive);
+                redissonClient.getKeys().delete(inactive.stream()
+                        .flatMap(companyId -> Stream.of(RANK_KEY_PREFIX + companyId,
+                                VIEWED_OCCUPATIONS_KEY_PREFIX + companyId))
+                        .toArray(String[]::new));
+            }
+            return active.readAll();
+        } catch (Exception e) {
+            log.warn("读取推荐活跃企业失败", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private void touch(Long companyId) {
+        getActiveCompanies().add(System.currentTimeMillis(), companyId);
+    }
+
+    private void trim(RScoredSortedSet<Long> rank) {
+        // 按分值升序排列，删除排在前 TOP_K 名之外的低分成员
+        rank.removeRangeByRank(0, -TOP_K - 1);
+    }
+
+    private Set<Long> pollDirty(String key, int limit) {
+        try {
+            RSet<Long> set = redissonClient.getSet(key, LongCodec.INSTANCE);
+            return set.removeRandom(limit);
+        } catch (Exception e) {
+            log.warn("读取待刷新推荐列表失败，key={}", key, e);
+            return Collections.emptySet();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("登记推荐待刷新失败, error={}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+
+    private RScoredSortedSet<Long> getRank(Long companyId) {
+        return redissonClient.getScoredSortedSet(RANK_KEY_PREFIX + companyId, LongCodec.INSTANCE);
+    }
+
+    private RSet<String> getViewedOccupations(Long companyId) {
+        return redissonClient.getSet(VIEWED_OCCUPATIONS_KEY_PREFIX + companyId, StringCodec.INSTANCE);
+    }
+
+    private RScoredSortedSet<Long> getActiveCompanies() {
+        return redissonClient.getScoredSortedSet(ACTIVE_COMPANY_KEY, LongCodec.INSTANCE);
+    }
+}
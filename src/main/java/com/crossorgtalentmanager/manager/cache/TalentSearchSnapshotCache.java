@@ -0,0 +1,143 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
+import com.crossorgtalentmanager.model.dto.talentmarket.TalentSearchRequest;
+import com.crossorgtalentmanager.utils.CacheKeyUtils;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 人才搜索结果快照缓存
+ * <p>
+ * 首页搜索时把排好序的员工ID列表（连同总数）以 long 数组的形式存入 Redis，短时间内的翻页和恢复搜索条件
+ * 只需从快照中截取一页ID再补全当前页数据，不再重新执行整条筛选排序 SQL。
+ * key 由企业ID和去掉分页参数、规范化后的搜索条件生成。
+ */
+@Slf4j
+@Component
+public class TalentSearchSnapshotCache {
+
+    private static final String KEY_PREFIX = "talent:search:snapshot:";
+
+    private static final Duration SNAPSHOT_TTL = Duration.ofMinutes(5);
+
+    /**
+     * 单个快照最多保存的员工ID数，超出部分的翻页仍走数据库
+     */
+    public static final int MAX_SNAPSHOT_SIZE = 2000;
+
+    /**
+     * 搜索结果快照
+     *
+     * @param total 符合条件的总数
+     * @param ids   按排序规则排好的前 {@link #MAX_SNAPSHOT_SIZE} 个员工ID
+     */
+    public record Snapshot(long total, long[] ids) {
+
+        /**
+         * 快照是否覆盖了 [offset, offset + pageSize) 这一页
+         */
+        public boolean covers(long offset, long pageSize) {
+            return offset + pageSize <= ids.length || ids.length >= total;
+        }
+
+        /**
+         * 截取一页员工ID
+         */
+        public List<Long> slice(long offset, long pageSize) {
+            if (offset >= ids.length) {
+                return Collections.emptyList();
+            }
+            int end = (int) Math.min(ids.length, offset + pageSize);
+            List<Long> page = new ArrayList<>(end - (int) offset);
+            for (int i = (int) offset; i < end; i++) {
+                page.add(ids[i]);
+            }
+            return page;
+        }
+    }
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 生成快照 key：分页参数和“跳过扣分”标记不影响结果，不参与计算；列表条件排序后再计算，顺序不同视为同一搜索
+     */
+    public String buildKey(Long companyId, TalentSearchRequest request) {
+        TalentSearchRequest normalized = new TalentSearchRequest();
+        BeanUtil.copyProperties(request, normalized);
+        normalized.setPageNum(0);
+        normalized.setPageSize(0);
+        normalized.setSkipPointDeduction(null);
+        normalized.setCursor(null);
+        normalized.setWithTotal(null);
+        normalized.setKeyword(StrUtil.trimToNull(request.getKeyword()));
+        normalized.setOccupation(StrUtil.trimToNull(request.getOccupation()));
+        normalized.setEvaluationKeyword(StrUtil.trimToNull(request.getEvaluationKeyword()));
+        normalized.setIncludeTagIds(sorted(request.getIncludeTagIds()));
+        normalized.setExcludeTagIds(sorted(request.getExcludeTagIds()));
+        normalized.setOccupations(sorted(request.getOccupations()));
+        normalized.setExcludeReasonKeywords(sorted(request.getExcludeReasonKeywords()));
+        return KEY_PREFIX + companyId + ":" + CacheKeyUtils.generateKey(normalized);
+    }
+
+    /**
+     * 读取快照，不存在或读取失败时返回 null
+     */
+    public Snapshot get(String key) {
+        try {
+            byte[] bytes = getBucket(key).get();
+            if (bytes == null || bytes.length < Long.BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long total = buffer.getLong();
+            long[] ids = new long[buffer.remaining() / Long.BYTES];
+            buffer.asLongBuffer().get(ids);
+            return new Snapshot(total, ids);
+        } catch (Exception e) {
+            log.warn("读取人才搜索快照失败，key={}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 保存快照（总数 + 员工ID，每个 8 字节）
+     */
+    public void put(String key, Snapshot snapshot) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (snapshot.ids().length + 1));
+            buffer.putLong(snapshot.total());
+            buffer.asLongBuffer().put(snapshot.ids());
+            getBucket(key).set(buffer.array(), SNAPSHOT_TTL);
+        } catch (Exception e) {
+            log.warn("写入人才搜索快照失败，key={}", key, e);
+        }
+    }
+
+    private RBucket<byte[]> getBucket(String key) {
+        return redissonClient.getBucket(key, ByteArrayCodec.INSTANCE);
+    }
+
+    private static <T extends Comparable<? super T>> List<T> sorted(List<T> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        List<T> copy = new ArrayList<>(values);
+        copy.removeIf(Objects::isNull);
+        Collections.sort(copy);
+        return copy;
+    }
+}
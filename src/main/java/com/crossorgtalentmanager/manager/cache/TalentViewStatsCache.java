@@ -0,0 +1,316 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.crossorgtalentmanager.manager.buffer.TalentViewLogBuffer;
+import com.crossorgtalentmanager.mapper.TalentViewLogMapper;
+import com.crossorgtalentmanager.model.dto.talentmarket.ViewCountStat;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 企业浏览统计（Redis 流式计数）
+ * <p>
+ * 每次浏览时更新企业的计数：累计浏览次数、按天的浏览次数、浏览过的人才（HyperLogLog 去重计数）、
+ * 各人才浏览次数和搜索关键词（有序集合）、浏览来源分布（哈希）。统计接口只读取这些计数，
+ * 耗时与企业浏览记录的多少无关。企业首次读取统计时从浏览记录表汇总初始化，清空浏览记录后重新初始化。
+ * 初始化期间存在 :seeding 标记，期间的浏览照常计数；汇总时暂停所有节点的浏览记录写入，
+ * 标记之后的浏览汇总时还没有写入数据库，只计入实时计数，汇总结果累加到计数上，两者不会重复。
+ */
+@Slf4j
+@Component
+public class TalentViewStatsCache {
+
+    private static final String KEY_PREFIX = "talent:view:stats:";
+
+    /**
+     * 统计的天数上限（本月 = 最近 30 天）
+     */
+    private static final int MAX_DAYS = 30;
+
+    private static final int WEEK_DAYS = 7;
+
+    /**
+     * 关键词有序集合只保留浏览次数最多的若干个
+     */
+    private static final int KEYWORD_LIMIT = 1000;
+
+    private static final Duration DAY_TTL = Duration.ofDays(MAX_DAYS + 2);
+
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final DateTimeFormatter TREND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * 来源分布哈希：字段为来源、值为次数（HINCRBY 需要数字格式的值）
+     */
+    private static final Codec SOURCE_CODEC = new CompositeCodec(StringCodec.INSTANCE, LongCodec.INSTANCE);
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private TalentViewLogMapper viewLogMapper;
+
+    @Resource
+    private TalentViewLogBuffer talentViewLogBuffer;
+
+    /**
+     * 企业浏览统计
+     *
+     * @param totalViews       累计浏览次数
+     * @param todayViews       今日浏览次数
+     * @param weekViews        最近7天浏览次数
+     * @param monthViews       最近30天浏览次数
+     * @param uniqueTalents    浏览过的人才数（近似值）
+     * @param viewTrend        最近7天每天的浏览次数
+     * @param topTalents       浏览次数最多的人才（员工ID -> 次数）
+     * @param sourceCounts     各来源的浏览次数
+     * @param topKeywords      浏览次数最多的搜索关键词
+     */
+    public record Stats(long totalViews, long todayViews, long weekViews, long monthViews, long uniqueTalents,
+            Map<String, Long> viewTrend, List<ScoredEntry<Long>> topTalents, Map<String, Long> sourceCounts,
+            List<ScoredEntry<String>> topKeywords) {
+    }
+
+    /**
+     * 记录一次浏览。统计尚未初始化（也不在初始化中）时跳过，初始化时会从浏览记录表汇总
+     */
+    public void recordView(Long companyId, Long employeeId, String viewSource, String searchKeyword) {
+        if (companyId == null || employeeId == null) {
+            return;
+        }
+        String prefix = KEY_PREFIX + companyId;
+        try {
+            redissonClient.getKeys().countExistsAsync(prefix + ":total", prefix + ":seeding").thenAccept(exists -> {
+                if (exists == 0) {
+                    return;
+                }
+                RBatch batch = redissonClient.createBatch();
+                batch.getAtomicLong(prefix + ":total").incrementAndGetAsync();
+                String dayKey = dayKey(prefix, LocalDate.now());
+                batch.getAtomicLong(dayKey).incrementAndGetAsync();
+                batch.getAtomicLong(dayKey).expireAsync(DAY_TTL);
+                batch.getHyperLogLog(prefix + ":uv", LongCodec.INSTANCE).addAsync(employeeId);
+                batch.getScoredSortedSet(prefix + ":talents", LongCodec.INSTANCE).addScoreAsync(employeeId, 1);
+                if (StrUtil.isNotBlank(viewSource)) {
+                    batch.<String, Long>getMap(prefix + ":sources", SOURCE_CODEC)
+                            .addAndGetAsync(viewSource.trim(), 1L);
+                }
+                if (StrUtil.isNotBlank(searchKeyword)) {
+                    String keywordKey = prefix + ":keywords";
+                    batch.getScoredSortedSet(keywordKey, StringCodec.INSTANCE)
+                            .addScoreAsync(searchKeyword.trim(), 1);
+                    batch.getScoredSortedSet(keywordKey, StringCodec.INSTANCE)
+                            .removeRangeByRankAsync(0, -KEYWORD_LIMIT - 1);
+                }
+                batch.executeAsync().exceptionally(e -> {
+                    log.warn("更新浏览统计失败，companyId={}, error={}", companyId, e.getMessage());
+                    return null;
+                });
+            });
+        } catch (Exception e) {
+            log.warn("更新浏览统计失败，companyId={}, error={}", companyId, e.getMessage());
+        }
+    }
+
+    /**
+     * 读取企业浏览统计，首次读取时先从浏览记录表初始化
+     *
+     * @param companyId 企业ID
+     * @param topN      人才和关键词排行的条数
+     */
+    public Stats getStats(Long companyId, int topN) {
+        String prefix = KEY_PREFIX + companyId;
+        RAtomicLong total = redissonClient.getAtomicLong(prefix + ":total");
+        if (!total.isExists() || getSeedingMarker(prefix).isExists()) {
+            initialize(companyId);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<String> dayKeys = new ArrayList<>();
+        for (int i = 0; i < MAX_DAYS; i++) {
+            dayKeys.add(dayKey(prefix, today.minusDays(i)));
+        }
+        Map<String, Long> dayCounts = redissonClient.getBuckets(LongCodec.INSTANCE)
+                .get(dayKeys.toArray(new String[0]));
+        long todayViews = 0;
+        long weekViews = 0;
+        long monthViews = 0;
+        Map<String, Long> viewTrend = new LinkedHashMap<>();
+        for (int i = MAX_DAYS - 1; i >= 0; i--) {
+            long count = dayCounts.getOrDefault(dayKeys.get(i), 0L);
+            monthViews += count;
+            if (i < WEEK_DAYS) {
+                weekViews += count;
+                viewTrend.put(today.minusDays(i).format(TREND_FORMATTER), count);
+            }
+            if (i == 0) {
+                todayViews = count;
+            }
+        }
+
+        RScoredSortedSet<Long> talents = redissonClient.getScoredSortedSet(prefix + ":talents", LongCodec.INSTANCE);
+        RScoredSortedSet<String> keywords = redissonClient.getScoredSortedSet(prefix + ":keywords",
+                StringCodec.INSTANCE);
+        RMap<String, Long> sources = redissonClient.getMap(prefix + ":sources", SOURCE_CODEC);
+        return new Stats(total.get(), todayViews, weekViews, monthViews,
+                redissonClient.getHyperLogLog(prefix + ":uv", LongCodec.INSTANCE).count(),
+                viewTrend,
+                new ArrayList<>(talents.entryRangeReversed(0, topN - 1)),
+                new HashMap<>(sources.readAllMap()),
+                new ArrayList<>(keywords.entryRangeReversed(0, topN - 1)));
+    }
+
+    /**
+     * 浏览记录被清空后删除统计，下次读取时重新初始化。在事务中调用时等事务提交后再删除
+     */
+    public void reset(Long companyId) {
+        if (companyId == null) {
+            return;
+        }
+        Runnable action = () -> {
+            try {
+                deleteAll(KEY_PREFIX + companyId);
+            } catch (Exception e) {
+                log.warn("删除浏览统计失败，companyId={}", companyId, e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 从浏览记录表汇总初始化统计。每条记录只保留了最近一次的浏览时间、来源和关键词，
+     * 因此初始化后的按天计数和来源、关键词分布是近似值，之后的浏览按实际发生计数。
+     * <p>
+     * 先把本节点写缓冲中的浏览刷到数据库，再暂停所有节点的浏览记录写入，写入初始化标记（之后的浏览开始实时计数）并汇总。
+     * 暂停期间标记之后的浏览都留在写缓冲中，不会既被实时计数又被汇总到；
+     * 其他节点在标记之前尚未写入的浏览（最多一个刷新周期）不计入统计。
+     * 汇总结果累加到计数上，完成后删除标记。初始化中途失败时标记保留，下次读取统计时重新初始化
+     */
+    private void initialize(Long companyId) {
+        String prefix = KEY_PREFIX + companyId;
+        RLock lock = redissonClient.getLock(prefix + ":init");
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(5, 60, TimeUnit.SECONDS);
+            RAtomicLong total = redissonClient.getAtomicLong(prefix + ":total");
+            RBucket<String> seeding = getSeedingMarker(prefix);
+            if (!locked || (total.isExists() && !seeding.isExists())) {
+                return;
+            }
+            deleteAll(prefix);
+            talentViewLogBuffer.flush();
+            long[] totalViews = new long[1];
+            talentViewLogBuffer.pauseFlushes(() -> {
+                seeding.set("1");
+                totalViews[0] = seed(companyId, prefix);
+            });
+
+            // 汇总结果写入后才删除初始化标记，此后累计次数即为“已初始化”的标记
+            seeding.delete();
+            log.info("企业浏览统计已初始化：companyId={}, totalViews={}", companyId, totalViews[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 把浏览记录表的汇总结果累加到计数上
+     *
+     * @return 累计浏览次数
+     */
+    private long seed(Long companyId, String prefix) {
+        RBatch batch = redissonClient.createBatch();
+        long totalViews = 0;
+        List<Long> employeeIds = new ArrayList<>();
+        for (ViewCountStat stat : viewLogMapper.selectViewCountByEmployee(companyId)) {
+            long count = stat.getViewCount() != null ? stat.getViewCount() : 0;
+            employeeIds.add(stat.getEmployeeId());
+            batch.getScoredSortedSet(prefix + ":talents", LongCodec.INSTANCE)
+                    .addScoreAsync(stat.getEmployeeId(), count);
+            totalViews += count;
+        }
+        if (CollUtil.isNotEmpty(employeeIds)) {
+            batch.getHyperLogLog(prefix + ":uv", LongCodec.INSTANCE).addAllAsync(employeeIds);
+        }
+
+        for (ViewCountStat stat : viewLogMapper.selectViewCountBySource(companyId)) {
+            batch.<String, Long>getMap(prefix + ":sources", SOURCE_CODEC)
+                    .addAndGetAsync(stat.getName(), stat.getViewCount());
+        }
+
+        String keywordKey = prefix + ":keywords";
+        for (ViewCountStat stat : viewLogMapper.selectViewCountByKeyword(companyId)) {
+            batch.getScoredSortedSet(keywordKey, StringCodec.INSTANCE)
+                    .addScoreAsync(stat.getName(), stat.getViewCount());
+        }
+        batch.getScoredSortedSet(keywordKey, StringCodec.INSTANCE).removeRangeByRankAsync(0, -KEYWORD_LIMIT - 1);
+
+        LocalDate since = LocalDate.now().minusDays(MAX_DAYS - 1);
+        for (ViewCountStat stat : viewLogMapper.selectViewCountByDay(companyId, since.atStartOfDay())) {
+            String dayKey = prefix + ":day:" + stat.getName();
+            batch.getAtomicLong(dayKey).addAndGetAsync(stat.getViewCount());
+            batch.getAtomicLong(dayKey).expireAsync(DAY_TTL);
+        }
+        batch.getAtomicLong(prefix + ":total").addAndGetAsync(totalViews);
+        batch.execute();
+        return totalViews;
+    }
+
+    private void deleteAll(String prefix) {
+        List<String> keys = new ArrayList<>(List.of(prefix + ":total", prefix + ":seeding", prefix + ":uv",
+                prefix + ":talents", prefix + ":sources", prefix + ":keywords"));
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < MAX_DAYS; i++) {
+            keys.add(dayKey(prefix, today.minusDays(i)));
+        }
+        redissonClient.getKeys().delete(keys.toArray(new String[0]));
+    }
+
+    private RBucket<String> getSeedingMarker(String prefix) {
+        return redissonClient.getBucket(prefix + ":seeding", StringCodec.INSTANCE);
+    }
+
+    private static String dayKey(String prefix, LocalDate day) {
+        return prefix + ":day:" + day.format(DAY_FORMATTER);
+    }
+}
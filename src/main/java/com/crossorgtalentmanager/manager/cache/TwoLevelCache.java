@@ -0,0 +1,215 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 两级缓存：进程内近端缓存（L1）+ Redis 缓存（L2）
+ * <p>
+ * 对 Spring Cache 透明，{@code @Cacheable(sync = true)} 会走 {@link #get(Object, Callable)}，
+ * 同一节点上同一个键的并发未命中只会触发一次加载（single-flight）。
+ * L2 读取失败（如旧格式数据反序列化失败）统一按未命中处理并清除该键。
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+
+    private final Cache redisCache;
+
+    private final NearCacheManager nearCacheManager;
+
+    /**
+     * 正在加载中的键，后到的请求等待同一次加载结果
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+
+    public TwoLevelCache(String name, Cache redisCache, NearCacheManager nearCacheManager) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.nearCacheManager = nearCacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = lookup(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = lookup(key);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不符: " + name + "::" + key
+                    + ", 期望 " + type.getName() + ", 实际 " + value.getClass().getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        String flightKey = String.valueOf(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            // 已有线程在加载，等待其结果
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            T loaded = load(key, valueLoader);
+            put(key, loaded);
+            flight.complete(loaded);
+            return loaded;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(flightKey, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            // 不缓存 null
+            return;
+        }
+        try {
+            redisCache.put(key, value);
+        } catch (Exception e) {
+            log.warn("缓存数据失败: {}::{}, error={}", name, key, e.getMessage());
+        }
+        // 通知其他节点丢弃旧值，本节点直接持有新值
+        nearCacheManager.invalidate(name, key);
+        nearCacheManager.put(name, key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            redisCache.evict(key);
+        } catch (Exception e) {
+            log.warn("清除缓存失败: {}::{}, error={}", name, key, e.getMessage());
+        }
+        nearCacheManager.invalidate(name, key);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            redisCache.clear();
+        } catch (Exception e) {
+            log.warn("清空缓存失败: {}, error={}", name, e.getMessage());
+        }
+        nearCacheManager.invalidate(name);
+    }
+
+    /**
+     * 当前统计快照
+     */
+    public CacheStats getStats() {
+        long loadCount = loads.sum();
+        double avgLoadMillis = loadCount == 0 ? 0 : loadTimeNanos.sum() / 1_000_000.0 / loadCount;
+        return new CacheStats(name, localHits.sum(), remoteHits.sum(), misses.sum(),
+                loadCount, loadFailures.sum(), avgLoadMillis);
+    }
+
+    private Object lookup(Object key) {
+        Object local = nearCacheManager.get(name, key);
+        if (local != null) {
+            localHits.increment();
+            return local;
+        }
+        Object remote = getFromRedis(key);
+        if (remote != null) {
+            remoteHits.increment();
+            nearCacheManager.put(name, key, remote);
+            return remote;
+        }
+        misses.increment();
+        return null;
+    }
+
+    private Object getFromRedis(Object key) {
+        try {
+            ValueWrapper wrapper = redisCache.get(key);
+            return wrapper != null ? wrapper.get() : null;
+        } catch (SerializationException e) {
+            // 反序列化失败（多为旧格式数据），清除缓存后按未命中处理
+            log.warn("缓存反序列化失败，清除缓存并重新查询: {}::{}, error={}", name, key, e.getMessage());
+            try {
+                redisCache.evict(key);
+            } catch (Exception evictEx) {
+                log.warn("清除缓存失败: {}::{}, error={}", name, key, evictEx.getMessage());
+            }
+        } catch (Exception e) {
+            log.warn("从缓存获取数据时发生异常，将重新查询: {}::{}, error={}", name, key, e.getMessage());
+        }
+        return null;
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        long start = System.nanoTime();
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            loadFailures.increment();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loads.increment();
+            loadTimeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @param name          缓存名
+     * @param localHits     L1 命中次数
+     * @param remoteHits    L2 命中次数
+     * @param misses        未命中次数
+     * @param loads         加载次数
+     * @param loadFailures  加载失败次数
+     * @param avgLoadMillis 平均加载耗时（毫秒）
+     */
+    public record CacheStats(String name, long localHits, long remoteHits, long misses,
+            long loads, long loadFailures, double avgLoadMillis) {
+    }
+}
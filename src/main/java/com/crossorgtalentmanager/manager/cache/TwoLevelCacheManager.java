@@ -0,0 +1,75 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * <p>
+ * 包装 Redis 缓存管理器：配置了近端缓存规格的缓存名返回 {@link TwoLevelCache}，其余直接返回 Redis 缓存。
+ * L2 过期时间和序列化方式沿用 Redis 缓存管理器中各缓存的配置。
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager redisCacheManager;
+
+    private final NearCacheManager nearCacheManager;
+
+    private final Map<String, LocalCacheSpec> localCacheSpecs;
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager redisCacheManager, NearCacheManager nearCacheManager,
+            Map<String, LocalCacheSpec> localCacheSpecs) {
+        this.redisCacheManager = redisCacheManager;
+        this.nearCacheManager = nearCacheManager;
+        this.localCacheSpecs = localCacheSpecs;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            LocalCacheSpec spec = localCacheSpecs.get(cacheName);
+            if (redisCache == null || spec == null) {
+                return redisCache;
+            }
+            nearCacheManager.register(cacheName, spec.maxSize(), spec.ttl().toMillis());
+            return new TwoLevelCache(cacheName, redisCache, nearCacheManager);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * 所有两级缓存的统计快照
+     */
+    public List<TwoLevelCache.CacheStats> getStats() {
+        List<TwoLevelCache.CacheStats> stats = new ArrayList<>();
+        for (Cache cache : caches.values()) {
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                stats.add(twoLevelCache.getStats());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 近端缓存规格
+     *
+     * @param maxSize 最大条目数
+     * @param ttl     过期时间
+     */
+    public record LocalCacheSpec(int maxSize, Duration ttl) {
+    }
+}
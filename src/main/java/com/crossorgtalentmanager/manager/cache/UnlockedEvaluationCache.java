@@ -0,0 +1,261 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.mapper.EvaluationUnlockMapper;
+import com.crossorgtalentmanager.model.entity.EvaluationUnlock;
+import com.mybatisflex.core.query.QueryWrapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBatch;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 企业已解锁评价ID缓存
+ * <p>
+ * 每个企业一份已解锁评价ID集合：进程内近端缓存（L1，有序 long[]）-> Redis Set（L2）-> evaluation_unlock 表。
+ * 详情页和解锁接口据此在内存中二分查找判断是否已解锁，不再每次查询数据库。
+ * 解锁事务提交后在同一个 Redis 事务中把新解锁的ID加入集合（SADD）并递增企业的版本号，
+ * 再通知所有节点失效近端缓存，之后的读取直接从 Redis 取到更新后的集合，不需要重新查询数据库。
+ * 从数据库加载前先读取版本号，写回前版本号已变化（加载期间有新的解锁提交）时丢弃加载结果，
+ * 避免在提交前开始的加载把旧集合写回缓存。
+ */
+@Slf4j
+@Component
+public class UnlockedEvaluationCache {
+
+    public static final String CACHE_NAME = "unlockedEvaluations";
+
+    private static final String REDIS_KEY_PREFIX = "talent:unlocked:";
+
+    private static final String VERSION_KEY_PREFIX = "talent:unlocked:version:";
+
+    /**
+     * Redis 中不能保存空集合，用 0 标记“已加载”，读取时去掉。
+     * 解锁时集合不存在会只写入新ID，没有标记的集合视为未加载
+     */
+    private static final long LOADED_MARKER = 0L;
+
+    private static final int LOCAL_CAPACITY = 2000;
+    private static final long LOCAL_TTL_MILLIS = 10 * 60 * 1000L;
+    private static final Duration REDIS_TTL = Duration.ofDays(1);
+
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    @Resource
+    private EvaluationUnlockMapper unlockMapper;
+
+    @PostConstruct
+    public void init() {
+        nearCacheManager.register(CACHE_NAME, LOCAL_CAPACITY, LOCAL_TTL_MILLIS);
+    }
+
+    /**
+     * 获取企业已解锁的全部评价ID，升序排列（只读，不要修改返回的数组）
+     */
+    public long[] getUnlockedIds(Long companyId) {
+        if (companyId == null) {
+            return new long[0];
+        }
+        long[] ids = nearCacheManager.get(CACHE_NAME, companyId);
+        if (ids != null) {
+            return ids;
+        }
+        long version = readVersion(companyId);
+        ids = readL2(companyId);
+        boolean current;
+        if (ids == null) {
+            ids = loadFromDb(companyId);
+            current = writeL2(companyId, ids, version);
+        } else {
+            // 读取期间集合可能刚被更新，版本号未变时才放入近端缓存
+            current = version >= 0 && readVersion(companyId) == version;
+        }
+        if (current) {
+            nearCacheManager.put(CACHE_NAME, companyId, ids);
+        }
+        return ids;
+    }
+
+    /**
+     * 判断企业是否已解锁指定评价
+     */
+    public boolean isUnlocked(Long companyId, Long evaluationId) {
+        return contains(getUnlockedIds(companyId), evaluationId);
+    }
+
+    /**
+     * 在 {@link #getUnlockedIds} 返回的数组中查找评价ID
+     */
+    public static boolean contains(long[] unlockedIds, Long evaluationId) {
+        return evaluationId != null && Arrays.binarySearch(unlockedIds, evaluationId) >= 0;
+    }
+
+    /**
+     * 记录新解锁的评价。在事务中调用时，等事务提交后再更新缓存，避免回滚后仍被当作已解锁
+     */
+    public void onUnlocked(Long companyId, Collection<Long> evaluationIds) {
+        if (companyId == null || CollUtil.isEmpty(evaluationIds)) {
+            return;
+        }
+        List<Long> ids = evaluationIds.stream().filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addUnlocked(companyId, ids);
+                }
+            });
+        } else {
+            addUnlocked(companyId, ids);
+        }
+    }
+
+    /**
+     * 在同一个 Redis 事务中加入新ID并递增版本号：
+     * 加入之前开始的写回一定能发现版本号已变化，之后开始的加载一定能读到新ID。
+     * 更新失败时删除集合，由下次读取从数据库重新加载
+     */
+    private void addUnlocked(Long companyId, List<Long> evaluationIds) {
+        try {
+            RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                    .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+            String setKey = REDIS_KEY_PREFIX + companyId;
+            String versionKey = VERSION_KEY_PREFIX + companyId;
+            batch.<Long>getSet(setKey, LongCodec.INSTANCE).addAllAsync(evaluationIds);
+            batch.getSet(setKey, LongCodec.INSTANCE).expireAsync(REDIS_TTL);
+            batch.getAtomicLong(versionKey).incrementAndGetAsync();
+            batch.getAtomicLong(versionKey).expireAsync(REDIS_TTL);
+            batch.execute();
+        } catch (Exception e) {
+            log.warn("更新已解锁评价缓存失败，companyId={}", companyId, e);
+            invalidate(companyId);
+        } finally {
+            nearCacheManager.invalidate(CACHE_NAME, companyId);
+        }
+    }
+
+    /**
+     * 先递增版本号再删除集合：删除之后才写回的旧集合一定能发现版本号已变化
+     */
+    private void invalidate(Long companyId) {
+        try {
+            RAtomicLong version = getVersion(companyId);
+            version.incrementAndGet();
+            version.expire(REDIS_TTL);
+            getRedisSet(companyId).delete();
+        } catch (Exception e) {
+            log.warn("失效已解锁评价缓存失败，companyId={}", companyId, e);
+        }
+    }
+
+    private long readVersion(Long companyId) {
+        try {
+            return getVersion(companyId).get();
+        } catch (Exception e) {
+            log.warn("读取已解锁评价缓存版本失败，companyId={}", companyId, e);
+            return -1L;
+        }
+    }
+
+    private long[] readL2(Long companyId) {
+        try {
+            RSet<Long> set = getRedisSet(companyId);
+            Set<Long> ids = set.readAll();
+            if (!ids.contains(LOADED_MARKER)) {
+                return null;
+            }
+            return ids.stream()
+                    .mapToLong(Long::longValue)
+                    .filter(id -> id != LOADED_MARKER)
+                    .sorted()
+                    .toArray();
+        } catch (Exception e) {
+            log.warn("读取已解锁评价缓存失败，companyId={}", companyId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写回从数据库加载的集合
+     *
+     * @param version 加载前读取的版本号
+     * @return 加载结果是否仍是最新的（加载期间没有新的解锁提交）
+     */
+    private boolean writeL2(Long companyId, long[] ids, long version) {
+        if (version < 0) {
+            return false;
+        }
+        try {
+            RSet<Long> set = getRedisSet(companyId);
+            Set<Long> values = new HashSet<>(ids.length + 1);
+            for (long id : ids) {
+                values.add(id);
+            }
+            values.add(LOADED_MARKER);
+            set.addAll(values);
+            set.expire(REDIS_TTL);
+            if (getVersion(companyId).get() != version) {
+                // 加载期间有新的解锁提交，刚写入的可能是旧数据，删除后由下次读取重新加载
+                set.delete();
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("写入已解锁评价缓存失败，companyId={}", companyId, e);
+            deleteQuietly(companyId);
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Long companyId) {
+        try {
+            getRedisSet(companyId).delete();
+        } catch (Exception e) {
+            log.warn("删除已解锁评价缓存失败，companyId={}, error={}", companyId, e.getMessage());
+        }
+    }
+
+    private long[] loadFromDb(Long companyId) {
+        QueryWrapper query = QueryWrapper.create()
+                .select("evaluation_id")
+                .eq("company_id", companyId);
+        return unlockMapper.selectListByQuery(query).stream()
+                .map(EvaluationUnlock::getEvaluationId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private RSet<Long> getRedisSet(Long companyId) {
+        return redissonClient.getSet(REDIS_KEY_PREFIX + companyId, LongCodec.INSTANCE);
+    }
+
+    private RAtomicLong getVersion(Long companyId) {
+        return redissonClient.getAtomicLong(VERSION_KEY_PREFIX + companyId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.crossorgtalentmanager.manager.index;
+
+/**
+ * 按员工维护的进程内索引
+ * <p>
+ * 由 {@link EmployeeIndexManager} 统一在启动时全量构建、定时校准，并在员工相关数据变更后按员工增量刷新。
+ */
+public interface EmployeeIndex {
+
+    /**
+     * 索引名称（用于日志）
+     */
+    String getName();
+
+    /**
+     * 从数据库全量重建索引
+     */
+    void rebuild();
+
+    /**
+     * 从数据库重新加载单个员工的索引数据
+     *
+     * @param employeeId 员工ID
+     */
+    void refreshEmployee(Long employeeId);
+}
@@ -0,0 +1,143 @@
+package com.crossorgtalentmanager.manager.index;
+
+import cn.hutool.core.collection.CollUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 进程内员工索引管理器
+ * <p>
+ * 员工的评价、档案等数据变更后调用 {@link #employeeChanged(Long)}：事务提交后刷新本节点的所有索引，
+ * 并通过 Redis 发布订阅通知其他节点刷新同一员工。启动完成后在后台全量构建，定时任务再做全量校准。
+ */
+@Slf4j
+@Component
+public class EmployeeIndexManager {
+
+    /**
+     * 刷新通知频道，消息格式：节点ID|员工ID
+     */
+    public static final String REFRESH_TOPIC = "employee-index:refresh";
+
+    private static final String NODE_SEPARATOR = "|";
+
+    /**
+     * 本节点ID，用于忽略自己发出的刷新通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Resource
+    private List<EmployeeIndex> indexes;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    private RTopic refreshTopic;
+
+    @PostConstruct
+    public void init() {
+        if (indexes == null) {
+            indexes = Collections.emptyList();
+        }
+        try {
+            refreshTopic = redissonClient.getTopic(REFRESH_TOPIC, StringCodec.INSTANCE);
+            refreshTopic.addListener(String.class, (channel, message) -> onRefreshMessage(message));
+        } catch (Exception e) {
+            // Redis 不可用时其他节点的变更只能等定时全量校准
+            log.warn("订阅员工索引刷新频道失败, error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 启动完成后在后台构建索引，不阻塞启动；构建完成前各索引按未就绪处理
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread thread = new Thread(this::rebuildAll, "employee-index-builder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 全量重建所有索引。启动构建与定时校准可能重叠，串行执行
+     */
+    public synchronized void rebuildAll() {
+        for (EmployeeIndex index : indexes) {
+            long start = System.currentTimeMillis();
+            try {
+                index.rebuild();
+                log.info("员工索引[{}]构建完成，耗时{}ms", index.getName(), System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                log.error("员工索引[{}]构建失败", index.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 员工相关数据已变更。在事务中调用时等事务提交后再刷新，保证读取到的是已提交的数据
+     *
+     * @param employeeId 员工ID
+     */
+    public void employeeChanged(Long employeeId) {
+        if (employeeId == null || CollUtil.isEmpty(indexes)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshAndPublish(employeeId);
+                }
+            });
+        } else {
+            refreshAndPublish(employeeId);
+        }
+    }
+
+    private void refreshAndPublish(Long employeeId) {
+        refreshLocal(employeeId);
+        if (refreshTopic == null) {
+            return;
+        }
+        try {
+            refreshTopic.publish(nodeId + NODE_SEPARATOR + employeeId);
+        } catch (Exception e) {
+            log.warn("发布员工索引刷新通知失败，employeeId={}, error={}", employeeId, e.getMessage());
+        }
+    }
+
+    private void onRefreshMessage(String message) {
+        int index = message.indexOf(NODE_SEPARATOR);
+        if (index < 0 || nodeId.equals(message.substring(0, index))) {
+            return;
+        }
+        try {
+            refreshLocal(Long.parseLong(message.substring(index + NODE_SEPARATOR.length())));
+        } catch (NumberFormatException e) {
+            log.warn("无效的员工索引刷新通知：{}", message);
+        }
+    }
+
+    private void refreshLocal(Long employeeId) {
+        for (EmployeeIndex index : indexes) {
+            try {
+                index.refreshEmployee(employeeId);
+            } catch (Exception e) {
+                log.warn("刷新员工索引[{}]失败，employeeId={}", index.getName(), employeeId, e);
+            }
+        }
+    }
+}
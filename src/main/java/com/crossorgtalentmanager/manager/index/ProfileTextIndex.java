@@ -0,0 +1,348 @@
+package com.crossorgtalentmanager.manager.index;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.crossorgtalentmanager.mapper.EmployeeProfileMapper;
+import com.crossorgtalentmanager.model.entity.EmployeeProfile;
+import com.mybatisflex.core.query.QueryWrapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 员工档案文本倒排索引（职位 occupation、离职原因 reason_for_leaving）
+ * <p>
+ * 按去重后的文本值建立单字和二元组（bigram）倒排，关键词包含匹配先用 bigram 求交集缩小候选值，再逐个校验。
+ * 多个关键词的“任一/全部不含”在一次集合运算中得出员工ID，并为搜索框提供职位联想。
+ * 档案写入后由 {@link EmployeeIndexManager} 按员工增量刷新。
+ */
+@Slf4j
+@Component
+public class ProfileTextIndex implements EmployeeIndex {
+
+    @Resource
+    private EmployeeProfileMapper employeeProfileMapper;
+
+    private volatile TextField occupations = new TextField();
+
+    private volatile TextField leavingReasons = new TextField();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 全量构建期间发生变更的员工，替换为新数据后重新刷新；未在构建时为 null（受 this 锁保护）
+     */
+    private Set<Long> changedDuringRebuild;
+
+    @Override
+    public String getName() {
+        return "profileText";
+    }
+
+    /**
+     * 索引是否已完成首次构建，未就绪时调用方应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        QueryWrapper query = QueryWrapper.create()
+                .select("employee_id", "occupation", "reason_for_leaving");
+        List<EmployeeProfile> profiles;
+        try {
+            profiles = employeeProfileMapper.selectListByQuery(query);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+        TextField newOccupations = new TextField();
+        TextField newLeavingReasons = new TextField();
+        for (EmployeeProfile profile : profiles) {
+            newOccupations.add(profile.getEmployeeId(), profile.getOccupation());
+            newLeavingReasons.add(profile.getEmployeeId(), profile.getReasonForLeaving());
+        }
+        Set<Long> changed;
+        synchronized (this) {
+            occupations = newOccupations;
+            leavingReasons = newLeavingReasons;
+            ready = true;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        }
+        changed.forEach(this::refreshEmployee);
+        log.info("档案文本索引已重建，档案数={}，职位数={}，离职原因数={}，重放变更员工数={}",
+                profiles.size(), newOccupations.valueCount(), newLeavingReasons.valueCount(), changed.size());
+    }
+
+    @Override
+    public void refreshEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(employeeId);
+            }
+            if (!ready) {
+                return;
+            }
+        }
+        QueryWrapper query = QueryWrapper.create()
+                .select("occupation", "reason_for_leaving")
+                .eq("employee_id", employeeId);
+        List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
+        Map<String, String> latestOccupations = new HashMap<>();
+        Map<String, String> latestReasons = new HashMap<>();
+        for (EmployeeProfile profile : profiles) {
+            addIfPresent(latestOccupations, profile.getOccupation());
+            addIfPresent(latestReasons, profile.getReasonForLeaving());
+        }
+        synchronized (this) {
+            occupations.replace(employeeId, latestOccupations);
+            leavingReasons.replace(employeeId, latestReasons);
+        }
+    }
+
+    /**
+     * 职位包含任一关键词的员工
+     */
+    public Set<Long> employeesWithAnyOccupation(Collection<String> keywords) {
+        return occupations.matchAny(keywords);
+    }
+
+    /**
+     * 离职原因包含任一关键词的员工
+     */
+    public Set<Long> employeesWithAnyLeavingReason(Collection<String> keywords) {
+        return leavingReasons.matchAny(keywords);
+    }
+
+    /**
+     * 职位联想：返回包含关键词的职位，以关键词开头的优先，其次按人数降序
+     *
+     * @param keyword 输入的关键词
+     * @param limit   最多返回条数
+     */
+    public List<String> suggestOccupations(String keyword, int limit) {
+        return occupations.suggest(keyword, limit);
+    }
+
+    private static void addIfPresent(Map<String, String> values, String text) {
+        String value = normalize(text);
+        if (value != null) {
+            values.putIfAbsent(value, text.trim());
+        }
+    }
+
+    /**
+     * 统一大小写并合并空白，空文本返回 null
+     */
+    static String normalize(String text) {
+        if (StrUtil.isBlank(text)) {
+            return null;
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 单个文本字段的倒排结构
+     */
+    private static class TextField {
+
+        /**
+         * 文本值 -> 员工ID集合
+         */
+        private final Map<String, Set<Long>> valueToEmployees = new ConcurrentHashMap<>();
+
+        /**
+         * 单字/二元组 -> 包含它的文本值
+         */
+        private final Map<String, Set<String>> gramToValues = new ConcurrentHashMap<>();
+
+        /**
+         * 文本值 -> 原始文本（联想时展示，保留首次出现的大小写）
+         */
+        private final Map<String, String> valueToDisplay = new ConcurrentHashMap<>();
+
+        /**
+         * 员工ID -> 文本值（增量刷新时计算差异）
+         */
+        private final Map<Long, Set<String>> employeeToValues = new ConcurrentHashMap<>();
+
+        int valueCount() {
+            return valueToEmployees.size();
+        }
+
+        void add(Long employeeId, String text) {
+            String value = normalize(text);
+            if (employeeId == null || value == null) {
+                return;
+            }
+            addValue(employeeId, value, text.trim());
+        }
+
+        /**
+         * 用员工最新的文本替换索引中的旧文本
+         *
+         * @param latestValues 规范化文本 -> 原始文本
+         */
+        void replace(Long employeeId, Map<String, String> latestValues) {
+            Set<String> oldValues = employeeToValues.getOrDefault(employeeId, Collections.emptySet());
+            for (String value : List.copyOf(oldValues)) {
+                if (!latestValues.containsKey(value)) {
+                    removeValue(employeeId, value);
+                }
+            }
+            for (Map.Entry<String, String> entry : latestValues.entrySet()) {
+                if (!oldValues.contains(entry.getKey())) {
+                    addValue(employeeId, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private void addValue(Long employeeId, String value, String display) {
+            Set<Long> employees = valueToEmployees.computeIfAbsent(value, k -> {
+                for (String gram : grams(value)) {
+                    gramToValues.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(value);
+                }
+                return ConcurrentHashMap.newKeySet();
+            });
+            employees.add(employeeId);
+            valueToDisplay.putIfAbsent(value, display);
+            employeeToValues.computeIfAbsent(employeeId, k -> ConcurrentHashMap.newKeySet()).add(value);
+        }
+
+        private void removeValue(Long employeeId, String value) {
+            Set<Long> employees = valueToEmployees.get(value);
+            if (employees != null) {
+                employees.remove(employeeId);
+                if (employees.isEmpty()) {
+                    valueToEmployees.remove(value);
+                    valueToDisplay.remove(value);
+                    for (String gram : grams(value)) {
+                        Set<String> values = gramToValues.get(gram);
+                        if (values != null) {
+                            values.remove(value);
+                            if (values.isEmpty()) {
+                                gramToValues.remove(gram);
+                            }
+                        }
+                    }
+                }
+            }
+            Set<String> values = employeeToValues.get(employeeId);
+            if (values != null) {
+                values.remove(value);
+                if (values.isEmpty()) {
+                    employeeToValues.remove(employeeId);
+                }
+            }
+        }
+
+        Set<Long> matchAny(Collection<String> keywords) {
+            Set<Long> result = new HashSet<>();
+            if (CollUtil.isEmpty(keywords)) {
+                return result;
+            }
+            for (String keyword : keywords) {
+                for (String value : matchValues(keyword)) {
+                    result.addAll(valueToEmployees.getOrDefault(value, Collections.emptySet()));
+                }
+            }
+            return result;
+        }
+
+        List<String> suggest(String keyword, int limit) {
+            String normalized = normalize(keyword);
+            if (normalized == null || limit <= 0) {
+                return Collections.emptyList();
+            }
+            Comparator<String> order = Comparator
+                    .comparing((String value) -> !value.startsWith(normalized))
+                    .thenComparing(value -> -valueToEmployees.getOrDefault(value, Collections.emptySet()).size())
+                    .thenComparing(Comparator.naturalOrder());
+            return matchValues(normalized).stream()
+                    .sorted(order)
+                    .limit(limit)
+                    .map(value -> valueToDisplay.getOrDefault(value, value))
+                    .toList();
+        }
+
+        /**
+         * 找出包含关键词的全部文本值
+         */
+        private List<String> matchValues(String keyword) {
+            String normalized = normalize(keyword);
+            if (normalized == null) {
+                return Collections.emptyList();
+            }
+            List<Set<String>> postings = new ArrayList<>();
+            for (String gram : queryGrams(normalized)) {
+                Set<String> values = gramToValues.get(gram);
+                if (values == null) {
+                    return Collections.emptyList();
+                }
+                postings.add(values);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            List<String> matched = new ArrayList<>();
+            for (String value : postings.get(0)) {
+                // bigram 全部命中不代表连续出现，需再校验一次
+                if (value.contains(normalized)) {
+                    matched.add(value);
+                }
+            }
+            return matched;
+        }
+
+        /**
+         * 建索引用：全部单字和二元组
+         */
+        private static Set<String> grams(String value) {
+            Set<String> grams = new HashSet<>();
+            int[] codePoints = value.codePoints().toArray();
+            for (int i = 0; i < codePoints.length; i++) {
+                grams.add(new String(codePoints, i, 1));
+                if (i + 1 < codePoints.length) {
+                    grams.add(new String(codePoints, i, 2));
+                }
+            }
+            return grams;
+        }
+
+        /**
+         * 查询用：单字关键词查单字倒排，否则查全部二元组
+         */
+        private static Set<String> queryGrams(String keyword) {
+            int[] codePoints = keyword.codePoints().toArray();
+            Set<String> grams = new HashSet<>();
+            if (codePoints.length == 1) {
+                grams.add(keyword);
+                return grams;
+            }
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                grams.add(new String(codePoints, i, 2));
+            }
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.crossorgtalentmanager.manager.index;
+
+import com.crossorgtalentmanager.mapper.EmployeeProfileMapper;
+import com.crossorgtalentmanager.mapper.EmployeeProfileSummaryMapper;
+import com.crossorgtalentmanager.mapper.EvaluationDimensionScoreMapper;
+import com.crossorgtalentmanager.mapper.EvaluationTagRelationMapper;
+import com.crossorgtalentmanager.model.dto.evaluation.EmployeeFeatureValue;
+import com.crossorgtalentmanager.model.entity.EmployeeProfile;
+import com.crossorgtalentmanager.model.entity.EmployeeProfileSummary;
+import com.mybatisflex.core.query.QueryWrapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 相似人才索引：每个员工一个稀疏特征向量，按余弦相似度查找最相近的员工
+ * <p>
+ * 特征分为四组，每组单独归一化后按权重合并，两个员工的相似度即各组余弦相似度的加权和：
+ * 职位（曾任职位，0/1）、标签（各评价标签出现次数取对数）、维度（各评价维度平均分相对 3 分的偏差）、
+ * 工龄（累计任职月数分档）。查询时只对与参考员工至少有一个相同职位或标签的员工计算相似度。
+ * 评价或档案写入后由 {@link EmployeeIndexManager} 按员工增量刷新。
+ */
+@Slf4j
+@Component
+public class SimilarTalentIndex implements EmployeeIndex {
+
+    private static final double OCCUPATION_WEIGHT = 0.4;
+    private static final double TAG_WEIGHT = 0.3;
+    private static final double DIMENSION_WEIGHT = 0.2;
+    private static final double TENURE_WEIGHT = 0.1;
+
+    /**
+     * 工龄分档上限（月），超过最后一档的归入同一档
+     */
+    private static final int[] TENURE_BUCKETS = {12, 36, 60, 120};
+
+    private static final String OCCUPATION_PREFIX = "o:";
+    private static final String TAG_PREFIX = "t:";
+    private static final String DIMENSION_PREFIX = "d:";
+    private static final String TENURE_PREFIX = "m:";
+
+    @Resource
+    private EmployeeProfileMapper employeeProfileMapper;
+
+    @Resource
+    private EmployeeProfileSummaryMapper employeeProfileSummaryMapper;
+
+    @Resource
+    private EvaluationTagRelationMapper evaluationTagRelationMapper;
+
+    @Resource
+    private EvaluationDimensionScoreMapper evaluationDimensionScoreMapper;
+
+    /**
+     * 特征名 -> 特征编号，只增不减
+     */
+    private final Map<String, Integer> featureIds = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextFeatureId = new AtomicInteger();
+
+    /**
+     * 员工ID -> 特征向量
+     */
+    private volatile Map<Long, FeatureVector> vectors = new ConcurrentHashMap<>();
+
+    /**
+     * 职位、标签特征编号 -> 拥有该特征的员工ID（用于缩小候选范围）
+     */
+    private volatile Map<Integer, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 全量构建期间发生变更的员工，替换为新数据后重新刷新；未在构建时为 null（受 this 锁保护）
+     */
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * 相似员工及相似度（0~1）
+     */
+    public record Match(Long employeeId, double similarity) {
+    }
+
+    @Override
+    public String getName() {
+        return "similarTalent";
+    }
+
+    /**
+     * 索引是否已完成首次构建，未就绪时调用方应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        Map<Long, RawFeatures> rawMap;
+        try {
+            rawMap = loadAllRawFeatures();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        Map<Long, FeatureVector> newVectors = new ConcurrentHashMap<>();
+        Map<Integer, Set<Long>> newPostings = new ConcurrentHashMap<>();
+        rawMap.forEach((employeeId, raw) -> {
+            if (employeeId == null) {
+                return;
+            }
+            FeatureVector vector = raw.toVector();
+            if (vector != null) {
+                newVectors.put(employeeId, vector);
+                for (int featureId : vector.discreteIds) {
+                    newPostings.computeIfAbsent(featureId, k -> ConcurrentHashMap.newKeySet()).add(employeeId);
+                }
+            }
+        });
+        Set<Long> changed;
+        synchronized (this) {
+            vectors = newVectors;
+            postings = newPostings;
+            ready = true;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        }
+        changed.forEach(this::refreshEmployee);
+        log.info("相似人才索引已重建，员工数={}，特征数={}，重放变更员工数={}",
+                newVectors.size(), featureIds.size(), changed.size());
+    }
+
+    /**
+     * 读取全部员工的原始特征
+     */
+    private Map<Long, RawFeatures> loadAllRawFeatures() {
+        Map<Long, RawFeatures> rawMap = new HashMap<>();
+        QueryWrapper profileQuery = QueryWrapper.create()
+                .select("employee_id", "occupation");
+        for (EmployeeProfile profile : employeeProfileMapper.selectListByQuery(profileQuery)) {
+            rawMap.computeIfAbsent(profile.getEmployeeId(), k -> new RawFeatures()).addOccupation(profile.getOccupation());
+        }
+        for (EmployeeFeatureValue value : evaluationTagRelationMapper.selectAllEmployeeTagCounts()) {
+            rawMap.computeIfAbsent(value.getEmployeeId(), k -> new RawFeatures()).addTag(value);
+        }
+        for (EmployeeFeatureValue value : evaluationDimensionScoreMapper.selectAllDimensionAverages()) {
+            rawMap.computeIfAbsent(value.getEmployeeId(), k -> new RawFeatures()).addDimension(value);
+        }
+        QueryWrapper summaryQuery = QueryWrapper.create()
+                .select("employee_id", "total_work_months");
+        for (EmployeeProfileSummary summary : employeeProfileSummaryMapper.selectListByQuery(summaryQuery)) {
+            rawMap.computeIfAbsent(summary.getEmployeeId(), k -> new RawFeatures())
+                    .workMonths = summary.getTotalWorkMonths();
+        }
+        return rawMap;
+    }
+
+    @Override
+    public void refreshEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(employeeId);
+            }
+            if (!ready) {
+                return;
+            }
+        }
+        RawFeatures raw = new RawFeatures();
+        QueryWrapper profileQuery = QueryWrapper.create()
+                .select("occupation")
+                .eq("employee_id", employeeId);
+        for (EmployeeProfile profile : employeeProfileMapper.selectListByQuery(profileQuery)) {
+            raw.addOccupation(profile.getOccupation());
+        }
+        evaluationTagRelationMapper.selectTagCountsByEmployeeId(employeeId).forEach(raw::addTag);
+        evaluationDimensionScoreMapper.selectDimensionAveragesByEmployeeId(employeeId).forEach(raw::addDimension);
+        EmployeeProfileSummary summary = employeeProfileSummaryMapper.selectOneById(employeeId);
+        raw.workMonths = summary != null ? summary.getTotalWorkMonths() : null;
+        FeatureVector latest = raw.toVector();
+
+        synchronized (this) {
+            FeatureVector old = vectors.get(employeeId);
+            if (old != null) {
+                for (int featureId : old.discreteIds) {
+                    Set<Long> employees = postings.get(featureId);
+                    if (employees != null) {
+                        employees.remove(employeeId);
+                    }
+                }
+            }
+            if (latest == null) {
+                vectors.remove(employeeId);
+                return;
+            }
+            for (int featureId : latest.discreteIds) {
+                postings.computeIfAbsent(featureId, k -> ConcurrentHashMap.newKeySet()).add(employeeId);
+            }
+            vectors.put(employeeId, latest);
+        }
+    }
+
+    /**
+     * 查找与指定员工最相似的员工（不含自己），按相似度降序
+     *
+     * @param employeeId 参考员工ID
+     * @param limit      最多返回人数
+     * @param filter     候选员工过滤条件，为 null 表示不过滤
+     * @return 相似员工，参考员工没有任何特征时返回空列表
+     */
+    public List<Match> findSimilar(Long employeeId, int limit, Predicate<Long> filter) {
+        FeatureVector reference = employeeId != null ? vectors.get(employeeId) : null;
+        if (reference == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (int featureId : reference.discreteIds) {
+            candidates.addAll(postings.getOrDefault(featureId, Collections.emptySet()));
+        }
+        candidates.remove(employeeId);
+
+        // 小顶堆保留相似度最高的 limit 个
+        PriorityQueue<Match> topK = new PriorityQueue<>(limit + 1,
+                (a, b) -> Double.compare(a.similarity(), b.similarity()));
+        for (Long candidateId : candidates) {
+            FeatureVector vector = vectors.get(candidateId);
+            if (vector == null || (filter != null && !filter.test(candidateId))) {
+                continue;
+            }
+            double similarity = reference.dot(vector);
+            if (similarity <= 0) {
+                continue;
+            }
+            if (topK.size() < limit) {
+                topK.add(new Match(candidateId, similarity));
+            } else if (similarity > topK.peek().similarity()) {
+                topK.poll();
+                topK.add(new Match(candidateId, similarity));
+            }
+        }
+        List<Match> result = new ArrayList<>(topK);
+        result.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return result;
+    }
+
+    private int featureId(String name) {
+        return featureIds.computeIfAbsent(name, k -> nextFeatureId.getAndIncrement());
+    }
+
+    /**
+     * 从数据库读出的原始特征，归一化后转为特征向量
+     */
+    private final class RawFeatures {
+
+        private final Set<String> occupations = new HashSet<>();
+        private final Map<Long, Double> tagCounts = new HashMap<>();
+        private final Map<Long, Double> dimensionAverages = new HashMap<>();
+        private Integer workMonths;
+
+        void addOccupation(String occupation) {
+            String value = ProfileTextIndex.normalize(occupation);
+            if (value != null) {
+                occupations.add(value);
+            }
+        }
+
+        void addTag(EmployeeFeatureValue value) {
+            if (value.getFeatureId() != null && value.getFeatureValue() != null) {
+                tagCounts.put(value.getFeatureId(), value.getFeatureValue());
+            }
+        }
+
+        void addDimension(EmployeeFeatureValue value) {
+            if (value.getFeatureId() != null && value.getFeatureValue() != null) {
+                dimensionAverages.put(value.getFeatureId(), value.getFeatureValue());
+            }
+        }
+
+        FeatureVector toVector() {
+            TreeMap<Integer, Double> weights = new TreeMap<>();
+            Map<Integer, Double> occupationBlock = new HashMap<>();
+            for (String occupation : occupations) {
+                occupationBlock.put(featureId(OCCUPATION_PREFIX + occupation), 1.0);
+            }
+            Map<Integer, Double> tagBlock = new HashMap<>();
+            tagCounts.forEach((tagId, count) -> tagBlock.put(featureId(TAG_PREFIX + tagId), Math.log1p(count)));
+            Map<Integer, Double> dimensionBlock = new HashMap<>();
+            dimensionAverages.forEach((dimensionId, average) ->
+                    dimensionBlock.put(featureId(DIMENSION_PREFIX + dimensionId), (average - 3) / 2));
+            Map<Integer, Double> tenureBlock = new HashMap<>();
+            if (workMonths != null && workMonths > 0) {
+                tenureBlock.put(featureId(TENURE_PREFIX + tenureBucket(workMonths)), 1.0);
+            }
+            addBlock(weights, occupationBlock, OCCUPATION_WEIGHT);
+            addBlock(weights, tagBlock, TAG_WEIGHT);
+            addBlock(weights, dimensionBlock, DIMENSION_WEIGHT);
+            addBlock(weights, tenureBlock, TENURE_WEIGHT);
+            if (occupationBlock.isEmpty() && tagBlock.isEmpty()) {
+                // 没有职位和标签的员工无法进入任何候选范围
+                return null;
+            }
+
+            int[] ids = new int[weights.size()];
+            float[] values = new float[weights.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Double> entry : weights.entrySet()) {
+                ids[i] = entry.getKey();
+                values[i] = entry.getValue().floatValue();
+                i++;
+            }
+            int[] discreteIds = new int[occupationBlock.size() + tagBlock.size()];
+            i = 0;
+            for (Integer id : occupationBlock.keySet()) {
+                discreteIds[i++] = id;
+            }
+            for (Integer id : tagBlock.keySet()) {
+                discreteIds[i++] = id;
+            }
+            return new FeatureVector(ids, values, discreteIds);
+        }
+
+        /**
+         * 分组归一化后乘以权重的平方根，两个向量点积后该组贡献为 权重 × 组内余弦相似度
+         */
+        private void addBlock(Map<Integer, Double> target, Map<Integer, Double> block, double weight) {
+            double norm = Math.sqrt(block.values().stream().mapToDouble(v -> v * v).sum());
+            if (norm == 0) {
+                return;
+            }
+            double scale = Math.sqrt(weight) / norm;
+            block.forEach((id, value) -> target.put(id, value * scale));
+        }
+
+        private int tenureBucket(int months) {
+            for (int i = 0; i < TENURE_BUCKETS.length; i++) {
+                if (months <= TENURE_BUCKETS[i]) {
+                    return i;
+                }
+            }
+            return TENURE_BUCKETS.length;
+        }
+    }
+
+    /**
+     * 稀疏特征向量：特征编号升序排列，值为已加权归一化的特征值
+     */
+    private static final class FeatureVector {
+
+        private final int[] ids;
+        private final float[] values;
+
+        /**
+         * 职位、标签特征编号，用于维护候选倒排
+         */
+        private final int[] discreteIds;
+
+        private FeatureVector(int[] ids, float[] values, int[] discreteIds) {
+            this.ids = ids;
+            this.values = values;
+            this.discreteIds = discreteIds;
+        }
+
+        double dot(FeatureVector other) {
+            double sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < ids.length && j < other.ids.length) {
+                if (ids[i] == other.ids[j]) {
+                    sum += values[i] * other.values[j];
+                    i++;
+                    j++;
+                } else if (ids[i] < other.ids[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.crossorgtalentmanager.manager.index;
+
+import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.mapper.EvaluationTagRelationMapper;
+import com.crossorgtalentmanager.model.dto.evaluation.EmployeeTagPair;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 评价标签倒排索引：标签ID -> 拥有该标签的员工ID集合
+ * <p>
+ * 员工的任一有效评价带有某标签即视为拥有该标签。人才搜索的标签筛选（任一/全部/排除）和
+ * 结果集的标签分面统计直接在内存中做集合运算，不再对 evaluation_tag_relation 做 EXISTS 子查询。
+ * 评价写入后由 {@link EmployeeIndexManager} 按员工增量刷新。
+ */
+@Slf4j
+@Component
+public class TagInvertedIndex implements EmployeeIndex {
+
+    @Resource
+    private EvaluationTagRelationMapper evaluationTagRelationMapper;
+
+    /**
+     * 标签ID -> 员工ID集合
+     */
+    private volatile Map<Long, Set<Long>> tagToEmployees = new ConcurrentHashMap<>();
+
+    /**
+     * 员工ID -> 标签ID集合（增量刷新时计算差异）
+     */
+    private volatile Map<Long, Set<Long>> employeeToTags = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 全量构建期间发生变更的员工，替换为新数据后重新刷新，避免变更丢失；未在构建时为 null（受 this 锁保护）
+     */
+    private Set<Long> changedDuringRebuild;
+
+    @Override
+    public String getName() {
+        return "evaluationTag";
+    }
+
+    /**
+     * 索引是否已完成首次构建，未就绪时调用方应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        List<EmployeeTagPair> pairs;
+        try {
+            pairs = evaluationTagRelationMapper.selectAllEmployeeTags();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+        Map<Long, Set<Long>> newTagToEmployees = new ConcurrentHashMap<>();
+        Map<Long, Set<Long>> newEmployeeToTags = new ConcurrentHashMap<>();
+        for (EmployeeTagPair pair : pairs) {
+            if (pair.getEmployeeId() == null || pair.getTagId() == null) {
+                continue;
+            }
+            newTagToEmployees.computeIfAbsent(pair.getTagId(), k -> ConcurrentHashMap.newKeySet())
+                    .add(pair.getEmployeeId());
+            newEmployeeToTags.computeIfAbsent(pair.getEmployeeId(), k -> ConcurrentHashMap.newKeySet())
+                    .add(pair.getTagId());
+        }
+        Set<Long> changed;
+        synchronized (this) {
+            tagToEmployees = newTagToEmployees;
+            employeeToTags = newEmployeeToTags;
+            ready = true;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        }
+        // 构建期间的增量刷新作用在旧数据上（或因未就绪被跳过），在新数据上重放
+        changed.forEach(this::refreshEmployee);
+        log.info("标签倒排索引已重建，标签数={}，员工数={}，重放变更员工数={}",
+                newTagToEmployees.size(), newEmployeeToTags.size(), changed.size());
+    }
+
+    @Override
+    public void refreshEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(employeeId);
+            }
+            if (!ready) {
+                return;
+            }
+        }
+        Set<Long> latestTags = new HashSet<>(evaluationTagRelationMapper.selectTagIdsByEmployeeId(employeeId));
+        synchronized (this) {
+            Set<Long> oldTags = employeeToTags.getOrDefault(employeeId, Collections.emptySet());
+            for (Long tagId : oldTags) {
+                if (!latestTags.contains(tagId)) {
+                    Set<Long> employees = tagToEmployees.get(tagId);
+                    if (employees != null) {
+                        employees.remove(employeeId);
+                    }
+                }
+            }
+            for (Long tagId : latestTags) {
+                if (!oldTags.contains(tagId)) {
+                    tagToEmployees.computeIfAbsent(tagId, k -> ConcurrentHashMap.newKeySet()).add(employeeId);
+                }
+            }
+            if (latestTags.isEmpty()) {
+                employeeToTags.remove(employeeId);
+            } else {
+                Set<Long> tags = ConcurrentHashMap.newKeySet();
+                tags.addAll(latestTags);
+                employeeToTags.put(employeeId, tags);
+            }
+        }
+    }
+
+    /**
+     * 拥有任一指定标签的员工（OR）
+     */
+    public Set<Long> employeesWithAny(Collection<Long> tagIds) {
+        Set<Long> result = new HashSet<>();
+        if (CollUtil.isEmpty(tagIds)) {
+            return result;
+        }
+        for (Long tagId : tagIds) {
+            result.addAll(tagToEmployees.getOrDefault(tagId, Collections.emptySet()));
+        }
+        return result;
+    }
+
+    /**
+     * 同时拥有全部指定标签的员工（AND），从最小的集合开始求交集
+     */
+    public Set<Long> employeesWithAll(Collection<Long> tagIds) {
+        if (CollUtil.isEmpty(tagIds)) {
+            return new HashSet<>();
+        }
+        List<Set<Long>> sets = tagIds.stream()
+                .distinct()
+                .map(tagId -> tagToEmployees.getOrDefault(tagId, Collections.emptySet()))
+                .sorted((a, b) -> Integer.compare(a.size(), b.size()))
+                .toList();
+        Set<Long> result = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+            result.retainAll(sets.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 统计结果集中每个标签覆盖的员工数
+     *
+     * @param employeeIds 结果集员工ID
+     * @return 标签ID -> 员工数
+     */
+    public Map<Long, Integer> facetCounts(Collection<Long> employeeIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (CollUtil.isEmpty(employeeIds)) {
+            return counts;
+        }
+        Map<Long, Set<Long>> snapshot = employeeToTags;
+        for (Long employeeId : employeeIds) {
+            Set<Long> tags = snapshot.get(employeeId);
+            if (tags != null) {
+                for (Long tagId : tags) {
+                    counts.merge(tagId, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+}
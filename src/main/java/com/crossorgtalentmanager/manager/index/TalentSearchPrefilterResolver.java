@@ -0,0 +1,95 @@
+package com.crossorgtalentmanager.manager.index;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.crossorgtalentmanager.model.dto.talentmarket.TalentSearchPrefilter;
+import com.crossorgtalentmanager.model.dto.talentmarket.TalentSearchRequest;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 人才搜索预筛选：把能由进程内索引回答的条件（标签、职位、离职原因）先在内存中做集合运算，
+ * 得到候选（AND）和排除（ANDNOT）员工ID交给搜索 SQL（集合较大时以 JSON 数组传入，见 {@link TalentSearchPrefilter}）。
+ * 索引未就绪时保留给 SQL 处理。
+ */
+@Component
+public class TalentSearchPrefilterResolver {
+
+    @Resource
+    private TagInvertedIndex tagInvertedIndex;
+
+    @Resource
+    private ProfileTextIndex profileTextIndex;
+
+    public TalentSearchPrefilter resolve(TalentSearchRequest request) {
+        TalentSearchPrefilter prefilter = new TalentSearchPrefilter();
+        Set<Long> includeIds = null;
+        Set<Long> excludeIds = null;
+
+        // 候选条件：各条件之间求交集
+        if (CollUtil.isNotEmpty(request.getIncludeTagIds()) && tagInvertedIndex.isReady()) {
+            Set<Long> ids = Boolean.TRUE.equals(request.getIncludeTagMatchAll())
+                    ? tagInvertedIndex.employeesWithAll(request.getIncludeTagIds())
+                    : tagInvertedIndex.employeesWithAny(request.getIncludeTagIds());
+            includeIds = intersect(includeIds, ids);
+            prefilter.setIncludeTagsResolved(true);
+        }
+        List<String> occupations = collectOccupations(request);
+        if (!occupations.isEmpty() && profileTextIndex.isReady()) {
+            includeIds = intersect(includeIds, profileTextIndex.employeesWithAnyOccupation(occupations));
+            prefilter.setOccupationResolved(true);
+        }
+
+        // 排除条件：各条件之间求并集
+        if (CollUtil.isNotEmpty(request.getExcludeTagIds()) && tagInvertedIndex.isReady()) {
+            excludeIds = union(excludeIds, tagInvertedIndex.employeesWithAny(request.getExcludeTagIds()));
+            prefilter.setExcludeTagsResolved(true);
+        }
+        if (CollUtil.isNotEmpty(request.getExcludeReasonKeywords()) && profileTextIndex.isReady()) {
+            excludeIds = union(excludeIds,
+                    profileTextIndex.employeesWithAnyLeavingReason(request.getExcludeReasonKeywords()));
+            prefilter.setExcludeReasonsResolved(true);
+        }
+
+        if (includeIds != null && excludeIds != null) {
+            // 有候选集合时排除直接在内存中做减法，无需再传给 SQL
+            includeIds.removeAll(excludeIds);
+            excludeIds = null;
+        }
+        prefilter.setIncludeEmployeeIds(includeIds);
+        prefilter.setExcludeEmployeeIds(excludeIds);
+        return prefilter;
+    }
+
+    private static List<String> collectOccupations(TalentSearchRequest request) {
+        List<String> occupations = new ArrayList<>();
+        if (StrUtil.isNotBlank(request.getOccupation())) {
+            occupations.add(request.getOccupation());
+        }
+        if (request.getOccupations() != null) {
+            request.getOccupations().stream().filter(StrUtil::isNotBlank).forEach(occupations::add);
+        }
+        return occupations;
+    }
+
+    private static Set<Long> intersect(Set<Long> current, Set<Long> ids) {
+        if (current == null) {
+            return new HashSet<>(ids);
+        }
+        current.retainAll(ids);
+        return current;
+    }
+
+    private static Set<Long> union(Set<Long> current, Set<Long> ids) {
+        if (current == null) {
+            return new HashSet<>(ids);
+        }
+        current.addAll(ids);
+        return current;
+    }
+}
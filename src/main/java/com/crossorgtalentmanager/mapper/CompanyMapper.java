@@ -5,6 +5,8 @@ import com.crossorgtalentmanager.model.entity.Company;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.math.BigDecimal;
+
 /**
  * 企业信息管理 映射层。
  *
@@ -22,4 +24,14 @@ public interface CompanyMapper extends BaseMapper<Company> {
     @Update("UPDATE company SET is_delete = 0 WHERE id = #{id}")
     int restoreById(@Param("id") Long id);
 
+    /**
+     * 原子地变动企业总积分：在一条 UPDATE 中完成读取、计算和写回。
+     * 不允许透支时，扣减要求变动后余额不小于0；返回受影响的行数，为0表示企业不存在或余额不足。
+     */
+    @Update("UPDATE company SET total_points = COALESCE(total_points, 0) + #{points} " +
+            "WHERE id = #{id} AND is_delete = 0 " +
+            "AND (#{allowOverdraft} = 1 OR #{points} >= 0 OR COALESCE(total_points, 0) + #{points} >= 0)")
+    int addTotalPoints(@Param("id") Long id, @Param("points") BigDecimal points,
+            @Param("allowOverdraft") boolean allowOverdraft);
+
 }
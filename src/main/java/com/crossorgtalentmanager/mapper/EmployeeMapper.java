@@ -1,10 +1,13 @@
 package com.crossorgtalentmanager.mapper;
 
 import com.mybatisflex.core.BaseMapper;
+import com.crossorgtalentmanager.model.dto.talentmarket.TalentSearchPrefilter;
+import com.crossorgtalentmanager.model.dto.talentmarket.TalentSearchRequest;
 import com.crossorgtalentmanager.model.entity.Employee;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -32,4 +35,54 @@ public interface EmployeeMapper extends BaseMapper<Employee> {
             "</script>")
     int batchRemoveFromDepartment(@Param("employeeIds") List<Long> employeeIds);
 
+    /**
+     * 人才搜索：统计符合条件的员工数（SQL 见 EmployeeMapper.xml）
+     *
+     * @param req       搜索请求
+     * @param companyId 当前企业ID（用于排除本公司员工）
+     * @param prefilter 进程内索引的预筛选结果
+     */
+    long countTalentSearch(@Param("req") TalentSearchRequest req, @Param("companyId") Long companyId,
+            @Param("prefilter") TalentSearchPrefilter prefilter);
+
+    /**
+     * 人才搜索：在数据库中完成筛选、排序和分页，只返回当前页的员工ID
+     *
+     * @param req         搜索请求
+     * @param companyId   当前企业ID（用于排除本公司员工）
+     * @param prefilter   进程内索引的预筛选结果
+     * @param sortByScore 是否按平均评分排序
+     * @param ascending   是否升序
+     * @param offset      偏移量
+     * @param pageSize    页面大小
+     */
+    List<Long> selectTalentSearchIds(@Param("req") TalentSearchRequest req,
+            @Param("companyId") Long companyId,
+            @Param("prefilter") TalentSearchPrefilter prefilter,
+            @Param("sortByScore") boolean sortByScore,
+            @Param("ascending") boolean ascending,
+            @Param("offset") long offset,
+            @Param("pageSize") long pageSize);
+
+    /**
+     * 人才搜索（游标分页）：从上一页最后一条记录之后继续取，代价与页码无关
+     *
+     * @param req         搜索请求
+     * @param companyId   当前企业ID（用于排除本公司员工）
+     * @param prefilter   进程内索引的预筛选结果
+     * @param sortByScore 是否按平均评分排序
+     * @param ascending   是否升序
+     * @param afterScore  上一页最后一条的平均评分（按评分排序时使用）
+     * @param afterId     上一页最后一条的员工ID，第一页为 null
+     * @param limit       最多返回条数
+     */
+    List<Long> selectTalentSearchIdsAfter(@Param("req") TalentSearchRequest req,
+            @Param("companyId") Long companyId,
+            @Param("prefilter") TalentSearchPrefilter prefilter,
+            @Param("sortByScore") boolean sortByScore,
+            @Param("ascending") boolean ascending,
+            @Param("afterScore") BigDecimal afterScore,
+            @Param("afterId") Long afterId,
+            @Param("limit") long limit);
+
 }
@@ -0,0 +1,53 @@
+package com.crossorgtalentmanager.mapper;
+
+import com.crossorgtalentmanager.model.entity.EmployeeProfileSummary;
+import com.mybatisflex.core.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 员工档案汇总 Mapper接口
+ *
+ * @author y
+ */
+@Mapper
+public interface EmployeeProfileSummaryMapper extends BaseMapper<EmployeeProfileSummary> {
+
+    /**
+     * 按员工重新汇总档案（仅统计未删除的档案），不存在则插入、存在则覆盖
+     */
+    @Insert("INSERT INTO employee_profile_summary (employee_id, profile_count, any_major_incident, " +
+            "max_attendance_rate, avg_attendance_rate, latest_occupation, total_work_months) " +
+            "SELECT #{employeeId}, COUNT(p.id), COALESCE(MAX(p.has_major_incident), 0), " +
+            "MAX(p.attendance_rate), ROUND(AVG(p.attendance_rate), 2), " +
+            "(SELECT lp.occupation FROM employee_profile lp WHERE lp.employee_id = #{employeeId} AND lp.is_delete = 0 " +
+            "ORDER BY lp.start_date DESC, lp.id DESC LIMIT 1), " +
+            "COALESCE(SUM(TIMESTAMPDIFF(MONTH, p.start_date, COALESCE(p.end_date, CURDATE()))), 0) " +
+            "FROM employee_profile p " +
+            "WHERE p.employee_id = #{employeeId} AND p.is_delete = 0 " +
+            "ON DUPLICATE KEY UPDATE profile_count = VALUES(profile_count), " +
+            "any_major_incident = VALUES(any_major_incident), max_attendance_rate = VALUES(max_attendance_rate), " +
+            "avg_attendance_rate = VALUES(avg_attendance_rate), latest_occupation = VALUES(latest_occupation), " +
+            "total_work_months = VALUES(total_work_months)")
+    int refreshByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * 全量重建汇总（用于定时校准，同时把在职经历的工作月数推进到当天），已无有效档案的员工汇总清零
+     */
+    @Insert("INSERT INTO employee_profile_summary (employee_id, profile_count, any_major_incident, " +
+            "max_attendance_rate, avg_attendance_rate, latest_occupation, total_work_months) " +
+            "SELECT e.id, COUNT(p.id), COALESCE(MAX(p.has_major_incident), 0), " +
+            "MAX(p.attendance_rate), ROUND(AVG(p.attendance_rate), 2), " +
+            "(SELECT lp.occupation FROM employee_profile lp WHERE lp.employee_id = e.id AND lp.is_delete = 0 " +
+            "ORDER BY lp.start_date DESC, lp.id DESC LIMIT 1), " +
+            "COALESCE(SUM(TIMESTAMPDIFF(MONTH, p.start_date, COALESCE(p.end_date, CURDATE()))), 0) " +
+            "FROM employee e " +
+            "LEFT JOIN employee_profile p ON p.employee_id = e.id AND p.is_delete = 0 " +
+            "GROUP BY e.id " +
+            "ON DUPLICATE KEY UPDATE profile_count = VALUES(profile_count), " +
+            "any_major_incident = VALUES(any_major_incident), max_attendance_rate = VALUES(max_attendance_rate), " +
+            "avg_attendance_rate = VALUES(avg_attendance_rate), latest_occupation = VALUES(latest_occupation), " +
+            "total_work_months = VALUES(total_work_months)")
+    int rebuildAll();
+}
@@ -0,0 +1,41 @@
+package com.crossorgtalentmanager.mapper;
+
+import com.crossorgtalentmanager.model.entity.EmployeeScoreSummary;
+import com.mybatisflex.core.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 员工评分汇总 Mapper接口
+ *
+ * @author y
+ */
+@Mapper
+public interface EmployeeScoreSummaryMapper extends BaseMapper<EmployeeScoreSummary> {
+
+    /**
+     * 按员工重新汇总评分（仅统计未删除的评价），不存在则插入、存在则覆盖
+     */
+    @Insert("INSERT INTO employee_score_summary (employee_id, score_sum, score_count, average_score, evaluation_count) " +
+            "SELECT #{employeeId}, COALESCE(SUM(s.score), 0), COUNT(s.id), COALESCE(ROUND(AVG(s.score), 2), 0), COUNT(DISTINCT ev.id) " +
+            "FROM evaluation ev " +
+            "LEFT JOIN evaluation_dimension_score s ON s.evaluation_id = ev.id " +
+            "WHERE ev.employee_id = #{employeeId} AND ev.is_delete = 0 " +
+            "ON DUPLICATE KEY UPDATE score_sum = VALUES(score_sum), score_count = VALUES(score_count), " +
+            "average_score = VALUES(average_score), evaluation_count = VALUES(evaluation_count)")
+    int refreshByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * 全量重建汇总（用于定时校准），已无有效评价的员工汇总清零
+     */
+    @Insert("INSERT INTO employee_score_summary (employee_id, score_sum, score_count, average_score, evaluation_count) " +
+            "SELECT e.id, COALESCE(SUM(s.score), 0), COUNT(s.id), COALESCE(ROUND(AVG(s.score), 2), 0), COUNT(DISTINCT ev.id) " +
+            "FROM employee e " +
+            "LEFT JOIN evaluation ev ON ev.employee_id = e.id AND ev.is_delete = 0 " +
+            "LEFT JOIN evaluation_dimension_score s ON s.evaluation_id = ev.id " +
+            "GROUP BY e.id " +
+            "ON DUPLICATE KEY UPDATE score_sum = VALUES(score_sum), score_count = VALUES(score_count), " +
+            "average_score = VALUES(average_score), evaluation_count = VALUES(evaluation_count)")
+    int rebuildAll();
+}
@@ -1,12 +1,33 @@
 package com.crossorgtalentmanager.mapper;
 
 import com.mybatisflex.core.BaseMapper;
+import com.crossorgtalentmanager.model.dto.evaluation.EmployeeFeatureValue;
 import com.crossorgtalentmanager.model.entity.EvaluationDimensionScore;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 维度评分记录表 映射层
  */
 @Mapper
 public interface EvaluationDimensionScoreMapper extends BaseMapper<EvaluationDimensionScore> {
+
+    /**
+     * 查询全部员工各维度的平均分（只统计未删除的评价），用于全量构建相似人才特征向量
+     */
+    @Select("SELECT ev.employee_id, s.dimension_id AS feature_id, AVG(s.score) AS feature_value " +
+            "FROM evaluation_dimension_score s JOIN evaluation ev ON ev.id = s.evaluation_id " +
+            "WHERE ev.is_delete = 0 GROUP BY ev.employee_id, s.dimension_id")
+    List<EmployeeFeatureValue> selectAllDimensionAverages();
+
+    /**
+     * 查询员工各维度的平均分，用于增量刷新相似人才特征向量
+     */
+    @Select("SELECT ev.employee_id, s.dimension_id AS feature_id, AVG(s.score) AS feature_value " +
+            "FROM evaluation_dimension_score s JOIN evaluation ev ON ev.id = s.evaluation_id " +
+            "WHERE ev.employee_id = #{employeeId} AND ev.is_delete = 0 GROUP BY s.dimension_id")
+    List<EmployeeFeatureValue> selectDimensionAveragesByEmployeeId(@Param("employeeId") Long employeeId);
 }
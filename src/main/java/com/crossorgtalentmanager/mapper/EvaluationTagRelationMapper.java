@@ -1,12 +1,50 @@
 package com.crossorgtalentmanager.mapper;
 
 import com.mybatisflex.core.BaseMapper;
+import com.crossorgtalentmanager.model.dto.evaluation.EmployeeFeatureValue;
+import com.crossorgtalentmanager.model.dto.evaluation.EmployeeTagPair;
 import com.crossorgtalentmanager.model.entity.EvaluationTagRelation;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 评价标签关联表 映射层
  */
 @Mapper
 public interface EvaluationTagRelationMapper extends BaseMapper<EvaluationTagRelation> {
+
+    /**
+     * 查询全部员工-标签对（去重，只统计未删除的评价和关联），用于全量构建标签倒排索引
+     */
+    @Select("SELECT DISTINCT ev.employee_id, r.tag_id FROM evaluation_tag_relation r " +
+            "JOIN evaluation ev ON ev.id = r.evaluation_id " +
+            "WHERE r.is_delete = 0 AND ev.is_delete = 0")
+    List<EmployeeTagPair> selectAllEmployeeTags();
+
+    /**
+     * 查询员工当前拥有的标签ID（去重），用于增量刷新标签倒排索引
+     */
+    @Select("SELECT DISTINCT r.tag_id FROM evaluation_tag_relation r " +
+            "JOIN evaluation ev ON ev.id = r.evaluation_id " +
+            "WHERE ev.employee_id = #{employeeId} AND r.is_delete = 0 AND ev.is_delete = 0")
+    List<Long> selectTagIdsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * 查询全部员工各标签的出现次数，用于全量构建相似人才特征向量
+     */
+    @Select("SELECT ev.employee_id, r.tag_id AS feature_id, COUNT(*) AS feature_value " +
+            "FROM evaluation_tag_relation r JOIN evaluation ev ON ev.id = r.evaluation_id " +
+            "WHERE r.is_delete = 0 AND ev.is_delete = 0 GROUP BY ev.employee_id, r.tag_id")
+    List<EmployeeFeatureValue> selectAllEmployeeTagCounts();
+
+    /**
+     * 查询员工各标签的出现次数，用于增量刷新相似人才特征向量
+     */
+    @Select("SELECT ev.employee_id, r.tag_id AS feature_id, COUNT(*) AS feature_value " +
+            "FROM evaluation_tag_relation r JOIN evaluation ev ON ev.id = r.evaluation_id " +
+            "WHERE ev.employee_id = #{employeeId} AND r.is_delete = 0 AND ev.is_delete = 0 GROUP BY r.tag_id")
+    List<EmployeeFeatureValue> selectTagCountsByEmployeeId(@Param("employeeId") Long employeeId);
 }
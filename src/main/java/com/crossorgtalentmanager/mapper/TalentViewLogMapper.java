@@ -1,10 +1,16 @@
 package com.crossorgtalentmanager.mapper;
 
+import com.crossorgtalentmanager.model.dto.talentmarket.ViewCountStat;
 import com.crossorgtalentmanager.model.entity.TalentViewLog;
 import com.mybatisflex.core.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 人才浏览记录 Mapper接口
@@ -25,5 +31,82 @@ public interface TalentViewLogMapper extends BaseMapper<TalentViewLog> {
     @Select("SELECT * FROM talent_view_log WHERE company_id = #{companyId} AND employee_id = #{employeeId} LIMIT 1")
     TalentViewLog selectOneIncludingDeleted(@Param("companyId") Long companyId,
             @Param("employeeId") Long employeeId);
-}
 
+    /**
+     * 批量写入合并后的浏览记录：不存在时插入，已存在时累加浏览次数并更新最近一次浏览信息，
+     * 已逻辑删除的记录按新记录覆盖（不累加清空前的浏览次数）并恢复。
+     * 只用于本批有浏览（viewCount > 0）的记录，只上报了浏览时长的记录使用 {@link #updateDurationBatch(List)}
+     *
+     * @param logs 合并后的浏览记录
+     * @return 影响行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO talent_view_log (id, company_id, user_id, employee_id, view_time, view_duration, " +
+            "view_count, view_source, search_keyword, is_delete) VALUES " +
+            "<foreach collection='logs' item='log' separator=','>" +
+            "(#{log.id}, #{log.companyId}, #{log.userId}, #{log.employeeId}, #{log.viewTime}, #{log.viewDuration}, " +
+            "#{log.viewCount}, #{log.viewSource}, #{log.searchKeyword}, 0)" +
+            "</foreach>" +
+            " ON DUPLICATE KEY UPDATE " +
+            "user_id = IF(VALUES(view_count) > 0, VALUES(user_id), user_id), " +
+            "view_time = IF(VALUES(view_count) > 0, " +
+            "IF(is_delete = 1, VALUES(view_time), GREATEST(view_time, VALUES(view_time))), view_time), " +
+            "view_duration = VALUES(view_duration), " +
+            "view_count = IF(is_delete = 1, 0, view_count) + VALUES(view_count), " +
+            "view_source = IF(is_delete = 1, VALUES(view_source), COALESCE(VALUES(view_source), view_source)), " +
+            "search_keyword = IF(is_delete = 1, VALUES(search_keyword), " +
+            "COALESCE(VALUES(search_keyword), search_keyword)), " +
+            "is_delete = IF(VALUES(view_count) > 0, 0, is_delete)" +
+            "</script>")
+    int upsertBatch(@Param("logs") List<TalentViewLog> logs);
+
+    /**
+     * 批量更新浏览时长：只更新已存在且未删除的记录，不插入新记录，也不改变浏览用户
+     *
+     * @param logs 只上报了浏览时长的记录（企业ID、员工ID、浏览时长）
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE talent_view_log SET view_duration = CASE" +
+            "<foreach collection='logs' item='log'>" +
+            " WHEN company_id = #{log.companyId} AND employee_id = #{log.employeeId} THEN #{log.viewDuration}" +
+            "</foreach>" +
+            " ELSE view_duration END " +
+            "WHERE is_delete = 0 AND (company_id, employee_id) IN " +
+            "<foreach collection='logs' item='log' open='(' separator=',' close=')'>" +
+            "(#{log.companyId}, #{log.employeeId})" +
+            "</foreach>" +
+            "</script>")
+    int updateDurationBatch(@Param("logs") List<TalentViewLog> logs);
+
+    /**
+     * 按员工统计企业的累计浏览次数
+     */
+    @Select("SELECT employee_id, SUM(view_count) AS view_count FROM talent_view_log " +
+            "WHERE company_id = #{companyId} AND is_delete = 0 GROUP BY employee_id")
+    List<ViewCountStat> selectViewCountByEmployee(@Param("companyId") Long companyId);
+
+    /**
+     * 按来源统计企业的累计浏览次数（每条记录只保留最近一次的来源）
+     */
+    @Select("SELECT view_source AS name, SUM(view_count) AS view_count FROM talent_view_log " +
+            "WHERE company_id = #{companyId} AND is_delete = 0 AND view_source IS NOT NULL GROUP BY view_source")
+    List<ViewCountStat> selectViewCountBySource(@Param("companyId") Long companyId);
+
+    /**
+     * 按搜索关键词统计企业的累计浏览次数（每条记录只保留最近一次的关键词）
+     */
+    @Select("SELECT search_keyword AS name, SUM(view_count) AS view_count FROM talent_view_log " +
+            "WHERE company_id = #{companyId} AND is_delete = 0 AND search_keyword IS NOT NULL " +
+            "AND search_keyword <> '' GROUP BY search_keyword")
+    List<ViewCountStat> selectViewCountByKeyword(@Param("companyId") Long companyId);
+
+    /**
+     * 按最近浏览日期统计指定时间之后的浏览记录数
+     */
+    @Select("SELECT DATE_FORMAT(view_time, '%Y%m%d') AS name, COUNT(*) AS view_count FROM talent_view_log " +
+            "WHERE company_id = #{companyId} AND is_delete = 0 AND view_time >= #{since} " +
+            "GROUP BY DATE_FORMAT(view_time, '%Y%m%d')")
+    List<ViewCountStat> selectViewCountByDay(@Param("companyId") Long companyId,
+            @Param("since") LocalDateTime since);
+}
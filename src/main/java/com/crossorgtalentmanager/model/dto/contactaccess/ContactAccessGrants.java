@@ -0,0 +1,58 @@
+package com.crossorgtalentmanager.model.dto.contactaccess;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 企业对某员工当前有效的联系方式查看授权
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactAccessGrants implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 已授权且未过期的请求类型，第 n 位为 1 表示有类型 n 的授权（1=电话，2=邮箱，3=身份证号，4=所有联系方式，5=电话和邮箱）
+     */
+    private int typeMask;
+
+    /**
+     * 最早到期的授权的过期时间（毫秒时间戳），没有授权时为 null
+     */
+    private Long earliestExpireMillis;
+
+    /**
+     * 是否有指定类型的授权
+     */
+    public boolean hasType(int requestType) {
+        return (typeMask & (1 << requestType)) != 0;
+    }
+
+    /**
+     * 是否可以按指定请求类型查看联系方式
+     * <ul>
+     * <li>类型 4（所有联系方式）：有任意类型的授权即可</li>
+     * <li>类型 5（电话和邮箱）：有类型 4 或 5 的授权，或者同时有类型 1 和 2 的授权</li>
+     * <li>类型 1、2（电话、邮箱）：有该类型、类型 4 或类型 5 的授权</li>
+     * <li>其他类型（身份证号）：有该类型或类型 4 的授权</li>
+     * </ul>
+     */
+    public boolean allows(Integer requestType) {
+        if (requestType == null) {
+            return false;
+        }
+        return switch (requestType) {
+            case 4 -> typeMask != 0;
+            case 5 -> hasType(4) || hasType(5) || (hasType(1) && hasType(2));
+            case 1, 2 -> hasType(requestType) || hasType(4) || hasType(5);
+            default -> requestType > 0 && requestType < Integer.SIZE && (hasType(requestType) || hasType(4));
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.crossorgtalentmanager.model.dto.employeeprofile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 查看者对单个档案的查看权限判断结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileVisibilityDecision implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 查看者公司是否为员工当前所属公司
+     */
+    private boolean sameCompany;
+
+    /**
+     * 是否已获得档案查看授权（仅对认证企业可见的档案有意义）
+     */
+    private boolean authorized;
+
+    /**
+     * 是否可以查看档案详情
+     */
+    private boolean canViewDetail;
+}
@@ -0,0 +1,29 @@
+package com.crossorgtalentmanager.model.dto.evaluation;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 员工的一项评价特征值（如某标签出现次数、某维度平均分），用于构建相似人才特征向量
+ */
+@Data
+public class EmployeeFeatureValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 员工ID
+     */
+    private Long employeeId;
+
+    /**
+     * 特征ID（标签ID或维度ID）
+     */
+    private Long featureId;
+
+    /**
+     * 特征值
+     */
+    private Double featureValue;
+}
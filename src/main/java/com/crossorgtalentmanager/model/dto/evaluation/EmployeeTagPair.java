@@ -0,0 +1,24 @@
+package com.crossorgtalentmanager.model.dto.evaluation;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 员工-标签对（员工的任一有效评价带有该标签），用于构建标签倒排索引
+ */
+@Data
+public class EmployeeTagPair implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 员工ID
+     */
+    private Long employeeId;
+
+    /**
+     * 标签ID
+     */
+    private Long tagId;
+}
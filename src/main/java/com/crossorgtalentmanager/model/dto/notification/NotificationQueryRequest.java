@@ -58,5 +58,15 @@ public class NotificationQueryRequest implements Serializable {
      * 排序顺序（ascend/descend）
      */
     private String sortOrder = "descend";
+
+    /**
+     * 游标分页：上一页返回的游标，第一页不传（游标分页固定按创建时间倒序，忽略 pageNum 和排序参数）
+     */
+    private String cursor;
+
+    /**
+     * 游标分页：是否返回总数
+     */
+    private Boolean withTotal;
 }
 
@@ -21,4 +21,9 @@ public class TalentCompareRequest implements Serializable {
      * 要对比的员工ID列表（2-5个）
      */
     private List<Long> employeeIds;
+
+    /**
+     * 是否通过流式接口（/compare/ai-stream）获取AI分析结果，默认轮询
+     */
+    private Boolean streamAi;
 }
@@ -0,0 +1,119 @@
+package com.crossorgtalentmanager.model.dto.talentmarket;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 人才搜索预筛选结果
+ * <p>
+ * 由进程内索引预先算出的候选/排除员工ID，以及哪些筛选条件已经在内存中处理过。
+ * 未处理的条件仍由 EmployeeMapper.xml 中的半连接下推到数据库。
+ * 员工ID不超过 {@link #INLINE_ID_LIMIT} 个时展开为 IN 列表，超过时整体作为一个 JSON 数组参数，
+ * 由数据库用 JSON_TABLE 展开后半连接，不受集合大小限制，也不会生成成千上万个绑定参数。
+ */
+@Data
+public class TalentSearchPrefilter {
+
+    /**
+     * 员工ID集合展开为 IN 列表的上限
+     */
+    public static final int INLINE_ID_LIMIT = 1000;
+
+    /**
+     * 候选员工ID，为 null 表示不限制，为空集合表示没有任何候选
+     */
+    private Set<Long> includeEmployeeIds;
+
+    /**
+     * 排除员工ID，为 null 表示不限制
+     */
+    private Set<Long> excludeEmployeeIds;
+
+    /**
+     * 候选/排除员工ID的 JSON 数组，同一次搜索的计数和分页查询共用，集合变化时重新生成
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String includeIdsJson;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String excludeIdsJson;
+
+    /**
+     * 包含标签条件已处理
+     */
+    private boolean includeTagsResolved;
+
+    /**
+     * 排除标签条件已处理
+     */
+    private boolean excludeTagsResolved;
+
+    /**
+     * 职位条件已处理
+     */
+    private boolean occupationResolved;
+
+    /**
+     * 离职原因排除条件已处理
+     */
+    private boolean excludeReasonsResolved;
+
+    public void setIncludeEmployeeIds(Set<Long> includeEmployeeIds) {
+        this.includeEmployeeIds = includeEmployeeIds;
+        this.includeIdsJson = null;
+    }
+
+    public void setExcludeEmployeeIds(Set<Long> excludeEmployeeIds) {
+        this.excludeEmployeeIds = excludeEmployeeIds;
+        this.excludeIdsJson = null;
+    }
+
+    /**
+     * 候选员工ID超过 {@link #INLINE_ID_LIMIT} 个时的 JSON 数组，否则为 null（展开为 IN 列表）
+     */
+    public String getIncludeIdsJson() {
+        if (includeIdsJson == null && isLarge(includeEmployeeIds)) {
+            includeIdsJson = toJsonArray(includeEmployeeIds);
+        }
+        return includeIdsJson;
+    }
+
+    /**
+     * 排除员工ID超过 {@link #INLINE_ID_LIMIT} 个时的 JSON 数组，否则为 null（展开为 NOT IN 列表）
+     */
+    public String getExcludeIdsJson() {
+        if (excludeIdsJson == null && isLarge(excludeEmployeeIds)) {
+            excludeIdsJson = toJsonArray(excludeEmployeeIds);
+        }
+        return excludeIdsJson;
+    }
+
+    /**
+     * 是否已确定没有任何候选
+     */
+    public boolean hasNoCandidate() {
+        return includeEmployeeIds != null && includeEmployeeIds.isEmpty();
+    }
+
+    private static boolean isLarge(Collection<Long> ids) {
+        return ids != null && ids.size() > INLINE_ID_LIMIT;
+    }
+
+    private static String toJsonArray(Collection<Long> ids) {
+        StringBuilder sb = new StringBuilder(ids.size() * 8 + 2).append('[');
+        for (Long id : ids) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(id);
+        }
+        return sb.append(']').toString();
+    }
+}
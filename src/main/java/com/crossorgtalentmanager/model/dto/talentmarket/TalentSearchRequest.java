@@ -51,13 +51,18 @@ public class TalentSearchRequest extends PageRequest implements Serializable {
      */
     private List<Long> includeTagIds;
 
+    /**
+     * 包含标签的匹配方式：true 表示必须拥有全部标签，默认拥有其一即可
+     */
+    private Boolean includeTagMatchAll;
+
     /**
      * 必须排除的评价标签ID列表（人才不能拥有这些标签中的任何一个）
      */
     private List<Long> excludeTagIds;
 
     /**
-     * 评价内容模糊搜索（在评价comment字段中搜索）
+     * 评价内容搜索（通过全文索引在评价comment字段中按短语匹配）
      */
     private String evaluationKeyword;
 
@@ -116,5 +121,15 @@ public class TalentSearchRequest extends PageRequest implements Serializable {
      * 用于在恢复搜索条件时不重复扣除积分
      */
     private Boolean skipPointDeduction;
+
+    /**
+     * 游标分页：上一页返回的游标，第一页不传（仅游标搜索接口使用）
+     */
+    private String cursor;
+
+    /**
+     * 游标分页：是否返回总数
+     */
+    private Boolean withTotal;
 }
 
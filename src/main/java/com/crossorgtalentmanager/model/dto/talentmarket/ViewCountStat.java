@@ -0,0 +1,29 @@
+package com.crossorgtalentmanager.model.dto.talentmarket;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 浏览次数分组统计结果，用于初始化 Redis 中的浏览统计
+ */
+@Data
+public class ViewCountStat implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 员工ID（按员工分组时）
+     */
+    private Long employeeId;
+
+    /**
+     * 分组名称（来源、关键词或日期 yyyyMMdd）
+     */
+    private String name;
+
+    /**
+     * 浏览次数
+     */
+    private Long viewCount;
+}
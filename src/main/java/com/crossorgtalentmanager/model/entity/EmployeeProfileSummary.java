@@ -0,0 +1,68 @@
+package com.crossorgtalentmanager.model.entity;
+
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.KeyType;
+import com.mybatisflex.annotation.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 员工档案汇总 实体类（每个员工一行，由档案写入时维护）
+ *
+ * @author y
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("employee_profile_summary")
+public class EmployeeProfileSummary implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 员工ID
+     */
+    @Id(keyType = KeyType.None)
+    private Long employeeId;
+
+    /**
+     * 有效档案数
+     */
+    private Integer profileCount;
+
+    /**
+     * 任一档案有重大违纪
+     */
+    private Boolean anyMajorIncident;
+
+    /**
+     * 各档案中最高出勤率
+     */
+    private BigDecimal maxAttendanceRate;
+
+    /**
+     * 各档案平均出勤率（保留两位小数，未填写出勤率的档案不参与计算）
+     */
+    private BigDecimal avgAttendanceRate;
+
+    /**
+     * 最近一段经历（入职日期最晚）的职位
+     */
+    private String latestOccupation;
+
+    /**
+     * 各段经历累计工作月数（在职经历计算到汇总当天）
+     */
+    private Integer totalWorkMonths;
+
+    private LocalDateTime updateTime;
+}
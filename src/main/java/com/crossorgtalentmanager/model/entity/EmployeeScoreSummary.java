@@ -0,0 +1,58 @@
+package com.crossorgtalentmanager.model.entity;
+
+import com.mybatisflex.annotation.Id;
+import com.mybatisflex.annotation.KeyType;
+import com.mybatisflex.annotation.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 员工评分汇总 实体类（每个员工一行，由评价写入时维护）
+ *
+ * @author y
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("employee_score_summary")
+public class EmployeeScoreSummary implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 员工ID
+     */
+    @Id(keyType = KeyType.None)
+    private Long employeeId;
+
+    /**
+     * 有效评价下所有维度评分之和
+     */
+    private Long scoreSum;
+
+    /**
+     * 有效评价下维度评分条数
+     */
+    private Integer scoreCount;
+
+    /**
+     * 平均评分（保留两位小数）
+     */
+    private BigDecimal averageScore;
+
+    /**
+     * 有效评价数
+     */
+    private Integer evaluationCount;
+
+    private LocalDateTime updateTime;
+}
@@ -45,6 +45,11 @@ public class TalentCompareVO implements Serializable {
      */
     private String aiAnalysisResult;
 
+    /**
+     * AI分析任务繁忙被拒绝时的建议重试等待秒数（正常提交时为null）
+     */
+    private Integer aiAnalysisRetryAfter;
+
     /**
      * 对比项目VO
      */
@@ -0,0 +1,39 @@
+package com.crossorgtalentmanager.model.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 人才搜索标签分面统计VO
+ *
+ * @author y
+ */
+@Data
+public class TalentTagFacetsVO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 各评价标签覆盖的人才数，按人数降序
+     */
+    private List<TalentVO.TagStatVO> facets;
+
+    /**
+     * 参与统计的人才数
+     */
+    private Integer countedTalents;
+
+    /**
+     * 搜索结果总人数
+     */
+    private Long totalTalents;
+
+    /**
+     * 搜索结果超过统计上限时为 true，此时只统计了前 countedTalents 个人才
+     */
+    private Boolean truncated;
+}
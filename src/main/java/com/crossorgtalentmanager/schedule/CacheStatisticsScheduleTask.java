@@ -0,0 +1,38 @@
+package com.crossorgtalentmanager.schedule;
+
+import com.crossorgtalentmanager.manager.cache.TwoLevelCache;
+import com.crossorgtalentmanager.manager.cache.TwoLevelCacheManager;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 两级缓存统计输出定时任务
+ */
+@Slf4j
+@Component
+public class CacheStatisticsScheduleTask {
+
+    @Resource
+    private CacheManager cacheManager;
+
+    /**
+     * 每小时输出一次各两级缓存的命中、未命中和加载耗时统计
+     * cron表达式：0 0 * * * ? - 每小时整点执行
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void logCacheStatistics() {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return;
+        }
+        try {
+            for (TwoLevelCache.CacheStats stats : twoLevelCacheManager.getStats()) {
+                log.info("缓存统计 - {}", stats);
+            }
+        } catch (Exception e) {
+            log.error("输出缓存统计失败", e);
+        }
+    }
+}
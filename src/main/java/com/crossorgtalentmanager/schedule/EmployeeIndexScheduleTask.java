@@ -0,0 +1,30 @@
+package com.crossorgtalentmanager.schedule;
+
+import com.crossorgtalentmanager.manager.index.EmployeeIndexManager;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 进程内员工索引全量校准定时任务
+ * <p>
+ * 增量刷新依赖业务写入时的通知，Redis 不可用或直接改库时可能遗漏，每天全量重建一次兜底。
+ */
+@Slf4j
+@Component
+public class EmployeeIndexScheduleTask {
+
+    @Resource
+    private EmployeeIndexManager employeeIndexManager;
+
+    /**
+     * 每天凌晨3点45分全量重建
+     * cron表达式：0 45 3 * * ? - 每天3:45执行
+     */
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void rebuildEmployeeIndexes() {
+        log.info("开始全量重建员工索引");
+        employeeIndexManager.rebuildAll();
+    }
+}
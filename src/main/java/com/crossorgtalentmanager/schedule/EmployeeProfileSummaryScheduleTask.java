@@ -0,0 +1,34 @@
+package com.crossorgtalentmanager.schedule;
+
+import com.crossorgtalentmanager.service.EmployeeProfileSummaryService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 员工档案汇总校准定时任务
+ */
+@Slf4j
+@Component
+public class EmployeeProfileSummaryScheduleTask {
+
+    @Resource
+    private EmployeeProfileSummaryService employeeProfileSummaryService;
+
+    /**
+     * 汇总表由档案写入时增量维护，这里每天凌晨全量重建一次，
+     * 兜底修正直接改库等遗漏的情况，并把在职经历的累计工作月数推进到当天
+     * cron表达式：0 35 3 * * ? - 每天03:35执行
+     */
+    @Scheduled(cron = "0 35 3 * * ?")
+    public void rebuildEmployeeProfileSummary() {
+        log.info("开始执行员工档案汇总校准任务");
+        try {
+            int rows = employeeProfileSummaryService.rebuildAll();
+            log.info("员工档案汇总校准任务完成，影响行数：{}", rows);
+        } catch (Exception e) {
+            log.error("员工档案汇总校准任务执行失败", e);
+        }
+    }
+}
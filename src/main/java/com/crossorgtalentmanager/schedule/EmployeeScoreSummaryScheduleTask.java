@@ -0,0 +1,33 @@
+package com.crossorgtalentmanager.schedule;
+
+import com.crossorgtalentmanager.service.EmployeeScoreSummaryService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 员工评分汇总校准定时任务
+ */
+@Slf4j
+@Component
+public class EmployeeScoreSummaryScheduleTask {
+
+    @Resource
+    private EmployeeScoreSummaryService employeeScoreSummaryService;
+
+    /**
+     * 汇总表由评价写入时增量维护，这里每天凌晨全量重建一次，兜底修正直接改库等遗漏的情况
+     * cron表达式：0 30 3 * * ? - 每天03:30执行
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void rebuildEmployeeScoreSummary() {
+        log.info("开始执行员工评分汇总校准任务");
+        try {
+            int rows = employeeScoreSummaryService.rebuildAll();
+            log.info("员工评分汇总校准任务完成，影响行数：{}", rows);
+        } catch (Exception e) {
+            log.error("员工评分汇总校准任务执行失败", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.crossorgtalentmanager.schedule;
+
+import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.manager.cache.TalentRecommendationCache;
+import com.crossorgtalentmanager.service.TalentMarketService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 企业人才推荐列表刷新定时任务
+ * <p>
+ * 每分钟处理一次待刷新的企业和员工，同一企业在此期间的多次浏览、偏好修改只重算一次；
+ * 每天凌晨对所有活跃企业整体重算，兜底修正增量刷新遗漏的情况。
+ */
+@Slf4j
+@Component
+public class TalentRecommendationScheduleTask {
+
+    /**
+     * 每轮最多处理的企业数和员工数，剩余的留到下一轮
+     */
+    private static final int DIRTY_COMPANY_BATCH_SIZE = 50;
+    private static final int DIRTY_EMPLOYEE_BATCH_SIZE = 500;
+
+    @Resource
+    private TalentRecommendationCache talentRecommendationCache;
+
+    @Resource
+    private TalentMarketService talentMarketService;
+
+    /**
+     * 增量刷新：上一轮结束1分钟后执行
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void refreshDirtyRecommendations() {
+        Set<Long> companyIds = talentRecommendationCache.pollDirtyCompanies(DIRTY_COMPANY_BATCH_SIZE);
+        for (Long companyId : companyIds) {
+            try {
+                talentMarketService.refreshRecommendations(companyId);
+            } catch (Exception e) {
+                log.error("刷新企业推荐列表失败，companyId={}", companyId, e);
+                talentRecommendationCache.markCompanyDirty(companyId);
+            }
+        }
+
+        Set<Long> employeeIds = talentRecommendationCache.pollDirtyEmployees(DIRTY_EMPLOYEE_BATCH_SIZE);
+        if (CollUtil.isNotEmpty(employeeIds)) {
+            talentMarketService.refreshRecommendationsForEmployees(employeeIds);
+        }
+    }
+
+    /**
+     * 每天凌晨3点55分整体重算所有活跃企业
+     * cron表达式：0 55 3 * * ? - 每天3:55执行
+     */
+    @Scheduled(cron = "0 55 3 * * ?")
+    public void rebuildRecommendations() {
+        Collection<Long> companyIds = talentRecommendationCache.getActiveCompanyIds();
+        log.info("开始整体重算企业推荐列表，企业数：{}", companyIds.size());
+        for (Long companyId : companyIds) {
+            try {
+                talentMarketService.refreshRecommendations(companyId);
+            } catch (Exception e) {
+                log.error("重算企业推荐列表失败，companyId={}", companyId, e);
+            }
+        }
+        log.info("企业推荐列表整体重算完成");
+    }
+}
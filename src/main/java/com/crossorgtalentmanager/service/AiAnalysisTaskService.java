@@ -1,5 +1,7 @@
 package com.crossorgtalentmanager.service;
 
+import reactor.core.publisher.Flux;
+
 import java.util.List;
 
 /**
@@ -16,10 +18,32 @@ public interface AiAnalysisTaskService {
      * @param companyId 公司ID
      * @param employeeIds 员工ID列表
      * @param inputData AI输入数据
+     * @param contentHash AI输入内容哈希（任务完成后按此缓存结果，为空时不缓存）
      * @return 任务ID
      */
-    String submitTask(Long companyId, List<Long> employeeIds, String inputData);
+    String submitTask(Long companyId, List<Long> employeeIds, String inputData, String contentHash);
     
+    /**
+     * 提交流式AI分析任务并返回任务ID
+     * 任务不会进入后台队列，由客户端通过流式接口建立连接后执行；客户端未连接或中途断开时转入后台队列
+     *
+     * @param companyId 公司ID
+     * @param employeeIds 员工ID列表
+     * @param inputData AI输入数据
+     * @param contentHash AI输入内容哈希（任务完成后按此缓存结果，为空时不缓存）
+     * @return 任务ID
+     */
+    String submitStreamTask(Long companyId, List<Long> employeeIds, String inputData, String contentHash);
+
+    /**
+     * 流式执行AI分析任务
+     *
+     * @param taskId 任务ID
+     * @param companyId 当前用户所属公司ID（只能查看本公司提交的任务）
+     * @return AI分析结果片段流（任务已完成时直接返回完整结果）
+     */
+    Flux<String> streamTask(String taskId, Long companyId);
+
     /**
      * 获取AI分析任务状态
      *
@@ -43,4 +67,11 @@ public interface AiAnalysisTaskService {
      * @return 错误信息（如果任务失败）
      */
     String getTaskError(String taskId);
+
+    /**
+     * 估算当前排队情况下的建议重试等待时间
+     *
+     * @return 建议重试等待秒数
+     */
+    int estimateRetryAfterSeconds();
 }
@@ -1,5 +1,6 @@
 package com.crossorgtalentmanager.service;
 
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.model.entity.CompanyPoints;
 import com.mybatisflex.core.service.IService;
 import com.mybatisflex.core.paginate.Page;
@@ -15,10 +16,11 @@ import java.util.List;
 public interface CompanyPointsService extends IService<CompanyPoints> {
 
     /**
-     * 增加企业积分
+     * 变动企业积分（正数为增加，负数为扣减）
+     * 权益消耗扣减时由数据库原子地校验余额，余额不足抛出业务异常，调用方无需事先查询余额
      *
      * @param companyId         企业ID
-     * @param points            积分数量（正数）
+     * @param points            积分数量（正数增加，负数扣减）
      * @param changeReason      变动原因（1=建立档案，2=员工评价，3=权益消耗，4=评价申诉）
      * @param withEmployeeId    关联员工ID（可选）
      * @param changeDescription 变动说明（可选，为空时后端自动生成）
@@ -45,6 +47,18 @@ public interface CompanyPointsService extends IService<CompanyPoints> {
      */
     Page<CompanyPoints> getPointsHistory(Long companyId, long pageNum, long pageSize);
 
+    /**
+     * 游标分页查询企业积分变动记录（按变动日期、ID倒序）
+     *
+     * @param companyId 企业ID
+     * @param cursor    上一页返回的游标，第一页传空
+     * @param pageSize  每页大小
+     * @param withTotal 是否统计总数
+     * @return 游标分页结果
+     */
+    CursorPage<CompanyPoints> getPointsHistoryByCursor(Long companyId, String cursor, long pageSize,
+            boolean withTotal);
+
     /**
      * 查询企业积分变动记录列表
      *
@@ -2,6 +2,7 @@ package com.crossorgtalentmanager.service;
 
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.service.IService;
+import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessGrants;
 import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessRequestAddRequest;
 import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessRequestQueryRequest;
 import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessRequestUpdateRequest;
@@ -55,4 +56,13 @@ public interface ContactAccessRequestService extends IService<ContactAccessReque
      * @return 是否已授权
      */
     Boolean hasAuthorizedAccess(Long companyId, Long employeeId, Integer requestType);
+
+    /**
+     * 获取企业对员工当前有效的全部联系方式查看授权（一次查询，缓存到最早的授权到期）
+     *
+     * @param companyId  请求企业ID
+     * @param employeeId 员工ID
+     * @return 有效授权类型位掩码及最早过期时间
+     */
+    ContactAccessGrants getAuthorizedGrants(Long companyId, Long employeeId);
 }
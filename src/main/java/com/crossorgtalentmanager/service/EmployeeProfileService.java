@@ -5,11 +5,14 @@ import com.mybatisflex.core.service.IService;
 import com.crossorgtalentmanager.model.dto.employeeprofile.EmployeeProfileAddRequest;
 import com.crossorgtalentmanager.model.dto.employeeprofile.EmployeeProfileQueryRequest;
 import com.crossorgtalentmanager.model.dto.employeeprofile.EmployeeProfileUpdateRequest;
+import com.crossorgtalentmanager.model.dto.employeeprofile.ProfileVisibilityDecision;
 import com.crossorgtalentmanager.model.entity.EmployeeProfile;
 import com.crossorgtalentmanager.model.entity.User;
 import com.crossorgtalentmanager.model.vo.EmployeeProfileVO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 员工档案信息 服务层。
@@ -68,6 +71,17 @@ public interface EmployeeProfileService extends IService<EmployeeProfile> {
      */
     Boolean canViewProfileDetail(Long profileId, Long viewerCompanyId, Long employeeId);
 
+    /**
+     * 批量判断查看者对一批档案的查看权限（所属员工和档案授权各查询一次）
+     *
+     * @param profiles         档案
+     * @param viewerCompanyId  查看者公司ID
+     * @param viewerEmployeeId 查看者员工ID（非员工本人时为 null）
+     * @return 档案ID -> 权限判断结果
+     */
+    Map<Long, ProfileVisibilityDecision> resolveProfileVisibility(Collection<EmployeeProfile> profiles,
+            Long viewerCompanyId, Long viewerEmployeeId);
+
     /**
      * 分页查询员工档案（带权限控制和脱敏）
      * 
@@ -0,0 +1,37 @@
+package com.crossorgtalentmanager.service;
+
+import com.crossorgtalentmanager.model.entity.EmployeeProfileSummary;
+import com.mybatisflex.core.service.IService;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 员工档案汇总 服务层。
+ *
+ * @author y
+ */
+public interface EmployeeProfileSummaryService extends IService<EmployeeProfileSummary> {
+
+    /**
+     * 重新汇总指定员工的档案（档案新增、修改、删除后调用）
+     *
+     * @param employeeId 员工ID
+     */
+    void refreshEmployee(Long employeeId);
+
+    /**
+     * 批量获取员工档案汇总（一次 IN 查询），没有汇总记录的员工不在结果中
+     *
+     * @param employeeIds 员工ID集合
+     * @return 员工ID -> 档案汇总
+     */
+    Map<Long, EmployeeProfileSummary> getSummaryMap(Collection<Long> employeeIds);
+
+    /**
+     * 全量重建档案汇总
+     *
+     * @return 影响行数
+     */
+    int rebuildAll();
+}
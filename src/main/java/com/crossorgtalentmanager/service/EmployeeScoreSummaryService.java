@@ -0,0 +1,46 @@
+package com.crossorgtalentmanager.service;
+
+import com.crossorgtalentmanager.model.entity.EmployeeScoreSummary;
+import com.mybatisflex.core.service.IService;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 员工评分汇总 服务层。
+ *
+ * @author y
+ */
+public interface EmployeeScoreSummaryService extends IService<EmployeeScoreSummary> {
+
+    /**
+     * 重新汇总指定员工的评分（评价新增、修改、删除后调用）
+     *
+     * @param employeeId 员工ID
+     */
+    void refreshEmployee(Long employeeId);
+
+    /**
+     * 批量获取员工评分汇总（一次 IN 查询），没有汇总记录的员工不在结果中
+     *
+     * @param employeeIds 员工ID集合
+     * @return 员工ID -> 评分汇总
+     */
+    Map<Long, EmployeeScoreSummary> getSummaryMap(Collection<Long> employeeIds);
+
+    /**
+     * 批量获取员工平均评分，无评价的员工返回 0
+     *
+     * @param employeeIds 员工ID集合
+     * @return 员工ID -> 平均评分
+     */
+    Map<Long, BigDecimal> getAverageScoreMap(Collection<Long> employeeIds);
+
+    /**
+     * 全量重建评分汇总
+     *
+     * @return 影响行数
+     */
+    int rebuildAll();
+}
@@ -1,5 +1,6 @@
 package com.crossorgtalentmanager.service;
 
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.model.dto.notification.NotificationQueryRequest;
 import com.crossorgtalentmanager.model.dto.notification.NotificationUpdateRequest;
 import com.crossorgtalentmanager.model.entity.Notification;
@@ -37,6 +38,15 @@ public interface NotificationService extends IService<Notification> {
      */
     Page<NotificationListItemVO> pageNotifications(NotificationQueryRequest queryRequest, Long loginUserId);
 
+    /**
+     * 游标分页查询通知（按创建时间、ID倒序，返回简化版VO）
+     *
+     * @param queryRequest 查询请求（使用其中的 cursor、pageSize、withTotal 和筛选条件）
+     * @param loginUserId  登录用户ID
+     * @return 游标分页结果
+     */
+    CursorPage<NotificationListItemVO> cursorNotifications(NotificationQueryRequest queryRequest, Long loginUserId);
+
     /**
      * 根据ID获取通知详情
      *
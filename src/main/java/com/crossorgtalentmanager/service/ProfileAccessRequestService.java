@@ -9,7 +9,9 @@ import com.crossorgtalentmanager.model.entity.ProfileAccessRequest;
 import com.crossorgtalentmanager.model.entity.User;
 import com.crossorgtalentmanager.model.vo.ProfileAccessRequestVO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 档案查阅请求 服务层
@@ -45,5 +47,14 @@ public interface ProfileAccessRequestService extends IService<ProfileAccessReque
      * 检查是否可以查看档案（考虑权限和请求状态）
      */
     Boolean canAccessProfile(Long profileId, Long requestCompanyId, Long employeeId);
+
+    /**
+     * 批量查询企业已获授权（已同意且未过期）的档案，一次查询
+     *
+     * @param requestCompanyId 请求企业ID
+     * @param profileIds       档案ID
+     * @return 其中已获授权的档案ID
+     */
+    Set<Long> getAuthorizedProfileIds(Long requestCompanyId, Collection<Long> profileIds);
 }
 
@@ -1,11 +1,15 @@
 package com.crossorgtalentmanager.service;
 
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.model.dto.talentmarket.*;
 import com.crossorgtalentmanager.model.entity.User;
 import com.crossorgtalentmanager.model.vo.*;
 import com.mybatisflex.core.paginate.Page;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
+
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +28,24 @@ public interface TalentMarketService {
      */
     Page<TalentVO> searchTalents(TalentSearchRequest request, User loginUser);
 
+    /**
+     * 游标分页搜索人才（第一页扣除高级搜索积分，之后按游标继续）
+     *
+     * @param request   搜索请求（使用其中的 cursor、pageSize、withTotal，忽略 pageNum）
+     * @param loginUser 当前登录用户
+     * @return 游标分页结果
+     */
+    CursorPage<TalentVO> searchTalentsByCursor(TalentSearchRequest request, User loginUser);
+
+    /**
+     * 统计当前搜索结果中各评价标签覆盖的人才数（不扣除积分）
+     *
+     * @param request   搜索请求（分页参数被忽略）
+     * @param loginUser 当前登录用户
+     * @return 标签分面统计（按人数降序），结果超过统计上限时标记为截断
+     */
+    TalentTagFacetsVO getSearchTagFacets(TalentSearchRequest request, User loginUser);
+
     /**
      * 计算高级搜索消耗的积分预估
      *
@@ -32,6 +54,16 @@ public interface TalentMarketService {
      */
     BigDecimal calculateAdvancedSearchCostPreview(TalentSearchRequest request);
 
+    /**
+     * 职位联想（搜索框输入提示）
+     *
+     * @param keyword   输入的关键词
+     * @param limit     最多返回条数
+     * @param loginUser 当前登录用户
+     * @return 包含关键词的职位
+     */
+    List<String> suggestOccupations(String keyword, Integer limit, User loginUser);
+
     /**
      * 获取人才详情
      *
@@ -156,14 +188,14 @@ public interface TalentMarketService {
      *
      * @param request   浏览记录请求
      * @param loginUser 当前登录用户
-     * @return 记录ID
+     * @return 浏览记录ID（浏览凭证，用于上报浏览时长）
      */
     Long recordView(TalentViewLogRequest request, User loginUser);
 
     /**
      * 更新浏览时长
      *
-     * @param viewLogId    浏览记录ID
+     * @param viewLogId    记录浏览时返回的浏览记录ID
      * @param viewDuration 浏览时长（秒）
      * @param loginUser    当前登录用户
      * @return 是否成功
@@ -180,6 +212,18 @@ public interface TalentMarketService {
      */
     Page<TalentViewLogVO> getViewHistory(long pageNum, long pageSize, User loginUser);
 
+    /**
+     * 游标分页获取企业浏览历史（按最近浏览时间、ID倒序）
+     *
+     * @param cursor    上一页返回的游标，第一页传空
+     * @param pageSize  每页大小
+     * @param withTotal 是否统计总数
+     * @param loginUser 当前登录用户
+     * @return 游标分页结果
+     */
+    CursorPage<TalentViewLogVO> getViewHistoryByCursor(String cursor, long pageSize, boolean withTotal,
+            User loginUser);
+
     /**
      * 获取浏览统计数据
      *
@@ -228,6 +272,20 @@ public interface TalentMarketService {
      */
     Page<TalentRecommendVO> getRecommendedTalents(long pageNum, long pageSize, User loginUser);
 
+    /**
+     * 重新计算企业的推荐列表（按企业偏好和浏览历史为全部候选人打分，保存前若干名）
+     *
+     * @param companyId 企业ID
+     */
+    void refreshRecommendations(Long companyId);
+
+    /**
+     * 员工数据变化后，在各活跃企业的推荐列表中重新打分这些员工
+     *
+     * @param employeeIds 员工ID
+     */
+    void refreshRecommendationsForEmployees(Collection<Long> employeeIds);
+
     /**
      * 获取相似人才推荐（基于指定员工）
      *
@@ -282,6 +340,15 @@ public interface TalentMarketService {
      */
     void updateCompareRecordAiResult(String taskId, String aiResult, User loginUser);
 
+    /**
+     * 流式获取AI分析结果，完成后自动回写对比记录
+     *
+     * @param taskId    任务ID
+     * @param loginUser 当前登录用户
+     * @return AI分析结果片段流
+     */
+    Flux<String> streamAiAnalysisResult(String taskId, User loginUser);
+
     /**
      * 查询历史对比记录
      *
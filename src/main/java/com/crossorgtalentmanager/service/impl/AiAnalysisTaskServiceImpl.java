@@ -1,18 +1,51 @@
 package com.crossorgtalentmanager.service.impl;
 
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
 import com.crossorgtalentmanager.ai.AiTalentComparisonService;
+import com.crossorgtalentmanager.ai.AiTalentComparisonStreamingService;
+import com.crossorgtalentmanager.exception.BusinessException;
+import com.crossorgtalentmanager.exception.ErrorCode;
+import com.crossorgtalentmanager.manager.cache.AiCompareResultCache;
 import com.crossorgtalentmanager.service.AiAnalysisTaskService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBlockingDeque;
+import org.redisson.api.RDeque;
+import org.redisson.api.RMap;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.queue.DequeMoveArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AI分析任务服务实现类
  * 用于管理AI分析的异步任务
+ * <p>
+ * 任务状态和待执行队列都保存在 Redis 中，任意节点都可以查询任务状态，重启后已完成的结果不会丢失。
+ * 每个节点只启动一个调度线程从队列中取任务，同时执行的任务数受信号量限制；
+ * 队列积压超过上限时直接拒绝提交并给出建议重试时间，不会占用调用方线程执行AI调用。
+ * <p>
+ * 取任务时原子地把任务ID从队首移到本节点的执行中列表，执行结束后再移除（可靠队列）。各节点定期刷新心跳，
+ * 心跳过期的节点视为宕机，由其他节点把它执行中列表里的任务放回队首重新执行，已付费的任务不会因节点宕机丢失。
  *
  * @author y
  */
@@ -20,125 +53,591 @@ import java.util.concurrent.ConcurrentHashMap;
 @Service
 public class AiAnalysisTaskServiceImpl implements AiAnalysisTaskService {
 
+    /**
+     * 待执行任务队列（元素为任务ID）
+     */
+    private static final String QUEUE_KEY = "ai:task:queue";
+
+    /**
+     * 各节点执行中的任务列表 key 前缀（后接节点ID）
+     */
+    private static final String PROCESSING_KEY_PREFIX = "ai:task:processing:";
+
+    /**
+     * 已注册的调度节点集合
+     */
+    private static final String NODES_KEY = "ai:task:nodes";
+
+    /**
+     * 节点心跳 key 前缀（后接节点ID），过期即视为节点已宕机
+     */
+    private static final String NODE_HEARTBEAT_KEY_PREFIX = "ai:task:node:";
+
+    /**
+     * 等待客户端建立流式连接的任务（有序集合，分值为提交时间），由定时任务把超时未连接的任务转入队列
+     */
+    private static final String STREAM_PENDING_KEY = "ai:task:stream-pending";
+
+    /**
+     * 任务信息 Hash 的 key 前缀
+     */
+    private static final String TASK_KEY_PREFIX = "ai:task:";
+
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_RESULT = "result";
+    private static final String FIELD_ERROR = "error";
+    private static final String FIELD_INPUT = "input";
+    private static final String FIELD_COMPANY_ID = "companyId";
+    private static final String FIELD_CREATE_TIME = "createTime";
+    private static final String FIELD_START_TIME = "startTime";
+    private static final String FIELD_EMPLOYEE_IDS = "employeeIds";
+    private static final String FIELD_CONTENT_HASH = "contentHash";
+    /**
+     * 认领任务的节点ID
+     */
+    private static final String FIELD_NODE = "node";
+
+    /**
+     * 内部状态：排队中（对外仍返回 processing，保持接口兼容）
+     */
+    private static final String STATUS_QUEUED = "queued";
+    /**
+     * 内部状态：等待客户端建立流式连接（对外同样返回 processing）
+     */
+    private static final String STATUS_STREAM_PENDING = "stream_pending";
+    private static final String STATUS_PROCESSING = "processing";
+    private static final String STATUS_COMPLETED = "completed";
+    private static final String STATUS_FAILED = "failed";
+
+    /**
+     * 排队中的任务保留时间
+     */
+    private static final Duration PENDING_TTL = Duration.ofHours(2);
+
+    /**
+     * 流式任务等待客户端连接的时间，超时后转入队列由后台执行，轮询接口仍可获取结果
+     */
+    private static final Duration STREAM_CONNECT_TIMEOUT = Duration.ofMinutes(1);
+
+    /**
+     * 已结束（完成或失败）的任务保留时间
+     */
+    private static final Duration FINISHED_TTL = Duration.ofMinutes(30);
+
+    /**
+     * 执行超时时间：执行节点宕机时任务会一直停留在 processing，超过该时间视为失败
+     */
+    private static final Duration EXECUTION_TIMEOUT = Duration.ofMinutes(10);
+
+    /**
+     * 节点心跳有效期，心跳每 10 秒刷新一次
+     */
+    private static final Duration NODE_HEARTBEAT_TTL = Duration.ofSeconds(30);
+
+    /**
+     * 估算重试时间时使用的单个任务平均耗时（秒）
+     */
+    private static final int ESTIMATED_TASK_SECONDS = 20;
+
     @Resource
     private AiTalentComparisonService aiTalentComparisonService;
 
-    // 任务状态和结果缓存（key: taskId, value: TaskInfo）
-    private final ConcurrentHashMap<String, TaskInfo> taskCache = new ConcurrentHashMap<>();
-
-    // 用于清理任务的线程池
-    private final ScheduledExecutorService cleanupExecutor = Executors.newScheduledThreadPool(1);
-
-    // AI任务执行线程池（专门用于执行AI分析任务，避免阻塞）
-    // 核心线程数：10，最大线程数：50，队列大小：100
-    // 这样可以支持多个AI任务并发执行，不会互相阻塞
-    private final ExecutorService aiTaskExecutor = new ThreadPoolExecutor(
-            10, // 核心线程数
-            50, // 最大线程数
-            60L, TimeUnit.SECONDS, // 空闲线程存活时间
-            new LinkedBlockingQueue<>(100), // 任务队列
-            new ThreadFactory() {
-                private int counter = 0;
-
-                @Override
-                public Thread newThread(Runnable r) {
-                    Thread thread = new Thread(r, "ai-task-executor-" + (++counter));
-                    thread.setDaemon(false);
-                    return thread;
-                }
-            },
-            new ThreadPoolExecutor.CallerRunsPolicy() // 拒绝策略：调用者运行
-    );
+    @Resource
+    private AiTalentComparisonStreamingService aiTalentComparisonStreamingService;
 
-    // 任务信息内部类
-    private static class TaskInfo {
-        String status; // processing, completed, failed
-        String result;
-        String error;
-        long createTime;
+    @Resource
+    private AiCompareResultCache aiCompareResultCache;
 
-        TaskInfo() {
-            this.status = "processing";
-            this.createTime = System.currentTimeMillis();
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 本节点最多同时执行的AI任务数
+     */
+    @Value("${ai.task.concurrency:8}")
+    private int concurrency;
+
+    /**
+     * 全局最多排队的任务数，超过后拒绝提交
+     */
+    @Value("${ai.task.max-pending:100}")
+    private int maxPending;
+
+    /**
+     * 本节点ID，用于区分各节点的执行中列表
+     */
+    private final String nodeId = IdUtil.fastSimpleUUID();
+
+    /**
+     * 待执行队列：提交时加到队尾，调度线程从队首取
+     */
+    private RBlockingDeque<String> taskQueue;
+
+    /**
+     * 本节点已取出、尚未执行完的任务
+     */
+    private RDeque<String> processingTasks;
+
+    private RScoredSortedSet<String> streamPendingTasks;
+
+    private Semaphore permits;
+
+    private ExecutorService aiTaskExecutor;
+
+    private Thread dispatcherThread;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        taskQueue = redissonClient.getBlockingDeque(QUEUE_KEY, StringCodec.INSTANCE);
+        processingTasks = getProcessingList(nodeId);
+        refreshHeartbeat();
+        redissonClient.getSet(NODES_KEY, StringCodec.INSTANCE).add(nodeId);
+        streamPendingTasks = redissonClient.getScoredSortedSet(STREAM_PENDING_KEY, StringCodec.INSTANCE);
+        permits = new Semaphore(concurrency);
+        AtomicInteger counter = new AtomicInteger();
+        // 并发数由信号量控制，线程池本身不会积压任务
+        aiTaskExecutor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                r -> new Thread(r, "ai-task-executor-" + counter.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        running = true;
+        dispatcherThread = new Thread(this::dispatchLoop, "ai-task-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+        log.info("AI分析任务调度已启动，节点ID={}, 本节点并发数={}, 最大排队数={}", nodeId, concurrency, maxPending);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
+        // 未取出的任务仍留在 Redis 队列中，由其他节点或重启后继续执行；已在执行的任务等待其完成
+        aiTaskExecutor.shutdown();
+        try {
+            if (!aiTaskExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("AI分析任务线程池关闭超时，仍有任务在执行");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 任务都已执行完时注销节点；仍有未完成的任务时保留，心跳过期后由其他节点放回队列
+        try {
+            if (processingTasks.isEmpty()) {
+                redissonClient.getBucket(NODE_HEARTBEAT_KEY_PREFIX + nodeId).delete();
+                redissonClient.getSet(NODES_KEY, StringCodec.INSTANCE).remove(nodeId);
+            }
+        } catch (Exception e) {
+            log.warn("注销AI分析任务节点失败，节点ID={}, error={}", nodeId, e.getMessage());
         }
     }
 
     @Override
-    public String submitTask(Long companyId, List<Long> employeeIds, String inputData) {
-        // 生成任务ID（基于公司ID和员工ID列表）
-        String taskId = generateTaskId(companyId, employeeIds);
+    public String submitTask(Long companyId, List<Long> employeeIds, String inputData, String contentHash) {
+        String taskId = createTask(companyId, employeeIds, inputData, contentHash, STATUS_QUEUED);
+        taskQueue.offer(taskId);
+        return taskId;
+    }
 
-        // 创建任务信息
-        TaskInfo taskInfo = new TaskInfo();
-        taskCache.put(taskId, taskInfo);
+    @Override
+    public String submitStreamTask(Long companyId, List<Long> employeeIds, String inputData, String contentHash) {
+        String taskId = createTask(companyId, employeeIds, inputData, contentHash, STATUS_STREAM_PENDING);
+        streamPendingTasks.add(System.currentTimeMillis(), taskId);
+        return taskId;
+    }
 
-        log.info("提交AI分析任务，任务ID={}, 公司ID={}, 员工数量={}", taskId, companyId, employeeIds.size());
+    @Override
+    public Flux<String> streamTask(String taskId, Long companyId) {
+        RMap<String, String> task = getTaskMap(taskId);
+        String status = task.get(FIELD_STATUS);
+        if (status == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "AI分析任务不存在或已过期");
+        }
+        if (!Objects.equals(task.get(FIELD_COMPANY_ID), String.valueOf(companyId))) {
+            throw new BusinessException(ErrorCode.NO_AUTH_ERROR, "无权查看该AI分析任务");
+        }
+        if (STATUS_COMPLETED.equals(status)) {
+            return Flux.just(StrUtil.nullToEmpty(task.get(FIELD_RESULT)));
+        }
+        if (STATUS_FAILED.equals(status)) {
+            return Flux.error(new BusinessException(ErrorCode.OPERATION_ERROR, task.get(FIELD_ERROR)));
+        }
 
-        // 异步执行AI分析（使用专门的线程池，避免阻塞）
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("开始执行AI分析任务，任务ID={}", taskId);
-                String aiResult = aiTalentComparisonService.compareTalents(inputData);
-
-                if (aiResult != null && !aiResult.trim().isEmpty()) {
-                    taskInfo.status = "completed";
-                    taskInfo.result = aiResult;
-                    log.info("AI分析任务完成，任务ID={}, 结果长度={}字符", taskId, aiResult.length());
-                } else {
-                    taskInfo.status = "failed";
-                    taskInfo.error = "AI返回的分析结果为空";
-                    log.warn("AI分析任务失败，任务ID={}, 原因：结果为空", taskId);
-                }
-            } catch (Exception e) {
-                taskInfo.status = "failed";
-                taskInfo.error = "AI分析失败: " + e.getMessage();
-                log.error("AI分析任务异常，任务ID={}", taskId, e);
-            } finally {
-                // 设置清理任务（30分钟后清理）
-                cleanupExecutor.schedule(() -> {
-                    taskCache.remove(taskId);
-                    log.info("清理AI分析任务缓存，任务ID={}", taskId);
-                }, 30, TimeUnit.MINUTES);
-            }
-        }, aiTaskExecutor); // 使用专门的线程池执行，避免使用共享的ForkJoinPool
+        if (!STATUS_STREAM_PENDING.equals(status) && !STATUS_QUEUED.equals(status)) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "AI分析任务正在处理中，请稍后查询结果");
+        }
+        if (!permits.tryAcquire()) {
+            int retryAfter = estimateRetryAfterSeconds();
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUEST, "AI分析任务繁忙，请" + retryAfter + "秒后重试");
+        }
+        // 原子地认领任务：排队中的任务被认领后，调度线程取到时会直接跳过
+        if (!task.replace(FIELD_STATUS, status, STATUS_PROCESSING)) {
+            permits.release();
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "AI分析任务正在其他连接中处理，请稍后查询结果");
+        }
+        task.fastPut(FIELD_NODE, nodeId);
+        streamPendingTasks.remove(taskId);
+        String inputData = task.get(FIELD_INPUT);
+        if (inputData == null) {
+            permits.release();
+            finishTask(taskId, STATUS_FAILED, FIELD_ERROR, "AI分析任务数据已过期，请重新发起");
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "AI分析任务数据已过期，请重新发起");
+        }
+        task.fastPut(FIELD_START_TIME, String.valueOf(System.currentTimeMillis()));
 
-        return taskId;
+        log.info("开始流式执行AI分析任务，任务ID={}", taskId);
+        // 上游模型调用由这里独立订阅，客户端只订阅转发用的 sink：客户端断开不会取消模型调用，
+        // 调用照常执行完并保存结果，之后可通过轮询接口获取，不需要重新调用一次模型
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        StringBuilder resultBuilder = new StringBuilder();
+        aiTalentComparisonStreamingService.compareTalentsStream(inputData)
+                .doFinally(signal -> {
+                    try {
+                        onStreamFinished(taskId, signal, resultBuilder.toString());
+                    } finally {
+                        permits.release();
+                    }
+                })
+                .subscribe(chunk -> {
+                    resultBuilder.append(chunk);
+                    // 客户端已断开时发送失败，忽略即可
+                    sink.tryEmitNext(chunk);
+                }, sink::tryEmitError, sink::tryEmitComplete);
+        return sink.asFlux();
     }
 
     @Override
     public String getTaskStatus(String taskId) {
-        TaskInfo taskInfo = taskCache.get(taskId);
-        if (taskInfo == null) {
+        RMap<String, String> task = getTaskMap(taskId);
+        String status = task.get(FIELD_STATUS);
+        if (status == null) {
             return "not_found";
         }
-        return taskInfo.status;
+        if (STATUS_STREAM_PENDING.equals(status) && isStreamConnectTimedOut(task)) {
+            // 客户端没有建立流式连接，转入队列由后台执行（定时任务也会处理，这里让轮询方不必等下一轮）
+            promoteStreamTask(taskId);
+            return STATUS_PROCESSING;
+        }
+        if (STATUS_QUEUED.equals(status) || STATUS_STREAM_PENDING.equals(status)) {
+            return STATUS_PROCESSING;
+        }
+        if (STATUS_PROCESSING.equals(status) && isExecutionTimedOut(task)) {
+            finishTask(taskId, STATUS_FAILED, FIELD_ERROR, "AI分析超时，请重新发起");
+            log.warn("AI分析任务执行超时，任务ID={}", taskId);
+            return STATUS_FAILED;
+        }
+        return status;
     }
 
     @Override
     public String getTaskResult(String taskId) {
-        TaskInfo taskInfo = taskCache.get(taskId);
-        if (taskInfo == null || !"completed".equals(taskInfo.status)) {
+        RMap<String, String> task = getTaskMap(taskId);
+        if (!STATUS_COMPLETED.equals(task.get(FIELD_STATUS))) {
             return null;
         }
-        return taskInfo.result;
+        return task.get(FIELD_RESULT);
     }
 
     @Override
     public String getTaskError(String taskId) {
-        TaskInfo taskInfo = taskCache.get(taskId);
-        if (taskInfo == null || !"failed".equals(taskInfo.status)) {
+        RMap<String, String> task = getTaskMap(taskId);
+        if (!STATUS_FAILED.equals(task.get(FIELD_STATUS))) {
             return null;
         }
-        return taskInfo.error;
+        return task.get(FIELD_ERROR);
+    }
+
+    /**
+     * 把超时未建立流式连接的任务转入队列，避免客户端既不连接也不轮询时任务一直不执行
+     */
+    @Scheduled(fixedDelay = 15_000, initialDelay = 15_000)
+    public void promoteTimedOutStreamTasks() {
+        try {
+            long timeoutBefore = System.currentTimeMillis() - STREAM_CONNECT_TIMEOUT.toMillis();
+            for (String taskId : streamPendingTasks.valueRange(Double.NEGATIVE_INFINITY, true, timeoutBefore, true)) {
+                promoteStreamTask(taskId);
+            }
+        } catch (Exception e) {
+            log.error("处理超时未连接的流式AI分析任务失败", e);
+        }
+    }
+
+    /**
+     * 刷新本节点心跳，并把心跳已过期（宕机）节点执行中的任务放回队首
+     */
+    @Scheduled(fixedDelay = 10_000, initialDelay = 10_000)
+    public void recoverOrphanedTasks() {
+        try {
+            refreshHeartbeat();
+            RSet<String> nodes = redissonClient.getSet(NODES_KEY, StringCodec.INSTANCE);
+            for (String deadNodeId : nodes.readAll()) {
+                if (nodeId.equals(deadNodeId)
+                        || redissonClient.getBucket(NODE_HEARTBEAT_KEY_PREFIX + deadNodeId).isExists()) {
+                    continue;
+                }
+                int count = requeueProcessingTasks(deadNodeId);
+                if (getProcessingList(deadNodeId).isEmpty()) {
+                    nodes.remove(deadNodeId);
+                }
+                if (count > 0) {
+                    log.warn("AI分析任务节点已失联，{}个执行中的任务已放回队列，节点ID={}", count, deadNodeId);
+                }
+            }
+        } catch (Exception e) {
+            log.error("恢复失联节点的AI分析任务失败", e);
+        }
+    }
+
+    @Override
+    public int estimateRetryAfterSeconds() {
+        int pending = countPending();
+        int rounds = pending / Math.max(concurrency, 1) + 1;
+        return Math.min(Math.max(rounds * ESTIMATED_TASK_SECONDS, 5), 300);
+    }
+
+    private String createTask(Long companyId, List<Long> employeeIds, String inputData, String contentHash,
+            String initialStatus) {
+        // 等待流式连接的任务随时可能转入队列，同样计入排队数
+        int pending = countPending();
+        if (pending >= maxPending) {
+            int retryAfter = estimateRetryAfterSeconds();
+            log.warn("AI分析任务排队已满，拒绝提交，公司ID={}, 排队数={}, 建议{}秒后重试", companyId, pending, retryAfter);
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUEST,
+                    "AI分析任务繁忙，请" + retryAfter + "秒后重试");
+        }
+
+        String taskId = generateTaskId();
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_STATUS, initialStatus);
+        fields.put(FIELD_INPUT, inputData);
+        fields.put(FIELD_COMPANY_ID, String.valueOf(companyId));
+        fields.put(FIELD_CREATE_TIME, String.valueOf(System.currentTimeMillis()));
+        fields.put(FIELD_EMPLOYEE_IDS, JSONUtil.toJsonStr(employeeIds));
+        if (contentHash != null) {
+            fields.put(FIELD_CONTENT_HASH, contentHash);
+        }
+        RMap<String, String> task = getTaskMap(taskId);
+        task.putAll(fields);
+        task.expire(PENDING_TTL);
+
+        log.info("提交AI分析任务，任务ID={}, 公司ID={}, 员工数量={}, 流式={}, 当前排队数={}",
+                taskId, companyId, employeeIds.size(), STATUS_STREAM_PENDING.equals(initialStatus), pending);
+        return taskId;
+    }
+
+    /**
+     * 等待流式连接的任务转入队列（多节点同时处理时只有一个节点转入成功）
+     */
+    private void promoteStreamTask(String taskId) {
+        RMap<String, String> task = getTaskMap(taskId);
+        if (task.replace(FIELD_STATUS, STATUS_STREAM_PENDING, STATUS_QUEUED)) {
+            taskQueue.offer(taskId);
+            log.info("流式AI分析任务未被连接，已转入后台队列，任务ID={}", taskId);
+        }
+        // 已转入队列、已被连接认领或已过期的任务都不再需要跟踪
+        streamPendingTasks.remove(taskId);
+    }
+
+    /**
+     * 把宕机节点执行中的任务按原顺序放回队首。先把该节点已认领的任务改回排队中，再逐个原子地移回队列，
+     * 避免调度线程取到时任务仍是执行中而被跳过；多个节点同时恢复时每个任务只会被其中一个移走
+     *
+     * @return 放回队列的任务数
+     */
+    private int requeueProcessingTasks(String deadNodeId) {
+        RDeque<String> processing = getProcessingList(deadNodeId);
+        for (String taskId : processing.readAll()) {
+            RMap<String, String> task = getTaskMap(taskId);
+            // 被其他节点的流式连接认领的任务仍在正常执行，不能改回排队中
+            String claimedBy = task.get(FIELD_NODE);
+            if ((claimedBy == null || deadNodeId.equals(claimedBy))
+                    && task.replace(FIELD_STATUS, STATUS_PROCESSING, STATUS_QUEUED)) {
+                task.fastRemove(FIELD_START_TIME, FIELD_NODE);
+            }
+        }
+        int count = 0;
+        while (processing.move(DequeMoveArgs.pollLast().addFirstTo(QUEUE_KEY)) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    private void refreshHeartbeat() {
+        redissonClient.getBucket(NODE_HEARTBEAT_KEY_PREFIX + nodeId, StringCodec.INSTANCE)
+                .set(String.valueOf(System.currentTimeMillis()), NODE_HEARTBEAT_TTL);
+    }
+
+    private RDeque<String> getProcessingList(String node) {
+        return redissonClient.getDeque(PROCESSING_KEY_PREFIX + node, StringCodec.INSTANCE);
+    }
+
+    private int countPending() {
+        return taskQueue.size() + streamPendingTasks.size();
+    }
+
+    /**
+     * 流式执行结束（与客户端是否仍在连接无关）：正常完成时保存完整结果，出错时标记失败
+     */
+    private void onStreamFinished(String taskId, SignalType signal, String result) {
+        if (signal == SignalType.ON_COMPLETE) {
+            if (StrUtil.isNotBlank(result)) {
+                finishTask(taskId, STATUS_COMPLETED, FIELD_RESULT, result);
+                cacheResult(taskId, result);
+                log.info("流式AI分析任务完成，任务ID={}, 结果长度={}字符", taskId, result.length());
+            } else {
+                finishTask(taskId, STATUS_FAILED, FIELD_ERROR, "AI返回的分析结果为空");
+                log.warn("流式AI分析任务失败，任务ID={}, 原因：结果为空", taskId);
+            }
+        } else if (signal == SignalType.ON_ERROR) {
+            finishTask(taskId, STATUS_FAILED, FIELD_ERROR, "AI分析失败");
+            log.warn("流式AI分析任务异常，任务ID={}", taskId);
+        }
+    }
+
+    /**
+     * 调度循环：先拿到执行许可再从队列取任务，保证本节点不会取出超过并发数的任务。
+     * 任务ID从队首原子地移入本节点的执行中列表，执行结束后才移除
+     */
+    private void dispatchLoop() {
+        while (running) {
+            boolean acquired = false;
+            try {
+                permits.acquire();
+                acquired = true;
+                String taskId = taskQueue.move(Duration.ofSeconds(5),
+                        DequeMoveArgs.pollFirst().addLastTo(processingTasks.getName()));
+                if (taskId == null) {
+                    continue;
+                }
+                try {
+                    aiTaskExecutor.execute(() -> {
+                        try {
+                            executeTask(taskId);
+                        } finally {
+                            processingTasks.remove(taskId);
+                            permits.release();
+                        }
+                    });
+                    acquired = false;
+                } catch (RejectedExecutionException e) {
+                    // 线程池已关闭，或者上一个任务已释放许可但执行线程还没回到线程池等待（SynchronousQueue 没有空闲线程），
+                    // 任务放回队首保持原来的顺序；先放回再移出执行中列表，中途宕机时最多重复入队，不会丢失
+                    taskQueue.addFirst(taskId);
+                    processingTasks.remove(taskId);
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("AI分析任务调度异常", e);
+                sleepQuietly();
+            } finally {
+                if (acquired) {
+                    permits.release();
+                }
+            }
+        }
+        log.info("AI分析任务调度线程已退出");
+    }
+
+    private void executeTask(String taskId) {
+        RMap<String, String> task = getTaskMap(taskId);
+        String inputData = task.get(FIELD_INPUT);
+        if (inputData == null) {
+            // 任务已过期被清理
+            log.warn("AI分析任务数据不存在，跳过执行，任务ID={}", taskId);
+            return;
+        }
+        // 原子地认领任务，已被流式连接认领的任务直接跳过
+        if (!task.replace(FIELD_STATUS, STATUS_QUEUED, STATUS_PROCESSING)) {
+            log.info("AI分析任务已被其他连接处理，跳过执行，任务ID={}", taskId);
+            return;
+        }
+        Map<String, String> claim = new HashMap<>();
+        claim.put(FIELD_START_TIME, String.valueOf(System.currentTimeMillis()));
+        claim.put(FIELD_NODE, nodeId);
+        task.putAll(claim);
+
+        try {
+            log.info("开始执行AI分析任务，任务ID={}", taskId);
+            String aiResult = aiTalentComparisonService.compareTalents(inputData);
+
+            if (aiResult != null && !aiResult.trim().isEmpty()) {
+                finishTask(taskId, STATUS_COMPLETED, FIELD_RESULT, aiResult);
+                cacheResult(taskId, aiResult);
+                log.info("AI分析任务完成，任务ID={}, 结果长度={}字符", taskId, aiResult.length());
+            } else {
+                finishTask(taskId, STATUS_FAILED, FIELD_ERROR, "AI返回的分析结果为空");
+                log.warn("AI分析任务失败，任务ID={}, 原因：结果为空", taskId);
+            }
+        } catch (Exception e) {
+            finishTask(taskId, STATUS_FAILED, FIELD_ERROR, "AI分析失败: " + e.getMessage());
+            log.error("AI分析任务异常，任务ID={}", taskId, e);
+        }
+    }
+
+    private void finishTask(String taskId, String status, String field, String value) {
+        RMap<String, String> task = getTaskMap(taskId);
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_STATUS, status);
+        fields.put(field, StrUtil.nullToEmpty(value));
+        task.putAll(fields);
+        task.fastRemove(FIELD_INPUT);
+        task.expire(FINISHED_TTL);
     }
 
     /**
-     * 生成任务ID
+     * 按输入内容哈希缓存分析结果，相同输入的对比可直接复用
      */
-    private String generateTaskId(Long companyId, List<Long> employeeIds) {
-        // 使用公司ID和员工ID列表排序后的哈希值生成任务ID
-        List<Long> sortedIds = employeeIds.stream().sorted().collect(java.util.stream.Collectors.toList());
-        String key = companyId + "_" + sortedIds.toString();
-        return "ai_task_" + Math.abs(key.hashCode()) + "_" + System.currentTimeMillis();
+    private void cacheResult(String taskId, String result) {
+        RMap<String, String> task = getTaskMap(taskId);
+        String contentHash = task.get(FIELD_CONTENT_HASH);
+        if (StrUtil.isBlank(contentHash)) {
+            return;
+        }
+        List<Long> employeeIds = JSONUtil.toList(StrUtil.blankToDefault(task.get(FIELD_EMPLOYEE_IDS), "[]"), Long.class);
+        aiCompareResultCache.put(contentHash, employeeIds, result);
+    }
+
+    private boolean isStreamConnectTimedOut(RMap<String, String> task) {
+        String createTime = task.get(FIELD_CREATE_TIME);
+        if (StrUtil.isBlank(createTime)) {
+            return false;
+        }
+        return System.currentTimeMillis() - Long.parseLong(createTime) > STREAM_CONNECT_TIMEOUT.toMillis();
+    }
+
+    private boolean isExecutionTimedOut(RMap<String, String> task) {
+        String startTime = task.get(FIELD_START_TIME);
+        if (StrUtil.isBlank(startTime)) {
+            return false;
+        }
+        return System.currentTimeMillis() - Long.parseLong(startTime) > EXECUTION_TIMEOUT.toMillis();
+    }
+
+    private RMap<String, String> getTaskMap(String taskId) {
+        return redissonClient.getMap(TASK_KEY_PREFIX + taskId, StringCodec.INSTANCE);
+    }
+
+    /**
+     * 生成任务ID（全局唯一，不同节点同时提交也不会冲突）
+     * 末段保留提交时间戳，对比记录回写AI结果时据此匹配记录
+     */
+    private String generateTaskId() {
+        return "ai_task_" + IdUtil.fastSimpleUUID() + "_" + System.currentTimeMillis();
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -1,7 +1,10 @@
 package com.crossorgtalentmanager.service.impl;
 
+import com.crossorgtalentmanager.common.CursorPage;
+import com.crossorgtalentmanager.exception.BusinessException;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.mapper.CompanyMapper;
 import com.crossorgtalentmanager.mapper.CompanyPointsMapper;
 import com.crossorgtalentmanager.model.entity.Company;
 import com.crossorgtalentmanager.model.entity.CompanyPoints;
@@ -9,6 +12,7 @@ import com.crossorgtalentmanager.model.enums.PointsChangeReasonEnum;
 import com.crossorgtalentmanager.service.CompanyPointsService;
 import com.crossorgtalentmanager.service.CompanyService;
 import com.crossorgtalentmanager.service.EmployeeService;
+import com.crossorgtalentmanager.utils.CursorUtils;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.spring.service.impl.ServiceImpl;
@@ -37,6 +41,9 @@ public class CompanyPointsServiceImpl extends ServiceImpl<CompanyPointsMapper, C
     @Resource
     private CompanyPointsMapper companyPointsMapper;
 
+    @Resource
+    private CompanyMapper companyMapper;
+
     @Resource
     private EmployeeService employeeService;
 
@@ -50,17 +57,13 @@ public class CompanyPointsServiceImpl extends ServiceImpl<CompanyPointsMapper, C
         ThrowUtils.throwIf(changeReason == null || !PointsChangeReasonEnum.isValidReason(changeReason),
                 ErrorCode.PARAMS_ERROR, "积分变动原因无效");
 
-        // 验证企业是否存在
-        Company company = companyService.getById(companyId);
-        ThrowUtils.throwIf(company == null, ErrorCode.NOT_FOUND_ERROR, "企业不存在");
-
         // 自动生成变动说明（如果未提供）
         String finalChangeDescription = changeDescription;
         if (finalChangeDescription == null || finalChangeDescription.isEmpty()) {
             finalChangeDescription = generateChangeDescription(changeReason, withEmployeeId, points);
         }
 
-        // 创建积分变动记录
+        // 先写积分变动记录，最后再更新企业总积分，缩短企业行锁的持有时间
         CompanyPoints companyPoints = CompanyPoints.builder()
                 .companyId(companyId)
                 .points(points)
@@ -74,21 +77,21 @@ public class CompanyPointsServiceImpl extends ServiceImpl<CompanyPointsMapper, C
         boolean saved = this.save(companyPoints);
         ThrowUtils.throwIf(!saved, ErrorCode.OPERATION_ERROR, "保存积分变动记录失败");
 
-        // 更新企业总积分
-        BigDecimal currentTotal = company.getTotalPoints();
-        if (currentTotal == null) {
-            currentTotal = BigDecimal.ZERO;
+        // 条件原子更新：并发扣减不会丢失更新；权益消耗不允许透支，处罚类扣减（如评价申诉）与以前一样可以扣成负数
+        boolean allowOverdraft = !PointsChangeReasonEnum.RIGHTS_CONSUMPTION.getValue().equals(changeReason);
+        int updated = companyMapper.addTotalPoints(companyId, points, allowOverdraft);
+        if (updated == 0) {
+            Company company = companyService.getById(companyId);
+            ThrowUtils.throwIf(company == null, ErrorCode.NOT_FOUND_ERROR, "企业不存在");
+            BigDecimal currentTotal = company.getTotalPoints() != null ? company.getTotalPoints() : BigDecimal.ZERO;
+            throw new BusinessException(ErrorCode.OPERATION_ERROR,
+                    "积分不足，需要" + points.negate() + "积分，当前" + currentTotal + "积分");
         }
-        BigDecimal newTotal = currentTotal.add(points);
-        company.setTotalPoints(newTotal);
-        boolean updated = companyService.updateById(company);
-        ThrowUtils.throwIf(!updated, ErrorCode.OPERATION_ERROR, "更新企业总积分失败");
 
-        log.info("企业积分增加成功：companyId={}, points={}, reason={}, totalPoints={}",
+        log.info("企业积分变动成功：companyId={}, points={}, reason={}",
                 companyId, points, PointsChangeReasonEnum.getEnumByValue(changeReason) != null
                         ? PointsChangeReasonEnum.getEnumByValue(changeReason).getText()
-                        : changeReason,
-                newTotal);
+                        : changeReason);
 
         return companyPoints.getId();
     }
@@ -111,6 +114,35 @@ public class CompanyPointsServiceImpl extends ServiceImpl<CompanyPointsMapper, C
         return this.page(Page.of(pageNum, pageSize), queryWrapper);
     }
 
+    @Override
+    public CursorPage<CompanyPoints> getPointsHistoryByCursor(Long companyId, String cursor, long pageSize,
+            boolean withTotal) {
+        ThrowUtils.throwIf(companyId == null || companyId <= 0, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
+        CursorUtils.checkPageSize(pageSize);
+        QueryWrapper queryWrapper = QueryWrapper.create()
+                .eq("company_id", companyId);
+        List<String> after = CursorUtils.decode(cursor, 2);
+        if (after != null) {
+            // 同一天内按ID（雪花ID，随写入递增）倒序，与创建时间倒序一致
+            LocalDate changeDate = CursorUtils.parse(after.get(0), LocalDate::parse);
+            Long id = CursorUtils.parse(after.get(1), Long::valueOf);
+            queryWrapper.and("(change_date < ? OR (change_date = ? AND id < ?))", changeDate, changeDate, id);
+        }
+        queryWrapper.orderBy("change_date", false)
+                .orderBy("id", false)
+                .limit(pageSize + 1);
+        List<CompanyPoints> records = this.list(queryWrapper);
+
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, (int) pageSize);
+            CompanyPoints last = records.get(records.size() - 1);
+            nextCursor = CursorUtils.encode(last.getChangeDate(), last.getId());
+        }
+        Long totalRow = withTotal ? this.count(QueryWrapper.create().eq("company_id", companyId)) : null;
+        return new CursorPage<>(records, pageSize, nextCursor, totalRow);
+    }
+
     @Override
     public List<CompanyPoints> listPointsHistory(Long companyId) {
         ThrowUtils.throwIf(companyId == null || companyId <= 0, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
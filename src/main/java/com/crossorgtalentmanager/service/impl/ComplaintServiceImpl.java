@@ -5,6 +5,9 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.json.JSONUtil;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.manager.cache.AiCompareResultCache;
+import com.crossorgtalentmanager.manager.cache.TalentRecommendationCache;
+import com.crossorgtalentmanager.manager.index.EmployeeIndexManager;
 import com.crossorgtalentmanager.mapper.ComplaintMapper;
 import com.crossorgtalentmanager.mapper.CompanyMapper;
 import com.crossorgtalentmanager.mapper.EmployeeMapper;
@@ -67,6 +70,18 @@ public class ComplaintServiceImpl extends ServiceImpl<ComplaintMapper, Complaint
     @Resource
     private CompanyPointsService companyPointsService;
 
+    @Resource
+    private EmployeeScoreSummaryService employeeScoreSummaryService;
+
+    @Resource
+    private AiCompareResultCache aiCompareResultCache;
+
+    @Resource
+    private EmployeeIndexManager employeeIndexManager;
+
+    @Resource
+    private TalentRecommendationCache talentRecommendationCache;
+
     @Resource
     private EmployeeMapper employeeMapper;
 
@@ -314,6 +329,10 @@ public class ComplaintServiceImpl extends ServiceImpl<ComplaintMapper, Complaint
             if (evaluation != null && !evaluation.getIsDelete()) {
                 evaluation.setIsDelete(true);
                 evaluationService.updateById(evaluation);
+                employeeScoreSummaryService.refreshEmployee(evaluation.getEmployeeId());
+                aiCompareResultCache.evictByEmployee(evaluation.getEmployeeId());
+                employeeIndexManager.employeeChanged(evaluation.getEmployeeId());
+                talentRecommendationCache.markEmployeeDirty(evaluation.getEmployeeId());
                 log.info("投诉通过，已逻辑删除评价：evaluationId={}", evaluation.getId());
 
                 // 判断评价是否来自HR或部门主管
@@ -4,7 +4,9 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.manager.cache.ContactAccessGrantCache;
 import com.crossorgtalentmanager.mapper.ContactAccessRequestMapper;
+import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessGrants;
 import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessRequestAddRequest;
 import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessRequestQueryRequest;
 import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessRequestUpdateRequest;
@@ -50,6 +52,9 @@ public class ContactAccessRequestServiceImpl extends ServiceImpl<ContactAccessRe
     @Resource
     private NotificationService notificationService;
 
+    @Resource
+    private ContactAccessGrantCache contactAccessGrantCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long createRequest(ContactAccessRequestAddRequest addRequest, User loginUser) {
@@ -191,6 +196,9 @@ public class ContactAccessRequestServiceImpl extends ServiceImpl<ContactAccessRe
 
         boolean update = this.updateById(request);
         ThrowUtils.throwIf(!update, ErrorCode.OPERATION_ERROR, "更新请求失败");
+        if (status.equals(ContactAccessRequestStatusEnum.APPROVED.getValue())) {
+            contactAccessGrantCache.invalidate(request.getRequestCompanyId(), request.getEmployeeId());
+        }
 
         log.info("审批联系方式查看请求：requestId={}, status={}, employeeId={}",
                 request.getId(), status, request.getEmployeeId());
@@ -361,48 +369,11 @@ public class ContactAccessRequestServiceImpl extends ServiceImpl<ContactAccessRe
         if (companyId == null || employeeId == null || requestType == null) {
             return false;
         }
+        return getAuthorizedGrants(companyId, employeeId).allows(requestType);
+    }
 
-        // 检查是否有已授权且未过期的请求
-        // 如果请求类型为4（查看所有联系方式），则也检查是否有其他类型的授权
-        QueryWrapper qw = QueryWrapper.create()
-                .eq("request_company_id", companyId)
-                .eq("employee_id", employeeId)
-                .eq("status", ContactAccessRequestStatusEnum.APPROVED.getValue())
-                .ge("expire_time", LocalDateTime.now());
-
-        if (requestType.equals(4)) {
-            // 查看所有联系方式，只要有任意类型的授权就可以
-            qw.in("request_type", 1, 2, 3, 4, 5);
-        } else if (requestType.equals(5)) {
-            // 查看电话和邮箱，需要检查 type 5，或者同时有 type 1 和 type 2，或者 type 4
-            qw.in("request_type", 4, 5);
-            long count = this.count(qw);
-            if (count > 0) {
-                return true;
-            }
-            // 检查是否同时有 type 1 和 type 2 的授权
-            QueryWrapper phoneQuery = QueryWrapper.create()
-                    .eq("request_company_id", companyId)
-                    .eq("employee_id", employeeId)
-                    .eq("status", ContactAccessRequestStatusEnum.APPROVED.getValue())
-                    .ge("expire_time", LocalDateTime.now())
-                    .eq("request_type", 1);
-            QueryWrapper emailQuery = QueryWrapper.create()
-                    .eq("request_company_id", companyId)
-                    .eq("employee_id", employeeId)
-                    .eq("status", ContactAccessRequestStatusEnum.APPROVED.getValue())
-                    .ge("expire_time", LocalDateTime.now())
-                    .eq("request_type", 2);
-            return this.count(phoneQuery) > 0 && this.count(emailQuery) > 0;
-        } else if (requestType.equals(1) || requestType.equals(2)) {
-            // 查看电话或邮箱，需要检查该类型，或者 type 4，或者 type 5
-            qw.in("request_type", requestType, 4, 5);
-        } else {
-            // 其他类型（如身份证号），需要检查该类型或 type 4
-            qw.in("request_type", requestType, 4);
-        }
-
-        long count = this.count(qw);
-        return count > 0;
+    @Override
+    public ContactAccessGrants getAuthorizedGrants(Long companyId, Long employeeId) {
+        return contactAccessGrantCache.getGrants(companyId, employeeId);
     }
 }
@@ -4,14 +4,19 @@ import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.manager.cache.AiCompareResultCache;
+import com.crossorgtalentmanager.manager.cache.TalentRecommendationCache;
+import com.crossorgtalentmanager.manager.index.EmployeeIndexManager;
 import com.crossorgtalentmanager.model.dto.employeeprofile.EmployeeProfileAddRequest;
 import com.crossorgtalentmanager.model.dto.employeeprofile.EmployeeProfileQueryRequest;
 import com.crossorgtalentmanager.model.dto.employeeprofile.EmployeeProfileUpdateRequest;
+import com.crossorgtalentmanager.model.dto.employeeprofile.ProfileVisibilityDecision;
 import com.crossorgtalentmanager.model.entity.EmployeeProfile;
 import com.crossorgtalentmanager.model.entity.User;
 import com.crossorgtalentmanager.model.enums.UserRoleEnum;
 import com.crossorgtalentmanager.model.vo.EmployeeProfileVO;
 import com.crossorgtalentmanager.service.EmployeeProfileService;
+import com.crossorgtalentmanager.service.EmployeeProfileSummaryService;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.spring.service.impl.ServiceImpl;
 import com.crossorgtalentmanager.mapper.EmployeeProfileMapper;
@@ -28,8 +33,12 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.annotation.Resource;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -54,6 +63,18 @@ public class EmployeeProfileServiceImpl extends ServiceImpl<EmployeeProfileMappe
     @Resource
     private CompanyPointsService companyPointsService;
 
+    @Resource
+    private AiCompareResultCache aiCompareResultCache;
+
+    @Resource
+    private EmployeeIndexManager employeeIndexManager;
+
+    @Resource
+    private TalentRecommendationCache talentRecommendationCache;
+
+    @Resource
+    private EmployeeProfileSummaryService employeeProfileSummaryService;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addEmployeeProfile(EmployeeProfileAddRequest addRequest, User loginUser) {
@@ -106,6 +127,10 @@ public class EmployeeProfileServiceImpl extends ServiceImpl<EmployeeProfileMappe
 
         boolean save = this.save(profile);
         ThrowUtils.throwIf(!save, ErrorCode.OPERATION_ERROR, "添加失败");
+        employeeProfileSummaryService.refreshEmployee(profile.getEmployeeId());
+        aiCompareResultCache.evictByEmployee(profile.getEmployeeId());
+        employeeIndexManager.employeeChanged(profile.getEmployeeId());
+        talentRecommendationCache.markEmployeeDirty(profile.getEmployeeId());
 
         // 如果为离职员工建立档案（endDate不为null），则增加积分+10分
         if (addRequest.getEndDate() != null) {
@@ -176,6 +201,10 @@ public class EmployeeProfileServiceImpl extends ServiceImpl<EmployeeProfileMappe
 
         boolean update = this.updateById(profileToUpdate);
         ThrowUtils.throwIf(!update, ErrorCode.OPERATION_ERROR, "更新失败");
+        employeeProfileSummaryService.refreshEmployee(existingProfile.getEmployeeId());
+        aiCompareResultCache.evictByEmployee(existingProfile.getEmployeeId());
+        employeeIndexManager.employeeChanged(existingProfile.getEmployeeId());
+        talentRecommendationCache.markEmployeeDirty(existingProfile.getEmployeeId());
         return true;
     }
 
@@ -282,7 +311,12 @@ public class EmployeeProfileServiceImpl extends ServiceImpl<EmployeeProfileMappe
         EmployeeProfile copy = new EmployeeProfile();
         BeanUtil.copyProperties(profile, copy);
         copy.setIsDelete(!Boolean.TRUE.equals(copy.getIsDelete()));
-        return updateById(copy);
+        boolean result = updateById(copy);
+        employeeProfileSummaryService.refreshEmployee(profile.getEmployeeId());
+        aiCompareResultCache.evictByEmployee(profile.getEmployeeId());
+        employeeIndexManager.employeeChanged(profile.getEmployeeId());
+        talentRecommendationCache.markEmployeeDirty(profile.getEmployeeId());
+        return result;
     }
 
     @Resource
@@ -295,144 +329,121 @@ public class EmployeeProfileServiceImpl extends ServiceImpl<EmployeeProfileMappe
         if (employeeProfile == null) {
             return null;
         }
+        ProfileVisibilityDecision decision = resolveProfileVisibility(
+                Collections.singletonList(employeeProfile), viewerCompanyId, viewerEmployeeId)
+                .get(employeeProfile.getId());
+        return getEmployeeProfileVOWithPermission(employeeProfile, decision);
+    }
 
-        EmployeeProfileVO vo = getEmployeeProfileVO(employeeProfile);
-        if (vo == null) {
-            return null;
+    @Override
+    public Boolean canViewProfileDetail(Long profileId, Long viewerCompanyId, Long employeeId) {
+        if (profileId == null || employeeId == null) {
+            return false;
         }
 
-        // 如果查看者是员工本人，返回完整信息
-        if (viewerEmployeeId != null && viewerEmployeeId.equals(employeeProfile.getEmployeeId())) {
-            vo.setCanViewDetail(true);
-            return vo;
+        EmployeeProfile profile = this.getById(profileId);
+        if (profile == null || !profile.getEmployeeId().equals(employeeId)) {
+            return false;
         }
 
-        // 查询员工信息
-        com.crossorgtalentmanager.model.entity.Employee employee = employeeService
-                .getById(employeeProfile.getEmployeeId());
-        if (employee == null) {
-            vo.setCanViewDetail(false);
-            return vo;
+        return resolveProfileVisibility(Collections.singletonList(profile), viewerCompanyId, null)
+                .get(profileId).isCanViewDetail();
+    }
+
+    @Override
+    public Map<Long, ProfileVisibilityDecision> resolveProfileVisibility(Collection<EmployeeProfile> profiles,
+            Long viewerCompanyId, Long viewerEmployeeId) {
+        Map<Long, ProfileVisibilityDecision> result = new HashMap<>();
+        if (CollUtil.isEmpty(profiles)) {
+            return result;
         }
 
-        // 如果查看者公司是员工所属公司，可以查看认证企业可见和公开的档案，但不能查看完全保密的档案
-        boolean isSameCompany = viewerCompanyId != null && viewerCompanyId.equals(employee.getCompanyId());
-        Integer visibility = employeeProfile.getVisibility();
-        if (visibility == null) {
-            visibility = 2; // 默认为公开
+        // 档案所属员工的当前公司，一次查询（离职员工的公司为 null）
+        Set<Long> employeeIds = profiles.stream()
+                .map(EmployeeProfile::getEmployeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Long> employeeCompanyMap = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (com.crossorgtalentmanager.model.entity.Employee employee : employeeService.listByIds(employeeIds)) {
+                employeeCompanyMap.put(employee.getId(), employee.getCompanyId());
+            }
         }
 
-        // 如果查看者公司是员工所属公司
-        if (isSameCompany) {
-            // 完全保密的档案，即使是同一公司也不能查看
-            if (visibility == 0) {
-                vo.setPerformanceSummary(null);
-                vo.setAttendanceRate(null);
-                vo.setHasMajorIncident(null);
-                vo.setReasonForLeaving(null);
-                vo.setOccupation(null);
-                vo.setAnnualSalary(null);
-                vo.setStartDate(null);
-                vo.setEndDate(null);
-                vo.setCanViewDetail(false);
-                return vo;
+        // 非本公司的、对认证企业可见的档案，一次查询查看者企业已获得的授权
+        List<Long> grantProfileIds = profiles.stream()
+                .filter(profile -> getVisibility(profile) == 1
+                        && !isViewerSelf(profile, viewerEmployeeId)
+                        && employeeCompanyMap.containsKey(profile.getEmployeeId())
+                        && !isSameCompany(viewerCompanyId, employeeCompanyMap.get(profile.getEmployeeId())))
+                .map(EmployeeProfile::getId)
+                .collect(Collectors.toList());
+        Set<Long> authorizedIds = grantProfileIds.isEmpty() ? Collections.emptySet()
+                : profileAccessRequestService.getAuthorizedProfileIds(viewerCompanyId, grantProfileIds);
+
+        for (EmployeeProfile profile : profiles) {
+            int visibility = getVisibility(profile);
+            boolean sameCompany = employeeCompanyMap.containsKey(profile.getEmployeeId())
+                    && isSameCompany(viewerCompanyId, employeeCompanyMap.get(profile.getEmployeeId()));
+            boolean authorized = authorizedIds.contains(profile.getId());
+            boolean canViewDetail;
+            if (isViewerSelf(profile, viewerEmployeeId)) {
+                // 查看者是员工本人，可以查看完整信息
+                canViewDetail = true;
+            } else if (!employeeCompanyMap.containsKey(profile.getEmployeeId())) {
+                // 员工不存在
+                canViewDetail = false;
+            } else if (visibility == 0) {
+                // 完全保密的档案，即使是同一公司也不能查看
+                canViewDetail = false;
+            } else if (sameCompany || visibility == 2) {
+                // 员工所属公司可以查看认证企业可见和公开的档案，其他企业可以查看公开的档案
+                canViewDetail = true;
+            } else {
+                // 对认证企业可见的档案，需要有已授权的请求
+                canViewDetail = authorized;
             }
-            // 认证企业可见和公开的档案可以查看
-            vo.setCanViewDetail(true);
-            return vo;
+            result.put(profile.getId(), new ProfileVisibilityDecision(sameCompany, authorized, canViewDetail));
         }
+        return result;
+    }
 
-        // 如果查看者公司不是员工所属公司，需要检查权限
-        // 完全保密的档案，只显示有档案存在和入职离职日期，其他信息不显示
-        if (visibility == 0) {
+    /**
+     * 按权限判断结果构建档案VO：不能查看详情时只保留入职和离职日期，员工所属公司查看完全保密的档案时日期也不显示
+     */
+    private EmployeeProfileVO getEmployeeProfileVOWithPermission(EmployeeProfile employeeProfile,
+            ProfileVisibilityDecision decision) {
+        EmployeeProfileVO vo = getEmployeeProfileVO(employeeProfile);
+        if (vo == null) {
+            return null;
+        }
+        vo.setCanViewDetail(decision.isCanViewDetail());
+        if (!decision.isCanViewDetail()) {
             vo.setPerformanceSummary(null);
             vo.setAttendanceRate(null);
             vo.setHasMajorIncident(null);
             vo.setReasonForLeaving(null);
             vo.setOccupation(null);
             vo.setAnnualSalary(null);
-            // 入职和离职日期始终可见
-            // vo.setStartDate(null);
-            // vo.setEndDate(null);
-            vo.setCanViewDetail(false);
-            return vo;
-        }
-
-        // 对认证企业可见的档案，需要检查是否有已授权的请求
-        if (visibility == 1) {
-            boolean canAccess = profileAccessRequestService.canAccessProfile(
-                    employeeProfile.getId(), viewerCompanyId, employeeProfile.getEmployeeId());
-            if (!canAccess) {
-                // 只显示有档案存在和入职离职日期，其他信息不显示
-                vo.setPerformanceSummary(null);
-                vo.setAttendanceRate(null);
-                vo.setHasMajorIncident(null);
-                vo.setReasonForLeaving(null);
-                vo.setOccupation(null);
-                vo.setAnnualSalary(null);
-                // 入职和离职日期始终可见
-                // vo.setStartDate(null);
-                // vo.setEndDate(null);
-                vo.setCanViewDetail(false);
-                return vo;
+            if (decision.isSameCompany()) {
+                vo.setStartDate(null);
+                vo.setEndDate(null);
             }
-            vo.setCanViewDetail(true);
-        } else {
-            // 公开的档案可以查看
-            vo.setCanViewDetail(true);
         }
-
         return vo;
     }
 
-    @Override
-    public Boolean canViewProfileDetail(Long profileId, Long viewerCompanyId, Long employeeId) {
-        if (profileId == null || employeeId == null) {
-            return false;
-        }
-
-        EmployeeProfile profile = this.getById(profileId);
-        if (profile == null || !profile.getEmployeeId().equals(employeeId)) {
-            return false;
-        }
-
-        // 如果查看者是员工本人，可以查看
-        // 这里需要从viewerCompanyId推断viewerEmployeeId，暂时通过查询员工来判断
-        com.crossorgtalentmanager.model.entity.Employee employee = employeeService.getById(employeeId);
-        if (employee == null) {
-            return false;
-        }
-
-        Integer visibility = profile.getVisibility();
-        if (visibility == null) {
-            visibility = 2; // 默认为公开
-        }
-
-        // 如果查看者公司是员工所属公司，可以查看认证企业可见和公开的档案，但不能查看完全保密的档案
-        if (viewerCompanyId != null && viewerCompanyId.equals(employee.getCompanyId())) {
-            // 完全保密的档案，即使是同一公司也不能查看
-            if (visibility == 0) {
-                return false;
-            }
-            // 认证企业可见和公开的档案可以查看
-            return true;
-        }
+    private static int getVisibility(EmployeeProfile profile) {
+        // 默认为公开
+        return profile.getVisibility() != null ? profile.getVisibility() : 2;
+    }
 
-        // 如果查看者公司不是员工所属公司
-        if (visibility == 0) {
-            // 完全保密，不能查看
-            return false;
-        }
-        if (visibility == 2) {
-            // 公开，可以查看
-            return true;
-        }
-        if (visibility == 1) {
-            // 对认证企业可见，需要检查是否有已授权的请求
-            return profileAccessRequestService.canAccessProfile(profileId, viewerCompanyId, employeeId);
-        }
+    private static boolean isViewerSelf(EmployeeProfile profile, Long viewerEmployeeId) {
+        return viewerEmployeeId != null && viewerEmployeeId.equals(profile.getEmployeeId());
+    }
 
-        return false;
+    private static boolean isSameCompany(Long viewerCompanyId, Long employeeCompanyId) {
+        return viewerCompanyId != null && viewerCompanyId.equals(employeeCompanyId);
     }
 
     @Override
@@ -499,11 +510,12 @@ public class EmployeeProfileServiceImpl extends ServiceImpl<EmployeeProfileMappe
             }
         }
 
-        // 应用权限控制和脱敏逻辑
+        // 应用权限控制和脱敏逻辑：整页档案的所属员工和授权各查询一次
+        Map<Long, ProfileVisibilityDecision> decisions = resolveProfileVisibility(
+                page.getRecords(), viewerCompanyId, viewerEmployeeId);
         List<EmployeeProfileVO> voList = new ArrayList<>();
         for (EmployeeProfile profile : page.getRecords()) {
-            EmployeeProfileVO vo = this.getEmployeeProfileVOWithPermission(
-                    profile, viewerCompanyId, viewerEmployeeId);
+            EmployeeProfileVO vo = getEmployeeProfileVOWithPermission(profile, decisions.get(profile.getId()));
             if (vo != null) {
                 voList.add(vo);
             }
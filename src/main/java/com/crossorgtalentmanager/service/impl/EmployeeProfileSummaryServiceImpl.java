@@ -0,0 +1,56 @@
+package com.crossorgtalentmanager.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.mapper.EmployeeProfileSummaryMapper;
+import com.crossorgtalentmanager.model.entity.EmployeeProfileSummary;
+import com.crossorgtalentmanager.service.EmployeeProfileSummaryService;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.spring.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 员工档案汇总 服务层实现。
+ * <p>
+ * 每次档案写入后按员工重新汇总一次（幂等），重大违纪、出勤率筛选和人才对比只需按主键读取汇总，无需再扫描档案表。
+ *
+ * @author y
+ */
+@Service
+@Slf4j
+public class EmployeeProfileSummaryServiceImpl
+        extends ServiceImpl<EmployeeProfileSummaryMapper, EmployeeProfileSummary>
+        implements EmployeeProfileSummaryService {
+
+    @Override
+    public void refreshEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        this.mapper.refreshByEmployeeId(employeeId);
+    }
+
+    @Override
+    public Map<Long, EmployeeProfileSummary> getSummaryMap(Collection<Long> employeeIds) {
+        Map<Long, EmployeeProfileSummary> result = new HashMap<>();
+        if (CollUtil.isEmpty(employeeIds)) {
+            return result;
+        }
+        List<EmployeeProfileSummary> summaries = this.list(
+                QueryWrapper.create().in("employee_id", employeeIds));
+        for (EmployeeProfileSummary summary : summaries) {
+            result.put(summary.getEmployeeId(), summary);
+        }
+        return result;
+    }
+
+    @Override
+    public int rebuildAll() {
+        return this.mapper.rebuildAll();
+    }
+}
@@ -0,0 +1,80 @@
+package com.crossorgtalentmanager.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.mapper.EmployeeScoreSummaryMapper;
+import com.crossorgtalentmanager.model.entity.EmployeeScoreSummary;
+import com.crossorgtalentmanager.service.EmployeeScoreSummaryService;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.spring.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 员工评分汇总 服务层实现。
+ * <p>
+ * 每次评价写入后按员工重新汇总一次（幂等），读取方只需按主键查询，无需再扫描评价与维度评分。
+ *
+ * @author y
+ */
+@Service
+@Slf4j
+public class EmployeeScoreSummaryServiceImpl extends ServiceImpl<EmployeeScoreSummaryMapper, EmployeeScoreSummary>
+        implements EmployeeScoreSummaryService {
+
+    @Override
+    public void refreshEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        this.mapper.refreshByEmployeeId(employeeId);
+    }
+
+    @Override
+    public Map<Long, EmployeeScoreSummary> getSummaryMap(Collection<Long> employeeIds) {
+        Map<Long, EmployeeScoreSummary> result = new HashMap<>();
+        if (CollUtil.isEmpty(employeeIds)) {
+            return result;
+        }
+        List<EmployeeScoreSummary> summaries = this.list(
+                QueryWrapper.create().in("employee_id", employeeIds));
+        for (EmployeeScoreSummary summary : summaries) {
+            result.put(summary.getEmployeeId(), summary);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> getAverageScoreMap(Collection<Long> employeeIds) {
+        Map<Long, BigDecimal> result = new HashMap<>();
+        if (CollUtil.isEmpty(employeeIds)) {
+            return result;
+        }
+        Map<Long, EmployeeScoreSummary> summaryMap = getSummaryMap(employeeIds);
+        for (Long employeeId : employeeIds) {
+            result.put(employeeId, getAverageScore(summaryMap.get(employeeId)));
+        }
+        return result;
+    }
+
+    /**
+     * 取汇总中的平均分，无评分时为 0
+     */
+    private BigDecimal getAverageScore(EmployeeScoreSummary summary) {
+        if (summary == null || summary.getScoreCount() == null || summary.getScoreCount() <= 0
+                || summary.getAverageScore() == null) {
+            return BigDecimal.ZERO;
+        }
+        return summary.getAverageScore();
+    }
+
+    @Override
+    public int rebuildAll() {
+        return this.mapper.rebuildAll();
+    }
+}
@@ -5,6 +5,7 @@ import cn.hutool.core.collection.CollUtil;
 import com.crossorgtalentmanager.exception.BusinessException;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.manager.cache.CompanyRelationCache;
 import com.crossorgtalentmanager.model.dto.employee.EmployeeQueryRequest;
 import com.crossorgtalentmanager.model.entity.Company;
 import com.crossorgtalentmanager.model.entity.Department;
@@ -63,6 +64,9 @@ public class EmployeeServiceImpl extends ServiceImpl<EmployeeMapper, Employee> i
     @Lazy
     private EvaluationService evaluationService;
 
+    @Resource
+    private CompanyRelationCache companyRelationCache;
+
     final String DEFAULT_PASSWORD = "123456";
 
     @Override
@@ -118,6 +122,7 @@ public class EmployeeServiceImpl extends ServiceImpl<EmployeeMapper, Employee> i
             employee.setDepartmentId(departmentId);
             employee.setStatus(EmployeeStatusEnum.NORMAL.getValue());
             this.updateById(employee);
+            companyRelationCache.invalidate(companyId);
             return employee.getId();
         } else {
             // 如果不存在，则添加新员工
@@ -162,6 +167,7 @@ public class EmployeeServiceImpl extends ServiceImpl<EmployeeMapper, Employee> i
                 }
             }
 
+            companyRelationCache.invalidate(companyId);
             return newEmployee.getId();
         }
     }
@@ -398,6 +404,7 @@ public class EmployeeServiceImpl extends ServiceImpl<EmployeeMapper, Employee> i
         // 使用 mapper 的原生 SQL 方法来确保 null 值能够被正确更新
         int affectedRows = this.mapper.fireEmployee(employeeId);
         ThrowUtils.throwIf(affectedRows <= 0, ErrorCode.OPERATION_ERROR, "解雇操作失败");
+        companyRelationCache.invalidate(employee.getCompanyId());
 
         return true;
     }
@@ -626,6 +633,7 @@ public class EmployeeServiceImpl extends ServiceImpl<EmployeeMapper, Employee> i
                                 existingEmployee.setDepartmentId(departmentId);
                                 existingEmployee.setStatus(EmployeeStatusEnum.NORMAL.getValue());
                                 this.updateById(existingEmployee);
+                                companyRelationCache.invalidate(companyId);
 
                                 result.getSuccessItems().add(
                                         com.crossorgtalentmanager.model.dto.employee.EmployeeBatchImportResult.ImportSuccessItem
@@ -2,6 +2,9 @@ package com.crossorgtalentmanager.service.impl;
 
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
+import com.crossorgtalentmanager.manager.cache.AiCompareResultCache;
+import com.crossorgtalentmanager.manager.cache.TalentRecommendationCache;
+import com.crossorgtalentmanager.manager.index.EmployeeIndexManager;
 import com.crossorgtalentmanager.mapper.*;
 import com.crossorgtalentmanager.model.dto.evaluation.*;
 import com.crossorgtalentmanager.model.entity.*;
@@ -17,6 +20,7 @@ import com.crossorgtalentmanager.service.CompanyPointsService;
 import com.crossorgtalentmanager.service.CompanyService;
 import com.crossorgtalentmanager.service.DepartmentService;
 import com.crossorgtalentmanager.service.EmployeeProfileService;
+import com.crossorgtalentmanager.service.EmployeeScoreSummaryService;
 import com.crossorgtalentmanager.service.EmployeeService;
 import com.crossorgtalentmanager.service.EvaluationService;
 import com.crossorgtalentmanager.service.EvaluationTaskService;
@@ -85,6 +89,18 @@ public class EvaluationServiceImpl extends ServiceImpl<EvaluationMapper, Evaluat
     @Resource
     private CompanyService companyService;
 
+    @Resource
+    private EmployeeScoreSummaryService employeeScoreSummaryService;
+
+    @Resource
+    private AiCompareResultCache aiCompareResultCache;
+
+    @Resource
+    private EmployeeIndexManager employeeIndexManager;
+
+    @Resource
+    private TalentRecommendationCache talentRecommendationCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Long addEvaluation(EvaluationAddRequest addRequest, User loginUser) {
@@ -213,6 +229,12 @@ public class EvaluationServiceImpl extends ServiceImpl<EvaluationMapper, Evaluat
             }
         }
 
+        // 维护员工评分汇总
+        employeeScoreSummaryService.refreshEmployee(evaluation.getEmployeeId());
+        aiCompareResultCache.evictByEmployee(evaluation.getEmployeeId());
+        employeeIndexManager.employeeChanged(evaluation.getEmployeeId());
+        talentRecommendationCache.markEmployeeDirty(evaluation.getEmployeeId());
+
         // 6. 如果评价类型为HR评价(3)或领导评价(1)，则增加企业积分+5分
         Integer evaluationType = addRequest.getEvaluationType();
         if (companyId != null && (EvaluationTypeEnum.HR.getValue().equals(evaluationType)
@@ -520,6 +542,7 @@ public class EvaluationServiceImpl extends ServiceImpl<EvaluationMapper, Evaluat
                         .build();
                 dimensionScoreMapper.insert(dimensionScore);
             }
+            employeeScoreSummaryService.refreshEmployee(evaluation.getEmployeeId());
         }
 
         // 更新标签关联（先删除旧的，再插入新的）
@@ -540,6 +563,11 @@ public class EvaluationServiceImpl extends ServiceImpl<EvaluationMapper, Evaluat
             }
         }
 
+        aiCompareResultCache.evictByEmployee(evaluation.getEmployeeId());
+
+        employeeIndexManager.employeeChanged(evaluation.getEmployeeId());
+
+        talentRecommendationCache.markEmployeeDirty(evaluation.getEmployeeId());
         return true;
     }
 
@@ -570,6 +598,10 @@ public class EvaluationServiceImpl extends ServiceImpl<EvaluationMapper, Evaluat
                 log.info("删除评价时，同时逻辑删除了 {} 条标签关联记录，evaluationId={}",
                         tagRelations.size(), id);
             }
+            employeeScoreSummaryService.refreshEmployee(evaluation.getEmployeeId());
+            aiCompareResultCache.evictByEmployee(evaluation.getEmployeeId());
+            employeeIndexManager.employeeChanged(evaluation.getEmployeeId());
+            talentRecommendationCache.markEmployeeDirty(evaluation.getEmployeeId());
         }
 
         return deleted;
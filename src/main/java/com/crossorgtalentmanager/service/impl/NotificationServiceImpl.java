@@ -2,6 +2,7 @@ package com.crossorgtalentmanager.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
 import com.crossorgtalentmanager.mapper.NotificationMapper;
@@ -17,6 +18,7 @@ import com.crossorgtalentmanager.model.vo.NotificationListItemVO;
 import com.crossorgtalentmanager.service.EvaluationTaskService;
 import com.crossorgtalentmanager.service.NotificationService;
 import com.crossorgtalentmanager.service.UserService;
+import com.crossorgtalentmanager.utils.CursorUtils;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.spring.service.impl.ServiceImpl;
@@ -90,6 +92,41 @@ public class NotificationServiceImpl extends ServiceImpl<NotificationMapper, Not
         return voPage;
     }
 
+    @Override
+    public CursorPage<NotificationListItemVO> cursorNotifications(NotificationQueryRequest queryRequest,
+            Long loginUserId) {
+        ThrowUtils.throwIf(queryRequest == null, ErrorCode.PARAMS_ERROR, "查询参数不能为空");
+        ThrowUtils.throwIf(loginUserId == null, ErrorCode.NO_AUTH_ERROR, "用户信息不存在");
+        long pageSize = queryRequest.getPageSize() != null ? queryRequest.getPageSize() : 10L;
+        CursorUtils.checkPageSize(pageSize);
+
+        // 筛选条件与普通分页相同，排序固定为创建时间、ID倒序
+        NotificationQueryRequest filterRequest = new NotificationQueryRequest();
+        BeanUtil.copyProperties(queryRequest, filterRequest);
+        filterRequest.setSortField(null);
+        QueryWrapper qw = getQueryWrapper(filterRequest);
+        // 只能查询自己的通知
+        qw.eq("user_id", loginUserId);
+        Long totalRow = Boolean.TRUE.equals(queryRequest.getWithTotal()) ? this.count(qw) : null;
+
+        List<String> after = CursorUtils.decode(queryRequest.getCursor(), 2);
+        if (after != null) {
+            LocalDateTime createTime = CursorUtils.parse(after.get(0), LocalDateTime::parse);
+            Long id = CursorUtils.parse(after.get(1), Long::valueOf);
+            qw.and("(create_time < ? OR (create_time = ? AND id < ?))", createTime, createTime, id);
+        }
+        qw.orderBy("id", false).limit(pageSize + 1);
+        List<Notification> records = this.list(qw);
+
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, (int) pageSize);
+            Notification last = records.get(records.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreateTime(), last.getId());
+        }
+        return new CursorPage<>(getNotificationListItemVOList(records), pageSize, nextCursor, totalRow);
+    }
+
     @Override
     public NotificationVO getNotificationById(String notificationId, Long loginUserId) {
         ThrowUtils.throwIf(notificationId == null || notificationId.isBlank(),
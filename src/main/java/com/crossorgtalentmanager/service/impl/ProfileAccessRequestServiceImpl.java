@@ -24,6 +24,8 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -351,4 +353,20 @@ public class ProfileAccessRequestServiceImpl extends ServiceImpl<ProfileAccessRe
 
         return false;
     }
+
+    @Override
+    public Set<Long> getAuthorizedProfileIds(Long requestCompanyId, Collection<Long> profileIds) {
+        if (requestCompanyId == null || CollUtil.isEmpty(profileIds)) {
+            return new HashSet<>();
+        }
+        QueryWrapper qw = QueryWrapper.create()
+                .select("employee_profile_id")
+                .eq("request_company_id", requestCompanyId)
+                .in("employee_profile_id", profileIds)
+                .eq("status", ProfileAccessRequestStatusEnum.APPROVED.getValue())
+                .ge("expire_time", LocalDateTime.now());
+        return this.list(qw).stream()
+                .map(ProfileAccessRequest::getEmployeeProfileId)
+                .collect(Collectors.toSet());
+    }
 }
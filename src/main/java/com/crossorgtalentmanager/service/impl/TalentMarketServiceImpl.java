@@ -2,13 +2,28 @@ package com.crossorgtalentmanager.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
+import com.crossorgtalentmanager.common.CursorPage;
 import com.crossorgtalentmanager.exception.BusinessException;
 import com.crossorgtalentmanager.exception.ErrorCode;
 import com.crossorgtalentmanager.exception.ThrowUtils;
 import cn.hutool.json.JSONUtil;
+import com.crossorgtalentmanager.manager.buffer.TalentViewLogBuffer;
+import com.crossorgtalentmanager.manager.cache.AiCompareResultCache;
+import com.crossorgtalentmanager.manager.cache.CompanyRelationCache;
+import com.crossorgtalentmanager.manager.cache.ReferenceDataCache;
+import com.crossorgtalentmanager.manager.cache.TalentRecommendationCache;
+import com.crossorgtalentmanager.manager.cache.TalentSearchSnapshotCache;
+import com.crossorgtalentmanager.manager.cache.TalentViewStatsCache;
+import com.crossorgtalentmanager.manager.cache.UnlockedEvaluationCache;
+import com.crossorgtalentmanager.manager.index.ProfileTextIndex;
+import com.crossorgtalentmanager.manager.index.SimilarTalentIndex;
+import com.crossorgtalentmanager.manager.index.TagInvertedIndex;
+import com.crossorgtalentmanager.manager.index.TalentSearchPrefilterResolver;
 import com.crossorgtalentmanager.mapper.*;
+import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessGrants;
 import com.crossorgtalentmanager.model.dto.talentmarket.*;
 import com.crossorgtalentmanager.model.entity.*;
+import com.crossorgtalentmanager.model.enums.ContactAccessRequestTypeEnum;
 import com.crossorgtalentmanager.model.enums.EvaluationPeriodEnum;
 import com.crossorgtalentmanager.model.enums.EvaluationTypeEnum;
 import com.crossorgtalentmanager.model.enums.PointsChangeReasonEnum;
@@ -16,19 +31,31 @@ import com.crossorgtalentmanager.model.enums.UserRoleEnum;
 import com.crossorgtalentmanager.model.vo.*;
 import com.crossorgtalentmanager.service.*;
 import com.crossorgtalentmanager.ai.AiTalentComparisonService;
+import com.crossorgtalentmanager.utils.CursorUtils;
 import com.crossorgtalentmanager.model.entity.TalentCompareRecord;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -43,6 +70,21 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     @Resource
     private EmployeeMapper employeeMapper;
 
+    @Resource
+    private EmployeeScoreSummaryService employeeScoreSummaryService;
+
+    @Resource(name = "talentDetailExecutor")
+    private ExecutorService talentDetailExecutor;
+
+    @Resource
+    private ReferenceDataCache referenceDataCache;
+
+    @Resource
+    private AiCompareResultCache aiCompareResultCache;
+
+    @Resource
+    private UnlockedEvaluationCache unlockedEvaluationCache;
+
     @Resource
     private EmployeeProfileMapper employeeProfileMapper;
 
@@ -85,6 +127,36 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     @Resource
     private CacheManager cacheManager;
 
+    @Resource
+    private EmployeeProfileSummaryService employeeProfileSummaryService;
+
+    @Resource
+    private TalentSearchSnapshotCache talentSearchSnapshotCache;
+
+    @Resource
+    private TalentRecommendationCache talentRecommendationCache;
+
+    @Resource
+    private TalentViewLogBuffer talentViewLogBuffer;
+
+    @Resource
+    private TalentViewStatsCache talentViewStatsCache;
+
+    @Resource
+    private CompanyRelationCache companyRelationCache;
+
+    @Resource
+    private TagInvertedIndex tagInvertedIndex;
+
+    @Resource
+    private ProfileTextIndex profileTextIndex;
+
+    @Resource
+    private SimilarTalentIndex similarTalentIndex;
+
+    @Resource
+    private TalentSearchPrefilterResolver talentSearchPrefilterResolver;
+
     @Resource
     private UserService userService;
 
@@ -127,6 +199,16 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return aiAnalysisTaskService.getTaskError(taskId);
     }
 
+    @Override
+    public Flux<String> streamAiAnalysisResult(String taskId, User loginUser) {
+        ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
+        ThrowUtils.throwIf(loginUser.getCompanyId() == null, ErrorCode.OPERATION_ERROR, "用户未关联公司");
+        StringBuilder resultBuilder = new StringBuilder();
+        return aiAnalysisTaskService.streamTask(taskId, loginUser.getCompanyId())
+                .doOnNext(resultBuilder::append)
+                .doOnComplete(() -> updateCompareRecordAiResult(taskId, resultBuilder.toString(), loginUser));
+    }
+
     // 高级搜索功能积分消耗配置
     private static final BigDecimal ADVANCED_SEARCH_TAG_INCLUDE_COST = new BigDecimal("0.5"); // 包含标签筛选
     private static final BigDecimal ADVANCED_SEARCH_TAG_EXCLUDE_COST = new BigDecimal("0.5"); // 排除标签筛选
@@ -135,6 +217,11 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     private static final BigDecimal ADVANCED_SEARCH_MAJOR_INCIDENT_COST = new BigDecimal("0.2"); // 重大违纪排除
     private static final BigDecimal ADVANCED_SEARCH_ATTENDANCE_COST = new BigDecimal("0.3"); // 出勤率筛选
 
+    /**
+     * 标签分面统计最多统计的结果数，超过时只统计前这么多个并标记为截断
+     */
+    private static final int TAG_FACET_MAX_RESULTS = 50000;
+
     /**
      * 内部搜索方法，不扣除积分（供相似人才推荐等系统功能使用）
      */
@@ -143,143 +230,231 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         long pageNum = request.getPageNum();
         long pageSize = request.getPageSize();
 
-        // 构建员工基础查询
-        QueryWrapper employeeQuery = QueryWrapper.create()
-                .select("id", "name", "gender", "photo_url", "status", "company_id");
-
-        // 关键词搜索（姓名）
-        if (StrUtil.isNotBlank(request.getKeyword())) {
-            employeeQuery.like("name", request.getKeyword());
+        // 标签、职位、离职原因优先在进程内索引上做集合运算，其余筛选条件（违纪、出勤率、评价内容、评分区间）
+        // 在 EmployeeMapper.xml 中编译为一条带半连接的 SQL，排序和分页同样由数据库完成
+        TalentSearchPrefilter prefilter = talentSearchPrefilterResolver.resolve(request);
+        if (prefilter.hasNoCandidate()) {
+            return new Page<>(Collections.emptyList(), pageNum, pageSize, 0);
         }
-
-        // 性别筛选
-        if (StrUtil.isNotBlank(request.getGender())) {
-            employeeQuery.eq("gender", request.getGender());
+        long total = employeeMapper.countTalentSearch(request, companyId, prefilter);
+        if (total == 0) {
+            return new Page<>(Collections.emptyList(), pageNum, pageSize, 0);
         }
 
-        // 在职状态筛选
-        if (Boolean.TRUE.equals(request.getOnlyLeft())) {
-            employeeQuery.eq("status", false);
-        } else if (Boolean.TRUE.equals(request.getOnlyWorking())) {
-            employeeQuery.eq("status", true);
+        long offset = (pageNum - 1) * pageSize;
+        if (offset >= total) {
+            return new Page<>(Collections.emptyList(), pageNum, pageSize, total);
         }
 
-        // 先查询所有符合基础条件的员工
-        List<Employee> employees = employeeMapper.selectListByQuery(employeeQuery);
+        boolean sortByScore = "averageScore".equals(request.getSortField());
+        boolean ascending = "asc".equalsIgnoreCase(request.getSortOrder());
+        List<Long> pagedIds = employeeMapper.selectTalentSearchIds(request, companyId,
+                prefilter, sortByScore, ascending, offset, pageSize);
 
-        if (CollUtil.isEmpty(employees)) {
-            return new Page<>(Collections.emptyList(), pageNum, pageSize, 0);
-        }
+        // 只为当前页的员工批量构建TalentVO
+        List<TalentVO> talentVOs = buildTalentVOList(pagedIds, companyId);
 
-        List<Long> employeeIds = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        return new Page<>(talentVOs, pageNum, pageSize, total);
+    }
 
-        // 排除本公司员工（包括当前和曾经在本公司的员工）
-        if (Boolean.TRUE.equals(request.getExcludeOwnCompany()) && companyId != null) {
-            Set<Long> ownCompanyEmployeeIds = getOwnCompanyEmployeeIds(companyId);
-            employeeIds.removeAll(ownCompanyEmployeeIds);
-        }
+    /**
+     * 职位联想默认和最多返回条数
+     */
+    private static final int OCCUPATION_SUGGEST_DEFAULT_LIMIT = 10;
+    private static final int OCCUPATION_SUGGEST_MAX_LIMIT = 50;
 
-        // 职位筛选（从档案中查询）
-        if (StrUtil.isNotBlank(request.getOccupation()) || CollUtil.isNotEmpty(request.getOccupations())) {
-            Set<Long> occupationEmployeeIds = filterByOccupation(request.getOccupation(), request.getOccupations());
-            employeeIds.retainAll(occupationEmployeeIds);
+    @Override
+    public List<String> suggestOccupations(String keyword, Integer limit, User loginUser) {
+        ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
+        if (StrUtil.isBlank(keyword)) {
+            return Collections.emptyList();
         }
-
-        // 排除有重大违纪的
-        if (Boolean.TRUE.equals(request.getExcludeMajorIncident())) {
-            Set<Long> incidentEmployeeIds = getEmployeesWithMajorIncident();
-            employeeIds.removeAll(incidentEmployeeIds);
+        int size = limit == null || limit <= 0 ? OCCUPATION_SUGGEST_DEFAULT_LIMIT
+                : Math.min(limit, OCCUPATION_SUGGEST_MAX_LIMIT);
+        if (profileTextIndex.isReady()) {
+            return profileTextIndex.suggestOccupations(keyword, size);
         }
+        // 索引构建完成前退回数据库前缀匹配
+        QueryWrapper query = QueryWrapper.create()
+                .select("DISTINCT occupation")
+                .likeLeft("occupation", keyword.trim())
+                .limit(size);
+        return employeeProfileMapper.selectListByQueryAs(query, String.class);
+    }
 
-        // 最低出勤率筛选
-        if (request.getMinAttendanceRate() != null) {
-            Set<Long> attendanceEmployeeIds = filterByMinAttendanceRate(request.getMinAttendanceRate());
-            employeeIds.retainAll(attendanceEmployeeIds);
+    @Override
+    public TalentTagFacetsVO getSearchTagFacets(TalentSearchRequest request, User loginUser) {
+        ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
+        ThrowUtils.throwIf(!tagInvertedIndex.isReady(), ErrorCode.OPERATION_ERROR, "标签索引正在构建，请稍后重试");
+
+        TalentTagFacetsVO result = new TalentTagFacetsVO();
+        TalentSearchPrefilter prefilter = talentSearchPrefilterResolver.resolve(request);
+        if (prefilter.hasNoCandidate()) {
+            result.setFacets(Collections.emptyList());
+            result.setCountedTalents(0);
+            result.setTotalTalents(0L);
+            result.setTruncated(false);
+            return result;
         }
-
-        // 离职原因排除
-        if (CollUtil.isNotEmpty(request.getExcludeReasonKeywords())) {
-            Set<Long> excludeEmployeeIds = filterByExcludeReasons(request.getExcludeReasonKeywords());
-            employeeIds.removeAll(excludeEmployeeIds);
+        // 多取一个判断是否超过统计上限，超过时才查询总数
+        List<Long> resultIds = employeeMapper.selectTalentSearchIds(request, loginUser.getCompanyId(),
+                prefilter, false, false, 0, TAG_FACET_MAX_RESULTS + 1);
+        boolean truncated = resultIds.size() > TAG_FACET_MAX_RESULTS;
+        if (truncated) {
+            resultIds = resultIds.subList(0, TAG_FACET_MAX_RESULTS);
+        }
+        result.setCountedTalents(resultIds.size());
+        result.setTotalTalents(truncated
+                ? employeeMapper.countTalentSearch(request, loginUser.getCompanyId(), prefilter)
+                : (long) resultIds.size());
+        result.setTruncated(truncated);
+
+        Map<Long, Integer> counts = tagInvertedIndex.facetCounts(resultIds);
+        List<TalentVO.TagStatVO> facets = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+            EvaluationTag tag = referenceDataCache.getTag(entry.getKey());
+            if (tag == null) {
+                continue;
+            }
+            TalentVO.TagStatVO facet = new TalentVO.TagStatVO();
+            facet.setTagId(tag.getId());
+            facet.setTagName(tag.getName());
+            facet.setTagType(tag.getType());
+            facet.setCount(entry.getValue());
+            facets.add(facet);
         }
+        facets.sort(Comparator.comparing(TalentVO.TagStatVO::getCount).reversed());
+        result.setFacets(facets);
+        return result;
+    }
 
-        // 标签筛选
-        if (CollUtil.isNotEmpty(request.getIncludeTagIds()) || CollUtil.isNotEmpty(request.getExcludeTagIds())) {
-            employeeIds = filterByTags(employeeIds, request.getIncludeTagIds(), request.getExcludeTagIds());
-        }
+    /**
+     * 基于结果快照的搜索：首页（非恢复）时重新搜索并保存排好序的ID快照，
+     * 翻页和恢复搜索条件时直接截取快照中的一页，只补全当前页数据
+     */
+    private Page<TalentVO> searchTalentsWithSnapshot(TalentSearchRequest request, User loginUser) {
+        Long companyId = loginUser.getCompanyId();
+        long pageNum = request.getPageNum();
+        long pageSize = request.getPageSize();
+        ThrowUtils.throwIf(pageNum < 1 || pageSize < 1, ErrorCode.PARAMS_ERROR, "分页参数错误");
+        long offset = (pageNum - 1) * pageSize;
 
-        // 评价内容模糊搜索
-        if (StrUtil.isNotBlank(request.getEvaluationKeyword())) {
-            Set<Long> keywordEmployeeIds = filterByEvaluationKeyword(request.getEvaluationKeyword());
-            employeeIds.retainAll(keywordEmployeeIds);
+        String snapshotKey = talentSearchSnapshotCache.buildKey(companyId, request);
+        boolean reuseSnapshot = pageNum > 1 || Boolean.TRUE.equals(request.getSkipPointDeduction());
+        TalentSearchSnapshotCache.Snapshot snapshot = reuseSnapshot ? talentSearchSnapshotCache.get(snapshotKey) : null;
+        if (snapshot == null) {
+            snapshot = loadSearchSnapshot(request, companyId);
+            talentSearchSnapshotCache.put(snapshotKey, snapshot);
         }
 
-        if (CollUtil.isEmpty(employeeIds)) {
-            return new Page<>(Collections.emptyList(), pageNum, pageSize, 0);
+        if (offset >= snapshot.total()) {
+            return new Page<>(Collections.emptyList(), pageNum, pageSize, snapshot.total());
         }
-
-        // 计算每个员工的平均评分
-        Map<Long, BigDecimal> employeeScores = calculateEmployeeAverageScores(employeeIds);
-
-        // 评分筛选
-        if (request.getMinAverageScore() != null || request.getMaxAverageScore() != null) {
-            employeeIds = filterByScore(employeeIds, employeeScores,
-                    request.getMinAverageScore(), request.getMaxAverageScore());
+        if (!snapshot.covers(offset, pageSize)) {
+            // 超出快照范围的深分页仍由数据库完成
+            return searchTalentsInternal(request, loginUser);
         }
+        List<TalentVO> talentVOs = buildTalentVOList(snapshot.slice(offset, pageSize), companyId);
+        return new Page<>(talentVOs, pageNum, pageSize, snapshot.total());
+    }
 
-        // 排序
-        List<Long> sortedEmployeeIds = sortEmployees(employeeIds, employeeScores,
-                request.getSortField(), request.getSortOrder());
-
-        // 分页
-        int total = sortedEmployeeIds.size();
-        int fromIndex = (int) ((pageNum - 1) * pageSize);
-        int toIndex = Math.min(fromIndex + (int) pageSize, total);
-
-        if (fromIndex >= total) {
-            return new Page<>(Collections.emptyList(), pageNum, pageSize, total);
+    /**
+     * 执行一次完整搜索，返回总数和排好序的前 {@link TalentSearchSnapshotCache#MAX_SNAPSHOT_SIZE} 个员工ID
+     */
+    private TalentSearchSnapshotCache.Snapshot loadSearchSnapshot(TalentSearchRequest request, Long companyId) {
+        TalentSearchPrefilter prefilter = talentSearchPrefilterResolver.resolve(request);
+        if (prefilter.hasNoCandidate()) {
+            return new TalentSearchSnapshotCache.Snapshot(0, new long[0]);
+        }
+        long total = employeeMapper.countTalentSearch(request, companyId, prefilter);
+        if (total == 0) {
+            return new TalentSearchSnapshotCache.Snapshot(0, new long[0]);
         }
+        boolean sortByScore = "averageScore".equals(request.getSortField());
+        boolean ascending = "asc".equalsIgnoreCase(request.getSortOrder());
+        List<Long> ids = employeeMapper.selectTalentSearchIds(request, companyId, prefilter, sortByScore, ascending,
+                0, Math.min(total, TalentSearchSnapshotCache.MAX_SNAPSHOT_SIZE));
+        return new TalentSearchSnapshotCache.Snapshot(total, ids.stream().mapToLong(Long::longValue).toArray());
+    }
 
-        List<Long> pagedIds = sortedEmployeeIds.subList(fromIndex, toIndex);
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Page<TalentVO> searchTalents(TalentSearchRequest request, User loginUser) {
+        ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
 
-        // 构建TalentVO列表
-        List<TalentVO> talentVOs = buildTalentVOList(pagedIds, companyId, employeeScores);
+        // 计算高级搜索积分消耗（仅在第一页时扣除，避免翻页重复扣除）
+        // 如果 skipPointDeduction 为 true，则跳过积分扣除（用于恢复搜索条件时不重复扣除）
+        if (request.getPageNum() == 1) {
+            chargeAdvancedSearch(request, loginUser.getCompanyId());
+        }
 
-        return new Page<>(talentVOs, pageNum, pageSize, total);
+        // 积分已在上面扣除，翻页和恢复搜索条件时直接使用结果快照
+        return searchTalentsWithSnapshot(request, loginUser);
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public Page<TalentVO> searchTalents(TalentSearchRequest request, User loginUser) {
+    public CursorPage<TalentVO> searchTalentsByCursor(TalentSearchRequest request, User loginUser) {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
-
+        long pageSize = request.getPageSize();
+        CursorUtils.checkPageSize(pageSize);
         Long companyId = loginUser.getCompanyId();
-        long pageNum = request.getPageNum();
 
-        // 计算高级搜索积分消耗（仅在第一页时扣除，避免翻页重复扣除）
-        // 如果 skipPointDeduction 为 true，则跳过积分扣除（用于恢复搜索条件时不重复扣除）
-        if (pageNum == 1 && companyId != null && !Boolean.TRUE.equals(request.getSkipPointDeduction())) {
-            BigDecimal advancedSearchCost = calculateAdvancedSearchCost(request);
-            if (advancedSearchCost.compareTo(BigDecimal.ZERO) > 0) {
-                // 检查积分是否充足
-                BigDecimal currentPoints = companyPointsService.getTotalPoints(companyId);
-                ThrowUtils.throwIf(currentPoints.compareTo(advancedSearchCost) < 0,
-                        ErrorCode.OPERATION_ERROR,
-                        "积分不足，高级搜索需消耗 " + advancedSearchCost + " 积分，当前积分 " + currentPoints);
-
-                // 扣除积分（使用负数）
-                companyPointsService.addPoints(
-                        companyId,
-                        advancedSearchCost.negate(),
-                        PointsChangeReasonEnum.RIGHTS_CONSUMPTION.getValue(),
-                        null,
-                        "高级搜索消耗积分");
-                log.info("高级搜索扣除积分：companyId={}, cost={}", companyId, advancedSearchCost);
-            }
+        boolean sortByScore = "averageScore".equals(request.getSortField());
+        boolean ascending = "asc".equalsIgnoreCase(request.getSortOrder());
+        // 游标记录排序方式，排序条件变化后旧游标不能继续使用
+        String sortMode = (sortByScore ? "score" : "id") + (ascending ? "_asc" : "_desc");
+        List<String> after = CursorUtils.decode(request.getCursor(), 3);
+        BigDecimal afterScore = null;
+        Long afterId = null;
+        if (after == null) {
+            // 第一页与普通分页一样扣除高级搜索积分
+            chargeAdvancedSearch(request, companyId);
+        } else {
+            ThrowUtils.throwIf(!sortMode.equals(after.get(0)), ErrorCode.PARAMS_ERROR, "排序条件已变化，请重新搜索");
+            afterScore = CursorUtils.parse(after.get(1), BigDecimal::new);
+            afterId = CursorUtils.parse(after.get(2), Long::valueOf);
+        }
+
+        TalentSearchPrefilter prefilter = talentSearchPrefilterResolver.resolve(request);
+        if (prefilter.hasNoCandidate()) {
+            return CursorPage.empty(pageSize, Boolean.TRUE.equals(request.getWithTotal()) ? 0L : null);
         }
+        Long totalRow = Boolean.TRUE.equals(request.getWithTotal())
+                ? employeeMapper.countTalentSearch(request, companyId, prefilter) : null;
+        List<Long> ids = employeeMapper.selectTalentSearchIdsAfter(request, companyId, prefilter,
+                sortByScore, ascending, afterScore, afterId, pageSize + 1);
 
-        // 调用内部搜索方法（不扣除积分，积分已在上面扣除）
-        return searchTalentsInternal(request, loginUser);
+        String nextCursor = null;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, (int) pageSize);
+            Long lastId = ids.get(ids.size() - 1);
+            BigDecimal lastScore = sortByScore
+                    ? employeeScoreSummaryService.getAverageScoreMap(List.of(lastId)).get(lastId)
+                    : BigDecimal.ZERO;
+            nextCursor = CursorUtils.encode(sortMode, lastScore.toPlainString(), lastId);
+        }
+        return new CursorPage<>(buildTalentVOList(ids, companyId), pageSize, nextCursor, totalRow);
+    }
+
+    /**
+     * 按筛选条件扣除高级搜索积分；skipPointDeduction 为 true 时跳过（用于恢复搜索条件时不重复扣除）
+     */
+    private void chargeAdvancedSearch(TalentSearchRequest request, Long companyId) {
+        if (companyId == null || Boolean.TRUE.equals(request.getSkipPointDeduction())) {
+            return;
+        }
+        BigDecimal advancedSearchCost = calculateAdvancedSearchCost(request);
+        if (advancedSearchCost.compareTo(BigDecimal.ZERO) > 0) {
+            // 扣除积分（使用负数），余额不足时由积分服务原子校验并抛出异常
+            companyPointsService.addPoints(
+                    companyId,
+                    advancedSearchCost.negate(),
+                    PointsChangeReasonEnum.RIGHTS_CONSUMPTION.getValue(),
+                    null,
+                    "高级搜索消耗积分");
+            log.info("高级搜索扣除积分：companyId={}, cost={}", companyId, advancedSearchCost);
+        }
     }
 
     /**
@@ -344,67 +519,38 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         detailVO.setPhotoUrl(employee.getPhotoUrl());
         detailVO.setStatus(employee.getStatus());
 
-        // 判断是否为本公司员工（当前或曾经）
-        boolean isOwnEmployee = isOwnCompanyEmployee(employeeId, companyId);
+        // 判断是否为本公司员工（只看当前是否在该公司）
+        boolean isOwnEmployee = companyId != null && companyId.equals(employee.getCompanyId());
         detailVO.setIsOwnEmployee(isOwnEmployee);
 
-        // 联系方式处理
-        if (isOwnEmployee) {
-            // 本公司员工，直接显示联系方式
-            detailVO.setPhone(employee.getPhone());
-            detailVO.setEmail(employee.getEmail());
-            detailVO.setIdCardNumber(employee.getIdCardNumber());
-            detailVO.setCanRequestContact(false);
-            detailVO.setContactAuthorized(true);
-        } else {
-            // 非本公司员工，检查是否已获得电话和邮箱查看授权
-            // 优先检查 type 5（查看电话和邮箱）的授权
-            boolean phoneAndEmailAuthorized = contactAccessRequestService.hasAuthorizedAccess(
-                    companyId, employeeId, 5); // 5=查看电话和邮箱
-            boolean phoneAuthorized = phoneAndEmailAuthorized || contactAccessRequestService.hasAuthorizedAccess(
-                    companyId, employeeId, 1); // 1=查看电话
-            boolean emailAuthorized = phoneAndEmailAuthorized || contactAccessRequestService.hasAuthorizedAccess(
-                    companyId, employeeId, 2); // 2=查看邮箱
-            // 只有当电话和邮箱都授权时，才显示完整信息
-            boolean contactAuthorized = phoneAuthorized && emailAuthorized;
-            detailVO.setContactAuthorized(contactAuthorized);
-
-            if (phoneAuthorized) {
-                detailVO.setPhone(employee.getPhone());
-            } else {
-                detailVO.setPhone(maskPhone(employee.getPhone()));
-            }
-
-            if (emailAuthorized) {
-                detailVO.setEmail(employee.getEmail());
-            } else {
-                detailVO.setEmail(maskEmail(employee.getEmail()));
-            }
-
-            // 检查是否已获得身份证号查看授权
-            boolean idCardAuthorized = contactAccessRequestService.hasAuthorizedAccess(
-                    companyId, employeeId, 3); // 3=查看身份证号
-            if (idCardAuthorized) {
-                detailVO.setIdCardNumber(employee.getIdCardNumber());
-            } else {
-                detailVO.setIdCardNumber(maskIdCardNumber(employee.getIdCardNumber()));
-            }
+        // 以下各部分互不依赖，在线程池中并行加载
+        CompletableFuture<Void> contactFuture = CompletableFuture.runAsync(
+                () -> fillContactInfo(detailVO, employee, companyId, isOwnEmployee), talentDetailExecutor);
+        CompletableFuture<Map<Long, String>> currentCompanyFuture = CompletableFuture.supplyAsync(
+                () -> loadCompanyNameMap(Collections.singletonList(employee.getCompanyId())), talentDetailExecutor);
+        CompletableFuture<List<TalentDetailVO.ProfileSummaryVO>> profilesFuture = CompletableFuture.supplyAsync(
+                () -> getProfileSummaries(employeeId, companyId, employee.getCompanyId()), talentDetailExecutor);
+        CompletableFuture<EvaluationSection> evaluationFuture = CompletableFuture.supplyAsync(
+                () -> loadEvaluationSection(employeeId, companyId, isOwnEmployee), talentDetailExecutor);
+        CompletableFuture<Map<Long, BigDecimal>> scoreFuture = CompletableFuture.supplyAsync(
+                () -> calculateEmployeeAverageScores(Collections.singletonList(employeeId)), talentDetailExecutor);
+        CompletableFuture<Map<String, List<TalentVO.TagStatVO>>> tagStatsFuture = CompletableFuture.supplyAsync(
+                () -> getTagStatistics(employeeId), talentDetailExecutor);
+        CompletableFuture<BigDecimal> pointsFuture = CompletableFuture.supplyAsync(
+                () -> companyId != null ? companyPointsService.getTotalPoints(companyId) : null, talentDetailExecutor);
+        CompletableFuture<Boolean> bookmarkedFuture = CompletableFuture.supplyAsync(
+                () -> isBookmarked(companyId, employeeId), talentDetailExecutor);
 
-            // 如果电话或邮箱任意一个未授权，可以申请
-            detailVO.setCanRequestContact(!contactAuthorized);
-        }
+        // 联系方式处理
+        joinSection(contactFuture);
 
         // 当前公司名称
         if (employee.getCompanyId() != null) {
-            Company currentCompany = companyMapper.selectOneById(employee.getCompanyId());
-            if (currentCompany != null) {
-                detailVO.setCurrentCompanyName(currentCompany.getName());
-            }
+            detailVO.setCurrentCompanyName(joinSection(currentCompanyFuture).get(employee.getCompanyId()));
         }
 
         // 工作经历（考虑权限）
-        List<TalentDetailVO.ProfileSummaryVO> profiles = getProfileSummaries(employeeId, companyId,
-                employee.getCompanyId());
+        List<TalentDetailVO.ProfileSummaryVO> profiles = joinSection(profilesFuture);
         detailVO.setProfiles(profiles);
 
         // 职位历史
@@ -419,25 +565,23 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         detailVO.setProfileCount(profiles.size());
 
         // 评价信息
-        List<Evaluation> evaluations = getEmployeeEvaluations(employeeId);
-        int totalEvaluations = evaluations.size();
+        EvaluationSection evaluationSection = joinSection(evaluationFuture);
+        int totalEvaluations = evaluationSection.evaluationVOs.size();
         detailVO.setEvaluationCount(totalEvaluations);
 
         // 计算评分
-        Map<Long, BigDecimal> scoreMap = calculateEmployeeAverageScores(Collections.singletonList(employeeId));
-        detailVO.setAverageScore(scoreMap.getOrDefault(employeeId, BigDecimal.ZERO));
+        detailVO.setAverageScore(joinSection(scoreFuture).getOrDefault(employeeId, BigDecimal.ZERO));
 
         // 各维度评分
-        detailVO.setDimensionScores(calculateDimensionAverages(employeeId));
+        detailVO.setDimensionScores(evaluationSection.dimensionAverages);
 
         // 标签统计
-        Map<String, List<TalentVO.TagStatVO>> tagStats = getTagStatistics(employeeId);
+        Map<String, List<TalentVO.TagStatVO>> tagStats = joinSection(tagStatsFuture);
         detailVO.setPositiveTags(tagStats.get("positive"));
         detailVO.setNeutralTags(tagStats.get("neutral"));
 
-        // 处理评价列表（带解锁状态）
-        List<TalentEvaluationVO> evaluationVOs = buildEvaluationVOList(evaluations, companyId, isOwnEmployee);
-        detailVO.setEvaluations(evaluationVOs);
+        // 评价列表（带解锁状态）
+        detailVO.setEvaluations(evaluationSection.evaluationVOs);
 
         // 统计解锁信息
         if (isOwnEmployee) {
@@ -446,8 +590,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             detailVO.setLockedEvaluationCount(0);
         } else {
             int freeCount = Math.min(FREE_EVALUATION_COUNT, totalEvaluations);
-            List<Long> unlockedIds = getUnlockedEvaluationIds(companyId, employeeId);
-            int unlockedCount = freeCount + unlockedIds.size();
+            int unlockedCount = freeCount + evaluationSection.unlockedIds.size();
             detailVO.setFreeEvaluationCount(freeCount);
             detailVO.setUnlockedEvaluationCount(unlockedCount);
             detailVO.setLockedEvaluationCount(Math.max(0, totalEvaluations - unlockedCount));
@@ -455,15 +598,109 @@ public class TalentMarketServiceImpl implements TalentMarketService {
 
         // 企业积分
         if (companyId != null) {
-            detailVO.setCompanyPoints(companyPointsService.getTotalPoints(companyId));
+            detailVO.setCompanyPoints(joinSection(pointsFuture));
         }
 
         // 收藏状态
-        detailVO.setBookmarked(isBookmarked(companyId, employeeId));
+        detailVO.setBookmarked(joinSection(bookmarkedFuture));
 
         return detailVO;
     }
 
+    /**
+     * 人才详情中的评价部分
+     */
+    private static class EvaluationSection {
+        List<TalentEvaluationVO> evaluationVOs;
+        Map<String, BigDecimal> dimensionAverages;
+        Set<Long> unlockedIds;
+    }
+
+    /**
+     * 等待并行加载的部分完成，业务异常原样抛出
+     */
+    private <T> T joinSection(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            log.error("加载人才详情失败", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "加载人才详情失败");
+        }
+    }
+
+    /**
+     * 填充联系方式（本公司员工直接显示，其他企业按授权脱敏）
+     */
+    private void fillContactInfo(TalentDetailVO detailVO, Employee employee, Long companyId, boolean isOwnEmployee) {
+        Long employeeId = employee.getId();
+        if (isOwnEmployee) {
+            // 本公司员工，直接显示联系方式
+            detailVO.setPhone(employee.getPhone());
+            detailVO.setEmail(employee.getEmail());
+            detailVO.setIdCardNumber(employee.getIdCardNumber());
+            detailVO.setCanRequestContact(false);
+            detailVO.setContactAuthorized(true);
+            return;
+        }
+
+        // 非本公司员工，一次取出该企业对该员工的全部有效授权，以下各项脱敏判断都基于该结果
+        ContactAccessGrants grants = contactAccessRequestService.getAuthorizedGrants(companyId, employeeId);
+        boolean phoneAuthorized = grants.allows(ContactAccessRequestTypeEnum.PHONE.getValue());
+        boolean emailAuthorized = grants.allows(ContactAccessRequestTypeEnum.EMAIL.getValue());
+        // 只有当电话和邮箱都授权时，才显示完整信息
+        boolean contactAuthorized = phoneAuthorized && emailAuthorized;
+        detailVO.setContactAuthorized(contactAuthorized);
+
+        if (phoneAuthorized) {
+            detailVO.setPhone(employee.getPhone());
+        } else {
+            detailVO.setPhone(maskPhone(employee.getPhone()));
+        }
+
+        if (emailAuthorized) {
+            detailVO.setEmail(employee.getEmail());
+        } else {
+            detailVO.setEmail(maskEmail(employee.getEmail()));
+        }
+
+        // 检查是否已获得身份证号查看授权
+        boolean idCardAuthorized = grants.allows(ContactAccessRequestTypeEnum.ID_CARD.getValue());
+        if (idCardAuthorized) {
+            detailVO.setIdCardNumber(employee.getIdCardNumber());
+        } else {
+            detailVO.setIdCardNumber(maskIdCardNumber(employee.getIdCardNumber()));
+        }
+
+        // 如果电话或邮箱任意一个未授权，可以申请
+        detailVO.setCanRequestContact(!contactAuthorized);
+    }
+
+    /**
+     * 加载评价部分：评价、解锁记录、维度评分、维度、公司、标签、解锁价格各查询一次
+     */
+    private EvaluationSection loadEvaluationSection(Long employeeId, Long companyId, boolean isOwnEmployee) {
+        List<Evaluation> evaluations = getEmployeeEvaluations(employeeId);
+        Set<Long> unlockedIds = Collections.emptySet();
+        if (!isOwnEmployee) {
+            long[] companyUnlockedIds = unlockedEvaluationCache.getUnlockedIds(companyId);
+            unlockedIds = evaluations.stream()
+                    .map(Evaluation::getId)
+                    .filter(id -> UnlockedEvaluationCache.contains(companyUnlockedIds, id))
+                    .collect(Collectors.toSet());
+        }
+        List<EvaluationDimensionScore> scores = loadDimensionScores(evaluations);
+        List<EvaluationDimension> dimensions = loadDimensions();
+
+        EvaluationSection section = new EvaluationSection();
+        section.unlockedIds = unlockedIds;
+        section.dimensionAverages = calculateDimensionAverages(dimensions, scores);
+        section.evaluationVOs = buildEvaluationVOList(evaluations, isOwnEmployee, unlockedIds, scores, dimensions);
+        return section;
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public BigDecimal unlockEvaluation(EvaluationUnlockRequest request, User loginUser) {
@@ -493,13 +730,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         BigDecimal cost = getUnlockPrice(evaluation.getEvaluationType());
         ThrowUtils.throwIf(cost == null, ErrorCode.SYSTEM_ERROR, "未配置解锁价格");
 
-        // 检查积分是否足够
-        BigDecimal currentPoints = companyPointsService.getTotalPoints(companyId);
-        if (currentPoints.compareTo(cost) < 0) {
-            throw new BusinessException(ErrorCode.OPERATION_ERROR, "积分不足，需要" + cost + "积分，当前" + currentPoints + "积分");
-        }
-
-        // 扣除积分
+        // 扣除积分，余额不足时由积分服务原子校验并抛出异常
         companyPointsService.addPoints(companyId, cost.negate(),
                 PointsChangeReasonEnum.RIGHTS_CONSUMPTION.getValue(),
                 evaluation.getEmployeeId(),
@@ -516,6 +747,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .isDelete(false)
                 .build();
         unlockMapper.insert(unlock);
+        unlockedEvaluationCache.onUnlocked(companyId, List.of(evaluationId));
 
         log.info("评价解锁成功：companyId={}, evaluationId={}, cost={}", companyId, evaluationId, cost);
         return cost;
@@ -527,18 +759,74 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
         ThrowUtils.throwIf(CollUtil.isEmpty(request.getEvaluationIds()), ErrorCode.PARAMS_ERROR, "评价ID列表不能为空");
 
+        Long companyId = loginUser.getCompanyId();
+        ThrowUtils.throwIf(companyId == null, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
+
+        Set<Long> evaluationIds = request.getEvaluationIds().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (evaluationIds.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        // 排除已解锁的评价
+        long[] unlockedIds = unlockedEvaluationCache.getUnlockedIds(companyId);
+        evaluationIds.removeIf(id -> UnlockedEvaluationCache.contains(unlockedIds, id));
+        if (evaluationIds.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        // 批量加载评价及其员工，排除本公司员工的评价（无需解锁）
+        List<Evaluation> evaluations = evaluationMapper.selectListByIds(evaluationIds);
+        Map<Long, Employee> employeeMap = loadEmployeeMap(evaluations.stream()
+                .map(Evaluation::getEmployeeId)
+                .collect(Collectors.toSet()));
+        Map<Integer, BigDecimal> priceMap = referenceDataCache.getUnlockPriceMap();
+
+        List<EvaluationUnlock> unlocks = new ArrayList<>();
         BigDecimal totalCost = BigDecimal.ZERO;
-        for (Long evaluationId : request.getEvaluationIds()) {
-            EvaluationUnlockRequest singleRequest = new EvaluationUnlockRequest();
-            singleRequest.setEvaluationId(evaluationId);
-            try {
-                BigDecimal cost = unlockEvaluation(singleRequest, loginUser);
-                totalCost = totalCost.add(cost);
-            } catch (BusinessException e) {
-                // 已解锁或本公司员工，跳过
-                log.debug("跳过评价解锁：evaluationId={}, reason={}", evaluationId, e.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        for (Evaluation evaluation : evaluations) {
+            Employee employee = employeeMap.get(evaluation.getEmployeeId());
+            if (employee != null && companyId.equals(employee.getCompanyId())) {
+                log.debug("跳过评价解锁：evaluationId={}, reason=本公司员工评价无需解锁", evaluation.getId());
+                continue;
+            }
+            BigDecimal cost = priceMap.get(evaluation.getEvaluationType());
+            if (cost == null) {
+                log.warn("跳过评价解锁：evaluationId={}, reason=未配置解锁价格", evaluation.getId());
+                continue;
             }
+            unlocks.add(EvaluationUnlock.builder()
+                    .companyId(companyId)
+                    .employeeId(evaluation.getEmployeeId())
+                    .evaluationId(evaluation.getId())
+                    .evaluationType(evaluation.getEvaluationType())
+                    .pointsCost(cost)
+                    .unlockTime(now)
+                    .isDelete(false)
+                    .build());
+            totalCost = totalCost.add(cost);
+        }
+        if (unlocks.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        // 一次扣除全部积分，余额不足时整体失败
+        Set<Long> unlockEmployeeIds = unlocks.stream().map(EvaluationUnlock::getEmployeeId).collect(Collectors.toSet());
+        if (totalCost.compareTo(BigDecimal.ZERO) > 0) {
+            companyPointsService.addPoints(companyId, totalCost.negate(),
+                    PointsChangeReasonEnum.RIGHTS_CONSUMPTION.getValue(),
+                    unlockEmployeeIds.size() == 1 ? unlockEmployeeIds.iterator().next() : null,
+                    "批量解锁评价（" + unlocks.size() + "条）");
         }
+
+        // 批量写入解锁记录
+        unlockMapper.insertBatch(unlocks);
+        unlockedEvaluationCache.onUnlocked(companyId,
+                unlocks.stream().map(EvaluationUnlock::getEvaluationId).collect(Collectors.toList()));
+
+        log.info("批量解锁评价成功：companyId={}, count={}, cost={}", companyId, unlocks.size(), totalCost);
         return totalCost;
     }
 
@@ -547,10 +835,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         if (companyId == null || evaluationId == null) {
             return false;
         }
-        QueryWrapper query = QueryWrapper.create()
-                .eq("company_id", companyId)
-                .eq("evaluation_id", evaluationId);
-        return unlockMapper.selectCountByQuery(query) > 0;
+        return unlockedEvaluationCache.isUnlocked(companyId, evaluationId);
     }
 
     @Override
@@ -603,6 +888,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                     companyId, request.getEmployeeId(), existingBookmark.getId());
             int updated = bookmarkMapper.restoreBookmark(companyId, request.getEmployeeId(), request.getRemark());
             ThrowUtils.throwIf(updated <= 0, ErrorCode.OPERATION_ERROR, "恢复收藏记录失败");
+            companyRelationCache.invalidate(companyId);
             return existingBookmark.getId();
         }
 
@@ -614,6 +900,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .isDelete(false)
                 .build();
         bookmarkMapper.insert(bookmark);
+        companyRelationCache.invalidate(companyId);
 
         return bookmark.getId();
     }
@@ -630,7 +917,11 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         QueryWrapper query = QueryWrapper.create()
                 .eq("company_id", companyId)
                 .eq("employee_id", employeeId);
-        return bookmarkMapper.deleteByQuery(query) > 0;
+        boolean removed = bookmarkMapper.deleteByQuery(query) > 0;
+        if (removed) {
+            companyRelationCache.invalidate(companyId);
+        }
+        return removed;
     }
 
     @Override
@@ -654,75 +945,19 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .map(TalentBookmark::getEmployeeId)
                 .collect(Collectors.toList());
 
-        Map<Long, BigDecimal> scoreMap = calculateEmployeeAverageScores(employeeIds);
-        List<TalentVO> talentVOs = buildTalentVOList(employeeIds, companyId, scoreMap);
+        List<TalentVO> talentVOs = buildTalentVOList(employeeIds, companyId);
 
         return new Page<>(talentVOs, pageNum, pageSize, bookmarkPage.getTotalRow());
     }
 
     @Override
     public boolean isBookmarked(Long companyId, Long employeeId) {
-        if (companyId == null || employeeId == null) {
-            return false;
-        }
-        QueryWrapper query = QueryWrapper.create()
-                .eq("company_id", companyId)
-                .eq("employee_id", employeeId);
-        return bookmarkMapper.selectCountByQuery(query) > 0;
+        return companyRelationCache.isBookmarked(companyId, employeeId);
     }
 
     @Override
+    @Cacheable(value = "unlockPriceConfigs", key = "'all'", sync = true)
     public List<UnlockPriceConfigVO> getUnlockPriceConfigs() {
-        // 尝试从缓存获取
-        try {
-            if (cacheManager != null) {
-                org.springframework.cache.Cache cache = cacheManager.getCache("unlockPriceConfigs");
-                if (cache != null) {
-                    org.springframework.cache.Cache.ValueWrapper wrapper = cache.get("all");
-                    if (wrapper != null) {
-                        Object cached = wrapper.get();
-                        if (cached instanceof List) {
-                            @SuppressWarnings("unchecked")
-                            List<UnlockPriceConfigVO> cachedList = (List<UnlockPriceConfigVO>) cached;
-                            // 验证列表中的元素类型
-                            if (!cachedList.isEmpty() && cachedList.get(0) instanceof UnlockPriceConfigVO) {
-                                return cachedList;
-                            }
-                        }
-                        // 缓存数据格式错误，清除缓存
-                        log.warn("缓存数据格式错误，清除缓存并重新查询: unlockPriceConfigs");
-                        cache.evict("all");
-                    }
-                }
-            }
-        } catch (org.springframework.data.redis.serializer.SerializationException e) {
-            // 反序列化失败，清除缓存
-            log.warn("缓存反序列化失败，清除缓存并重新查询: unlockPriceConfigs, error={}", e.getMessage());
-            try {
-                if (cacheManager != null) {
-                    org.springframework.cache.Cache cache = cacheManager.getCache("unlockPriceConfigs");
-                    if (cache != null) {
-                        cache.evict("all");
-                    }
-                }
-            } catch (Exception evictEx) {
-                log.warn("清除缓存失败: unlockPriceConfigs, error={}", evictEx.getMessage());
-            }
-        } catch (Exception e) {
-            // 捕获所有其他异常
-            log.warn("从缓存获取数据时发生异常，将重新查询: unlockPriceConfigs, error={}", e.getMessage());
-            try {
-                if (cacheManager != null) {
-                    org.springframework.cache.Cache cache = cacheManager.getCache("unlockPriceConfigs");
-                    if (cache != null) {
-                        cache.evict("all");
-                    }
-                }
-            } catch (Exception evictEx) {
-                log.warn("清除缓存失败: unlockPriceConfigs, error={}", evictEx.getMessage());
-            }
-        }
-
         // 从数据库查询
         QueryWrapper query = QueryWrapper.create()
                 .eq("is_active", true)
@@ -740,85 +975,17 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             return vo;
         }).collect(Collectors.toList());
 
-        // 将结果存入缓存
-        try {
-            if (cacheManager != null) {
-                org.springframework.cache.Cache cache = cacheManager.getCache("unlockPriceConfigs");
-                if (cache != null) {
-                    cache.put("all", result);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("缓存数据失败: unlockPriceConfigs, error={}", e.getMessage());
-        }
-
         return result;
     }
 
     @Override
     public BigDecimal getUnlockPrice(Integer evaluationType) {
-        if (evaluationType == null) {
-            return null;
-        }
-        QueryWrapper query = QueryWrapper.create()
-                .eq("evaluation_type", evaluationType)
-                .eq("is_active", true);
-        UnlockPriceConfig config = priceConfigMapper.selectOneByQuery(query);
-        return config != null ? config.getPointsCost() : null;
+        return referenceDataCache.getUnlockPrice(evaluationType);
     }
 
     @Override
+    @Cacheable(value = "evaluationTags", key = "'all'", sync = true)
     public List<EvaluationTagVO> getAllTags() {
-        // 尝试从缓存获取
-        try {
-            if (cacheManager != null) {
-                org.springframework.cache.Cache cache = cacheManager.getCache("evaluationTags");
-                if (cache != null) {
-                    org.springframework.cache.Cache.ValueWrapper wrapper = cache.get("all");
-                    if (wrapper != null) {
-                        Object cached = wrapper.get();
-                        if (cached instanceof List) {
-                            @SuppressWarnings("unchecked")
-                            List<EvaluationTagVO> cachedList = (List<EvaluationTagVO>) cached;
-                            // 验证列表中的元素类型
-                            if (!cachedList.isEmpty() && cachedList.get(0) instanceof EvaluationTagVO) {
-                                return cachedList;
-                            }
-                        }
-                        // 缓存数据格式错误，清除缓存
-                        log.warn("缓存数据格式错误，清除缓存并重新查询: evaluationTags");
-                        cache.evict("all");
-                    }
-                }
-            }
-        } catch (org.springframework.data.redis.serializer.SerializationException e) {
-            // 反序列化失败，清除缓存
-            log.warn("缓存反序列化失败，清除缓存并重新查询: evaluationTags, error={}", e.getMessage());
-            try {
-                if (cacheManager != null) {
-                    org.springframework.cache.Cache cache = cacheManager.getCache("evaluationTags");
-                    if (cache != null) {
-                        cache.evict("all");
-                    }
-                }
-            } catch (Exception evictEx) {
-                log.warn("清除缓存失败: evaluationTags, error={}", evictEx.getMessage());
-            }
-        } catch (Exception e) {
-            // 捕获所有其他异常
-            log.warn("从缓存获取数据时发生异常，将重新查询: evaluationTags, error={}", e.getMessage());
-            try {
-                if (cacheManager != null) {
-                    org.springframework.cache.Cache cache = cacheManager.getCache("evaluationTags");
-                    if (cache != null) {
-                        cache.evict("all");
-                    }
-                }
-            } catch (Exception evictEx) {
-                log.warn("清除缓存失败: evaluationTags, error={}", evictEx.getMessage());
-            }
-        }
-
         // 从数据库查询
         QueryWrapper query = QueryWrapper.create()
                 .eq("is_active", true)
@@ -837,18 +1004,6 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             return vo;
         }).collect(Collectors.toList());
 
-        // 将结果存入缓存
-        try {
-            if (cacheManager != null) {
-                org.springframework.cache.Cache cache = cacheManager.getCache("evaluationTags");
-                if (cache != null) {
-                    cache.put("all", result);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("缓存数据失败: evaluationTags, error={}", e.getMessage());
-        }
-
         return result;
     }
 
@@ -866,234 +1021,33 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     // ==================== 私有辅助方法 ====================
 
     /**
-     * 根据职位筛选员工
-     */
-    private Set<Long> filterByOccupation(String occupation, List<String> occupations) {
-        Set<Long> resultIds = new HashSet<>();
-
-        // 单个职位关键词搜索
-        if (StrUtil.isNotBlank(occupation)) {
-            QueryWrapper query = QueryWrapper.create()
-                    .select("DISTINCT employee_id")
-                    .like("occupation", occupation);
-            List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
-            resultIds.addAll(profiles.stream().map(EmployeeProfile::getEmployeeId).collect(Collectors.toSet()));
-        }
-
-        // 多个职位关键词搜索（满足其一即可）
-        if (CollUtil.isNotEmpty(occupations)) {
-            for (String occ : occupations) {
-                QueryWrapper query = QueryWrapper.create()
-                        .select("DISTINCT employee_id")
-                        .like("occupation", occ);
-                List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
-                resultIds.addAll(profiles.stream().map(EmployeeProfile::getEmployeeId).collect(Collectors.toSet()));
-            }
-        }
-
-        return resultIds;
-    }
-
-    /**
-     * 获取有重大违纪的员工ID集合
-     */
-    private Set<Long> getEmployeesWithMajorIncident() {
-        QueryWrapper query = QueryWrapper.create()
-                .select("DISTINCT employee_id")
-                .eq("has_major_incident", true);
-        List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
-        return profiles.stream().map(EmployeeProfile::getEmployeeId).collect(Collectors.toSet());
-    }
-
-    /**
-     * 根据最低出勤率筛选员工
-     */
-    private Set<Long> filterByMinAttendanceRate(BigDecimal minRate) {
-        QueryWrapper query = QueryWrapper.create()
-                .select("DISTINCT employee_id")
-                .ge("attendance_rate", minRate);
-        List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
-        return profiles.stream().map(EmployeeProfile::getEmployeeId).collect(Collectors.toSet());
-    }
-
-    /**
-     * 根据离职原因排除关键词筛选
-     */
-    private Set<Long> filterByExcludeReasons(List<String> excludeKeywords) {
-        Set<Long> excludeIds = new HashSet<>();
-        for (String keyword : excludeKeywords) {
-            QueryWrapper query = QueryWrapper.create()
-                    .select("DISTINCT employee_id")
-                    .like("reason_for_leaving", keyword);
-            List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
-            excludeIds.addAll(profiles.stream().map(EmployeeProfile::getEmployeeId).collect(Collectors.toSet()));
-        }
-        return excludeIds;
-    }
-
-    /**
-     * 根据标签筛选员工
-     */
-    private List<Long> filterByTags(List<Long> employeeIds, List<Long> includeTagIds, List<Long> excludeTagIds) {
-        Set<Long> resultIds = new HashSet<>(employeeIds);
-
-        // 包含标签筛选：找出拥有指定标签的员工
-        if (CollUtil.isNotEmpty(includeTagIds)) {
-            // 先找出包含指定标签的评价ID
-            QueryWrapper tagQuery = QueryWrapper.create()
-                    .select("DISTINCT evaluation_id")
-                    .in("tag_id", includeTagIds)
-                    .eq("is_delete", false);
-            List<EvaluationTagRelation> tagRelations = tagRelationMapper.selectListByQuery(tagQuery);
-
-            if (CollUtil.isEmpty(tagRelations)) {
-                return Collections.emptyList();
-            }
-
-            List<Long> evaluationIds = tagRelations.stream()
-                    .map(EvaluationTagRelation::getEvaluationId)
-                    .collect(Collectors.toList());
-
-            // 再根据评价ID找出员工ID
-            QueryWrapper evalQuery = QueryWrapper.create()
-                    .select("DISTINCT employee_id")
-                    .in("id", evaluationIds);
-            List<Evaluation> evaluations = evaluationMapper.selectListByQuery(evalQuery);
-            Set<Long> includeEmployeeIds = evaluations.stream()
-                    .map(Evaluation::getEmployeeId)
-                    .collect(Collectors.toSet());
-            resultIds.retainAll(includeEmployeeIds);
-        }
-
-        // 排除标签筛选：排除拥有指定标签的员工
-        if (CollUtil.isNotEmpty(excludeTagIds)) {
-            // 先找出包含指定标签的评价ID
-            QueryWrapper tagQuery = QueryWrapper.create()
-                    .select("DISTINCT evaluation_id")
-                    .in("tag_id", excludeTagIds)
-                    .eq("is_delete", false);
-            List<EvaluationTagRelation> tagRelations = tagRelationMapper.selectListByQuery(tagQuery);
-
-            if (CollUtil.isNotEmpty(tagRelations)) {
-                List<Long> evaluationIds = tagRelations.stream()
-                        .map(EvaluationTagRelation::getEvaluationId)
-                        .collect(Collectors.toList());
-
-                // 再根据评价ID找出员工ID
-                QueryWrapper evalQuery = QueryWrapper.create()
-                        .select("DISTINCT employee_id")
-                        .in("id", evaluationIds);
-                List<Evaluation> evaluations = evaluationMapper.selectListByQuery(evalQuery);
-                Set<Long> excludeEmployeeIds = evaluations.stream()
-                        .map(Evaluation::getEmployeeId)
-                        .collect(Collectors.toSet());
-                resultIds.removeAll(excludeEmployeeIds);
-            }
-        }
-
-        return new ArrayList<>(resultIds);
-    }
-
-    /**
-     * 根据评价内容关键词筛选员工
-     */
-    private Set<Long> filterByEvaluationKeyword(String keyword) {
-        QueryWrapper query = QueryWrapper.create()
-                .select("DISTINCT employee_id")
-                .like("comment", keyword);
-        List<Evaluation> evaluations = evaluationMapper.selectListByQuery(query);
-        return evaluations.stream().map(Evaluation::getEmployeeId).collect(Collectors.toSet());
-    }
-
-    /**
-     * 计算员工平均评分
+     * 计算员工平均评分（读取评分汇总表，一次 IN 查询）
      */
     private Map<Long, BigDecimal> calculateEmployeeAverageScores(List<Long> employeeIds) {
-        Map<Long, BigDecimal> scoreMap = new HashMap<>();
-
-        for (Long employeeId : employeeIds) {
-            QueryWrapper evalQuery = QueryWrapper.create()
-                    .select("id")
-                    .eq("employee_id", employeeId);
-            List<Evaluation> evaluations = evaluationMapper.selectListByQuery(evalQuery);
-
-            if (CollUtil.isEmpty(evaluations)) {
-                scoreMap.put(employeeId, BigDecimal.ZERO);
-                continue;
-            }
-
-            List<Long> evaluationIds = evaluations.stream().map(Evaluation::getId).collect(Collectors.toList());
-
-            // 获取所有维度评分并计算平均值
-            QueryWrapper scoreQuery = QueryWrapper.create()
-                    .in("evaluation_id", evaluationIds);
-            List<EvaluationDimensionScore> scores = dimensionScoreMapper.selectListByQuery(scoreQuery);
-
-            if (CollUtil.isNotEmpty(scores)) {
-                double avg = scores.stream()
-                        .mapToInt(EvaluationDimensionScore::getScore)
-                        .average()
-                        .orElse(0.0);
-                BigDecimal avgScore = BigDecimal.valueOf(avg).setScale(2, RoundingMode.HALF_UP);
-                scoreMap.put(employeeId, avgScore);
-            } else {
-                scoreMap.put(employeeId, BigDecimal.ZERO);
-            }
-        }
-
-        return scoreMap;
-    }
-
-    /**
-     * 根据评分筛选员工
-     */
-    private List<Long> filterByScore(List<Long> employeeIds, Map<Long, BigDecimal> scoreMap,
-            BigDecimal minScore, BigDecimal maxScore) {
-        return employeeIds.stream()
-                .filter(id -> {
-                    BigDecimal score = scoreMap.getOrDefault(id, BigDecimal.ZERO);
-                    if (minScore != null && score.compareTo(minScore) < 0) {
-                        return false;
-                    }
-                    if (maxScore != null && score.compareTo(maxScore) > 0) {
-                        return false;
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 员工排序
-     */
-    private List<Long> sortEmployees(List<Long> employeeIds, Map<Long, BigDecimal> scoreMap,
-            String sortField, String sortOrder) {
-        boolean ascending = "asc".equalsIgnoreCase(sortOrder);
-
-        if ("averageScore".equals(sortField)) {
-            return employeeIds.stream()
-                    .sorted((a, b) -> {
-                        BigDecimal scoreA = scoreMap.getOrDefault(a, BigDecimal.ZERO);
-                        BigDecimal scoreB = scoreMap.getOrDefault(b, BigDecimal.ZERO);
-                        return ascending ? scoreA.compareTo(scoreB) : scoreB.compareTo(scoreA);
-                    })
-                    .collect(Collectors.toList());
-        }
-
-        // 默认按ID倒序
-        return employeeIds.stream()
-                .sorted((a, b) -> ascending ? a.compareTo(b) : b.compareTo(a))
-                .collect(Collectors.toList());
+        return employeeScoreSummaryService.getAverageScoreMap(employeeIds);
     }
 
     /**
      * 构建TalentVO列表
+     * 员工、公司、档案、评分汇总、标签和收藏按整页批量加载后在内存中拼装，查询次数与页大小无关
      */
-    private List<TalentVO> buildTalentVOList(List<Long> employeeIds, Long companyId, Map<Long, BigDecimal> scoreMap) {
+    private List<TalentVO> buildTalentVOList(List<Long> employeeIds, Long companyId) {
         List<TalentVO> result = new ArrayList<>();
+        if (CollUtil.isEmpty(employeeIds)) {
+            return result;
+        }
+
+        Map<Long, Employee> employeeMap = loadEmployeeMap(employeeIds);
+        Map<Long, String> companyNameMap = loadCompanyNameMap(employeeMap.values().stream()
+                .map(Employee::getCompanyId)
+                .collect(Collectors.toList()));
+        Map<Long, List<TalentDetailVO.ProfileSummaryVO>> profileMap = getProfileSummariesMap(employeeIds);
+        Map<Long, EmployeeScoreSummary> summaryMap = employeeScoreSummaryService.getSummaryMap(employeeIds);
+        Map<Long, Map<String, List<TalentVO.TagStatVO>>> tagStatsMap = getTagStatisticsMap(employeeIds);
+        Set<Long> bookmarkedIds = companyRelationCache.filterBookmarked(companyId, employeeIds);
 
         for (Long employeeId : employeeIds) {
-            Employee employee = employeeMapper.selectOneById(employeeId);
+            Employee employee = employeeMap.get(employeeId);
             if (employee == null) {
                 continue;
             }
@@ -1107,14 +1061,12 @@ public class TalentMarketServiceImpl implements TalentMarketService {
 
             // 当前公司名称
             if (employee.getCompanyId() != null) {
-                Company company = companyMapper.selectOneById(employee.getCompanyId());
-                if (company != null) {
-                    vo.setCurrentCompanyName(company.getName());
-                }
+                vo.setCurrentCompanyName(companyNameMap.get(employee.getCompanyId()));
             }
 
             // 职位历史
-            List<TalentDetailVO.ProfileSummaryVO> profiles = getProfileSummaries(employeeId);
+            List<TalentDetailVO.ProfileSummaryVO> profiles = profileMap.getOrDefault(employeeId,
+                    Collections.emptyList());
             Set<String> occupations = new LinkedHashSet<>();
             for (TalentDetailVO.ProfileSummaryVO profile : profiles) {
                 if (StrUtil.isNotBlank(profile.getOccupation())) {
@@ -1125,23 +1077,23 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             vo.setLatestOccupation(CollUtil.isNotEmpty(profiles) ? profiles.get(0).getOccupation() : null);
             vo.setProfileCount(profiles.size());
 
-            // 评分
-            vo.setAverageScore(scoreMap.getOrDefault(employeeId, BigDecimal.ZERO));
-
-            // 评价数量
-            QueryWrapper evalQuery = QueryWrapper.create().eq("employee_id", employeeId);
-            vo.setEvaluationCount((int) evaluationMapper.selectCountByQuery(evalQuery));
+            // 评分和评价数量（来自评分汇总表）
+            EmployeeScoreSummary summary = summaryMap.get(employeeId);
+            boolean hasScore = summary != null && summary.getScoreCount() != null && summary.getScoreCount() > 0;
+            vo.setAverageScore(hasScore ? summary.getAverageScore() : BigDecimal.ZERO);
+            vo.setEvaluationCount(summary != null && summary.getEvaluationCount() != null
+                    ? summary.getEvaluationCount() : 0);
 
             // 标签统计
-            Map<String, List<TalentVO.TagStatVO>> tagStats = getTagStatistics(employeeId);
+            Map<String, List<TalentVO.TagStatVO>> tagStats = tagStatsMap.get(employeeId);
             vo.setPositiveTags(tagStats.get("positive"));
             vo.setNeutralTags(tagStats.get("neutral"));
 
             // 收藏状态
-            vo.setBookmarked(isBookmarked(companyId, employeeId));
+            vo.setBookmarked(bookmarkedIds.contains(employeeId));
 
-            // 是否为本公司员工
-            vo.setIsOwnEmployee(isOwnCompanyEmployee(employeeId, companyId));
+            // 是否为本公司员工（只看当前是否在该公司）
+            vo.setIsOwnEmployee(companyId != null && companyId.equals(employee.getCompanyId()));
 
             result.add(vo);
         }
@@ -1149,11 +1101,55 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return result;
     }
 
+    /**
+     * 批量加载员工，返回 员工ID -> 员工
+     */
+    private Map<Long, Employee> loadEmployeeMap(Collection<Long> employeeIds) {
+        if (CollUtil.isEmpty(employeeIds)) {
+            return new HashMap<>();
+        }
+        return employeeMapper.selectListByIds(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, e -> e, (a, b) -> a));
+    }
+
+    /**
+     * 批量加载公司名称，返回 公司ID -> 公司名称（走参考数据近端缓存）
+     */
+    private Map<Long, String> loadCompanyNameMap(Collection<Long> companyIds) {
+        return referenceDataCache.getCompanyNames(companyIds);
+    }
+
     /**
      * 获取员工工作经历摘要（不考虑权限，内部方法）
      */
     private List<TalentDetailVO.ProfileSummaryVO> getProfileSummaries(Long employeeId) {
-        return getProfileSummaries(employeeId, null, null);
+        return getProfileSummariesMap(Collections.singletonList(employeeId))
+                .getOrDefault(employeeId, new ArrayList<>());
+    }
+
+    /**
+     * 批量获取员工工作经历摘要（不考虑权限，内部方法），每个员工的档案按入职日期倒序
+     */
+    private Map<Long, List<TalentDetailVO.ProfileSummaryVO>> getProfileSummariesMap(Collection<Long> employeeIds) {
+        Map<Long, List<TalentDetailVO.ProfileSummaryVO>> result = new HashMap<>();
+        if (CollUtil.isEmpty(employeeIds)) {
+            return result;
+        }
+        QueryWrapper query = QueryWrapper.create()
+                .in("employee_id", employeeIds)
+                .orderBy("start_date", false);
+        List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
+        Map<Long, String> companyNameMap = loadCompanyNameMap(profiles.stream()
+                .map(EmployeeProfile::getCompanyId)
+                .collect(Collectors.toList()));
+
+        // 没有查看者企业时，需授权的档案一律视为未授权
+        for (EmployeeProfile profile : profiles) {
+            result.computeIfAbsent(profile.getEmployeeId(), k -> new ArrayList<>())
+                    .add(buildProfileSummaryVO(profile, companyNameMap.get(profile.getCompanyId()),
+                            null, null, p -> false));
+        }
+        return result;
     }
 
     /**
@@ -1169,72 +1165,90 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .eq("employee_id", employeeId)
                 .orderBy("start_date", false);
         List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
+        Map<Long, String> companyNameMap = loadCompanyNameMap(profiles.stream()
+                .map(EmployeeProfile::getCompanyId)
+                .collect(Collectors.toList()));
+        // 整段工作经历的授权一次查询，不再按档案逐条查询
+        Set<Long> authorizedIds = profileAccessRequestService.getAuthorizedProfileIds(viewerCompanyId,
+                profiles.stream()
+                        .filter(profile -> Integer.valueOf(1).equals(profile.getVisibility()))
+                        .map(EmployeeProfile::getId)
+                        .collect(Collectors.toList()));
 
-        return profiles.stream().map(profile -> {
-            TalentDetailVO.ProfileSummaryVO vo = new TalentDetailVO.ProfileSummaryVO();
-            vo.setProfileId(profile.getId());
-            vo.setCompanyId(profile.getCompanyId());
-
-            Company company = companyMapper.selectOneById(profile.getCompanyId());
-            vo.setCompanyName(company != null ? company.getName() : null);
-
-            Integer visibility = profile.getVisibility() != null ? profile.getVisibility() : 2;
-            vo.setVisibility(visibility);
-
-            // 入职和离职日期始终可见
-            vo.setStartDate(profile.getStartDate() != null ? profile.getStartDate().toString() : null);
-            vo.setEndDate(profile.getEndDate() != null ? profile.getEndDate().toString() : null);
-
-            // 判断是否为同一公司（查看者公司 = 档案所属公司 或 查看者公司 = 员工当前公司）
-            boolean isSameCompany = viewerCompanyId != null &&
-                    (viewerCompanyId.equals(profile.getCompanyId()) || viewerCompanyId.equals(targetEmployeeCompanyId));
-
-            // 根据可见性判断是否可查看详情
-            boolean canViewDetail = false;
-            boolean needRequest = false;
-            boolean authorized = false;
+        return profiles.stream()
+                .map(profile -> buildProfileSummaryVO(profile, companyNameMap.get(profile.getCompanyId()),
+                        viewerCompanyId, targetEmployeeCompanyId, p -> authorizedIds.contains(p.getId())))
+                .collect(Collectors.toList());
+    }
 
-            if (visibility == 2) {
-                // 公开档案，任何人都可查看
+    /**
+     * 根据档案可见性构建工作经历摘要
+     *
+     * @param authorizedChecker 对认证企业可见的档案，判断查看者是否已获授权
+     */
+    private TalentDetailVO.ProfileSummaryVO buildProfileSummaryVO(EmployeeProfile profile, String companyName,
+            Long viewerCompanyId, Long targetEmployeeCompanyId,
+            Predicate<EmployeeProfile> authorizedChecker) {
+        TalentDetailVO.ProfileSummaryVO vo = new TalentDetailVO.ProfileSummaryVO();
+        vo.setProfileId(profile.getId());
+        vo.setCompanyId(profile.getCompanyId());
+        vo.setCompanyName(companyName);
+
+        Integer visibility = profile.getVisibility() != null ? profile.getVisibility() : 2;
+        vo.setVisibility(visibility);
+
+        // 入职和离职日期始终可见
+        vo.setStartDate(profile.getStartDate() != null ? profile.getStartDate().toString() : null);
+        vo.setEndDate(profile.getEndDate() != null ? profile.getEndDate().toString() : null);
+
+        // 判断是否为同一公司（查看者公司 = 档案所属公司 或 查看者公司 = 员工当前公司）
+        boolean isSameCompany = viewerCompanyId != null &&
+                (viewerCompanyId.equals(profile.getCompanyId()) || viewerCompanyId.equals(targetEmployeeCompanyId));
+
+        // 根据可见性判断是否可查看详情
+        boolean canViewDetail = false;
+        boolean needRequest = false;
+        boolean authorized = false;
+
+        if (visibility == 2) {
+            // 公开档案，任何人都可查看
+            canViewDetail = true;
+        } else if (visibility == 1) {
+            // 对认证企业可见，需要申请
+            if (isSameCompany) {
                 canViewDetail = true;
-            } else if (visibility == 1) {
-                // 对认证企业可见，需要申请
-                if (isSameCompany) {
-                    canViewDetail = true;
-                } else {
-                    // 检查是否已有授权
-                    authorized = profileAccessRequestService.canAccessProfile(
-                            profile.getId(), viewerCompanyId, employeeId);
-                    canViewDetail = authorized;
-                    needRequest = !authorized;
-                }
             } else {
-                // visibility == 0，完全保密
-                canViewDetail = false;
+                // 检查是否已有授权
+                authorized = authorizedChecker.test(profile);
+                canViewDetail = authorized;
+                needRequest = !authorized;
             }
+        } else {
+            // visibility == 0，完全保密
+            canViewDetail = false;
+        }
 
-            vo.setCanViewDetail(canViewDetail);
-            vo.setNeedRequest(needRequest);
-            vo.setAuthorized(authorized);
+        vo.setCanViewDetail(canViewDetail);
+        vo.setNeedRequest(needRequest);
+        vo.setAuthorized(authorized);
 
-            // 根据权限设置字段值（入职和离职日期始终可见，其他字段需要权限）
-            if (canViewDetail) {
-                vo.setOccupation(profile.getOccupation());
-                vo.setAttendanceRate(profile.getAttendanceRate());
-                vo.setHasMajorIncident(profile.getHasMajorIncident());
-                vo.setReasonForLeaving(profile.getReasonForLeaving());
-                vo.setPerformanceSummary(profile.getPerformanceSummary());
-            } else {
-                // 保密档案用 ** 展示
-                vo.setOccupation("**");
-                vo.setAttendanceRate(null);
-                vo.setHasMajorIncident(null);
-                vo.setReasonForLeaving("**");
-                vo.setPerformanceSummary("**");
-            }
+        // 根据权限设置字段值（入职和离职日期始终可见，其他字段需要权限）
+        if (canViewDetail) {
+            vo.setOccupation(profile.getOccupation());
+            vo.setAttendanceRate(profile.getAttendanceRate());
+            vo.setHasMajorIncident(profile.getHasMajorIncident());
+            vo.setReasonForLeaving(profile.getReasonForLeaving());
+            vo.setPerformanceSummary(profile.getPerformanceSummary());
+        } else {
+            // 保密档案用 ** 展示
+            vo.setOccupation("**");
+            vo.setAttendanceRate(null);
+            vo.setHasMajorIncident(null);
+            vo.setReasonForLeaving("**");
+            vo.setPerformanceSummary("**");
+        }
 
-            return vo;
-        }).collect(Collectors.toList());
+        return vo;
     }
 
     /**
@@ -1252,36 +1266,28 @@ public class TalentMarketServiceImpl implements TalentMarketService {
      * 计算各维度平均分
      */
     private Map<String, BigDecimal> calculateDimensionAverages(Long employeeId) {
-        Map<String, BigDecimal> result = new LinkedHashMap<>();
-
-        // 获取所有维度
-        List<EvaluationDimension> dimensions = dimensionMapper.selectListByQuery(
-                QueryWrapper.create().eq("is_active", true).orderBy("sort_order", true));
+        return calculateDimensionAverages(loadDimensions(), loadDimensionScores(getEmployeeEvaluations(employeeId)));
+    }
 
-        // 获取员工所有评价ID
-        List<Evaluation> evaluations = getEmployeeEvaluations(employeeId);
-        if (CollUtil.isEmpty(evaluations)) {
-            for (EvaluationDimension dim : dimensions) {
-                result.put(dim.getName(), BigDecimal.ZERO);
-            }
-            return result;
+    /**
+     * 根据已加载的维度评分计算各启用维度的平均分
+     */
+    private Map<String, BigDecimal> calculateDimensionAverages(List<EvaluationDimension> dimensions,
+            List<EvaluationDimensionScore> scores) {
+        Map<Long, List<Integer>> scoresByDimension = new HashMap<>();
+        for (EvaluationDimensionScore score : scores) {
+            scoresByDimension.computeIfAbsent(score.getDimensionId(), k -> new ArrayList<>()).add(score.getScore());
         }
 
-        List<Long> evaluationIds = evaluations.stream().map(Evaluation::getId).collect(Collectors.toList());
-
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
         for (EvaluationDimension dimension : dimensions) {
-            QueryWrapper query = QueryWrapper.create()
-                    .in("evaluation_id", evaluationIds)
-                    .eq("dimension_id", dimension.getId());
-            List<EvaluationDimensionScore> scores = dimensionScoreMapper.selectListByQuery(query);
-
-            if (CollUtil.isNotEmpty(scores)) {
-                double avg = scores.stream()
-                        .mapToInt(EvaluationDimensionScore::getScore)
-                        .average()
-                        .orElse(0.0);
-                BigDecimal avgScore = BigDecimal.valueOf(avg).setScale(2, RoundingMode.HALF_UP);
-                result.put(dimension.getName(), avgScore);
+            if (!Boolean.TRUE.equals(dimension.getIsActive())) {
+                continue;
+            }
+            List<Integer> dimensionScores = scoresByDimension.get(dimension.getId());
+            if (CollUtil.isNotEmpty(dimensionScores)) {
+                double avg = dimensionScores.stream().mapToInt(Integer::intValue).average().orElse(0.0);
+                result.put(dimension.getName(), BigDecimal.valueOf(avg).setScale(2, RoundingMode.HALF_UP));
             } else {
                 result.put(dimension.getName(), BigDecimal.ZERO);
             }
@@ -1290,81 +1296,154 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return result;
     }
 
+    /**
+     * 获取所有维度（含停用维度，按排序号升序）
+     */
+    private List<EvaluationDimension> loadDimensions() {
+        return referenceDataCache.getDimensions();
+    }
+
+    /**
+     * 一次查询出多条评价的全部维度评分
+     */
+    private List<EvaluationDimensionScore> loadDimensionScores(List<Evaluation> evaluations) {
+        if (CollUtil.isEmpty(evaluations)) {
+            return Collections.emptyList();
+        }
+        List<Long> evaluationIds = evaluations.stream().map(Evaluation::getId).collect(Collectors.toList());
+        QueryWrapper query = QueryWrapper.create()
+                .in("evaluation_id", evaluationIds)
+                .orderBy("id", true);
+        return dimensionScoreMapper.selectListByQuery(query);
+    }
+
     /**
      * 获取标签统计
      */
     private Map<String, List<TalentVO.TagStatVO>> getTagStatistics(Long employeeId) {
-        Map<String, List<TalentVO.TagStatVO>> result = new HashMap<>();
-        result.put("positive", new ArrayList<>());
-        result.put("neutral", new ArrayList<>());
+        return getTagStatisticsMap(Collections.singletonList(employeeId)).get(employeeId);
+    }
+
+    /**
+     * 批量获取标签统计：评价、标签关联、标签各查询一次，按员工分组计数
+     */
+    private Map<Long, Map<String, List<TalentVO.TagStatVO>>> getTagStatisticsMap(Collection<Long> employeeIds) {
+        Map<Long, Map<String, List<TalentVO.TagStatVO>>> result = new HashMap<>();
+        for (Long employeeId : employeeIds) {
+            Map<String, List<TalentVO.TagStatVO>> tagStats = new HashMap<>();
+            tagStats.put("positive", new ArrayList<>());
+            tagStats.put("neutral", new ArrayList<>());
+            result.put(employeeId, tagStats);
+        }
+        if (CollUtil.isEmpty(employeeIds)) {
+            return result;
+        }
 
         // 获取员工所有评价
-        List<Evaluation> evaluations = getEmployeeEvaluations(employeeId);
+        QueryWrapper evalQuery = QueryWrapper.create()
+                .select("id", "employee_id")
+                .in("employee_id", employeeIds);
+        List<Evaluation> evaluations = evaluationMapper.selectListByQuery(evalQuery);
         if (CollUtil.isEmpty(evaluations)) {
             return result;
         }
-
-        List<Long> evaluationIds = evaluations.stream().map(Evaluation::getId).collect(Collectors.toList());
+        Map<Long, Long> evaluationEmployeeMap = evaluations.stream()
+                .collect(Collectors.toMap(Evaluation::getId, Evaluation::getEmployeeId, (a, b) -> a));
 
         // 获取所有标签关联记录
         QueryWrapper query = QueryWrapper.create()
-                .in("evaluation_id", evaluationIds)
+                .in("evaluation_id", evaluationEmployeeMap.keySet())
                 .eq("is_delete", false);
         List<EvaluationTagRelation> relations = tagRelationMapper.selectListByQuery(query);
+        if (CollUtil.isEmpty(relations)) {
+            return result;
+        }
 
-        // 使用Java进行标签统计
-        Map<Long, Integer> tagCountMap = new HashMap<>();
+        // 按员工统计每个标签出现次数
+        Map<Long, Map<Long, Integer>> tagCountMap = new HashMap<>();
         for (EvaluationTagRelation relation : relations) {
-            tagCountMap.merge(relation.getTagId(), 1, Integer::sum);
+            Long employeeId = evaluationEmployeeMap.get(relation.getEvaluationId());
+            tagCountMap.computeIfAbsent(employeeId, k -> new HashMap<>())
+                    .merge(relation.getTagId(), 1, Integer::sum);
         }
 
-        for (Map.Entry<Long, Integer> entry : tagCountMap.entrySet()) {
-            Long tagId = entry.getKey();
-            Integer count = entry.getValue();
+        Map<Long, EvaluationTag> tagMap = referenceDataCache.getTagMap();
 
-            EvaluationTag tag = tagMapper.selectOneById(tagId);
-            if (tag == null) {
-                continue;
-            }
+        for (Map.Entry<Long, Map<Long, Integer>> employeeEntry : tagCountMap.entrySet()) {
+            Map<String, List<TalentVO.TagStatVO>> tagStats = result.get(employeeEntry.getKey());
+            for (Map.Entry<Long, Integer> entry : employeeEntry.getValue().entrySet()) {
+                EvaluationTag tag = tagMap.get(entry.getKey());
+                if (tag == null) {
+                    continue;
+                }
 
-            TalentVO.TagStatVO statVO = new TalentVO.TagStatVO();
-            statVO.setTagId(tagId);
-            statVO.setTagName(tag.getName());
-            statVO.setTagType(tag.getType());
-            statVO.setCount(count);
+                TalentVO.TagStatVO statVO = new TalentVO.TagStatVO();
+                statVO.setTagId(tag.getId());
+                statVO.setTagName(tag.getName());
+                statVO.setTagType(tag.getType());
+                statVO.setCount(entry.getValue());
 
-            if (tag.getType() == 1) {
-                result.get("positive").add(statVO);
-            } else {
-                result.get("neutral").add(statVO);
+                if (tag.getType() == 1) {
+                    tagStats.get("positive").add(statVO);
+                } else {
+                    tagStats.get("neutral").add(statVO);
+                }
             }
-        }
 
-        // 按次数排序
-        result.get("positive").sort((a, b) -> b.getCount().compareTo(a.getCount()));
-        result.get("neutral").sort((a, b) -> b.getCount().compareTo(a.getCount()));
+            // 按次数排序
+            tagStats.get("positive").sort((a, b) -> b.getCount().compareTo(a.getCount()));
+            tagStats.get("neutral").sort((a, b) -> b.getCount().compareTo(a.getCount()));
+        }
 
         return result;
     }
 
     /**
      * 构建评价VO列表（带解锁状态）
+     * 公司名称、标签、解锁价格按整批评价一次性加载，维度评分复用已加载的结果
      */
-    private List<TalentEvaluationVO> buildEvaluationVOList(List<Evaluation> evaluations,
-            Long companyId, boolean isOwnEmployee) {
+    private List<TalentEvaluationVO> buildEvaluationVOList(List<Evaluation> evaluations, boolean isOwnEmployee,
+            Set<Long> unlockedIds, List<EvaluationDimensionScore> scores, List<EvaluationDimension> dimensions) {
         List<TalentEvaluationVO> result = new ArrayList<>();
-        List<Long> unlockedIds = isOwnEmployee ? Collections.emptyList()
-                : getUnlockedEvaluationIds(companyId,
-                        evaluations.isEmpty() ? null : evaluations.get(0).getEmployeeId());
+        if (CollUtil.isEmpty(evaluations)) {
+            return result;
+        }
 
+        // 先确定解锁状态，后续只为已解锁的评价加载详情
+        Map<Long, Boolean> unlockedMap = new HashMap<>();
         int freeCount = 0;
+        for (Evaluation evaluation : evaluations) {
+            boolean unlocked;
+            if (isOwnEmployee) {
+                unlocked = true;
+            } else if (freeCount < FREE_EVALUATION_COUNT) {
+                unlocked = true;
+                freeCount++;
+            } else {
+                unlocked = unlockedIds.contains(evaluation.getId());
+            }
+            unlockedMap.put(evaluation.getId(), unlocked);
+        }
+
+        Map<Long, String> companyNameMap = loadCompanyNameMap(evaluations.stream()
+                .map(Evaluation::getCompanyId)
+                .collect(Collectors.toList()));
+        Map<Long, String> dimensionNameMap = dimensions.stream()
+                .collect(Collectors.toMap(EvaluationDimension::getId, EvaluationDimension::getName, (a, b) -> a));
+        Map<Long, List<EvaluationDimensionScore>> scoresByEvaluation = scores.stream()
+                .collect(Collectors.groupingBy(EvaluationDimensionScore::getEvaluationId));
+        Map<Long, List<EvaluationTagVO>> tagsByEvaluation = getTagsForEvaluations(unlockedMap.entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+        Map<Integer, BigDecimal> unlockPriceMap = isOwnEmployee ? Collections.emptyMap()
+                : referenceDataCache.getUnlockPriceMap();
+
         for (Evaluation evaluation : evaluations) {
             TalentEvaluationVO vo = new TalentEvaluationVO();
             vo.setId(evaluation.getId());
             vo.setCompanyId(evaluation.getCompanyId());
-
-            Company company = companyMapper.selectOneById(evaluation.getCompanyId());
-            vo.setCompanyName(company != null ? company.getName() : null);
+            vo.setCompanyName(companyNameMap.get(evaluation.getCompanyId()));
 
             vo.setEvaluationType(evaluation.getEvaluationType());
             EvaluationTypeEnum typeEnum = EvaluationTypeEnum.getEnumByValue(evaluation.getEvaluationType());
@@ -1379,28 +1458,28 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             vo.setPeriodQuarter(evaluation.getPeriodQuarter());
 
             // 判断是否解锁
-            boolean unlocked;
-            if (isOwnEmployee) {
-                unlocked = true;
-            } else if (freeCount < FREE_EVALUATION_COUNT) {
-                unlocked = true;
-                freeCount++;
-            } else {
-                unlocked = unlockedIds.contains(evaluation.getId());
-            }
-
+            boolean unlocked = unlockedMap.get(evaluation.getId());
             vo.setUnlocked(unlocked);
 
             if (unlocked) {
-                // 填充详细信息
+                // 填充详细信息：维度评分和平均分来自同一份评分数据
+                List<EvaluationDimensionScore> evaluationScores = scoresByEvaluation.getOrDefault(
+                        evaluation.getId(), Collections.emptyList());
+                Map<String, Integer> dimensionScores = new LinkedHashMap<>();
+                for (EvaluationDimensionScore score : evaluationScores) {
+                    String dimensionName = dimensionNameMap.get(score.getDimensionId());
+                    if (dimensionName != null) {
+                        dimensionScores.put(dimensionName, score.getScore());
+                    }
+                }
                 vo.setComment(evaluation.getComment());
-                vo.setDimensionScores(getDimensionScoresForEvaluation(evaluation.getId()));
-                vo.setAverageScore(calculateEvaluationAverageScore(evaluation.getId()));
-                vo.setTags(getTagsForEvaluation(evaluation.getId()));
+                vo.setDimensionScores(dimensionScores);
+                vo.setAverageScore(calculateEvaluationAverageScore(evaluationScores));
+                vo.setTags(tagsByEvaluation.getOrDefault(evaluation.getId(), new ArrayList<>()));
                 vo.setEvaluatorInfo("评价人（隐私保护）");
             } else {
                 // 未解锁时显示解锁价格
-                vo.setUnlockCost(getUnlockPrice(evaluation.getEvaluationType()));
+                vo.setUnlockCost(unlockPriceMap.get(evaluation.getEvaluationType()));
                 vo.setComment(null);
             }
 
@@ -1410,33 +1489,10 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return result;
     }
 
-    /**
-     * 获取评价的维度评分
-     */
-    private Map<String, Integer> getDimensionScoresForEvaluation(Long evaluationId) {
-        Map<String, Integer> result = new LinkedHashMap<>();
-
-        QueryWrapper query = QueryWrapper.create().eq("evaluation_id", evaluationId);
-        List<EvaluationDimensionScore> scores = dimensionScoreMapper.selectListByQuery(query);
-
-        for (EvaluationDimensionScore score : scores) {
-            EvaluationDimension dimension = dimensionMapper.selectOneById(score.getDimensionId());
-            if (dimension != null) {
-                result.put(dimension.getName(), score.getScore());
-            }
-        }
-
-        return result;
-    }
-
     /**
      * 计算单个评价的平均分
      */
-    private BigDecimal calculateEvaluationAverageScore(Long evaluationId) {
-        QueryWrapper query = QueryWrapper.create()
-                .eq("evaluation_id", evaluationId);
-        List<EvaluationDimensionScore> scores = dimensionScoreMapper.selectListByQuery(query);
-
+    private BigDecimal calculateEvaluationAverageScore(List<EvaluationDimensionScore> scores) {
         if (CollUtil.isNotEmpty(scores)) {
             double avg = scores.stream()
                     .mapToInt(EvaluationDimensionScore::getScore)
@@ -1448,61 +1504,44 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     }
 
     /**
-     * 获取评价的标签列表
+     * 批量获取评价的标签列表，返回 评价ID -> 标签列表
      */
-    private List<EvaluationTagVO> getTagsForEvaluation(Long evaluationId) {
+    private Map<Long, List<EvaluationTagVO>> getTagsForEvaluations(List<Long> evaluationIds) {
+        Map<Long, List<EvaluationTagVO>> result = new HashMap<>();
+        if (CollUtil.isEmpty(evaluationIds)) {
+            return result;
+        }
         QueryWrapper query = QueryWrapper.create()
-                .eq("evaluation_id", evaluationId)
+                .in("evaluation_id", evaluationIds)
                 .eq("is_delete", false);
         List<EvaluationTagRelation> relations = tagRelationMapper.selectListByQuery(query);
+        if (CollUtil.isEmpty(relations)) {
+            return result;
+        }
 
-        return relations.stream().map(relation -> {
-            EvaluationTag tag = tagMapper.selectOneById(relation.getTagId());
+        Map<Long, EvaluationTag> tagMap = referenceDataCache.getTagMap();
+
+        for (EvaluationTagRelation relation : relations) {
+            EvaluationTag tag = tagMap.get(relation.getTagId());
             if (tag == null) {
-                return null;
+                continue;
             }
             EvaluationTagVO vo = new EvaluationTagVO();
             vo.setId(tag.getId());
             vo.setName(tag.getName());
             vo.setType(tag.getType());
             vo.setDescription(tag.getDescription());
-            return vo;
-        }).filter(Objects::nonNull).collect(Collectors.toList());
-    }
-
-    /**
-     * 判断是否为本公司员工（当前或曾经）
-     */
-    private boolean isOwnCompanyEmployee(Long employeeId, Long companyId) {
-        if (companyId == null || employeeId == null) {
-            return false;
+            result.computeIfAbsent(relation.getEvaluationId(), k -> new ArrayList<>()).add(vo);
         }
-
-        // 只检查当前是否在该公司（不包括曾经在本公司工作过的员工）
-        Employee employee = employeeMapper.selectOneById(employeeId);
-        return employee != null && companyId.equals(employee.getCompanyId());
+        return result;
     }
 
     /**
-     * 获取本公司所有员工ID集合（包括当前和曾经在本公司的员工）
+     * 判断是否为本公司员工
      */
-    private Set<Long> getOwnCompanyEmployeeIds(Long companyId) {
-        Set<Long> employeeIds = new HashSet<>();
-
-        if (companyId == null) {
-            return employeeIds;
-        }
-
-        // 只获取当前在本公司的员工（不包括曾经在本公司工作过但现在已经离开的员工）
-        QueryWrapper currentQuery = QueryWrapper.create()
-                .select("id")
-                .eq("company_id", companyId);
-        List<Employee> currentEmployees = employeeMapper.selectListByQuery(currentQuery);
-        if (CollUtil.isNotEmpty(currentEmployees)) {
-            employeeIds.addAll(currentEmployees.stream().map(Employee::getId).collect(Collectors.toSet()));
-        }
-
-        return employeeIds;
+    private boolean isOwnCompanyEmployee(Long employeeId, Long companyId) {
+        // 只检查当前是否在该公司（不包括曾经在本公司工作过的员工），与详情页的 isOwnEmployee 保持一致
+        return companyRelationCache.isCurrentEmployee(companyId, employeeId);
     }
 
     /**
@@ -1549,7 +1588,6 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     // ==================== 人才浏览记录功能实现 ====================
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Long recordView(TalentViewLogRequest request, User loginUser) {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
         ThrowUtils.throwIf(request.getEmployeeId() == null, ErrorCode.PARAMS_ERROR, "员工ID不能为空");
@@ -1569,88 +1607,37 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             ThrowUtils.throwIf(companyId == null, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
         }
 
-        // 查找是否已存在该员工的浏览记录（同一公司同一员工只保留一条记录）
-        // 首先查询包括已删除的记录（因为唯一索引不包含is_delete字段）
-        TalentViewLog existingLog = viewLogMapper.selectOneIncludingDeleted(companyId, request.getEmployeeId());
-
-        TalentViewLog viewLog;
-        if (existingLog != null) {
-            // 已存在记录（包括可能被逻辑删除的），恢复并更新浏览时间和相关信息
-            existingLog.setViewTime(LocalDateTime.now());
-            existingLog.setUserId(loginUser.getId());
-            existingLog.setViewDuration(request.getViewDuration() != null ? request.getViewDuration() : 0);
-            if (StrUtil.isNotBlank(request.getViewSource())) {
-                existingLog.setViewSource(request.getViewSource());
-            }
-            if (StrUtil.isNotBlank(request.getSearchKeyword())) {
-                existingLog.setSearchKeyword(request.getSearchKeyword());
-            }
-            // 增加浏览次数
-            existingLog.setViewCount(existingLog.getViewCount() != null ? existingLog.getViewCount() + 1 : 1);
-            existingLog.setIsDelete(false); // 恢复记录
-            viewLogMapper.update(existingLog);
-            viewLog = existingLog;
-            log.info("更新人才浏览记录：companyId={}, userId={}, employeeId={}, viewCount={}",
-                    companyId, loginUser.getId(), request.getEmployeeId(), viewLog.getViewCount());
-        } else {
-            // 不存在记录，创建新记录
-            viewLog = TalentViewLog.builder()
-                    .companyId(companyId)
-                    .userId(loginUser.getId())
-                    .employeeId(request.getEmployeeId())
-                    .viewTime(LocalDateTime.now())
-                    .viewDuration(request.getViewDuration() != null ? request.getViewDuration() : 0)
-                    .viewSource(request.getViewSource())
-                    .searchKeyword(request.getSearchKeyword())
-                    .viewCount(1)
-                    .isDelete(false)
-                    .build();
-            try {
-                viewLogMapper.insert(viewLog);
-                log.info("创建人才浏览记录：companyId={}, userId={}, employeeId={}",
-                        companyId, loginUser.getId(), request.getEmployeeId());
-            } catch (org.springframework.dao.DuplicateKeyException e) {
-                // 如果因为唯一键冲突插入失败（可能是并发插入），则再次查询并更新
-                log.warn("插入浏览记录时发生唯一键冲突（可能是并发插入），尝试更新现有记录：companyId={}, employeeId={}",
-                        companyId, request.getEmployeeId());
-                TalentViewLog conflictLog = viewLogMapper.selectOneIncludingDeleted(companyId, request.getEmployeeId());
-                if (conflictLog != null) {
-                    conflictLog.setViewTime(LocalDateTime.now());
-                    conflictLog.setUserId(loginUser.getId());
-                    conflictLog.setViewDuration(request.getViewDuration() != null ? request.getViewDuration() : 0);
-                    if (StrUtil.isNotBlank(request.getViewSource())) {
-                        conflictLog.setViewSource(request.getViewSource());
-                    }
-                    if (StrUtil.isNotBlank(request.getSearchKeyword())) {
-                        conflictLog.setSearchKeyword(request.getSearchKeyword());
-                    }
-                    conflictLog.setViewCount(conflictLog.getViewCount() != null ? conflictLog.getViewCount() + 1 : 1);
-                    conflictLog.setIsDelete(false);
-                    viewLogMapper.update(conflictLog);
-                    viewLog = conflictLog;
-                    log.info("更新冲突的浏览记录：companyId={}, userId={}, employeeId={}, viewCount={}",
-                            companyId, loginUser.getId(), request.getEmployeeId(), viewLog.getViewCount());
-                } else {
-                    // 理论上不应该到这里，如果到这里说明有异常情况
-                    throw new RuntimeException("无法创建或恢复浏览记录", e);
-                }
-            }
-        }
+        // 浏览记录先进入写缓冲，同一企业同一员工的多次浏览合并后批量写入
+        Long viewLogId = talentViewLogBuffer.recordView(companyId, loginUser.getId(), request.getEmployeeId(),
+                request.getViewDuration(), request.getViewSource(), request.getSearchKeyword());
+        talentViewStatsCache.recordView(companyId, request.getEmployeeId(), request.getViewSource(),
+                request.getSearchKeyword());
+        // 浏览过的职位参与推荐评分，浏览到新的职位时才由定时任务重算
+        List<String> occupations = employeeProfileMapper.selectListByQuery(QueryWrapper.create()
+                        .select("occupation")
+                        .eq("employee_id", request.getEmployeeId()))
+                .stream()
+                .map(EmployeeProfile::getOccupation)
+                .filter(StrUtil::isNotBlank)
+                .distinct()
+                .collect(Collectors.toList());
+        talentRecommendationCache.markCompanyViewed(companyId, occupations);
 
-        return viewLog.getId();
+        return viewLogId;
     }
 
     @Override
     public boolean updateViewDuration(Long viewLogId, Integer viewDuration, User loginUser) {
         ThrowUtils.throwIf(viewLogId == null || viewDuration == null, ErrorCode.PARAMS_ERROR);
 
-        TalentViewLog viewLog = viewLogMapper.selectOneById(viewLogId);
-        if (viewLog == null || !viewLog.getUserId().equals(loginUser.getId())) {
+        // 浏览记录ID即浏览时发放的浏览凭证，任意节点都能解析出对应的浏览记录和浏览用户
+        TalentViewLogBuffer.ViewToken token = talentViewLogBuffer.getToken(viewLogId);
+        if (token == null || !loginUser.getId().equals(token.userId())) {
             return false;
         }
 
-        viewLog.setViewDuration(viewDuration);
-        return viewLogMapper.update(viewLog) > 0;
+        talentViewLogBuffer.recordDuration(token.key(), token.userId(), viewDuration);
+        return true;
     }
 
     @Override
@@ -1677,64 +1664,80 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     }
 
     @Override
-    public ViewStatisticsVO getViewStatistics(User loginUser) {
+    public CursorPage<TalentViewLogVO> getViewHistoryByCursor(String cursor, long pageSize, boolean withTotal,
+            User loginUser) {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
+        CursorUtils.checkPageSize(pageSize);
 
         Long companyId = loginUser.getCompanyId();
         ThrowUtils.throwIf(companyId == null, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
 
-        ViewStatisticsVO stats = new ViewStatisticsVO();
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
-        LocalDateTime weekStart = now.minusDays(7);
-        LocalDateTime monthStart = now.minusDays(30);
+        QueryWrapper query = QueryWrapper.create()
+                .eq("company_id", companyId);
+        Long totalRow = withTotal ? viewLogMapper.selectCountByQuery(query) : null;
 
-        // 总浏览次数
-        QueryWrapper totalQuery = QueryWrapper.create().eq("company_id", companyId);
-        stats.setTotalViews(viewLogMapper.selectCountByQuery(totalQuery));
+        List<String> after = CursorUtils.decode(cursor, 2);
+        if (after != null) {
+            LocalDateTime viewTime = CursorUtils.parse(after.get(0), LocalDateTime::parse);
+            Long id = CursorUtils.parse(after.get(1), Long::valueOf);
+            query.and("(view_time < ? OR (view_time = ? AND id < ?))", viewTime, viewTime, id);
+        }
+        query.orderBy("view_time", false)
+                .orderBy("id", false)
+                .limit(pageSize + 1);
+        List<TalentViewLog> logs = viewLogMapper.selectListByQuery(query);
 
-        // 今日浏览
-        QueryWrapper todayQuery = QueryWrapper.create()
-                .eq("company_id", companyId)
-                .ge("view_time", todayStart);
-        stats.setTodayViews(viewLogMapper.selectCountByQuery(todayQuery));
+        String nextCursor = null;
+        if (logs.size() > pageSize) {
+            logs = logs.subList(0, (int) pageSize);
+            TalentViewLog last = logs.get(logs.size() - 1);
+            nextCursor = CursorUtils.encode(last.getViewTime(), last.getId());
+        }
+        List<TalentViewLogVO> voList = logs.stream().map(this::convertToViewLogVO).collect(Collectors.toList());
+        return new CursorPage<>(voList, pageSize, nextCursor, totalRow);
+    }
 
-        // 本周浏览
-        QueryWrapper weekQuery = QueryWrapper.create()
-                .eq("company_id", companyId)
-                .ge("view_time", weekStart);
-        stats.setWeekViews(viewLogMapper.selectCountByQuery(weekQuery));
+    @Override
+    public ViewStatisticsVO getViewStatistics(User loginUser) {
+        ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
 
-        // 本月浏览
-        QueryWrapper monthQuery = QueryWrapper.create()
-                .eq("company_id", companyId)
-                .ge("view_time", monthStart);
-        stats.setMonthViews(viewLogMapper.selectCountByQuery(monthQuery));
+        Long companyId = loginUser.getCompanyId();
+        ThrowUtils.throwIf(companyId == null, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
 
-        // 浏览人才数（去重）
-        QueryWrapper distinctQuery = QueryWrapper.create()
-                .select("DISTINCT employee_id")
-                .eq("company_id", companyId);
-        List<TalentViewLog> distinctLogs = viewLogMapper.selectListByQuery(distinctQuery);
-        stats.setUniqueTalentCount((long) distinctLogs.size());
+        // 计数在浏览时已写入 Redis，这里只读取，耗时与浏览记录的多少无关
+        TalentViewStatsCache.Stats viewStats = talentViewStatsCache.getStats(companyId, 10);
+        ViewStatisticsVO stats = new ViewStatisticsVO();
+        stats.setTotalViews(viewStats.totalViews());
+        stats.setTodayViews(viewStats.todayViews());
+        stats.setWeekViews(viewStats.weekViews());
+        stats.setMonthViews(viewStats.monthViews());
+        stats.setUniqueTalentCount(viewStats.uniqueTalents());
+        stats.setViewTrend(viewStats.viewTrend());
 
         // 最常浏览的人才（Top 10）
-        stats.setMostViewedTalents(getMostViewedTalents(companyId, 10));
+        stats.setMostViewedTalents(toTalentViewCountVOList(viewStats.topTalents()));
 
         // 最近浏览的人才（Top 10）
         QueryWrapper recentQuery = QueryWrapper.create()
                 .eq("company_id", companyId)
-                .orderBy("view_time", false);
-        Page<TalentViewLog> recentPage = viewLogMapper.paginate(Page.of(1, 10), recentQuery);
-        stats.setRecentViews(
-                recentPage.getRecords().stream().map(this::convertToViewLogVO).collect(Collectors.toList()));
+                .orderBy("view_time", false)
+                .limit(10);
+        stats.setRecentViews(viewLogMapper.selectListByQuery(recentQuery).stream()
+                .map(this::convertToViewLogVO)
+                .collect(Collectors.toList()));
 
         // 按来源统计
-        stats.setViewSourceDistribution(getViewSourceDistribution(companyId));
+        stats.setViewSourceDistribution(viewStats.sourceCounts());
 
         // 最常搜索的关键词（Top 10）
-        stats.setTopKeywords(getTopKeywords(companyId, 10));
+        stats.setTopKeywords(viewStats.topKeywords().stream()
+                .map(entry -> {
+                    ViewStatisticsVO.KeywordStatVO vo = new ViewStatisticsVO.KeywordStatVO();
+                    vo.setKeyword(entry.getValue());
+                    vo.setCount(entry.getScore().longValue());
+                    return vo;
+                })
+                .collect(Collectors.toList()));
 
         return stats;
     }
@@ -1752,14 +1755,19 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             query.eq("employee_id", employeeId);
         }
 
-        return viewLogMapper.deleteByQuery(query);
+        // 先丢弃所有节点写缓冲中尚未写入的浏览，否则之后写入时会恢复刚删除的记录
+        talentViewLogBuffer.discard(companyId, employeeId);
+        int deleted = viewLogMapper.deleteByQuery(query);
+        // 浏览统计按剩余的浏览记录重新初始化
+        talentViewStatsCache.reset(companyId);
+        return deleted;
     }
 
     // ==================== 企业招聘偏好功能实现 ====================
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @org.springframework.cache.annotation.CacheEvict(value = "companyPreference", key = "#loginUser.companyId")
+    @CacheEvict(value = "companyPreference", key = "#loginUser.companyId")
     public Long savePreference(CompanyPreferenceRequest request, User loginUser) {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
 
@@ -1799,6 +1807,8 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         } else {
             preferenceMapper.insert(preference);
         }
+        // 偏好变化后重新计算推荐列表
+        talentRecommendationCache.markCompanyDirty(companyId);
 
         return preference.getId();
     }
@@ -1812,130 +1822,181 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             return new CompanyPreferenceVO();
         }
 
-        // 尝试从缓存获取
-        boolean cacheError = false;
-        try {
-            if (cacheManager != null) {
-                org.springframework.cache.Cache cache = cacheManager.getCache("companyPreference");
-                if (cache != null) {
-                    org.springframework.cache.Cache.ValueWrapper wrapper = cache.get(companyId);
-                    if (wrapper != null) {
-                        Object cached = wrapper.get();
-                        if (cached instanceof CompanyPreferenceVO) {
-                            return (CompanyPreferenceVO) cached;
-                        } else if (cached != null) {
-                            // 缓存数据格式错误，清除缓存
-                            log.warn("缓存数据格式错误，清除缓存并重新查询: companyId={}, cached类型={}",
-                                    companyId, cached.getClass().getName());
-                            cacheError = true;
-                            try {
-                                cache.evict(companyId);
-                            } catch (Exception evictEx) {
-                                log.warn("清除缓存失败: companyId={}, error={}", companyId, evictEx.getMessage());
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (ClassCastException e) {
-            // 如果缓存数据格式不对（旧格式），清除缓存并重新查询
-            log.warn("缓存数据格式错误，清除缓存并重新查询: companyId={}, error={}", companyId, e.getMessage());
-            cacheError = true;
-            try {
-                if (cacheManager != null) {
-                    org.springframework.cache.Cache cache = cacheManager.getCache("companyPreference");
-                    if (cache != null) {
-                        cache.evict(companyId);
-                    }
-                }
-            } catch (Exception evictEx) {
-                log.warn("清除缓存失败: companyId={}, error={}", companyId, evictEx.getMessage());
-            }
-        } catch (Exception e) {
-            // 捕获所有其他异常，确保不会影响正常查询
-            log.warn("从缓存获取数据时发生异常，将重新查询: companyId={}, error={}", companyId, e.getMessage());
-            cacheError = true;
-            try {
-                if (cacheManager != null) {
-                    org.springframework.cache.Cache cache = cacheManager.getCache("companyPreference");
-                    if (cache != null) {
-                        cache.evict(companyId);
-                    }
-                }
-            } catch (Exception evictEx) {
-                log.warn("清除缓存失败: companyId={}, error={}", companyId, evictEx.getMessage());
-            }
-        }
-
-        // 如果缓存出错，确保清除缓存后再查询
-        if (cacheError && cacheManager != null) {
-            try {
-                org.springframework.cache.Cache cache = cacheManager.getCache("companyPreference");
-                if (cache != null) {
-                    cache.evict(companyId);
-                }
-            } catch (Exception e) {
-                log.warn("最终清除缓存失败: companyId={}, error={}", companyId, e.getMessage());
-            }
-        }
+        // 两级缓存，未命中时同一公司的并发请求只查询一次数据库
+        Cache cache = cacheManager.getCache("companyPreference");
+        CompanyPreferenceVO result = cache != null
+                ? cache.get(companyId, () -> loadPreferenceVO(companyId))
+                : loadPreferenceVO(companyId);
+        return result != null ? result : new CompanyPreferenceVO();
+    }
 
-        // 从数据库查询
+    /**
+     * 从数据库加载企业招聘偏好，未设置时返回 null（不缓存）
+     */
+    private CompanyPreferenceVO loadPreferenceVO(Long companyId) {
         QueryWrapper query = QueryWrapper.create().eq("company_id", companyId);
         CompanyPreference preference = preferenceMapper.selectOneByQuery(query);
-
-        if (preference == null) {
-            return new CompanyPreferenceVO();
-        }
-
-        CompanyPreferenceVO result = convertToPreferenceVO(preference);
-
-        // 将结果存入缓存
-        try {
-            if (cacheManager != null) {
-                org.springframework.cache.Cache cache = cacheManager.getCache("companyPreference");
-                if (cache != null) {
-                    cache.put(companyId, result);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("缓存数据失败: companyId={}, error={}", companyId, e.getMessage());
-        }
-
-        return result;
+        return preference != null ? convertToPreferenceVO(preference) : null;
     }
 
     // ==================== 人才推荐功能实现 ====================
 
+    /**
+     * 预计算推荐时每个企业最多打分的候选人数，以及每批构建TalentVO的人数
+     */
+    private static final int RECOMMEND_CANDIDATE_LIMIT = 5000;
+    private static final int RECOMMEND_SCORE_BATCH_SIZE = 500;
+
+    /**
+     * 首次计算推荐列表时等待其他请求计算完成的最长时间，以及计算锁的自动释放时间（秒）
+     */
+    private static final long RECOMMEND_COMPUTE_WAIT_SECONDS = 10;
+    private static final long RECOMMEND_COMPUTE_LEASE_SECONDS = 120;
+
     @Override
     public Page<TalentRecommendVO> getRecommendedTalents(long pageNum, long pageSize, User loginUser) {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
+        ThrowUtils.throwIf(pageNum < 1 || pageSize < 1, ErrorCode.PARAMS_ERROR, "分页参数错误");
 
         Long companyId = loginUser.getCompanyId();
         ThrowUtils.throwIf(companyId == null, ErrorCode.PARAMS_ERROR, "企业ID不能为空");
 
-        // 获取企业偏好
-        CompanyPreference preference = getCompanyPreference(companyId);
+        // 推荐列表由定时任务按企业预先计算并排好序，这里只读取一段；首次访问时计算一次
+        long offset = (pageNum - 1) * pageSize;
+        List<ScoredEntry<Long>> entries = talentRecommendationCache.range(companyId, offset, pageSize);
+        if (entries == null) {
+            entries = computeRecommendationsOnce(companyId, offset, pageSize);
+        }
+        if (CollUtil.isEmpty(entries)) {
+            return new Page<>(Collections.emptyList(), pageNum, pageSize, talentRecommendationCache.size(companyId));
+        }
 
-        // 获取浏览历史中的职位倾向
+        // 推荐理由和匹配的职位、标签只为当前页生成
+        CompanyPreference preference = getCompanyPreference(companyId);
         List<String> viewedOccupations = getViewedOccupations(companyId);
+        List<Long> ids = entries.stream().map(ScoredEntry::getValue).collect(Collectors.toList());
+        Map<Long, TalentVO> talentMap = buildTalentVOList(ids, companyId).stream()
+                .collect(Collectors.toMap(TalentVO::getId, talent -> talent, (a, b) -> a));
+        List<TalentRecommendVO> recommendList = new ArrayList<>();
+        for (ScoredEntry<Long> entry : entries) {
+            TalentVO talent = talentMap.get(entry.getValue());
+            if (talent == null) {
+                continue;
+            }
+            TalentRecommendVO vo = convertToRecommendVO(talent, preference, viewedOccupations);
+            vo.setRecommendScore(BigDecimal.valueOf(entry.getScore()).setScale(2, RoundingMode.HALF_UP));
+            recommendList.add(vo);
+        }
+
+        return new Page<>(recommendList, pageNum, pageSize, talentRecommendationCache.size(companyId));
+    }
+
+    /**
+     * 推荐列表尚未计算时，同一企业的并发请求只由一个请求计算，其余请求等待后直接读取结果；
+     * 等待超时的请求返回空页并登记由定时任务计算
+     */
+    private List<ScoredEntry<Long>> computeRecommendationsOnce(Long companyId, long offset, long count) {
+        RLock lock = talentRecommendationCache.getComputeLock(companyId);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(RECOMMEND_COMPUTE_WAIT_SECONDS, RECOMMEND_COMPUTE_LEASE_SECONDS, TimeUnit.SECONDS);
+            if (!locked) {
+                talentRecommendationCache.markCompanyDirty(companyId);
+                return Collections.emptyList();
+            }
+            List<ScoredEntry<Long>> entries = talentRecommendationCache.range(companyId, offset, count);
+            if (entries == null) {
+                refreshRecommendations(companyId);
+                entries = talentRecommendationCache.range(companyId, offset, count);
+            }
+            return entries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
 
-        // 构建推荐查询
+    @Override
+    public void refreshRecommendations(Long companyId) {
+        if (companyId == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        CompanyPreference preference = getCompanyPreference(companyId);
+        List<String> viewedOccupations = getViewedOccupations(companyId);
         TalentSearchRequest searchRequest = buildRecommendSearchRequest(preference, viewedOccupations);
-        searchRequest.setPageNum((int) pageNum);
-        searchRequest.setPageSize((int) pageSize);
 
-        // 搜索符合条件的人才（使用内部方法，不扣除积分，智能推荐是系统功能）
-        Page<TalentVO> talentPage = searchTalentsInternal(searchRequest, loginUser);
+        // 候选人仍由人才搜索的筛选条件确定，评分高的优先进入候选
+        Map<Long, Double> scores = new HashMap<>();
+        TalentSearchPrefilter prefilter = talentSearchPrefilterResolver.resolve(searchRequest);
+        if (!prefilter.hasNoCandidate()) {
+            List<Long> candidateIds = employeeMapper.selectTalentSearchIds(searchRequest, companyId, prefilter,
+                    true, false, 0, RECOMMEND_CANDIDATE_LIMIT);
+            scores = scoreRecommendCandidates(candidateIds, companyId, preference, viewedOccupations);
+        }
+        talentRecommendationCache.replace(companyId, scores);
+        talentRecommendationCache.saveViewedOccupations(companyId, viewedOccupations);
+        log.info("企业推荐列表计算完成：companyId={}, candidates={}, cost={}ms",
+                companyId, scores.size(), System.currentTimeMillis() - start);
+    }
 
-        // 转换为推荐VO并计算推荐评分
-        List<TalentRecommendVO> recommendList = talentPage.getRecords().stream()
-                .map(talent -> convertToRecommendVO(talent, preference, viewedOccupations))
-                .sorted((a, b) -> b.getRecommendScore().compareTo(a.getRecommendScore()))
-                .collect(Collectors.toList());
+    @Override
+    public void refreshRecommendationsForEmployees(Collection<Long> employeeIds) {
+        if (CollUtil.isEmpty(employeeIds)) {
+            return;
+        }
+        for (Long companyId : talentRecommendationCache.getActiveCompanyIds()) {
+            try {
+                CompanyPreference preference = getCompanyPreference(companyId);
+                List<String> viewedOccupations = getViewedOccupations(companyId);
+                TalentSearchRequest searchRequest = buildRecommendSearchRequest(preference, viewedOccupations);
+
+                // 把候选范围限制为变化的员工，复用同一套筛选条件判断他们是否仍符合推荐条件
+                TalentSearchPrefilter prefilter = talentSearchPrefilterResolver.resolve(searchRequest);
+                Set<Long> candidates = new HashSet<>(employeeIds);
+                if (prefilter.getIncludeEmployeeIds() != null) {
+                    candidates.retainAll(prefilter.getIncludeEmployeeIds());
+                }
+                prefilter.setIncludeEmployeeIds(candidates);
+
+                List<Long> matchedIds = candidates.isEmpty() ? Collections.emptyList()
+                        : employeeMapper.selectTalentSearchIds(searchRequest, companyId, prefilter,
+                                true, false, 0, candidates.size());
+                Map<Long, Double> scores = scoreRecommendCandidates(matchedIds, companyId, preference,
+                        viewedOccupations);
+                Set<Long> removed = new HashSet<>(employeeIds);
+                removed.removeAll(scores.keySet());
+                talentRecommendationCache.update(companyId, scores, removed);
+            } catch (Exception e) {
+                log.warn("增量刷新企业推荐列表失败：companyId={}", companyId, e);
+            }
+        }
+    }
 
-        return new Page<>(recommendList, pageNum, pageSize, talentPage.getTotalRow());
+    /**
+     * 分批为候选人计算推荐评分
+     */
+    private Map<Long, Double> scoreRecommendCandidates(List<Long> candidateIds, Long companyId,
+            CompanyPreference preference, List<String> viewedOccupations) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (List<Long> batch : CollUtil.split(candidateIds, RECOMMEND_SCORE_BATCH_SIZE)) {
+            for (TalentVO talent : buildTalentVOList(batch, companyId)) {
+                scores.put(talent.getId(),
+                        calculateRecommendScore(talent, preference, viewedOccupations).doubleValue());
+            }
+        }
+        return scores;
     }
 
+    /**
+     * 相似人才候选多取的倍数，用于补足被删除、不可见而过滤掉的员工
+     */
+    private static final int SIMILAR_CANDIDATE_FACTOR = 2;
+
     @Override
     public List<TalentRecommendVO> getSimilarTalents(Long employeeId, int limit, User loginUser) {
         ThrowUtils.throwIf(!hasAccessPermission(loginUser), ErrorCode.NO_AUTH_ERROR, "无权访问人才市场");
@@ -1944,32 +2005,37 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         Employee referenceEmployee = employeeMapper.selectOneById(employeeId);
         ThrowUtils.throwIf(referenceEmployee == null, ErrorCode.NOT_FOUND_ERROR, "员工不存在");
 
-        // 获取参考员工的职位和标签
+        // 获取参考员工的职位和标签（用于生成相似理由）
         List<String> referenceOccupations = getEmployeeOccupations(employeeId);
         List<Long> referenceTagIds = getEmployeeTagIds(employeeId);
 
-        // 构建搜索请求
-        TalentSearchRequest searchRequest = new TalentSearchRequest();
-        if (CollUtil.isNotEmpty(referenceOccupations)) {
-            searchRequest.setOccupations(referenceOccupations);
-        }
-        if (CollUtil.isNotEmpty(referenceTagIds)) {
-            searchRequest.setIncludeTagIds(referenceTagIds);
+        List<TalentVO> talents;
+        Map<Long, Double> similarityMap = new HashMap<>();
+        if (similarTalentIndex.isReady()) {
+            // 在进程内特征向量索引上按相似度取前若干名，只为这些员工构建TalentVO
+            List<SimilarTalentIndex.Match> matches = similarTalentIndex.findSimilar(employeeId,
+                    limit * SIMILAR_CANDIDATE_FACTOR, null);
+            List<Long> ids = new ArrayList<>();
+            for (SimilarTalentIndex.Match match : matches) {
+                ids.add(match.employeeId());
+                similarityMap.put(match.employeeId(), match.similarity());
+            }
+            talents = buildTalentVOList(ids, loginUser.getCompanyId());
+        } else {
+            talents = searchSimilarTalents(employeeId, limit, referenceOccupations, referenceTagIds, loginUser);
         }
-        searchRequest.setPageNum(1);
-        searchRequest.setPageSize(limit + 1); // 多查一个，排除自己
-
-        // 使用内部搜索方法，不扣除积分（相似人才推荐是系统功能，不应消耗积分）
-        Page<TalentVO> talentPage = searchTalentsInternal(searchRequest, loginUser);
 
         // 过滤掉自己，转换为推荐VO
-        return talentPage.getRecords().stream()
+        return talents.stream()
                 .filter(talent -> !talent.getId().equals(employeeId))
                 .limit(limit)
                 .map(talent -> {
                     TalentRecommendVO vo = new TalentRecommendVO();
                     copyTalentVOProperties(talent, vo);
-                    vo.setRecommendScore(calculateSimilarityScore(talent, referenceOccupations, referenceTagIds));
+                    Double similarity = similarityMap.get(talent.getId());
+                    vo.setRecommendScore(similarity != null
+                            ? BigDecimal.valueOf(similarity * 100).setScale(2, RoundingMode.HALF_UP)
+                            : calculateSimilarityScore(talent, referenceOccupations, referenceTagIds));
                     vo.setRecommendReasons(generateSimilarityReasons(talent, referenceOccupations, referenceTagIds));
                     vo.setMatchedOccupations(
                             findMatchedOccupations(talent.getOccupationHistory(), referenceOccupations));
@@ -1978,6 +2044,25 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 相似人才索引未就绪时，以参考员工的职位和标签为条件搜索
+     */
+    private List<TalentVO> searchSimilarTalents(Long employeeId, int limit, List<String> referenceOccupations,
+            List<Long> referenceTagIds, User loginUser) {
+        TalentSearchRequest searchRequest = new TalentSearchRequest();
+        if (CollUtil.isNotEmpty(referenceOccupations)) {
+            searchRequest.setOccupations(referenceOccupations);
+        }
+        if (CollUtil.isNotEmpty(referenceTagIds)) {
+            searchRequest.setIncludeTagIds(referenceTagIds);
+        }
+        searchRequest.setPageNum(1);
+        searchRequest.setPageSize(limit + 1); // 多查一个，排除自己
+
+        // 使用内部搜索方法，不扣除积分（相似人才推荐是系统功能，不应消耗积分）
+        return searchTalentsInternal(searchRequest, loginUser).getRecords();
+    }
+
     // ==================== 人才对比功能实现 ====================
 
     @Override
@@ -1995,8 +2080,9 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         List<TalentCompareVO.CompareItemVO> items = new ArrayList<>();
 
         // 获取所有维度名称
-        List<EvaluationDimension> dimensions = dimensionMapper.selectListByQuery(
-                QueryWrapper.create().eq("is_active", true).orderBy("sort_order", true));
+        List<EvaluationDimension> dimensions = loadDimensions().stream()
+                .filter(dimension -> Boolean.TRUE.equals(dimension.getIsActive()))
+                .collect(Collectors.toList());
         List<String> dimensionNames = dimensions.stream().map(EvaluationDimension::getName)
                 .collect(Collectors.toList());
         compareVO.setDimensionNames(dimensionNames);
@@ -2009,7 +2095,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
 
         // 计算所有人的平均值，用于对比
         Map<Long, BigDecimal> avgScores = calculateEmployeeAverageScores(employeeIds);
-        Map<Long, BigDecimal> avgAttendanceRates = calculateAverageAttendanceRates(employeeIds);
+        Map<Long, EmployeeProfileSummary> profileSummaryMap = employeeProfileSummaryService.getSummaryMap(employeeIds);
 
         BigDecimal overallAvgScore = avgScores.values().stream()
                 .reduce(BigDecimal.ZERO, BigDecimal::add)
@@ -2022,7 +2108,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             }
 
             TalentCompareVO.CompareItemVO item = buildCompareItem(employee, companyId, dimensions, dimensionRadarData,
-                    overallAvgScore, avgScores, avgAttendanceRates);
+                    overallAvgScore, avgScores, profileSummaryMap);
             items.add(item);
         }
 
@@ -2032,18 +2118,30 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         compareVO.setItems(items);
         compareVO.setDimensionRadarData(dimensionRadarData);
 
+        // 按AI输入内容查找已有的分析结果：候选人评价、档案和公司偏好都未变化时直接复用，不扣除积分
+        String companyPreferenceInfo = null;
+        String talentInfos = null;
+        String contentHash = null;
+        if (aiTalentComparisonService != null) {
+            companyPreferenceInfo = formatCompanyPreferenceInfo(companyId);
+            log.info("公司偏好信息格式化完成，长度={}字符", companyPreferenceInfo.length());
+            talentInfos = formatTalentInfosForAI(items, companyId);
+            contentHash = aiCompareResultCache.computeContentHash(companyId, companyPreferenceInfo, talentInfos);
+            String cachedAiResult = aiCompareResultCache.get(contentHash);
+            if (cachedAiResult != null) {
+                log.info("命中AI对比结果缓存，公司ID={}, 员工数量={}, 不扣除积分", companyId, employeeIds.size());
+                compareVO.setAiAnalysisResult(cachedAiResult);
+                saveCompareRecord(companyId, employeeIds, compareVO, cachedAiResult);
+                return compareVO;
+            }
+        }
+
         // 深度智能分析需要扣除积分：10x，x为对比人数
         BigDecimal compareCost = BigDecimal.valueOf(10 * employeeIds.size());
         Long pointsRecordId = null; // 保存积分扣除记录ID，以便失败时返还
 
-        // 检查积分是否足够
         if (compareCost.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal currentPoints = companyPointsService.getTotalPoints(companyId);
-            ThrowUtils.throwIf(currentPoints.compareTo(compareCost) < 0,
-                    ErrorCode.OPERATION_ERROR,
-                    "积分不足，深度智能分析需要" + compareCost + "积分（10×" + employeeIds.size() + "），当前" + currentPoints + "积分");
-
-            // 扣除积分
+            // 扣除积分，余额不足时由积分服务原子校验并抛出异常
             try {
                 pointsRecordId = companyPointsService.addPoints(
                         companyId,
@@ -2052,6 +2150,8 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                         null,
                         "深度智能分析（" + employeeIds.size() + "人对比）");
                 log.info("深度智能分析积分扣除成功，公司ID={}, 扣除积分={}, 记录ID={}", companyId, compareCost, pointsRecordId);
+            } catch (BusinessException e) {
+                throw e;
             } catch (Exception e) {
                 log.error("扣除深度智能分析积分失败，公司ID={}, 错误：{}", companyId, e.getMessage(), e);
                 throw new BusinessException(ErrorCode.OPERATION_ERROR, "扣除积分失败：" + e.getMessage());
@@ -2064,25 +2164,6 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             try {
                 log.info("准备启动AI分析任务，公司ID={}, 员工数量={}", companyId, employeeIds.size());
 
-                // 收集公司偏好信息
-                String companyPreferenceInfo = formatCompanyPreferenceInfo(companyId);
-                log.info("公司偏好信息格式化完成，长度={}字符", companyPreferenceInfo.length());
-
-                // 收集所有人才的信息
-                StringBuilder talentInfosBuilder = new StringBuilder();
-                for (int i = 0; i < items.size(); i++) {
-                    TalentCompareVO.CompareItemVO item = items.get(i);
-                    Long employeeId = item.getEmployeeId();
-                    String talentInfo = formatTalentInfoForAI(employeeId, companyId, item);
-                    talentInfosBuilder.append("=".repeat(80)).append("\n");
-                    talentInfosBuilder.append("候选人 ").append(i + 1).append("：").append(item.getName()).append("\n");
-                    talentInfosBuilder.append("=".repeat(80)).append("\n");
-                    talentInfosBuilder.append(talentInfo).append("\n\n");
-                    log.info("格式化候选人{}信息完成，姓名={}, 信息长度={}字符", i + 1, item.getName(), talentInfo.length());
-                }
-                String talentInfos = talentInfosBuilder.toString();
-                log.info("所有候选人信息格式化完成，总长度={}字符", talentInfos.length());
-
                 // 查找历史对比记录作为参考（最多5条）
                 List<TalentCompareRecord> historyRecords = talentCompareRecordService
                         .findRelatedHistoryRecords(companyId, employeeIds);
@@ -2110,15 +2191,23 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 log.debug("完整AI输入数据长度={}字符", inputData.length());
 
                 // 提交AI分析任务（异步执行）
-                String taskId = aiAnalysisTaskService.submitTask(companyId, employeeIds, inputData);
+                String taskId = Boolean.TRUE.equals(request.getStreamAi())
+                        ? aiAnalysisTaskService.submitStreamTask(companyId, employeeIds, inputData, contentHash)
+                        : aiAnalysisTaskService.submitTask(companyId, employeeIds, inputData, contentHash);
                 compareVO.setAiAnalysisTaskId(taskId);
                 log.info("AI分析任务已提交，任务ID={}，基础数据将立即返回", taskId);
 
                 // 不等待AI分析完成，立即返回基础数据
                 // AI分析结果将通过任务ID查询接口获取
             } catch (Exception e) {
-                log.error("提交AI分析任务失败，公司ID={}, 员工数量={}, 错误信息：{}",
-                        companyId, employeeIds.size(), e.getMessage(), e);
+                if (e instanceof BusinessException be && be.getCode() == ErrorCode.TOO_MANY_REQUEST.getCode()) {
+                    // AI任务排队已满：告知前端建议的重试时间，积分照常返还，基础对比结果照常返回
+                    log.warn("AI分析任务繁忙，公司ID={}, {}", companyId, e.getMessage());
+                    compareVO.setAiAnalysisRetryAfter(aiAnalysisTaskService.estimateRetryAfterSeconds());
+                } else {
+                    log.error("提交AI分析任务失败，公司ID={}, 员工数量={}, 错误信息：{}",
+                            companyId, employeeIds.size(), e.getMessage(), e);
+                }
 
                 // AI分析任务提交失败，返还积分
                 if (pointsRecordId != null) {
@@ -2156,7 +2245,16 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             }
         }
 
-        // 保存对比记录到数据库（每次对比都创建新记录）
+        saveCompareRecord(companyId, employeeIds, compareVO, null);
+
+        return compareVO;
+    }
+
+    /**
+     * 保存对比记录到数据库（每次对比都创建新记录）
+     */
+    private void saveCompareRecord(Long companyId, List<Long> employeeIds, TalentCompareVO compareVO,
+            String aiAnalysisResult) {
         try {
             String compareResultJson = JSONUtil.toJsonStr(compareVO);
 
@@ -2170,7 +2268,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                     .companyId(companyId)
                     .employeeIds(employeeIdsJson)
                     .compareResult(compareResultJson)
-                    .aiAnalysisResult(null) // AI分析结果稍后通过任务ID更新
+                    .aiAnalysisResult(aiAnalysisResult) // 为空时AI分析结果稍后通过任务ID更新
                     .isDelete(false)
                     .build();
 
@@ -2184,8 +2282,25 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             log.error("保存对比记录失败，企业ID={}, 员工数量={}, 错误：{}", companyId, employeeIds.size(), e.getMessage(), e);
             // 保存失败不影响对比功能，继续返回结果
         }
+    }
 
-        return compareVO;
+    /**
+     * 按对比顺序拼接所有候选人的AI输入信息
+     */
+    private String formatTalentInfosForAI(List<TalentCompareVO.CompareItemVO> items, Long companyId) {
+        StringBuilder talentInfosBuilder = new StringBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            TalentCompareVO.CompareItemVO item = items.get(i);
+            String talentInfo = formatTalentInfoForAI(item.getEmployeeId(), companyId, item);
+            talentInfosBuilder.append("=".repeat(80)).append("\n");
+            talentInfosBuilder.append("候选人 ").append(i + 1).append("：").append(item.getName()).append("\n");
+            talentInfosBuilder.append("=".repeat(80)).append("\n");
+            talentInfosBuilder.append(talentInfo).append("\n\n");
+            log.info("格式化候选人{}信息完成，姓名={}, 信息长度={}字符", i + 1, item.getName(), talentInfo.length());
+        }
+        String talentInfos = talentInfosBuilder.toString();
+        log.info("所有候选人信息格式化完成，总长度={}字符", talentInfos.length());
+        return talentInfos;
     }
 
     // ==================== 私有辅助方法（新增功能） ====================
@@ -2222,29 +2337,24 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return vo;
     }
 
-    private List<ViewStatisticsVO.TalentViewCountVO> getMostViewedTalents(Long companyId, int limit) {
-        // 统计每个员工的浏览次数
-        QueryWrapper query = QueryWrapper.create().eq("company_id", companyId);
-        List<TalentViewLog> allLogs = viewLogMapper.selectListByQuery(query);
-
-        Map<Long, Long> viewCounts = allLogs.stream()
-                .collect(Collectors.groupingBy(TalentViewLog::getEmployeeId, Collectors.counting()));
+    private List<ViewStatisticsVO.TalentViewCountVO> toTalentViewCountVOList(List<ScoredEntry<Long>> topEntries) {
+        List<Long> topEmployeeIds = topEntries.stream().map(ScoredEntry::getValue).collect(Collectors.toList());
+        Map<Long, Employee> employeeMap = loadEmployeeMap(topEmployeeIds);
+        Map<Long, List<TalentDetailVO.ProfileSummaryVO>> profileMap = getProfileSummariesMap(topEmployeeIds);
 
-        return viewCounts.entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(limit)
+        return topEntries.stream()
                 .map(entry -> {
                     ViewStatisticsVO.TalentViewCountVO vo = new ViewStatisticsVO.TalentViewCountVO();
-                    vo.setEmployeeId(entry.getKey());
-                    vo.setViewCount(entry.getValue());
+                    vo.setEmployeeId(entry.getValue());
+                    vo.setViewCount(entry.getScore().longValue());
 
-                    Employee employee = employeeMapper.selectOneById(entry.getKey());
+                    Employee employee = employeeMap.get(entry.getValue());
                     if (employee != null) {
                         vo.setEmployeeName(employee.getName());
                         vo.setEmployeePhotoUrl(employee.getPhotoUrl());
                     }
 
-                    List<TalentDetailVO.ProfileSummaryVO> profiles = getProfileSummaries(entry.getKey());
+                    List<TalentDetailVO.ProfileSummaryVO> profiles = profileMap.get(entry.getValue());
                     if (CollUtil.isNotEmpty(profiles)) {
                         vo.setLatestOccupation(profiles.get(0).getOccupation());
                     }
@@ -2254,37 +2364,6 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .collect(Collectors.toList());
     }
 
-    private Map<String, Long> getViewSourceDistribution(Long companyId) {
-        QueryWrapper query = QueryWrapper.create().eq("company_id", companyId);
-        List<TalentViewLog> allLogs = viewLogMapper.selectListByQuery(query);
-
-        return allLogs.stream()
-                .filter(log -> log.getViewSource() != null)
-                .collect(Collectors.groupingBy(TalentViewLog::getViewSource, Collectors.counting()));
-    }
-
-    private List<ViewStatisticsVO.KeywordStatVO> getTopKeywords(Long companyId, int limit) {
-        QueryWrapper query = QueryWrapper.create()
-                .eq("company_id", companyId)
-                .isNotNull("search_keyword");
-        List<TalentViewLog> logs = viewLogMapper.selectListByQuery(query);
-
-        Map<String, Long> keywordCounts = logs.stream()
-                .filter(log -> StrUtil.isNotBlank(log.getSearchKeyword()))
-                .collect(Collectors.groupingBy(TalentViewLog::getSearchKeyword, Collectors.counting()));
-
-        return keywordCounts.entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(limit)
-                .map(entry -> {
-                    ViewStatisticsVO.KeywordStatVO vo = new ViewStatisticsVO.KeywordStatVO();
-                    vo.setKeyword(entry.getKey());
-                    vo.setCount(entry.getValue());
-                    return vo;
-                })
-                .collect(Collectors.toList());
-    }
-
     private CompanyPreferenceVO convertToPreferenceVO(CompanyPreference preference) {
         CompanyPreferenceVO vo = new CompanyPreferenceVO();
 
@@ -2339,9 +2418,13 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 .orderBy("view_time", false);
         Page<TalentViewLog> logs = viewLogMapper.paginate(Page.of(1, 50), query);
 
+        Map<Long, List<TalentDetailVO.ProfileSummaryVO>> profileMap = getProfileSummariesMap(
+                logs.getRecords().stream().map(TalentViewLog::getEmployeeId).collect(Collectors.toSet()));
+
         Set<String> occupations = new LinkedHashSet<>();
         for (TalentViewLog log : logs.getRecords()) {
-            List<TalentDetailVO.ProfileSummaryVO> profiles = getProfileSummaries(log.getEmployeeId());
+            List<TalentDetailVO.ProfileSummaryVO> profiles = profileMap.getOrDefault(log.getEmployeeId(),
+                    Collections.emptyList());
             for (TalentDetailVO.ProfileSummaryVO profile : profiles) {
                 if (StrUtil.isNotBlank(profile.getOccupation())) {
                     occupations.add(profile.getOccupation());
@@ -2430,7 +2513,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             if (talent.getPositiveTags() != null) {
                 for (TalentVO.TagStatVO tagStat : talent.getPositiveTags()) {
                     if (preferredTagIds.contains(tagStat.getTagId())) {
-                        EvaluationTag tag = tagMapper.selectOneById(tagStat.getTagId());
+                        EvaluationTag tag = referenceDataCache.getTag(tagStat.getTagId());
                         if (tag != null) {
                             matchedTags.add(convertTagToVO(tag));
                         }
@@ -2628,20 +2711,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
     }
 
     private List<Long> getEmployeeTagIds(Long employeeId) {
-        List<Evaluation> evaluations = getEmployeeEvaluations(employeeId);
-        if (CollUtil.isEmpty(evaluations)) {
-            return Collections.emptyList();
-        }
-
-        List<Long> evaluationIds = evaluations.stream().map(Evaluation::getId).collect(Collectors.toList());
-
-        QueryWrapper query = QueryWrapper.create()
-                .select("DISTINCT tag_id")
-                .in("evaluation_id", evaluationIds)
-                .eq("is_delete", false);
-        List<EvaluationTagRelation> relations = tagRelationMapper.selectListByQuery(query);
-
-        return relations.stream().map(EvaluationTagRelation::getTagId).collect(Collectors.toList());
+        return tagRelationMapper.selectTagIdsByEmployeeId(employeeId);
     }
 
     private BigDecimal calculateSimilarityScore(TalentVO talent, List<String> referenceOccupations,
@@ -2726,33 +2796,12 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return matched;
     }
 
-    private Map<Long, BigDecimal> calculateAverageAttendanceRates(List<Long> employeeIds) {
-        Map<Long, BigDecimal> result = new HashMap<>();
-        for (Long employeeId : employeeIds) {
-            QueryWrapper query = QueryWrapper.create()
-                    .eq("employee_id", employeeId)
-                    .isNotNull("attendance_rate");
-            List<EmployeeProfile> profiles = employeeProfileMapper.selectListByQuery(query);
-
-            if (CollUtil.isNotEmpty(profiles)) {
-                double avg = profiles.stream()
-                        .mapToDouble(p -> p.getAttendanceRate().doubleValue())
-                        .average()
-                        .orElse(0.0);
-                result.put(employeeId, BigDecimal.valueOf(avg).setScale(2, RoundingMode.HALF_UP));
-            } else {
-                result.put(employeeId, BigDecimal.ZERO);
-            }
-        }
-        return result;
-    }
-
     private TalentCompareVO.CompareItemVO buildCompareItem(Employee employee, Long companyId,
             List<EvaluationDimension> dimensions,
             Map<String, List<BigDecimal>> dimensionRadarData,
             BigDecimal overallAvgScore,
             Map<Long, BigDecimal> avgScores,
-            Map<Long, BigDecimal> avgAttendanceRates) {
+            Map<Long, EmployeeProfileSummary> profileSummaryMap) {
         TalentCompareVO.CompareItemVO item = new TalentCompareVO.CompareItemVO();
 
         item.setEmployeeId(employee.getId());
@@ -2762,19 +2811,17 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         item.setStatus(employee.getStatus());
 
         if (employee.getCompanyId() != null) {
-            Company company = companyMapper.selectOneById(employee.getCompanyId());
-            if (company != null) {
-                item.setCurrentCompanyName(company.getName());
-            }
+            item.setCurrentCompanyName(referenceDataCache.getCompanyName(employee.getCompanyId()));
         }
 
         // 工作经历
         List<TalentDetailVO.ProfileSummaryVO> profiles = getProfileSummaries(employee.getId());
         item.setProfileCount(profiles.size());
 
-        // 工作年限（简单计算）
-        int workYears = calculateWorkYears(profiles);
-        item.setWorkYears(workYears);
+        // 工作年限、最近职位、出勤率、违纪情况（来自档案汇总表）
+        EmployeeProfileSummary profileSummary = profileSummaryMap.get(employee.getId());
+        item.setWorkYears(profileSummary != null && profileSummary.getTotalWorkMonths() != null
+                ? profileSummary.getTotalWorkMonths() / 12 : 0);
 
         // 职位历史
         Set<String> occupations = new LinkedHashSet<>();
@@ -2784,7 +2831,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             }
         }
         item.setOccupationHistory(new ArrayList<>(occupations));
-        item.setLatestOccupation(CollUtil.isNotEmpty(profiles) ? profiles.get(0).getOccupation() : null);
+        item.setLatestOccupation(profileSummary != null ? profileSummary.getLatestOccupation() : null);
 
         // 评分
         item.setAverageScore(avgScores.getOrDefault(employee.getId(), BigDecimal.ZERO));
@@ -2804,10 +2851,11 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         item.setEvaluationCount(evaluations.size());
 
         // 平均出勤率
-        item.setAvgAttendanceRate(avgAttendanceRates.getOrDefault(employee.getId(), BigDecimal.ZERO));
+        item.setAvgAttendanceRate(profileSummary != null && profileSummary.getAvgAttendanceRate() != null
+                ? profileSummary.getAvgAttendanceRate() : BigDecimal.ZERO);
 
         // 是否有重大违纪
-        item.setHasMajorIncident(hasAnyMajorIncident(employee.getId()));
+        item.setHasMajorIncident(profileSummary != null && Boolean.TRUE.equals(profileSummary.getAnyMajorIncident()));
 
         // 标签统计
         Map<String, List<TalentVO.TagStatVO>> tagStats = getTagStatistics(employee.getId());
@@ -2819,32 +2867,6 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         return item;
     }
 
-    private int calculateWorkYears(List<TalentDetailVO.ProfileSummaryVO> profiles) {
-        if (CollUtil.isEmpty(profiles)) {
-            return 0;
-        }
-
-        // 简单计算：累加所有工作经历的年数
-        int totalMonths = 0;
-        for (TalentDetailVO.ProfileSummaryVO profile : profiles) {
-            if (profile.getStartDate() != null) {
-                java.time.LocalDate start = java.time.LocalDate.parse(profile.getStartDate());
-                java.time.LocalDate end = profile.getEndDate() != null
-                        ? java.time.LocalDate.parse(profile.getEndDate())
-                        : java.time.LocalDate.now();
-                totalMonths += java.time.Period.between(start, end).toTotalMonths();
-            }
-        }
-        return totalMonths / 12;
-    }
-
-    private boolean hasAnyMajorIncident(Long employeeId) {
-        QueryWrapper query = QueryWrapper.create()
-                .eq("employee_id", employeeId)
-                .eq("has_major_incident", true);
-        return employeeProfileMapper.selectCountByQuery(query) > 0;
-    }
-
     private void calculateAdvantagesAndDisadvantages(List<TalentCompareVO.CompareItemVO> items,
             List<String> dimensionNames) {
         if (items.size() < 2) {
@@ -2939,7 +2961,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             if (CollUtil.isNotEmpty(tagIds)) {
                 List<String> tagNames = new ArrayList<>();
                 for (Long tagId : tagIds) {
-                    EvaluationTag tag = tagMapper.selectOneById(tagId);
+                    EvaluationTag tag = referenceDataCache.getTag(tagId);
                     if (tag != null) {
                         tagNames.add(tag.getName());
                     }
@@ -2956,7 +2978,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
             if (CollUtil.isNotEmpty(tagIds)) {
                 List<String> tagNames = new ArrayList<>();
                 for (Long tagId : tagIds) {
-                    EvaluationTag tag = tagMapper.selectOneById(tagId);
+                    EvaluationTag tag = referenceDataCache.getTag(tagId);
                     if (tag != null) {
                         tagNames.add(tag.getName());
                     }
@@ -3077,8 +3099,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
         List<Evaluation> allEvaluations = getEmployeeEvaluations(employeeId);
         log.debug("员工{}共有{}条评价", employeeId, allEvaluations != null ? allEvaluations.size() : 0);
 
-        List<Long> unlockedEvaluationIds = getUnlockedEvaluationIds(companyId, employeeId);
-        log.debug("公司{}已解锁员工{}的{}条评价", companyId, employeeId, unlockedEvaluationIds.size());
+        long[] unlockedEvaluationIds = unlockedEvaluationCache.getUnlockedIds(companyId);
 
         List<Evaluation> visibleEvaluations = new ArrayList<>();
 
@@ -3092,7 +3113,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 }
 
                 // 前3条免费可见，或者已解锁的可见
-                if (freeCount < 3 || unlockedEvaluationIds.contains(evaluation.getId())) {
+                if (freeCount < 3 || UnlockedEvaluationCache.contains(unlockedEvaluationIds, evaluation.getId())) {
                     visibleEvaluations.add(evaluation);
                     if (freeCount < 3) {
                         freeCount++;
@@ -3100,7 +3121,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                 }
             }
             log.debug("员工{}可查看的评价数量：{}条（前3条免费 + {}条已解锁，已排除自评）",
-                    employeeId, visibleEvaluations.size(), unlockedEvaluationIds.size());
+                    employeeId, visibleEvaluations.size(), visibleEvaluations.size() - freeCount);
         }
 
         if (CollUtil.isNotEmpty(visibleEvaluations)) {
@@ -3160,7 +3181,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                         sb.append("维度评分：");
                         List<String> dimScoreStrs = new ArrayList<>();
                         for (EvaluationDimensionScore dimScore : dimScores) {
-                            EvaluationDimension dim = dimensionMapper.selectOneById(dimScore.getDimensionId());
+                            EvaluationDimension dim = referenceDataCache.getDimension(dimScore.getDimensionId());
                             if (dim != null) {
                                 dimScoreStrs.add(dim.getName() + "：" + dimScore.getScore() + "分");
                             }
@@ -3176,7 +3197,7 @@ public class TalentMarketServiceImpl implements TalentMarketService {
                     if (CollUtil.isNotEmpty(tagRelations)) {
                         List<String> tagNames = new ArrayList<>();
                         for (EvaluationTagRelation relation : tagRelations) {
-                            EvaluationTag tag = tagMapper.selectOneById(relation.getTagId());
+                            EvaluationTag tag = referenceDataCache.getTag(relation.getTagId());
                             if (tag != null) {
                                 tagNames.add(tag.getName());
                             }
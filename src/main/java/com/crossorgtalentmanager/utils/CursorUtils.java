@@ -0,0 +1,81 @@
+package com.crossorgtalentmanager.utils;
+
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import com.crossorgtalentmanager.exception.BusinessException;
+import com.crossorgtalentmanager.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页工具类
+ * <p>
+ * 游标是排序键各列取值（最后一列为ID）组成的 JSON 数组再做 URL 安全的 Base64 编码，对调用方不透明。
+ */
+public class CursorUtils {
+
+    /**
+     * 游标分页允许的最大页面大小
+     */
+    public static final long MAX_PAGE_SIZE = 100;
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 生成游标
+     *
+     * @param values 排序键各列取值，最后一个为ID
+     * @return 游标
+     */
+    public static String encode(Object... values) {
+        List<String> parts = Arrays.stream(values).map(String::valueOf).toList();
+        return Base64.encodeUrlSafe(JSONUtil.toJsonStr(parts), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param cursor 游标，为空时表示第一页
+     * @param size   期望的列数
+     * @return 各列取值，第一页时返回 null
+     */
+    public static List<String> decode(String cursor, int size) {
+        if (StrUtil.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            List<String> parts = JSONUtil.toList(Base64.decodeStr(cursor, StandardCharsets.UTF_8), String.class);
+            if (parts.size() == size) {
+                return parts;
+            }
+        } catch (Exception ignored) {
+            // 统一按无效游标处理
+        }
+        throw new BusinessException(ErrorCode.PARAMS_ERROR, "分页游标无效");
+    }
+
+    /**
+     * 解析游标中的一列，格式错误时按无效游标处理
+     */
+    public static <T> T parse(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (Exception e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "分页游标无效");
+        }
+    }
+
+    /**
+     * 校验游标分页的页面大小
+     */
+    public static void checkPageSize(long pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "分页参数错误");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.crossorgtalentmanager.utils;
+
+import cn.hutool.core.util.StrUtil;
+
+/**
+ * MySQL 全文检索（ngram 分词）查询构造工具类
+ *
+ * @author y
+ */
+public class FullTextQueryUtils {
+
+    /**
+     * ngram 分词长度，与 MySQL 的 ngram_token_size（默认 2）保持一致
+     */
+    public static final int NGRAM_TOKEN_SIZE = 2;
+
+    /**
+     * BOOLEAN MODE 中有特殊含义的字符
+     */
+    private static final String BOOLEAN_OPERATORS = "\"+-<>()~*@";
+
+    /**
+     * 将用户输入的关键词转换为 BOOLEAN MODE 短语查询，相当于按连续子串匹配
+     *
+     * @param keyword 关键词
+     * @return 短语查询串；关键词过短（少于一个 ngram）时返回 null，调用方应退回 LIKE 匹配
+     */
+    public static String toNgramPhrase(String keyword) {
+        if (StrUtil.isBlank(keyword)) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (char c : keyword.trim().toCharArray()) {
+            sb.append(BOOLEAN_OPERATORS.indexOf(c) >= 0 ? ' ' : c);
+        }
+        String cleaned = StrUtil.trim(sb.toString()).replaceAll("\\s+", " ");
+        if (cleaned.length() < NGRAM_TOKEN_SIZE) {
+            return null;
+        }
+        return "\"" + cleaned + "\"";
+    }
+}
@@ -0,0 +1,126 @@
+package com.crossorgtalentmanager.manager.buffer;
+
+import com.crossorgtalentmanager.manager.buffer.TalentViewLogBuffer.PendingView;
+import com.crossorgtalentmanager.manager.buffer.TalentViewLogBuffer.ViewKey;
+import com.crossorgtalentmanager.model.entity.TalentViewLog;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TalentViewLogBufferTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 9, 0, 0);
+
+    @Test
+    void mergeViewsAccumulatesCountAndKeepsLatestView() {
+        PendingView older = new PendingView(1L, 1, T0, 10, "search", "java");
+        PendingView newer = new PendingView(2L, 1, T0.plusSeconds(30), 0, "recommend", null);
+
+        PendingView merged = PendingView.merge(older, newer);
+
+        assertEquals(2L, merged.userId());
+        assertEquals(2, merged.viewCount());
+        assertEquals(T0.plusSeconds(30), merged.viewTime());
+        assertEquals(0, merged.viewDuration());
+        assertEquals("recommend", merged.viewSource());
+        // 新的浏览没有关键词时保留之前的关键词
+        assertEquals("java", merged.searchKeyword());
+    }
+
+    @Test
+    void mergeKeepsLaterViewTimeWhenViewsArriveOutOfOrder() {
+        PendingView older = new PendingView(1L, 2, T0.plusSeconds(30), 0, null, null);
+        PendingView newer = new PendingView(1L, 1, T0, 0, null, null);
+
+        assertEquals(T0.plusSeconds(30), PendingView.merge(older, newer).viewTime());
+    }
+
+    @Test
+    void mergeDurationReportKeepsViewerAndViewTime() {
+        PendingView view = new PendingView(1L, 1, T0, 0, "search", "java");
+        PendingView duration = new PendingView(2L, 0, T0.plusMinutes(5), 120, null, null);
+
+        PendingView merged = PendingView.merge(view, duration);
+
+        assertEquals(1L, merged.userId());
+        assertEquals(1, merged.viewCount());
+        assertEquals(T0, merged.viewTime());
+        assertEquals(120, merged.viewDuration());
+        assertEquals("search", merged.viewSource());
+        assertEquals("java", merged.searchKeyword());
+    }
+
+    @Test
+    void mergeViewAfterDurationReportUsesView() {
+        PendingView duration = new PendingView(1L, 0, T0.plusMinutes(5), 120, null, null);
+        PendingView view = new PendingView(2L, 1, T0.plusMinutes(6), 0, "bookmark", null);
+
+        PendingView merged = PendingView.merge(duration, view);
+
+        assertEquals(2L, merged.userId());
+        assertEquals(1, merged.viewCount());
+        assertEquals(T0.plusMinutes(6), merged.viewTime());
+        assertEquals(0, merged.viewDuration());
+        assertEquals("bookmark", merged.viewSource());
+    }
+
+    @Test
+    void mergeDurationReportsStaysDurationOnly() {
+        PendingView first = new PendingView(1L, 0, T0, 30, null, null);
+        PendingView second = new PendingView(1L, 0, T0.plusSeconds(30), 60, null, null);
+
+        PendingView merged = PendingView.merge(first, second);
+
+        assertEquals(0, merged.viewCount());
+        assertEquals(60, merged.viewDuration());
+    }
+
+    @Test
+    void toEntityCopiesKeyAndFields() {
+        PendingView view = new PendingView(3L, 4, T0, 45, "search", "java");
+
+        TalentViewLog entity = view.toEntity(new ViewKey(100L, 200L), 999L);
+
+        assertEquals(999L, entity.getId());
+        assertEquals(100L, entity.getCompanyId());
+        assertEquals(200L, entity.getEmployeeId());
+        assertEquals(3L, entity.getUserId());
+        assertEquals(4, entity.getViewCount());
+        assertEquals(T0, entity.getViewTime());
+        assertEquals(45, entity.getViewDuration());
+        assertEquals("search", entity.getViewSource());
+        assertEquals("java", entity.getSearchKeyword());
+        assertNull(view.toEntity(new ViewKey(100L, 200L), null).getId());
+    }
+
+    @Test
+    void viewsUpToCompanyClearTimeAreDropped() {
+        ViewKey key = new ViewKey(100L, 200L);
+        Map<String, String> cleared = Map.of(TalentViewLogBuffer.ALL_EMPLOYEES, millis(T0));
+
+        assertTrue(TalentViewLogBuffer.isCleared(key, new PendingView(1L, 1, T0.minusSeconds(1), 0, null, null), cleared));
+        assertTrue(TalentViewLogBuffer.isCleared(key, new PendingView(1L, 1, T0, 0, null, null), cleared));
+        assertFalse(TalentViewLogBuffer.isCleared(key, new PendingView(1L, 1, T0.plusSeconds(1), 0, null, null), cleared));
+    }
+
+    @Test
+    void employeeClearOnlyAffectsThatEmployee() {
+        Map<String, String> cleared = Map.of("200", millis(T0));
+        PendingView view = new PendingView(1L, 1, T0.minusSeconds(1), 0, null, null);
+
+        assertTrue(TalentViewLogBuffer.isCleared(new ViewKey(100L, 200L), view, cleared));
+        assertFalse(TalentViewLogBuffer.isCleared(new ViewKey(100L, 201L), view, cleared));
+        assertFalse(TalentViewLogBuffer.isCleared(new ViewKey(100L, 200L), view, null));
+    }
+
+    private static String millis(LocalDateTime time) {
+        return String.valueOf(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,53 @@
+package com.crossorgtalentmanager.manager.cache;
+
+import com.crossorgtalentmanager.model.dto.contactaccess.ContactAccessGrants;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContactAccessGrantCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static final long ONE_HOUR = Duration.ofHours(1).toMillis();
+
+    @Test
+    void noGrantCachedForOneHour() {
+        ContactAccessGrants grants = new ContactAccessGrants(0, null);
+        assertFalse(ContactAccessGrantCache.isExpired(grants, NOW));
+        assertEquals(NOW + ONE_HOUR, ContactAccessGrantCache.validUntil(grants, NOW));
+    }
+
+    @Test
+    void grantsCachedUntilEarliestExpiry() {
+        long expireMillis = NOW + Duration.ofMinutes(10).toMillis();
+        ContactAccessGrants grants = new ContactAccessGrants(1 << 1, expireMillis);
+        assertFalse(ContactAccessGrantCache.isExpired(grants, NOW));
+        // 过期时间当时仍然有效，之后才重新查询
+        assertEquals(expireMillis + 1, ContactAccessGrantCache.validUntil(grants, NOW));
+    }
+
+    @Test
+    void lateExpiryCappedAtOneHour() {
+        ContactAccessGrants grants = new ContactAccessGrants(1 << 4, NOW + Duration.ofDays(2).toMillis());
+        assertEquals(NOW + ONE_HOUR, ContactAccessGrantCache.validUntil(grants, NOW));
+    }
+
+    @Test
+    void grantStillValidAtExpireTime() {
+        ContactAccessGrants grants = new ContactAccessGrants(1 << 1, NOW);
+        assertFalse(ContactAccessGrantCache.isExpired(grants, NOW));
+        assertTrue(ContactAccessGrantCache.isExpired(grants, NOW + 1));
+    }
+
+    @Test
+    void expiredGrantsReloadedImmediately() {
+        ContactAccessGrants grants = new ContactAccessGrants(1 << 1, NOW - 1000);
+        assertTrue(ContactAccessGrantCache.isExpired(grants, NOW));
+        assertEquals(NOW + 1, ContactAccessGrantCache.validUntil(grants, NOW));
+    }
+}
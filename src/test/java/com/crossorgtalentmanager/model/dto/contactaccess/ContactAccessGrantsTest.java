@@ -0,0 +1,66 @@
+package com.crossorgtalentmanager.model.dto.contactaccess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContactAccessGrantsTest {
+
+    @Test
+    void allTypesRequestAllowedByAnyGrant() {
+        assertTrue(grants(1).allows(4));
+        assertTrue(grants(3).allows(4));
+        assertTrue(grants(5).allows(4));
+        assertFalse(grants().allows(4));
+    }
+
+    @Test
+    void phoneAndEmailRequestAllowedByType4Or5OrBothPhoneAndEmail() {
+        assertTrue(grants(4).allows(5));
+        assertTrue(grants(5).allows(5));
+        assertTrue(grants(1, 2).allows(5));
+        assertFalse(grants(1).allows(5));
+        assertFalse(grants(2).allows(5));
+        assertFalse(grants(1, 3).allows(5));
+        assertFalse(grants().allows(5));
+    }
+
+    @Test
+    void phoneOrEmailRequestAllowedBySameTypeOrCombinedGrants() {
+        assertTrue(grants(1).allows(1));
+        assertTrue(grants(4).allows(1));
+        assertTrue(grants(5).allows(1));
+        assertFalse(grants(2).allows(1));
+        assertFalse(grants(3).allows(1));
+
+        assertTrue(grants(2).allows(2));
+        assertTrue(grants(5).allows(2));
+        assertFalse(grants(1).allows(2));
+    }
+
+    @Test
+    void idCardRequestAllowedBySameTypeOrAllTypes() {
+        assertTrue(grants(3).allows(3));
+        assertTrue(grants(4).allows(3));
+        // 类型 5 只包含电话和邮箱
+        assertFalse(grants(5).allows(3));
+        assertFalse(grants(1, 2).allows(3));
+    }
+
+    @Test
+    void invalidRequestTypeNotAllowed() {
+        assertFalse(grants(1, 2, 3, 4, 5).allows(null));
+        assertFalse(grants(4).allows(0));
+        assertFalse(grants(4).allows(-1));
+        assertFalse(grants(4).allows(Integer.SIZE));
+    }
+
+    private static ContactAccessGrants grants(int... types) {
+        int typeMask = 0;
+        for (int type : types) {
+            typeMask |= 1 << type;
+        }
+        return new ContactAccessGrants(typeMask, typeMask != 0 ? System.currentTimeMillis() : null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.crossorgtalentmanager.utils;
+
+import cn.hutool.core.codec.Base64;
+import com.crossorgtalentmanager.exception.BusinessException;
+import com.crossorgtalentmanager.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorUtilsTest {
+
+    @Test
+    void talentSearchCursorRoundTrip() {
+        String cursor = CursorUtils.encode("score_desc", new BigDecimal("87.50").toPlainString(), 1234567890123456789L);
+        List<String> parts = CursorUtils.decode(cursor, 3);
+
+        assertEquals("score_desc", parts.get(0));
+        assertEquals(new BigDecimal("87.50"), CursorUtils.parse(parts.get(1), BigDecimal::new));
+        assertEquals(1234567890123456789L, CursorUtils.parse(parts.get(2), Long::valueOf));
+    }
+
+    @Test
+    void dateCursorRoundTrip() {
+        LocalDateTime viewTime = LocalDateTime.of(2024, 5, 1, 8, 30, 15);
+        List<String> parts = CursorUtils.decode(CursorUtils.encode(viewTime, 42L), 2);
+        assertEquals(viewTime, CursorUtils.parse(parts.get(0), LocalDateTime::parse));
+        assertEquals(42L, CursorUtils.parse(parts.get(1), Long::valueOf));
+
+        LocalDate changeDate = LocalDate.of(2024, 12, 31);
+        parts = CursorUtils.decode(CursorUtils.encode(changeDate, 7L), 2);
+        assertEquals(changeDate, CursorUtils.parse(parts.get(0), LocalDate::parse));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        // 取值中包含会被普通 Base64 编码成 + 和 / 的字符
+        String cursor = CursorUtils.encode("??>>??", "~~~", Long.MAX_VALUE);
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+        assertEquals("??>>??", CursorUtils.decode(cursor, 3).get(0));
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(CursorUtils.decode(null, 2));
+        assertNull(CursorUtils.decode("", 2));
+        assertNull(CursorUtils.decode("  ", 2));
+    }
+
+    @Test
+    void cursorWithWrongColumnCountRejected() {
+        String cursor = CursorUtils.encode("2024-05-01T08:30:15", 42L);
+        assertInvalidCursor(() -> CursorUtils.decode(cursor, 3));
+    }
+
+    @Test
+    void malformedCursorRejected() {
+        assertInvalidCursor(() -> CursorUtils.decode("not-a-cursor", 2));
+        assertInvalidCursor(() -> CursorUtils.decode(
+                Base64.encodeUrlSafe("{\"id\":1}", StandardCharsets.UTF_8), 2));
+    }
+
+    @Test
+    void malformedColumnRejected() {
+        assertInvalidCursor(() -> CursorUtils.parse("abc", Long::valueOf));
+        assertInvalidCursor(() -> CursorUtils.parse("null", BigDecimal::new));
+        assertInvalidCursor(() -> CursorUtils.parse("2024-13-01", LocalDate::parse));
+    }
+
+    @Test
+    void pageSizeChecked() {
+        CursorUtils.checkPageSize(1);
+        CursorUtils.checkPageSize(CursorUtils.MAX_PAGE_SIZE);
+        assertInvalidCursorPage(() -> CursorUtils.checkPageSize(0));
+        assertInvalidCursorPage(() -> CursorUtils.checkPageSize(CursorUtils.MAX_PAGE_SIZE + 1));
+    }
+
+    private static void assertInvalidCursor(Runnable action) {
+        BusinessException e = assertThrows(BusinessException.class, action::run);
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), e.getCode());
+        assertEquals("分页游标无效", e.getMessage());
+    }
+
+    private static void assertInvalidCursorPage(Runnable action) {
+        BusinessException e = assertThrows(BusinessException.class, action::run);
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), e.getCode());
+    }
+}
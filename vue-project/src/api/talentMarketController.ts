@@ -285,6 +285,12 @@ export async function getAiAnalysisResult(
   )
 }
 
+/** 流式订阅AI分析结果 GET /talent-market/compare/ai-stream（SSE，事件：message / done / error） */
+export function openAiAnalysisStream(params: { taskId: string }) {
+  const url = `${request.defaults.baseURL}/talent-market/compare/ai-stream?taskId=${encodeURIComponent(params.taskId)}`
+  return new EventSource(url, { withCredentials: true })
+}
+
 /** 查询历史对比记录 GET /talent-market/compare/history */
 export async function getCompareHistory(
   params: { pageNum?: number; pageSize?: number },
@@ -1486,6 +1486,7 @@ declare namespace API {
 
   type TalentCompareRequest = {
     employeeIds?: string[]
+    streamAi?: boolean
   }
 
   type TalentCompareVO = {